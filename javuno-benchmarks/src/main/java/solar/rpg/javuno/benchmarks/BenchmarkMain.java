@@ -0,0 +1,32 @@
+package solar.rpg.javuno.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the same arguments as the JMH command line, but always attaches the GC
+ * profiler, so that every result also reports the allocation rate ({@code gc.alloc.rate.norm} is bytes per
+ * operation).
+ * <p>
+ * Usage: {@code java -jar javuno-benchmarks-jmh.jar [JMH options] [benchmark regex]}, e.g. {@code Codec} to only run
+ * {@link PacketCodecBenchmark}.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                       .parent(new CommandLineOptions(args))
+                       .addProfiler(GCProfiler.class)
+                       .build()).run();
+    }
+}
@@ -0,0 +1,41 @@
+package solar.rpg.javuno.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.game.UnoDeckFactory;
+
+import java.util.Random;
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes {@link UnoDeckFactory} to build and shuffle the draw pile of a new game.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckFactoryBenchmark {
+
+    @Param({"1", "2"})
+    public int deckAmount;
+
+    private UnoDeckFactory deckFactory;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        deckFactory = new UnoDeckFactory();
+        random = new Random(0);
+    }
+
+    @Benchmark
+    public Stack<ICard> getNewDrawPile() {
+        return deckFactory.getNewDrawPile(deckAmount, random);
+    }
+}
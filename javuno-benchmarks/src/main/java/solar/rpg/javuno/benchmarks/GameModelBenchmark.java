@@ -0,0 +1,140 @@
+package solar.rpg.javuno.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import solar.rpg.javuno.benchmarks.PlayabilityBenchmark.BenchmarkGameModel;
+import solar.rpg.javuno.models.cards.AbstractWildCard;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.cards.standard.DrawTwoCard;
+import solar.rpg.javuno.models.game.AbstractGameModel;
+import solar.rpg.javuno.models.game.AbstractGameModel.GameState;
+import solar.rpg.javuno.models.game.UnoDeckFactory;
+import solar.rpg.javuno.server.models.ServerGameModel;
+import solar.rpg.javuno.server.models.ServerGamePlayer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the rule checks that run for every action of a game in {@link AbstractGameModel}, and drawing cards from a
+ * {@link ServerGameModel}. The rule checks cycle through a fixed set of random situations, a quarter of which are
+ * waiting for a response to a series of draw two cards.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameModelBenchmark {
+
+    /**
+     * Amount of random situations to cycle through.
+     */
+    private static final int SITUATION_COUNT = 1024;
+    /**
+     * Amount of single cards drawn from each new game, which must not exceed its draw pile.
+     */
+    private static final int DRAWS_PER_GAME = 150;
+
+    private BenchmarkGameModel[] models;
+    private List<List<ICard>> hands;
+    private ICard[] cards;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        models = new BenchmarkGameModel[SITUATION_COUNT];
+        hands = new ArrayList<>(SITUATION_COUNT);
+        cards = new ICard[SITUATION_COUNT];
+
+        for (int i = 0; i < SITUATION_COUNT; i++) {
+            Stack<ICard> deck = new UnoDeckFactory().getNewDrawPile(2, random);
+            Stack<ICard> discardPile = new Stack<>();
+            GameState gameState = GameState.AWAITING_PLAY;
+            int drawTwoMultiplier = 0;
+
+            if (random.nextInt(4) == 0) {
+                gameState = GameState.AWAITING_DRAW_TWO_RESPONSE;
+                int drawTwoCount = 1 + random.nextInt(3);
+                for (Iterator<ICard> it = deck.iterator(); it.hasNext() && drawTwoMultiplier < drawTwoCount; ) {
+                    ICard card = it.next();
+                    if (!(card instanceof DrawTwoCard)) continue;
+                    it.remove();
+                    discardPile.push(card);
+                    drawTwoMultiplier++;
+                }
+            } else discardPile.push(deck.pop());
+
+            ICard top = discardPile.peek();
+            CardColor chosenColor = top instanceof AbstractWildCard
+                ? CardColor.values()[random.nextInt(CardColor.values().length)]
+                : null;
+            models[i] = new BenchmarkGameModel(discardPile, gameState, chosenColor, 0, drawTwoMultiplier);
+
+            List<ICard> hand = new ArrayList<>(7);
+            for (int j = 0; j < 7; j++) hand.add(deck.pop());
+            hands.add(hand);
+            cards[i] = deck.pop();
+        }
+    }
+
+    @Benchmark
+    public boolean isCardPlayable() {
+        int i = next();
+        return models[i].isCardPlayable(cards[i]);
+    }
+
+    @Benchmark
+    public boolean canPlayAnyCard() {
+        int i = next();
+        return models[i].canPlayAnyCard(hands.get(i));
+    }
+
+    @Benchmark
+    public int getDrawTwoMultiplier() {
+        return models[next()].getDrawTwoMultiplier();
+    }
+
+    @Benchmark
+    public int getDrawAmount() {
+        return models[next()].getDrawAmount();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DRAWS_PER_GAME)
+    public int drawCards(DrawState state) {
+        int result = 0;
+        for (int i = 0; i < DRAWS_PER_GAME; i++) result += state.gameModel.drawCards().size();
+        return result;
+    }
+
+    private int next() {
+        index = (index + 1) & (SITUATION_COUNT - 1);
+        return index;
+    }
+
+    /**
+     * Deals a new game before each batch of draws, so that its draw pile never runs out.
+     */
+    @State(Scope.Thread)
+    public static class DrawState {
+
+        private ServerGameModel gameModel;
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            List<ServerGamePlayer> players = new ArrayList<>();
+            for (int i = 0; i < 4; i++) players.add(new ServerGamePlayer(String.format("Player%d", i)));
+            gameModel = new ServerGameModel(players);
+        }
+    }
+}
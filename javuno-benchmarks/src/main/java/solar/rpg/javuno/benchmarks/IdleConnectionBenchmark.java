@@ -0,0 +1,125 @@
+package solar.rpg.javuno.benchmarks;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.concurrent.JavunoExecutorType;
+import solar.rpg.javuno.server.controllers.HostController;
+import solar.rpg.javuno.server.controllers.HostController.HostType;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measures the cost of holding idle connections open on a server host. A host is started on the loopback address, and
+ * the given amount of connections are opened to it that never send anything. Once they have settled, the live thread
+ * count, heap usage, and resident memory of the process are reported.
+ * <p>
+ * Usage: {@code IdleConnectionBenchmark [hostType] [executorType] [connections] [port]}, which defaults to
+ * {@code jserver platform 10000 25566}. Compare {@code platform} against {@code virtual} (JDK 21+) to see what blocking
+ * connection handlers cost on each. Both ends of every connection live in this process, so the open file limit must
+ * allow at least twice the amount of connections.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class IdleConnectionBenchmark {
+
+    /**
+     * How long to wait for connection handlers to settle before measuring, in milliseconds.
+     */
+    private static final long SETTLE_MILLIS = 5000;
+
+    private IdleConnectionBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        HostType hostType = HostType.valueOf(arg(args, 0, "jserver").toUpperCase());
+        JavunoExecutorType executorType = JavunoExecutorType.valueOf(arg(args, 1, "platform").toUpperCase());
+        int connectionCount = Integer.parseInt(arg(args, 2, "10000"));
+        int port = Integer.parseInt(arg(args, 3, "25566"));
+
+        Logger logger = Logger.getLogger(IdleConnectionBenchmark.class.getName());
+        logger.setLevel(Level.WARNING);
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+
+        System.out.printf("Host: %s, executor: %s (virtual threads %s), connections: %d%n",
+                          hostType,
+                          executorType,
+                          JavunoExecutorType.isVirtualSupported() ? "supported" : "NOT supported",
+                          connectionCount);
+        printUsage("Baseline", threadBean, memoryBean);
+
+        InetAddress address = InetAddress.getLoopbackAddress();
+        ExecutorService executor = executorType.newExecutor("javuno-bench-", logger);
+        HostController hostController = new HostController(
+            hostType,
+            Runtime.getRuntime().availableProcessors(),
+            executor,
+            logger);
+        hostController.startHost(address, port);
+
+        List<Socket> sockets = new ArrayList<>(connectionCount);
+        long start = System.nanoTime();
+        for (int i = 0; i < connectionCount; i++) sockets.add(new Socket(address, port));
+        System.out.printf("Opened %d connections in %d ms%n",
+                          sockets.size(),
+                          (System.nanoTime() - start) / 1_000_000);
+
+        Thread.sleep(SETTLE_MILLIS);
+        printUsage("Idle", threadBean, memoryBean);
+        System.out.printf("Peak live threads: %d%n", threadBean.getPeakThreadCount());
+
+        // The host is not closed gracefully, as closing sockets would notify rooms that were never set up
+        System.exit(0);
+    }
+
+    /**
+     * Prints the current thread count and memory usage of this process.
+     *
+     * @param label      Label describing the measurement.
+     * @param threadBean Thread management bean.
+     * @param memoryBean Memory management bean.
+     */
+    private static void printUsage(
+        @NotNull String label,
+        @NotNull ThreadMXBean threadBean,
+        @NotNull MemoryMXBean memoryBean) {
+        System.gc();
+        System.out.printf("%s: %d live platform threads, %d KiB heap used, %d KiB non-heap used, RSS %s%n",
+                          label,
+                          threadBean.getThreadCount(),
+                          memoryBean.getHeapMemoryUsage().getUsed() / 1024,
+                          memoryBean.getNonHeapMemoryUsage().getUsed() / 1024,
+                          getResidentSetSize());
+    }
+
+    /**
+     * @return The resident set size of this process, or "N/A" if it cannot be read on this platform.
+     */
+    @NotNull
+    private static String getResidentSetSize() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status")))
+                if (line.startsWith("VmRSS:")) return line.substring("VmRSS:".length()).trim();
+        } catch (IOException ignored) {
+        }
+        return "N/A";
+    }
+
+    @NotNull
+    private static String arg(@NotNull String[] args, int index, @NotNull String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+}
@@ -0,0 +1,132 @@
+package solar.rpg.javuno.benchmarks;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import solar.rpg.javuno.models.game.ClientOpponent;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketCodec;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutConnectionAccepted;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutGameState;
+import solar.rpg.javuno.server.models.ServerGameModel;
+import solar.rpg.javuno.server.models.ServerGamePlayer;
+import solar.rpg.jserver.packet.JServerPacket;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding the largest packets that the server sends: the full game state, and the connection
+ * accepted packet that carries it to players who join a running game. Both the binary codec and the Java serialization
+ * that it replaced are measured.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketCodecBenchmark {
+
+    @Param({"binary", "serialized"})
+    public String codec;
+
+    @Param({"4", "10"})
+    public int playerCount;
+
+    private boolean binary;
+    private JavunoPacketOutGameState gameStatePacket;
+    private JavunoPacketOutConnectionAccepted connectionAcceptedPacket;
+    private byte[] encodedGameState;
+    private byte[] encodedConnectionAccepted;
+
+    @Setup
+    public void setup() throws IOException, ClassNotFoundException {
+        binary = codec.equals("binary");
+
+        List<ServerGamePlayer> players = new ArrayList<>(playerCount);
+        List<String> playerNames = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            String playerName = String.format("Player%d", i);
+            players.add(new ServerGamePlayer(playerName));
+            playerNames.add(playerName);
+        }
+        ServerGameModel gameModel = new ServerGameModel(players);
+        gameModel.start();
+
+        List<ClientOpponent> opponents = new ArrayList<>(playerCount);
+        for (ServerGamePlayer player : players)
+            opponents.add(new ClientOpponent(player.getName(), player.isUno(), player.getCardCount()));
+
+        gameStatePacket = new JavunoPacketOutGameState(
+            gameModel.getPlayer(0).getCards(),
+            gameModel.getDiscardPile(),
+            opponents,
+            gameModel.getCurrentPlayerIndex(),
+            gameModel.getDirection(),
+            gameModel.getGameState(),
+            gameModel.getUnoChallengeState(),
+            gameModel.getChosenColor(),
+            gameModel.getAppliedCardCount(),
+            gameModel.getDrawTwoMultiplier(),
+            gameModel.getStateVersion()
+        );
+        connectionAcceptedPacket = new JavunoPacketOutConnectionAccepted(
+            "Player0",
+            playerNames,
+            null,
+            gameStatePacket,
+            binary ? JavunoPacketCodec.VERSION : JavunoPacketCodec.VERSION_SERIALIZED
+        );
+
+        encodedGameState = encode(gameStatePacket);
+        encodedConnectionAccepted = encode(connectionAcceptedPacket);
+    }
+
+    @Benchmark
+    public byte[] encodeGameState() throws IOException {
+        return encode(gameStatePacket);
+    }
+
+    @Benchmark
+    public JServerPacket decodeGameState() throws IOException, ClassNotFoundException {
+        return decode(encodedGameState);
+    }
+
+    @Benchmark
+    public byte[] encodeConnectionAccepted() throws IOException {
+        return encode(connectionAcceptedPacket);
+    }
+
+    @Benchmark
+    public JServerPacket decodeConnectionAccepted() throws IOException, ClassNotFoundException {
+        return decode(encodedConnectionAccepted);
+    }
+
+    @NotNull
+    private byte[] encode(@NotNull JServerPacket packet) throws IOException {
+        if (binary) return JavunoPacketCodec.encode(packet);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+            objectOut.writeObject(packet);
+        }
+        return out.toByteArray();
+    }
+
+    @NotNull
+    private JServerPacket decode(@NotNull byte[] data) throws IOException, ClassNotFoundException {
+        if (binary) return JavunoPacketCodec.decode(data);
+
+        try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return (JServerPacket) objectIn.readObject();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package solar.rpg.javuno.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import solar.rpg.javuno.concurrent.JavunoExecutorType;
+import solar.rpg.javuno.models.packets.JavunoBadPacketException;
+import solar.rpg.javuno.models.packets.in.JavunoPacketInOutChatMessage;
+import solar.rpg.javuno.models.packets.in.JavunoPacketInOutPlayerReadyChanged;
+import solar.rpg.javuno.models.packets.in.JavunoPacketInServerConnect;
+import solar.rpg.javuno.models.packets.in.JavunoPacketInStateAck;
+import solar.rpg.javuno.server.controllers.HostController;
+import solar.rpg.javuno.server.controllers.HostController.HostType;
+import solar.rpg.javuno.server.controllers.JavunoServerPacketValidatorHandler;
+import solar.rpg.javuno.server.controllers.ServerGameController;
+import solar.rpg.javuno.server.models.PacketRateLimiter;
+import solar.rpg.javuno.server.timers.HashedTimingWheel;
+import solar.rpg.javuno.server.views.MainFrame;
+import solar.rpg.jserver.packet.JServerPacket;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measures how long {@link JavunoServerPacketValidatorHandler#handlePacket(JServerPacket)} takes to validate and
+ * dispatch inbound packets in a room with a running game. Outbound packets are encoded, but are sent to addresses that
+ * are not connected, so they are dropped by the selector host.
+ * <p>
+ * The server's MVC is rooted at its {@link MainFrame}, so this benchmark needs a display. The setup waits for the game
+ * start countdown.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketDispatchBenchmark {
+
+    private static final int PLAYER_COUNT = 4;
+    /**
+     * How long to wait for the game start countdown, in milliseconds.
+     */
+    private static final long GAME_START_MILLIS = 6000;
+
+    private MainFrame frame;
+    private HashedTimingWheel timingWheel;
+    private JavunoServerPacketValidatorHandler packetHandler;
+    private JavunoPacketInStateAck[] stateAckPackets;
+    private JavunoPacketInOutChatMessage chatPacket;
+    private int index;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        Logger logger = Logger.getLogger(PacketDispatchBenchmark.class.getName());
+        logger.setLevel(Level.WARNING);
+
+        frame = new MainFrame(HostType.SELECTOR, JavunoExecutorType.PLATFORM, logger);
+        HostController hostController = frame.getMVC().getController().getHostController();
+        hostController.startHost(InetAddress.getLoopbackAddress(), 0);
+        // Turns are untimed, so that the game state does not move on during the measurement
+        frame.getMVC().getController().getRoomController().setTurnTimeoutSeconds(0);
+
+        timingWheel = new HashedTimingWheel(50, TimeUnit.MILLISECONDS, 512, logger);
+        ServerGameController room = new ServerGameController("bench", Runnable::run, timingWheel, new PacketRateLimiter(), logger);
+        room.getMVC().set(frame, room);
+        packetHandler = room.getPacketHandler();
+
+        InetSocketAddress[] originAddresses = new InetSocketAddress[PLAYER_COUNT];
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            originAddresses[i] = new InetSocketAddress(InetAddress.getLoopbackAddress(), 40000 + i);
+            packetHandler.handlePacket(withOrigin(
+                new JavunoPacketInServerConnect(String.format("Player%d", i), ""),
+                originAddresses[i]));
+        }
+        for (InetSocketAddress originAddress : originAddresses)
+            packetHandler.handlePacket(withOrigin(new JavunoPacketInOutPlayerReadyChanged(true), originAddress));
+        Thread.sleep(GAME_START_MILLIS);
+
+        int stateVersion = room.getGameStateLog().getLatestVersion();
+        stateAckPackets = new JavunoPacketInStateAck[PLAYER_COUNT];
+        for (int i = 0; i < PLAYER_COUNT; i++)
+            stateAckPackets[i] = withOrigin(new JavunoPacketInStateAck(stateVersion), originAddresses[i]);
+        chatPacket = withOrigin(new JavunoPacketInOutChatMessage("Hello", "Player0"), originAddresses[0]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        frame.getMVC().getController().getHostController().stopHost();
+        timingWheel.shutdown();
+        frame.dispose();
+    }
+
+    /**
+     * A player acknowledges the latest game state version, which is the most frequent packet during a game.
+     */
+    @Benchmark
+    public JServerPacket stateAck() {
+        index = (index + 1) % PLAYER_COUNT;
+        JServerPacket packet = stateAckPackets[index];
+        packetHandler.handlePacket(packet);
+        return packet;
+    }
+
+    /**
+     * A player sends chat messages faster than they are allowed to, so every packet after the first burst is rejected.
+     */
+    @Benchmark
+    public Object chatMessageThrottled() {
+        try {
+            packetHandler.handlePacket(chatPacket);
+            return chatPacket;
+        } catch (JavunoBadPacketException e) {
+            return e;
+        }
+    }
+
+    private static <T extends JServerPacket> T withOrigin(T packet, InetSocketAddress originAddress) {
+        packet.setOriginAddress(originAddress);
+        return packet;
+    }
+}
@@ -0,0 +1,81 @@
+package solar.rpg.javuno.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.game.AbstractGameModel.GameState;
+import solar.rpg.javuno.models.game.AbstractGameModel.UnoChallengeState;
+import solar.rpg.javuno.models.game.Direction;
+import solar.rpg.javuno.models.packets.JavunoPacketHandlerRegistry;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutDrawCards;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutGameStart;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutGameState;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutReceiveCards;
+import solar.rpg.jserver.packet.JServerPacket;
+
+import java.util.List;
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@link JavunoPacketHandlerRegistry#dispatch(JServerPacket)} takes to pass outbound packets to the
+ * client's handlers. The handlers of packet classes that extend each other are registered in the same order as the
+ * client registers them.
+ * <p>
+ * Unlike {@link PacketDispatchBenchmark}, this benchmark does not need a display.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketHandlerRegistryBenchmark {
+
+    private JavunoPacketHandlerRegistry handlers;
+    private JServerPacket[] packets;
+    /**
+     * The class of the handler that the last packet was dispatched to.
+     */
+    private Class<?> handledClass;
+    private int index;
+
+    @Setup
+    public void setup() {
+        handlers = new JavunoPacketHandlerRegistry()
+            .register(JavunoPacketOutDrawCards.class, packet -> handledClass = JavunoPacketOutDrawCards.class)
+            .register(JavunoPacketOutGameStart.class, packet -> handledClass = JavunoPacketOutGameStart.class)
+            .register(JavunoPacketOutGameState.class, packet -> handledClass = JavunoPacketOutGameState.class);
+
+        List<ICard> cards = List.of();
+        packets = new JServerPacket[]{
+            new JavunoPacketOutGameStart(cards, new Stack<>(), List.of(), 0, Direction.FORWARD, 0),
+            new JavunoPacketOutGameState(
+                cards,
+                new Stack<>(),
+                List.of(),
+                0,
+                Direction.FORWARD,
+                GameState.AWAITING_PLAY,
+                UnoChallengeState.NOT_APPLICABLE,
+                null,
+                0,
+                0,
+                1),
+            new JavunoPacketOutDrawCards("Player0", 1, true, 0),
+            new JavunoPacketOutReceiveCards("Player0", cards, true, 0)
+        };
+    }
+
+    /**
+     * Dispatches packets of every registered type in turn.
+     */
+    @Benchmark
+    public Object dispatch() {
+        index = (index + 1) % packets.length;
+        handlers.dispatch(packets[index]);
+        return handledClass;
+    }
+}
@@ -0,0 +1,167 @@
+package solar.rpg.javuno.benchmarks;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import solar.rpg.javuno.models.cards.AbstractWildCard;
+import solar.rpg.javuno.models.cards.ColoredCard;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.cards.standard.*;
+import solar.rpg.javuno.models.game.AbstractGameModel;
+import solar.rpg.javuno.models.game.AbstractGameModel.GameState;
+import solar.rpg.javuno.models.game.AbstractGameModel.UnoChallengeState;
+import solar.rpg.javuno.models.game.ClientOpponent;
+import solar.rpg.javuno.models.game.Direction;
+import solar.rpg.javuno.models.game.PlayabilityTable;
+import solar.rpg.javuno.models.game.UnoDeckFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link PlayabilityTable} lookups used by {@link AbstractGameModel#isCardPlayable(ICard)} against the
+ * {@code instanceof} chain that it replaced. Each invocation checks one hand against one discard pile, cycling through
+ * a fixed set of random situations so that the branches cannot be predicted.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayabilityBenchmark {
+
+    /**
+     * Amount of random situations to cycle through.
+     */
+    private static final int SITUATION_COUNT = 1024;
+
+    @Param({"7", "25"})
+    public int handSize;
+
+    private BenchmarkGameModel[] models;
+    private List<List<ICard>> hands;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        models = new BenchmarkGameModel[SITUATION_COUNT];
+        hands = new ArrayList<>(SITUATION_COUNT);
+
+        for (int i = 0; i < SITUATION_COUNT; i++) {
+            Stack<ICard> deck = new UnoDeckFactory().getNewDrawPile(2);
+            Stack<ICard> discardPile = new Stack<>();
+            discardPile.push(deck.pop());
+            discardPile.push(deck.pop());
+
+            ICard top = discardPile.peek();
+            CardColor chosenColor = top instanceof AbstractWildCard
+                ? CardColor.values()[random.nextInt(CardColor.values().length)]
+                : null;
+            GameState gameState = random.nextInt(4) == 0 ? GameState.AWAITING_DRAW_TWO_RESPONSE : GameState.AWAITING_PLAY;
+            models[i] = new BenchmarkGameModel(discardPile, gameState, chosenColor, random.nextInt(3));
+
+            List<ICard> hand = new ArrayList<>(handSize);
+            for (int j = 0; j < handSize; j++) hand.add(deck.pop());
+            hands.add(hand);
+        }
+    }
+
+    @Benchmark
+    public boolean canPlayAnyCardLegacy() {
+        int i = next();
+        BenchmarkGameModel model = models[i];
+        return hands.get(i).stream().anyMatch(card -> legacyIsCardPlayable(model, card));
+    }
+
+    @Benchmark
+    public boolean canPlayAnyCardTable() {
+        int i = next();
+        return models[i].canPlayAnyCard(hands.get(i));
+    }
+
+    @Benchmark
+    public void playableCardsLegacy(@NotNull Blackhole blackhole) {
+        int i = next();
+        BenchmarkGameModel model = models[i];
+        for (ICard card : hands.get(i)) blackhole.consume(legacyIsCardPlayable(model, card));
+    }
+
+    @Benchmark
+    public void playableCardsTable(@NotNull Blackhole blackhole) {
+        int i = next();
+        blackhole.consume(models[i].getPlayableCards(hands.get(i)));
+    }
+
+    private int next() {
+        index = (index + 1) & (SITUATION_COUNT - 1);
+        return index;
+    }
+
+    /**
+     * The {@code instanceof} chain that {@link AbstractGameModel#isCardPlayable(ICard)} used before the playability
+     * table, kept as a baseline.
+     *
+     * @param model      The game model.
+     * @param cardToPlay The given card to check.
+     * @return True, if the given card can be played on top of the discard pile.
+     */
+    public static boolean legacyIsCardPlayable(@NotNull AbstractGameModel<?> model, @NotNull ICard cardToPlay) {
+        ICard lastPlayed = model.getLastPlayedCard();
+
+        if (lastPlayed instanceof DrawTwoCard && cardToPlay instanceof DrawTwoCard) return true;
+
+        if (model.getGameState() != GameState.AWAITING_PLAY) return false;
+
+        if (cardToPlay instanceof AbstractWildCard)
+            return !(lastPlayed instanceof DrawTwoCard) || model.isLastPlayedPenaltyApplied();
+
+        if (model.getLastPlayedColor() == ((ColoredCard) cardToPlay).getCardColor()) return true;
+
+        if (lastPlayed instanceof NumberedCard numbered1 && cardToPlay instanceof NumberedCard numbered2)
+            return numbered1.getNumber() == numbered2.getNumber();
+
+        return (lastPlayed instanceof SkipCard && cardToPlay instanceof SkipCard) ||
+            (lastPlayed instanceof ReverseCard && cardToPlay instanceof ReverseCard);
+    }
+
+    /**
+     * A game model with a fixed discard pile and no players.
+     */
+    public static final class BenchmarkGameModel extends AbstractGameModel<ClientOpponent> {
+
+        public BenchmarkGameModel(
+            @NotNull Stack<ICard> discardPile,
+            @NotNull GameState gameState,
+            @Nullable CardColor chosenColor,
+            int appliedCardCount) {
+            this(discardPile, gameState, chosenColor, appliedCardCount, 0);
+        }
+
+        public BenchmarkGameModel(
+            @NotNull Stack<ICard> discardPile,
+            @NotNull GameState gameState,
+            @Nullable CardColor chosenColor,
+            int appliedCardCount,
+            int drawTwoMultiplier) {
+            super(
+                discardPile,
+                new ArrayList<>(),
+                Direction.FORWARD,
+                gameState,
+                UnoChallengeState.NOT_APPLICABLE,
+                chosenColor,
+                appliedCardCount,
+                drawTwoMultiplier);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package solar.rpg.javuno.client;
 
+import solar.rpg.javuno.client.controller.ConnectionController.TransportType;
 import solar.rpg.javuno.client.views.MainFrame;
+import solar.rpg.javuno.concurrent.JavunoExecutorType;
 
 import javax.swing.*;
 import java.awt.*;
@@ -25,6 +27,13 @@ public class Main {
         logger.addHandler(handler);
         logger.setLevel(Level.FINER);
 
-        new MainFrame(logger);
+        // The transport must match the host that the server runs, e.g. -Djavuno.transport=framed
+        TransportType transportType =
+            TransportType.valueOf(System.getProperty("javuno.transport", "jserver").toUpperCase());
+        // Connection handlers can run on virtual threads (JDK 21+), e.g. -Djavuno.executor=virtual
+        JavunoExecutorType executorType =
+            JavunoExecutorType.valueOf(System.getProperty("javuno.executor", "platform").toUpperCase());
+
+        new MainFrame(transportType, executorType, logger);
     }
 }
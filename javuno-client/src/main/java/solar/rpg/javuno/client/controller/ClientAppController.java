@@ -1,7 +1,9 @@
 package solar.rpg.javuno.client.controller;
 
 import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.client.controller.ConnectionController.TransportType;
 import solar.rpg.javuno.client.mvc.JavunoClientMVC;
+import solar.rpg.javuno.concurrent.JavunoExecutorType;
 import solar.rpg.javuno.client.views.MainFrame;
 import solar.rpg.javuno.client.views.ViewMain;
 import solar.rpg.javuno.mvc.IController;
@@ -29,12 +31,17 @@ public class ClientAppController implements IController {
     /**
      * Constructs a new {@code ClientAppController} instance.
      *
-     * @param logger Logger object.
+     * @param transportType The transport used to connect to servers.
+     * @param executorType  The strategy used to create the connection executor.
+     * @param logger        Logger object.
      */
-    public ClientAppController(@NotNull Logger logger) {
+    public ClientAppController(
+        @NotNull TransportType transportType,
+        @NotNull JavunoExecutorType executorType,
+        @NotNull Logger logger) {
         this.mvc = new JavunoClientMVC<>();
         this.logger = logger;
-        connectionController = new ConnectionController(logger);
+        connectionController = new ConnectionController(transportType, executorType, logger);
         clientGameController = new ClientGameController(logger);
     }
 
@@ -2,7 +2,6 @@ package solar.rpg.javuno.client.controller;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import solar.rpg.javuno.client.controller.ConnectionController.JavunoClientConnection;
 import solar.rpg.javuno.client.models.ClientGameLobbyModel;
 import solar.rpg.javuno.client.models.ClientGameModel;
 import solar.rpg.javuno.client.mvc.JavunoClientMVC;
@@ -19,13 +18,16 @@ import solar.rpg.javuno.models.packets.in.JavunoPacketInDrawCards;
 import solar.rpg.javuno.models.packets.in.JavunoPacketInOutPlayerReadyChanged;
 import solar.rpg.javuno.models.packets.in.JavunoPacketInPlayCard;
 import solar.rpg.javuno.models.packets.in.JavunoPacketInPlayWildCard;
+import solar.rpg.javuno.models.packets.in.JavunoPacketInStateAck;
 import solar.rpg.javuno.models.packets.out.JavunoPacketOutConnectionRejected.ConnectionRejectionReason;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutGameState;
 import solar.rpg.javuno.mvc.IController;
 import solar.rpg.javuno.mvc.IView;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -38,6 +40,11 @@ import java.util.logging.Logger;
  */
 public class ClientGameController implements IController {
 
+    /**
+     * The amount of applied game state deltas between each acknowledgement sent to the server.
+     */
+    private static final int STATE_ACK_INTERVAL = 8;
+
     @NotNull
     private final Logger logger;
     @NotNull
@@ -50,6 +57,10 @@ public class ClientGameController implements IController {
     private ClientGameModel gameModel;
     @NotNull
     private final JavunoClientPacketHandler packetHandler;
+    /**
+     * True, if a game state delta was missed and the server has been asked to resend it.
+     */
+    private boolean awaitingResync;
 
     /**
      * Constructs a new {@code ClientGameController} instance.
@@ -69,7 +80,7 @@ public class ClientGameController implements IController {
      * Called when this client player clicks on the draw pile.
      */
     public void drawCards() {
-        getClientConnection().writePacket(new JavunoPacketInDrawCards());
+        getClientConnection().sendPacket(new JavunoPacketInDrawCards());
     }
 
     /**
@@ -83,7 +94,7 @@ public class ClientGameController implements IController {
         ICard card = getGameModel().getClientCards().get(cardIndex);
         if (!(card instanceof AbstractWildCard)) throw new IllegalStateException("Chosen card is not a wild card");
 
-        getClientConnection().writePacket(new JavunoPacketInPlayWildCard(cardIndex, chosenColor));
+        getClientConnection().sendPacket(new JavunoPacketInPlayWildCard(cardIndex, chosenColor));
     }
 
     /**
@@ -93,21 +104,21 @@ public class ClientGameController implements IController {
      * @throws IndexOutOfBoundsException Card index is out of bounds.
      */
     public void playCard(int cardIndex) {
-        getClientConnection().writePacket(new JavunoPacketInPlayCard(cardIndex));
+        getClientConnection().sendPacket(new JavunoPacketInPlayCard(cardIndex));
     }
 
     /**
      * Called when this client player marks themselves as ready.
      */
     public void markSelfReady() {
-        getClientConnection().writePacket(new JavunoPacketInOutPlayerReadyChanged(true));
+        getClientConnection().sendPacket(new JavunoPacketInOutPlayerReadyChanged(true));
     }
 
     /**
      * Called when this client player marks themselves as not ready.
      */
     public void unmarkSelfReady() {
-        getClientConnection().writePacket(new JavunoPacketInOutPlayerReadyChanged(false));
+        getClientConnection().sendPacket(new JavunoPacketInOutPlayerReadyChanged(false));
     }
 
     /* Incoming Events (called by incoming server packets) */
@@ -119,13 +130,16 @@ public class ClientGameController implements IController {
      * @param cardAmount    The amount of cards taken from the draw pile.
      * @param cardsReceived The actual cards received. This
      * @param nextTurn      True, if the player cannot play a card after drawing.
+     * @param sequence      The game state version that drawing the cards produced.
      * @throws IllegalArgumentException Cards were inappropriately provided.
      */
     public void onDrawCards(
         @NotNull String playerName,
         int cardAmount,
         @Nullable List<ICard> cardsReceived,
-        boolean nextTurn) {
+        boolean nextTurn,
+        int sequence) {
+        if (!acceptStateDelta(sequence)) return;
         boolean self = cardsReceived != null;
 
         if (isCurrentPlayer() && !self)
@@ -136,6 +150,7 @@ public class ClientGameController implements IController {
         if (self) getGameModel().addCards(cardsReceived);
         getGameModel().getPlayer(getGameModel().getPlayerIndex(playerName)).incrementCardCount(cardAmount);
         getGameModel().onDrawCards(nextTurn);
+        onStateDeltaApplied(sequence);
 
         IView.invoke(() -> gameMVC.getView().onDrawCards(playerName, cardAmount, self, nextTurn), logger);
     }
@@ -143,23 +158,32 @@ public class ClientGameController implements IController {
     /**
      * Called when a player has played a card.
      *
-     * @param playerName The name of the player who played the card.
-     * @param cardToPlay The card that was played.
-     * @param cardIndex  The index of the card that was played from the player's hand (for removal).
+     * @param playerName  The name of the player who played the card.
+     * @param cardToPlay  The card that was played.
+     * @param chosenColor The color chosen for the card, if it is a wild card (otherwise null).
+     * @param cardIndex   The index of the card that was played from the player's hand (for removal).
+     * @param sequence    The game state version that playing the card produced.
      * @throws IllegalStateException    Player was not allowed to play the card, or game is not running.
      * @throws IllegalArgumentException Card was not playable.
      */
-    public void onPlayCard(@NotNull String playerName, @NotNull ICard cardToPlay, int cardIndex) {
+    public void onPlayCard(
+        @NotNull String playerName,
+        @NotNull ICard cardToPlay,
+        @Nullable CardColor chosenColor,
+        int cardIndex,
+        int sequence) {
+        if (!acceptStateDelta(sequence)) return;
         if (!getGameModel().getCurrentPlayerName().equals(playerName))
             throw new IllegalStateException(String.format("%s is not the current player", playerName));
         if (!getGameModel().getGameState().canPlay())
             throw new IllegalStateException(String.format("Not expecting this action from %s", playerName));
 
-        getGameModel().playCard(cardToPlay);
+        getGameModel().playCard(cardToPlay, chosenColor);
         getGameModel().getPlayer(getGameModel().getPlayerIndex(playerName)).decrementCardAmount();
 
         boolean self = playerName.equals(getPlayerName());
         if (self) getGameModel().removeClientCard(cardIndex);
+        onStateDeltaApplied(sequence);
 
         IView.invoke(() -> gameMVC.getView().onPlayCard(playerName, self), logger);
     }
@@ -172,6 +196,7 @@ public class ClientGameController implements IController {
      * @param players            List of participating player objects (the order matters here).
      * @param currentPlayerIndex Index of the current player (who will play the first card).
      * @param currentDirection   The current direction of play.
+     * @param stateVersion       The game state version that the game starts at.
      * @throws IllegalStateException Game already exists, or lobby model does not exist.
      */
     public void onGameStart(
@@ -179,7 +204,8 @@ public class ClientGameController implements IController {
         @NotNull Stack<ICard> discardPile,
         @NotNull List<ClientOpponent> players,
         int currentPlayerIndex,
-        @NotNull Direction currentDirection) {
+        @NotNull Direction currentDirection,
+        int stateVersion) {
         getGameLobbyModel().setInGame(true);
         setGameModel(
             clientCards,
@@ -188,7 +214,11 @@ public class ClientGameController implements IController {
             currentPlayerIndex,
             currentDirection,
             GameState.AWAITING_START,
-            UnoChallengeState.NOT_APPLICABLE
+            UnoChallengeState.NOT_APPLICABLE,
+            null,
+            0,
+            0,
+            stateVersion
         );
         String startingPlayerName = getGameModel().getCurrentPlayerName();
         getGameModel().start();
@@ -283,6 +313,11 @@ public class ClientGameController implements IController {
      * @param currentPlayerIndex Index of the current player (who will play the next card).
      * @param currentDirection   The current direction of play.
      * @param gameState          The current game state.
+     * @param unoChallengeState  The current uno challenge state.
+     * @param chosenColor        The color chosen for the wild card on top of the discard pile, if any.
+     * @param appliedCardCount   Amount of cards at the bottom of the discard pile whose penalties no longer apply.
+     * @param drawTwoMultiplier  Amount of consecutive draw two cards whose penalty is yet to be applied.
+     * @param stateVersion       The game state version that the snapshot represents.
      */
     public void onJoinGame(
         @NotNull String playerName,
@@ -293,7 +328,11 @@ public class ClientGameController implements IController {
         int currentPlayerIndex,
         @NotNull Direction currentDirection,
         @NotNull GameState gameState,
-        @NotNull UnoChallengeState unoChallengeState) {
+        @NotNull UnoChallengeState unoChallengeState,
+        @Nullable CardColor chosenColor,
+        int appliedCardCount,
+        int drawTwoMultiplier,
+        int stateVersion) {
         setGameLobbyModel(playerName, lobbyPlayerNames, new ArrayList<>());
         getGameLobbyModel().setInGame(true);
         setGameModel(
@@ -303,7 +342,11 @@ public class ClientGameController implements IController {
             currentPlayerIndex,
             currentDirection,
             gameState,
-            unoChallengeState
+            unoChallengeState,
+            chosenColor,
+            appliedCardCount,
+            drawTwoMultiplier,
+            stateVersion
         );
         IView.invoke(() -> {
             gameMVC.getAppController().getMVC().getView().onConnected();
@@ -315,6 +358,59 @@ public class ClientGameController implements IController {
         }, logger);
     }
 
+    /**
+     * Called by the server when the client has fallen too far behind the game state stream to catch up using deltas.
+     * The game model is replaced with the snapshot.
+     *
+     * @param clientCards        The client player's current cards (or null if they are spectating).
+     * @param discardPile        The discard pile, including all previously discarded cards.
+     * @param players            List of participating player objects (the order matters here).
+     * @param currentPlayerIndex Index of the current player (who will play the next card).
+     * @param currentDirection   The current direction of play.
+     * @param gameState          The current game state.
+     * @param unoChallengeState  The current uno challenge state.
+     * @param chosenColor        The color chosen for the wild card on top of the discard pile, if any.
+     * @param appliedCardCount   Amount of cards at the bottom of the discard pile whose penalties no longer apply.
+     * @param drawTwoMultiplier  Amount of consecutive draw two cards whose penalty is yet to be applied.
+     * @param stateVersion       The game state version that the snapshot represents.
+     * @throws IllegalStateException Game model does not exist.
+     */
+    public void onGameStateSnapshot(
+        @Nullable List<ICard> clientCards,
+        @NotNull Stack<ICard> discardPile,
+        @NotNull List<ClientOpponent> players,
+        int currentPlayerIndex,
+        @NotNull Direction currentDirection,
+        @NotNull GameState gameState,
+        @NotNull UnoChallengeState unoChallengeState,
+        @Nullable CardColor chosenColor,
+        int appliedCardCount,
+        int drawTwoMultiplier,
+        int stateVersion) {
+        if (stateVersion <= getGameModel().getStateVersion()) return;
+
+        gameModel = null;
+        setGameModel(
+            clientCards,
+            discardPile,
+            players,
+            currentPlayerIndex,
+            currentDirection,
+            gameState,
+            unoChallengeState,
+            chosenColor,
+            appliedCardCount,
+            drawTwoMultiplier,
+            stateVersion
+        );
+        awaitingResync = false;
+        getClientConnection().sendPacket(new JavunoPacketInStateAck(stateVersion));
+        IView.invoke(() -> {
+            gameMVC.getViewInformation().refreshPlayerTable();
+            gameMVC.getView().onJoinGame();
+        }, logger);
+    }
+
     /**
      * Called by the server when the client's connection attempt is rejected.
      *
@@ -322,6 +418,11 @@ public class ClientGameController implements IController {
      * @throws IllegalStateException There is no pending connection.
      */
     public void onConnectionRejected(@NotNull ConnectionRejectionReason reason) {
+        if (reason == ConnectionRejectionReason.SESSION_EXPIRED) {
+            // The client is told that it was disconnected once the socket closes
+            gameMVC.getAppController().getConnectionController().onResumeRejected();
+            return;
+        }
         gameMVC.getAppController().getConnectionController().onConnectionRejected();
         IView.invoke(() -> {
             String errorMsg = "";
@@ -329,6 +430,9 @@ public class ClientGameController implements IController {
                 case INCORRECT_PASSWORD -> errorMsg = "Incorrect server password.";
                 case USERNAME_ALREADY_TAKEN -> errorMsg = "That username is already taken.";
                 case INVALID_USERNAME -> errorMsg = "That username is not valid. Please only use alphanumeric characters.";
+                case INVALID_ROOM_NAME -> errorMsg = "That room name is not valid. Please only use alphanumeric characters.";
+                case ROOM_LIMIT_REACHED -> errorMsg = "The server cannot host any more rooms. Please try again later.";
+                case SPECTATOR_LIMIT_REACHED -> errorMsg = "That room cannot take any more spectators. Please try again later.";
             }
 
             if (!errorMsg.isEmpty()) {
@@ -338,12 +442,101 @@ public class ClientGameController implements IController {
         }, logger);
     }
 
+    /**
+     * Called by the server once the client has resumed its session after losing its socket. The lobby is replaced, as
+     * players may have joined or left in the meantime. The game model is kept if the deltas that were missed follow,
+     * and is otherwise replaced with the given game state, or discarded if no game is running any more.
+     *
+     * @param lobbyPlayerNames Names of all players currently in the lobby (the order matters here).
+     * @param readyPlayerNames Names of all players who are marked as ready, or null if a game is running.
+     * @param gameState        The state of the running game, or null if no game is running or the deltas follow.
+     * @throws IllegalStateException Game lobby model does not exist, or game model does not exist and was not sent.
+     */
+    public void onSessionResumed(
+        @NotNull List<String> lobbyPlayerNames,
+        @Nullable List<String> readyPlayerNames,
+        @Nullable JavunoPacketOutGameState gameState) {
+        boolean inGame = readyPlayerNames == null;
+        lobbyModel = new ClientGameLobbyModel(
+            getPlayerName(),
+            lobbyPlayerNames,
+            inGame ? new ArrayList<>() : readyPlayerNames);
+        lobbyModel.setInGame(inGame);
+        awaitingResync = false;
+
+        if (!inGame || gameState != null) gameModel = null;
+        if (gameState != null)
+            setGameModel(
+                gameState.getClientCards(),
+                gameState.getDiscardPile(),
+                gameState.getPlayers(),
+                gameState.getCurrentPlayerIndex(),
+                gameState.getCurrentDirection(),
+                gameState.getGameState(),
+                gameState.getUnoChallengeState(),
+                gameState.getChosenColor(),
+                gameState.getAppliedCardCount(),
+                gameState.getDrawTwoMultiplier(),
+                gameState.getStateVersion()
+            );
+        else if (inGame && gameModel == null) throw new IllegalStateException("Game model does not exist");
+
+        gameMVC.getAppController().getConnectionController().onSessionResumed();
+        if (gameState != null)
+            getClientConnection().sendPacket(new JavunoPacketInStateAck(gameState.getStateVersion()));
+        IView.invoke(() -> {
+            gameMVC.getAppController().getMVC().getView().onConnected();
+            gameMVC.logClientEvent("> Your session has been resumed.");
+        }, logger);
+    }
+
+    /**
+     * @return The last game state version that has been applied, or -1 if there is no game model.
+     */
+    public int getAppliedStateVersion() {
+        return gameModel == null ? -1 : gameModel.getStateVersion();
+    }
+
     /**
      * Called when disconnected from the server.
      */
     public void onDisconnected() {
         lobbyModel = null;
         gameModel = null;
+        awaitingResync = false;
+    }
+
+    /* Game State Stream */
+
+    /**
+     * Checks whether a delta from the game state stream can be applied on top of the game model. Deltas that have
+     * already been applied are ignored. If a delta has been missed, the server is asked to resend everything after the
+     * last applied state version.
+     *
+     * @param sequence The game state version that the delta produces.
+     * @return True, if the delta should be applied.
+     */
+    private boolean acceptStateDelta(int sequence) {
+        int expected = getGameModel().getStateVersion() + 1;
+        if (sequence == expected) return true;
+
+        if (sequence > expected && !awaitingResync) {
+            logger.log(Level.INFO, String.format("Missed game state v%d (got v%d), resyncing", expected, sequence));
+            awaitingResync = true;
+            getClientConnection().sendPacket(new JavunoPacketInStateAck(expected - 1));
+        }
+        return false;
+    }
+
+    /**
+     * Records that a delta from the game state stream has been applied, periodically acknowledging it to the server.
+     *
+     * @param sequence The game state version that the delta produced.
+     */
+    private void onStateDeltaApplied(int sequence) {
+        getGameModel().setStateVersion(sequence);
+        awaitingResync = false;
+        if (sequence % STATE_ACK_INTERVAL == 0) getClientConnection().sendPacket(new JavunoPacketInStateAck(sequence));
     }
 
     /* Attribute Getters/Setters */
@@ -406,6 +599,10 @@ public class ClientGameController implements IController {
      * @param currentDirection   The current direction of play.
      * @param gameState          The current game state.
      * @param unoChallengeState  The current uno challenge state.
+     * @param chosenColor        The color chosen for the wild card on top of the discard pile, if any.
+     * @param appliedCardCount   Amount of cards at the bottom of the discard pile whose penalties no longer apply.
+     * @param drawTwoMultiplier  Amount of consecutive draw two cards whose penalty is yet to be applied.
+     * @param stateVersion       The game state version that the state data represents.
      * @throws IllegalStateException Game model already exists.
      */
     public void setGameModel(
@@ -415,7 +612,11 @@ public class ClientGameController implements IController {
         int currentPlayerIndex,
         @NotNull Direction currentDirection,
         @NotNull GameState gameState,
-        @NotNull UnoChallengeState unoChallengeState) {
+        @NotNull UnoChallengeState unoChallengeState,
+        @Nullable CardColor chosenColor,
+        int appliedCardCount,
+        int drawTwoMultiplier,
+        int stateVersion) {
         if (gameModel != null) throw new IllegalStateException("Game model already exists");
         gameModel = new ClientGameModel(
             clientCards,
@@ -424,7 +625,11 @@ public class ClientGameController implements IController {
             currentPlayerIndex,
             currentDirection,
             gameState,
-            unoChallengeState
+            unoChallengeState,
+            chosenColor,
+            appliedCardCount,
+            drawTwoMultiplier,
+            stateVersion
         );
     }
 
@@ -491,7 +696,7 @@ public class ClientGameController implements IController {
      * @return An instance of the client connection (for writing packets).
      */
     @NotNull
-    private JavunoClientConnection getClientConnection() {
+    private IJavunoClientConnection getClientConnection() {
         return gameMVC.getAppController().getConnectionController().getClientConnection();
     }
 
@@ -4,20 +4,28 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import solar.rpg.javuno.client.mvc.JavunoClientMVC;
 import solar.rpg.javuno.client.views.ViewServerConnect;
+import solar.rpg.javuno.concurrent.JavunoExecutorType;
 import solar.rpg.javuno.models.packets.JavunoBadPacketException;
+import solar.rpg.javuno.models.packets.codec.JavunoFrameCodec;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketCodec;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketInOutEncoded;
 import solar.rpg.javuno.models.packets.in.JavunoPacketInServerConnect;
+import solar.rpg.javuno.models.packets.in.JavunoPacketInSessionResume;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutConnectionAccepted;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutSessionResumed;
 import solar.rpg.javuno.mvc.IController;
 import solar.rpg.jserver.connection.handlers.packet.JServerClient;
 import solar.rpg.jserver.packet.JServerPacket;
 
 import javax.swing.*;
-import java.io.IOException;
+import java.io.*;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -29,25 +37,76 @@ public class ConnectionController implements IController {
     private final Logger logger;
     @NotNull
     private final ExecutorService executor;
+    @NotNull
+    private final TransportType transportType;
     @Nullable
-    private JavunoClientConnection clientConnection;
+    private IJavunoClientConnection clientConnection;
     @Nullable
     private CompletableFuture<Void> currentPendingConnection;
+    /**
+     * The address of the server that was last connected to, so that the session can be resumed.
+     */
+    @Nullable
+    private InetAddress hostAddr;
+    private int port;
+    /**
+     * The name that this client was accepted with.
+     */
+    @Nullable
+    private String username;
+    /**
+     * The token that the session can be resumed with if the socket is lost, or {@code null} if it cannot be resumed.
+     */
+    @Nullable
+    private volatile String resumeToken;
+    /**
+     * True, while a lost session is being resumed from a new socket.
+     */
+    private volatile boolean resuming;
+    /**
+     * True, if this client closed the connection itself, in which case the session is not resumed.
+     */
+    private volatile boolean closeRequested;
 
-    public ConnectionController(@NotNull Logger logger) {
+    public ConnectionController(
+            @NotNull TransportType transportType,
+            @NotNull JavunoExecutorType executorType,
+            @NotNull Logger logger) {
         this.mvc = new JavunoClientMVC<>();
+        this.transportType = transportType;
         this.logger = logger;
-        executor = Executors.newCachedThreadPool();
+        executor = executorType.newExecutor("javuno-client-", logger);
     }
 
     public void onConnectionAccepted() {
         if (currentPendingConnection == null) throw new IllegalStateException("There is no pending connection");
-        if (getClientConnection().accepted.get()) throw new IllegalStateException("Connection already accepted");
-        getClientConnection().accepted.set(true);
+        getClientConnection().markAccepted();
         currentPendingConnection.complete(null);
         currentPendingConnection = null;
     }
 
+    /**
+     * Called once the server has given this client its seat back from the new socket.
+     *
+     * @throws IllegalStateException Session is not being resumed.
+     */
+    public void onSessionResumed() {
+        if (!resuming) throw new IllegalStateException("Session is not being resumed");
+        resuming = false;
+        getClientConnection().markAccepted();
+        logger.log(Level.FINE, "Resumed session with Javuno server");
+    }
+
+    /**
+     * Called once the server has refused to resume the session. The socket is closed, and this client is told that it
+     * was disconnected.
+     */
+    public void onResumeRejected() {
+        resumeToken = null;
+        IJavunoClientConnection clientConnection = this.clientConnection;
+        if (clientConnection != null && !clientConnection.isClosed()) clientConnection.close();
+    }
+
     public void onConnectionRejected() {
         if (currentPendingConnection == null) throw new IllegalStateException("There is no pending connection");
         currentPendingConnection.cancel(true);
@@ -64,16 +123,20 @@ public class ConnectionController implements IController {
 
         currentPendingConnection = new CompletableFuture<>();
         final CompletableFuture<Void> pendingConnection = currentPendingConnection;
+        resumeToken = null;
+        resuming = false;
+        closeRequested = false;
 
         executor.execute(() -> {
             try {
-                JavunoClientConnection clientConnection = new JavunoClientConnection(
-                        InetAddress.getByName(ipAddress),
+                InetAddress hostAddr = InetAddress.getByName(ipAddress);
+                this.hostAddr = hostAddr;
+                this.port = port;
+                this.username = username;
+                IJavunoClientConnection clientConnection = openConnection(
+                        hostAddr,
                         port,
-                        username,
-                        serverPassword,
-                        executor,
-                        logger);
+                        getConnectPacket(username, serverPassword));
                 if (!pendingConnection.isCancelled()) {
                     logger.log(Level.FINE,
                                String.format("Connection established with Javuno server %s:%s", ipAddress, port));
@@ -107,10 +170,11 @@ public class ConnectionController implements IController {
     }
 
     public boolean isValid() {
-        return clientConnection != null && clientConnection.accepted.get();
+        return clientConnection != null && clientConnection.isAccepted();
     }
 
     public void close() {
+        closeRequested = true;
         if (clientConnection != null) {
             if (getClientConnection().isClosed()) throw new IllegalStateException("Connection is already closed");
             getClientConnection().close();
@@ -121,7 +185,7 @@ public class ConnectionController implements IController {
     /* Field Getters & Setters */
 
     @NotNull
-    public JavunoClientConnection getClientConnection() {
+    public IJavunoClientConnection getClientConnection() {
         if (clientConnection == null) throw new IllegalStateException("There is no active connection");
         return clientConnection;
     }
@@ -131,58 +195,321 @@ public class ConnectionController implements IController {
         return mvc;
     }
 
-    public final class JavunoClientConnection extends JServerClient {
+    /**
+     * Passes a packet received from the server to the packet handler. If the packet is bad and the problem is fatal,
+     * the connection is closed.
+     *
+     * @param connection The connection that received the packet.
+     * @param packet     The decoded packet.
+     */
+    private void handlePacket(@NotNull IJavunoClientConnection connection, @NotNull JServerPacket packet) {
+        if (packet instanceof JavunoPacketOutConnectionAccepted acceptedPacket)
+            resumeToken = acceptedPacket.getResumeToken();
+        try {
+            mvc.getAppController().getGameController().getPacketHandler().handlePacket(packet);
+        } catch (JavunoBadPacketException e) {
+            logger.log(Level.INFO,
+                       String.format("Bad packet received, it %s fatal", e.isFatal() ? "WAS" : "was NOT "),
+                       e);
+            if (e.isFatal()) connection.close();
+        } catch (Exception e) {
+            logger.log(Level.WARNING,
+                       String.format("Unhandled exception %s while handling server packet: %s",
+                                     e.getClass().getSimpleName(),
+                                     e.getMessage()),
+                       e);
+        }
+    }
 
+    /**
+     * Called once the socket to the server has closed. If the server issued a resume token and this client did not
+     * close the connection itself, the session is resumed from a new socket. Otherwise, the client is disconnected.
+     */
+    private void onSocketClosed() {
+        boolean isValid = isValid();
+        clientConnection = null;
+        if (isValid && resumeToken != null && !closeRequested) {
+            tryResume();
+            return;
+        }
+
+        // A session that could not be resumed was valid until its socket was lost
+        boolean notify = isValid || resuming;
+        resuming = false;
+        resumeToken = null;
+        SwingUtilities.invokeLater(() -> mvc.getAppController().getMVC().getView().onDisconnected(notify));
+    }
+
+    /**
+     * Opens a new socket to the server, and asks it to resume the session in place of joining from scratch. The server
+     * replies with only what was missed, so the client is back in within one round trip.
+     */
+    private void tryResume() {
+        String resumeToken = this.resumeToken;
+        if (resumeToken == null || hostAddr == null || username == null)
+            throw new IllegalStateException("There is no session to resume");
+
+        resuming = true;
+        JavunoPacketInSessionResume resumePacket = new JavunoPacketInSessionResume(
+                JavunoPacketInServerConnect.DEFAULT_ROOM_NAME,
+                username,
+                resumeToken,
+                mvc.getAppController().getGameController().getAppliedStateVersion(),
+                JavunoPacketCodec.VERSION);
+        logger.log(Level.INFO, "Connection to server lost, resuming session");
+
+        executor.execute(() -> {
+            try {
+                clientConnection = openConnection(hostAddr, port, resumePacket);
+            } catch (IOException e) {
+                logger.log(Level.INFO, "Unable to resume session with Javuno server", e);
+                onSocketClosed();
+            }
+        });
+    }
+
+    /**
+     * Opens a new connection to the server, using the transport chosen at startup.
+     *
+     * @param hostAddr         The address of the server.
+     * @param port             The port of the server.
+     * @param handshakePacket  The first packet to send once the connection has been established.
+     * @return The new connection.
+     * @throws IOException The connection could not be established.
+     */
+    @NotNull
+    private IJavunoClientConnection openConnection(
+            @NotNull InetAddress hostAddr,
+            int port,
+            @NotNull JServerPacket handshakePacket) throws IOException {
+        return switch (transportType) {
+            case JSERVER -> new JavunoClientConnection(hostAddr, port, handshakePacket, executor, logger);
+            case FRAMED -> new JavunoFramedClientConnection(hostAddr, port, handshakePacket, executor);
+        };
+    }
+
+    /**
+     * @param username       The client's requested username.
+     * @param serverPassword The provided server password.
+     * @return The connect packet that is sent once a connection has been established.
+     */
+    @NotNull
+    private JavunoPacketInServerConnect getConnectPacket(@NotNull String username, @NotNull String serverPassword) {
+        return new JavunoPacketInServerConnect(
+                username,
+                serverPassword,
+                JavunoPacketInServerConnect.DEFAULT_ROOM_NAME,
+                JavunoPacketCodec.VERSION);
+    }
+
+    /**
+     * {@code JavunoClientConnection} connects to a server using JServer. Packets are sent using Java serialization
+     * until the server agrees to use the binary codec.
+     *
+     * @author jskinner
+     * @since 1.0.0
+     */
+    public final class JavunoClientConnection extends JServerClient implements IJavunoClientConnection {
+
+        /**
+         * The first packet that is sent once the connection has been established.
+         */
         @NotNull
-        private final String username;
-        @NotNull
-        private final String serverPassword;
+        private final JServerPacket handshakePacket;
         @NotNull
         private final AtomicBoolean accepted;
+        /**
+         * The codec version that the server chose during the handshake. Java serialization is used until then.
+         */
+        private volatile int codecVersion;
 
         public JavunoClientConnection(
                 @NotNull InetAddress hostAddr,
                 int port,
-                @NotNull String username,
-                @NotNull String serverPassword,
+                @NotNull JServerPacket handshakePacket,
                 @NotNull ExecutorService executor,
                 @NotNull Logger logger) throws IOException {
             super(hostAddr, port, executor, logger);
-            this.username = username;
-            this.serverPassword = serverPassword;
+            this.handshakePacket = handshakePacket;
             accepted = new AtomicBoolean(false);
+            codecVersion = JavunoPacketCodec.VERSION_SERIALIZED;
 
             tryConnect();
         }
 
+        @Override
+        public void sendPacket(@NotNull JServerPacket packet) {
+            if (codecVersion == JavunoPacketCodec.VERSION_SERIALIZED) writePacket(packet);
+            else writePacket(new JavunoPacketInOutEncoded(JavunoPacketCodec.encode(packet)));
+        }
+
+        @Override
+        public boolean isAccepted() {
+            return accepted.get();
+        }
+
+        @Override
+        public void markAccepted() {
+            if (!accepted.compareAndSet(false, true)) throw new IllegalStateException("Connection already accepted");
+        }
+
         @Override
         public void onNewConnection(@NotNull InetSocketAddress originAddress) {
-            writePacket(new JavunoPacketInServerConnect(username, serverPassword));
+            writePacket(handshakePacket);
         }
 
         @Override
         public void onSocketClosed(@NotNull InetSocketAddress originAddress) {
-            boolean isValid = isValid();
-            clientConnection = null;
-            SwingUtilities.invokeLater(() -> mvc.getAppController().getMVC().getView().onDisconnected(isValid));
+            ConnectionController.this.onSocketClosed();
         }
 
         @Override
         public void onPacketReceived(@NotNull JServerPacket packet) {
             try {
-                mvc.getAppController().getGameController().getPacketHandler().handlePacket(packet);
+                if (packet instanceof JavunoPacketInOutEncoded encodedPacket) {
+                    JServerPacket decodedPacket = JavunoPacketCodec.decode(encodedPacket.getData());
+                    decodedPacket.setOriginAddress(packet.getOriginAddress());
+                    packet = decodedPacket;
+                }
+            } catch (JavunoBadPacketException e) {
+                logger.log(Level.INFO, "Unable to decode packet from server", e);
+                close();
+                return;
+            }
+            if (packet instanceof JavunoPacketOutConnectionAccepted acceptedPacket
+                    && JavunoPacketCodec.isSupported(acceptedPacket.getCodecVersion()))
+                codecVersion = acceptedPacket.getCodecVersion();
+            else if (packet instanceof JavunoPacketOutSessionResumed resumedPacket
+                    && JavunoPacketCodec.isSupported(resumedPacket.getCodecVersion()))
+                codecVersion = resumedPacket.getCodecVersion();
+            handlePacket(this, packet);
+        }
+    }
+
+    /**
+     * {@code JavunoFramedClientConnection} connects to a server that uses the selector host. Every packet is sent using
+     * the binary codec, inside a {@link JavunoFrameCodec} frame.
+     *
+     * @author jskinner
+     * @since 1.0.0
+     */
+    public final class JavunoFramedClientConnection implements IJavunoClientConnection {
+
+        @NotNull
+        private final Socket socket;
+        @NotNull
+        private final InetSocketAddress originAddress;
+        @NotNull
+        private final DataInputStream inputStream;
+        @NotNull
+        private final DataOutputStream outputStream;
+        /**
+         * Guards writes to the output stream. This is not a monitor, so that virtual threads blocked on a write do
+         * not pin their carrier thread.
+         */
+        @NotNull
+        private final ReentrantLock writeLock;
+        @NotNull
+        private final AtomicBoolean accepted;
+        @NotNull
+        private final AtomicBoolean closed;
+
+        public JavunoFramedClientConnection(
+                @NotNull InetAddress hostAddr,
+                int port,
+                @NotNull JServerPacket handshakePacket,
+                @NotNull ExecutorService executor) throws IOException {
+            socket = new Socket(hostAddr, port);
+            socket.setTcpNoDelay(true);
+            originAddress = (InetSocketAddress) socket.getRemoteSocketAddress();
+            inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            outputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            writeLock = new ReentrantLock();
+            accepted = new AtomicBoolean(false);
+            closed = new AtomicBoolean(false);
+
+            executor.execute(this::readFrames);
+            sendPacket(handshakePacket);
+        }
+
+        @Override
+        public void sendPacket(@NotNull JServerPacket packet) {
+            byte[] data = JavunoPacketCodec.encode(packet);
+            writeLock.lock();
+            try {
+                outputStream.writeInt(data.length);
+                outputStream.write(data);
+                outputStream.flush();
+            } catch (IOException e) {
+                logger.log(Level.FINE, "Unable to write packet to server", e);
+                close();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        /**
+         * Reads and handles frames from the server until the connection is closed.
+         */
+        private void readFrames() {
+            try {
+                while (!closed.get()) {
+                    int length = inputStream.readInt();
+                    JavunoFrameCodec.checkLength(length);
+                    byte[] data = new byte[length];
+                    inputStream.readFully(data);
+
+                    JServerPacket packet = JavunoPacketCodec.decode(data);
+                    packet.setOriginAddress(originAddress);
+                    handlePacket(this, packet);
+                }
             } catch (JavunoBadPacketException e) {
-                logger.log(Level.INFO,
-                           String.format("Bad packet received, it %s fatal", e.isFatal() ? "WAS" : "was NOT "),
-                           e);
-                if (e.isFatal()) close();
-            } catch (Exception e) {
-                logger.log(Level.WARNING,
-                           String.format("Unhandled exception %s while handling server packet: %s",
-                                         e.getClass().getSimpleName(),
-                                         e.getMessage()),
-                           e);
+                logger.log(Level.INFO, "Unable to decode packet from server", e);
+            } catch (IOException e) {
+                if (!closed.get()) logger.log(Level.FINE, "Connection to server lost", e);
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        public boolean isAccepted() {
+            return accepted.get();
+        }
+
+        @Override
+        public void markAccepted() {
+            if (!accepted.compareAndSet(false, true)) throw new IllegalStateException("Connection already accepted");
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed.get();
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) return;
+            try {
+                socket.close();
+            } catch (IOException ignored) {
             }
+            onSocketClosed();
         }
     }
+
+    /**
+     * Denotes the transports that can be used to connect to a server, chosen at startup. The transport must match the
+     * type of host that the server is running.
+     */
+    public enum TransportType {
+        /**
+         * Connects to a JServer host.
+         */
+        JSERVER,
+        /**
+         * Connects to a selector host using length-prefixed frames.
+         */
+        FRAMED
+    }
 }
@@ -0,0 +1,44 @@
+package solar.rpg.javuno.client.controller;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.jserver.packet.JServerPacket;
+
+/**
+ * Denotes an open connection from this client to a Javuno server, regardless of which
+ * {@link ConnectionController.TransportType} it uses.
+ *
+ * @author jskinner
+ * @see ConnectionController
+ * @since 1.0.0
+ */
+public interface IJavunoClientConnection {
+
+    /**
+     * Writes a packet to the server, encoding it as the transport requires.
+     *
+     * @param packet The packet to write.
+     */
+    void sendPacket(@NotNull JServerPacket packet);
+
+    /**
+     * @return True, if the server has accepted this connection.
+     */
+    boolean isAccepted();
+
+    /**
+     * Marks this connection as accepted by the server.
+     *
+     * @throws IllegalStateException Connection has already been accepted.
+     */
+    void markAccepted();
+
+    /**
+     * @return True, if this connection has been closed.
+     */
+    boolean isClosed();
+
+    /**
+     * Closes this connection.
+     */
+    void close();
+}
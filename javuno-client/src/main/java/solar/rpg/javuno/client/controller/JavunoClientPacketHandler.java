@@ -5,6 +5,7 @@ import org.jetbrains.annotations.NotNull;
 import solar.rpg.javuno.client.mvc.JavunoClientMVC;
 import solar.rpg.javuno.client.views.ViewGame;
 import solar.rpg.javuno.models.packets.JavunoBadPacketException;
+import solar.rpg.javuno.models.packets.JavunoPacketHandlerRegistry;
 import solar.rpg.javuno.models.packets.in.JavunoPacketInOutChatMessage;
 import solar.rpg.javuno.models.packets.in.JavunoPacketInOutPlayerReadyChanged;
 import solar.rpg.javuno.models.packets.out.*;
@@ -25,13 +26,17 @@ import java.util.logging.Logger;
  * @author jskinner
  * @since 1.0.0
  */
-@SuppressWarnings("ClassCanBeRecord") // This class is not a record.
 public final class JavunoClientPacketHandler {
 
     @NotNull
     private final Logger logger;
     @NotNull
     private final JavunoClientMVC<ViewGame, ClientGameController> mvc;
+    /**
+     * The function that handles each type of inbound packet.
+     */
+    @NotNull
+    private final JavunoPacketHandlerRegistry handlers;
 
     /**
      * Constructs a new {@code JavunoClientPacketValidatorHandler} instance.
@@ -43,38 +48,42 @@ public final class JavunoClientPacketHandler {
         @NotNull Logger logger) {
         this.mvc = mvc;
         this.logger = logger;
+        handlers = new JavunoPacketHandlerRegistry()
+            .register(JavunoPacketOutDrawCards.class, this::handleDrawCardsPacket)
+            .register(JavunoPacketOutPlayCard.class, this::handlePlayCardPacket)
+            .register(JavunoPacketOutGameStart.class, this::handleGameStartPacket)
+            .register(JavunoPacketOutGameState.class, this::handleGameStatePacket)
+            .register(JavunoPacketInOutPlayerReadyChanged.class, this::handleReadyChangedPacket)
+            .register(
+                JavunoPacketInOutChatMessage.class,
+                chatPacket -> IView.invoke(
+                    () -> mvc.logClientEvent(chatPacket.getMessageFormat(StringEscapeUtils::escapeHtml4)),
+                    logger))
+            .register(
+                JavunoPacketOutServerMessage.class,
+                serverMessagePacket -> IView.invoke(
+                    () -> mvc.logClientEvent(serverMessagePacket.getMessageFormat()),
+                    logger))
+            .register(JavunoPacketOutConnectionAccepted.class, this::handleConnectionAccepted)
+            .register(JavunoPacketOutConnectionRejected.class, this::handleConnectionRejected)
+            .register(JavunoPacketOutSessionResumed.class, this::handleSessionResumed)
+            .register(JavunoPacketOutPlayerConnect.class, this::handlePlayerConnect)
+            .register(JavunoPacketOutPlayerDisconnect.class, this::handlePlayerDisconnect);
     }
 
     /**
      * Public facing method so any inbound packet can be handled by the client appropriately. This method delegates the
-     * validation and handling of each type of packet to various functions.
+     * validation and handling of each type of packet to the function registered for its type. Packets of other types
+     * are ignored.
      *
      * @param packet The inbound packet (from the server) to handle.
      * @throws JavunoBadPacketException There was a validation error or a problem handling the packet.
      */
     public void handlePacket(@NotNull JServerPacket packet) throws JavunoBadPacketException {
-        logger.log(Level.FINER, String.format("Handling %s packet from server", packet.getClass().getSimpleName()));
-
-        if (packet instanceof JavunoPacketOutDrawCards drawCardsPacket)
-            handleDrawCardsPacket(drawCardsPacket);
-        if (packet instanceof JavunoPacketOutPlayCard playCardPacket)
-            handlePlayCardPacket(playCardPacket);
-        else if (packet instanceof JavunoPacketOutGameStart gameStartPacket)
-            handleGameStartPacket(gameStartPacket);
-        else if (packet instanceof JavunoPacketInOutPlayerReadyChanged readyChangedPacket)
-            handleReadyChangedPacket(readyChangedPacket);
-        else if (packet instanceof JavunoPacketInOutChatMessage chatPacket)
-            IView.invoke(() -> mvc.logClientEvent(chatPacket.getMessageFormat(StringEscapeUtils::escapeHtml4)), logger);
-        else if (packet instanceof JavunoPacketOutServerMessage serverMessagePacket)
-            IView.invoke(() -> mvc.logClientEvent(serverMessagePacket.getMessageFormat()), logger);
-        else if (packet instanceof JavunoPacketOutConnectionAccepted acceptedPacket)
-            handleConnectionAccepted(acceptedPacket);
-        else if (packet instanceof JavunoPacketOutConnectionRejected rejectedPacket)
-            handleConnectionRejected(rejectedPacket);
-        else if (packet instanceof JavunoPacketOutPlayerConnect connectPacket)
-            handlePlayerConnect(connectPacket);
-        else if (packet instanceof JavunoPacketOutPlayerDisconnect disconnectPacket)
-            handlePlayerDisconnect(disconnectPacket);
+        if (logger.isLoggable(Level.FINER))
+            logger.log(Level.FINER, String.format("Handling %s packet from server", packet.getClass().getSimpleName()));
+
+        handlers.dispatch(packet);
     }
 
     /**
@@ -91,7 +100,8 @@ public final class JavunoClientPacketHandler {
                 drawCardsPacket instanceof JavunoPacketOutReceiveCards receiveCardsPacket
                     ? receiveCardsPacket.getReceivedCards()
                     : null,
-                drawCardsPacket.isNextTurn()
+                drawCardsPacket.isNextTurn(),
+                drawCardsPacket.getSequence()
             );
         } catch (IllegalStateException | IllegalArgumentException e) {
             throw new JavunoBadPacketException(
@@ -106,7 +116,9 @@ public final class JavunoClientPacketHandler {
             mvc.getController().onPlayCard(
                 playCardPacket.getPlayerName(),
                 playCardPacket.getCardToPlay(),
-                playCardPacket.getCardIndex()
+                playCardPacket.getChosenColor(),
+                playCardPacket.getCardIndex(),
+                playCardPacket.getSequence()
             );
         } catch (IllegalStateException e) {
             throw new JavunoBadPacketException(
@@ -123,7 +135,8 @@ public final class JavunoClientPacketHandler {
                 gameStartPacket.getDiscardPile(),
                 gameStartPacket.getPlayers(),
                 gameStartPacket.getCurrentPlayerIndex(),
-                gameStartPacket.getCurrentDirection()
+                gameStartPacket.getCurrentDirection(),
+                gameStartPacket.getStateVersion()
             );
         } catch (IllegalStateException e) {
             throw new JavunoBadPacketException(
@@ -133,6 +146,29 @@ public final class JavunoClientPacketHandler {
         }
     }
 
+    private void handleGameStatePacket(@NotNull JavunoPacketOutGameState gameStatePacket) {
+        try {
+            mvc.getController().onGameStateSnapshot(
+                gameStatePacket.getClientCards(),
+                gameStatePacket.getDiscardPile(),
+                gameStatePacket.getPlayers(),
+                gameStatePacket.getCurrentPlayerIndex(),
+                gameStatePacket.getCurrentDirection(),
+                gameStatePacket.getGameState(),
+                gameStatePacket.getUnoChallengeState(),
+                gameStatePacket.getChosenColor(),
+                gameStatePacket.getAppliedCardCount(),
+                gameStatePacket.getDrawTwoMultiplier(),
+                gameStatePacket.getStateVersion()
+            );
+        } catch (IllegalStateException e) {
+            throw new JavunoBadPacketException(
+                String.format("Unable to apply game state snapshot: %s", e.getMessage()),
+                true
+            );
+        }
+    }
+
     private void handleReadyChangedPacket(@NotNull JavunoPacketInOutPlayerReadyChanged readyChangedPacket) {
         try {
             mvc.getController().onPlayerReadyChanged(readyChangedPacket.getPlayerName(), readyChangedPacket.isReady());
@@ -158,7 +194,11 @@ public final class JavunoClientPacketHandler {
                     gameState.getCurrentPlayerIndex(),
                     gameState.getCurrentDirection(),
                     gameState.getGameState(),
-                    gameState.getUnoChallengeState()
+                    gameState.getUnoChallengeState(),
+                    gameState.getChosenColor(),
+                    gameState.getAppliedCardCount(),
+                    gameState.getDrawTwoMultiplier(),
+                    gameState.getStateVersion()
                 );
             } else mvc.getController().onJoinLobby(
                 acceptedPacket.getPlayerName(),
@@ -173,6 +213,21 @@ public final class JavunoClientPacketHandler {
         }
     }
 
+    private void handleSessionResumed(@NotNull JavunoPacketOutSessionResumed resumedPacket) {
+        try {
+            mvc.getController().onSessionResumed(
+                resumedPacket.getLobbyPlayerNames(),
+                resumedPacket.isInGame() ? null : resumedPacket.getReadyPlayerNames(),
+                resumedPacket.hasGameState() ? resumedPacket.getGameState() : null
+            );
+        } catch (IllegalStateException e) {
+            throw new JavunoBadPacketException(
+                String.format("Unable to resume session: %s", e.getMessage()),
+                true
+            );
+        }
+    }
+
     private void handleConnectionRejected(@NotNull JavunoPacketOutConnectionRejected rejectedPacket) {
         try {
             mvc.getController().onConnectionRejected(rejectedPacket.getRejectionReason());
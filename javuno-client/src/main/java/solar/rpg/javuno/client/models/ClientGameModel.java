@@ -2,6 +2,7 @@ package solar.rpg.javuno.client.models;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
 import solar.rpg.javuno.models.cards.ICard;
 import solar.rpg.javuno.models.game.AbstractGameModel;
 import solar.rpg.javuno.models.game.ClientOpponent;
@@ -15,6 +16,10 @@ public final class ClientGameModel extends AbstractGameModel<ClientOpponent> {
 
     @Nullable
     private final List<ICard> clientCards;
+    /**
+     * The last game state version that has been applied to this model.
+     */
+    private int stateVersion;
 
     public ClientGameModel(
             @Nullable List<ICard> clientCards,
@@ -23,9 +28,22 @@ public final class ClientGameModel extends AbstractGameModel<ClientOpponent> {
             int currentPlayerIndex,
             @NotNull Direction currentDirection,
             @NotNull GameState gameState,
-            @NotNull UnoChallengeState unoChallengeState) {
-        super(discardPile, players, currentDirection, gameState, unoChallengeState);
+            @NotNull UnoChallengeState unoChallengeState,
+            @Nullable CardColor chosenColor,
+            int appliedCardCount,
+            int drawTwoMultiplier,
+            int stateVersion) {
+        super(
+            discardPile,
+            players,
+            currentDirection,
+            gameState,
+            unoChallengeState,
+            chosenColor,
+            appliedCardCount,
+            drawTwoMultiplier);
         this.clientCards = clientCards;
+        this.stateVersion = stateVersion;
         setCurrentPlayerIndex(currentPlayerIndex);
     }
 
@@ -52,4 +70,17 @@ public final class ClientGameModel extends AbstractGameModel<ClientOpponent> {
         if (clientCards == null) throw new IllegalStateException("Cards not found (are you spectating?)");
         clientCards.remove(cardIndex);
     }
+
+    public int getStateVersion() {
+        return stateVersion;
+    }
+
+    public void setStateVersion(int stateVersion) {
+        if (stateVersion <= this.stateVersion)
+            throw new IllegalArgumentException(String.format(
+                "State version %d is not newer than %d",
+                stateVersion,
+                this.stateVersion));
+        this.stateVersion = stateVersion;
+    }
 }
@@ -1,6 +1,8 @@
 package solar.rpg.javuno.client.views;
 
 import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.client.controller.ConnectionController.TransportType;
+import solar.rpg.javuno.concurrent.JavunoExecutorType;
 
 import javax.swing.*;
 import java.awt.*;
@@ -19,15 +21,20 @@ public class MainFrame extends JFrame {
     /**
      * Constructs a new {@code MainFrame} instance.
      *
-     * @param logger Logger object.
+     * @param transportType The transport used to connect to servers.
+     * @param executorType  The strategy used to create the connection executor.
+     * @param logger        Logger object.
      */
-    public MainFrame(@NotNull Logger logger) {
+    public MainFrame(
+        @NotNull TransportType transportType,
+        @NotNull JavunoExecutorType executorType,
+        @NotNull Logger logger) {
         super("Javuno Client 1.0.0");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setVisible(true);
         setMinimumSize(new Dimension(900, 800));
 
-        ViewMain viewMain = new ViewMain(logger);
+        ViewMain viewMain = new ViewMain(transportType, executorType, logger);
         getContentPane().setLayout(new BorderLayout());
         getContentPane().add(viewMain.getPanel(), BorderLayout.CENTER);
         setJMenuBar(viewMain.getMenuBar());
@@ -17,6 +17,7 @@ import javax.swing.*;
 import javax.swing.border.TitledBorder;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 public class ViewGame implements IView {
@@ -119,7 +120,7 @@ public class ViewGame implements IView {
         String currentPlayerName = getModel().getCurrentPlayerName();
         String message = String.format(
             "&gt; <strong>%s</strong> plays a <span style=\"color: %s\">%s</span>. ",
-            card.getHexColorCode(),
+            getLastPlayedHexColorCode(),
             playerName,
             card.getDescription()
         );
@@ -258,9 +259,18 @@ public class ViewGame implements IView {
         actionPanel.repaint();
     }
 
+    /**
+     * @return The color of the last played card as a hexadecimal color code. Wild cards use their chosen color.
+     */
+    @NotNull
+    private String getLastPlayedHexColorCode() {
+        CardColor color = getModel().getLastPlayedColor();
+        return color == null ? getModel().getLastPlayedCard().getHexColorCode() : color.getHexColorCode();
+    }
+
     private void updatePlayArea() {
         ICard card = getModel().getLastPlayedCard();
-        discardPileCardView.updateDiscardPileCard(card.getSymbol(), card.getDisplayColor());
+        discardPileCardView.updateDiscardPileCard(card.getSymbol(), Color.decode("#" + getLastPlayedHexColorCode()));
 
         drawPileCardView.updateDrawPileCard(mvc.getController().canDrawCards());
 
@@ -302,9 +312,9 @@ public class ViewGame implements IView {
     private void updateCardsInHand() {
         boolean isCurrentPlayer = mvc.getController().isCurrentPlayer();
 
-        int i = 0;
-        for (ICard card : mvc.getController().getGameModel().getClientCards()) {
-            boolean isPlayable = isCurrentPlayer && mvc.getController().getGameModel().isCardPlayable(card);
+        BitSet playableCards = getModel().getPlayableCards(getModel().getClientCards());
+        for (int i = 0; i < clientCardViews.size(); i++) {
+            boolean isPlayable = isCurrentPlayer && playableCards.get(i);
             ViewCard cardView = clientCardViews.get(i);
             cardView.updateCardInHand(isPlayable, isCurrentPlayer);
 
@@ -163,7 +163,7 @@ public class ViewInformation implements IView {
         //TODO: This needs to be controller code, not view code.
         String playerName = Objects.requireNonNull(mvc.getAppController().getGameController().getPlayerName());
         JavunoPacketInOutChatMessage chatPacket = new JavunoPacketInOutChatMessage(chatToSend, playerName);
-        mvc.getAppController().getConnectionController().getClientConnection().writePacket(chatPacket);
+        mvc.getAppController().getConnectionController().getClientConnection().sendPacket(chatPacket);
         chatTextField.setText("");
     }
 
@@ -4,7 +4,9 @@ import org.jetbrains.annotations.NotNull;
 import solar.rpg.javuno.client.controller.ClientAppController;
 import solar.rpg.javuno.client.controller.ClientGameController;
 import solar.rpg.javuno.client.controller.ConnectionController;
+import solar.rpg.javuno.client.controller.ConnectionController.TransportType;
 import solar.rpg.javuno.client.mvc.JavunoClientMVC;
+import solar.rpg.javuno.concurrent.JavunoExecutorType;
 import solar.rpg.javuno.mvc.IView;
 
 import javax.swing.*;
@@ -40,8 +42,11 @@ public class ViewMain implements IView {
     private JMenuBar menuBar;
     private JMenuItem menuItemDisconnect;
 
-    public ViewMain(@NotNull Logger logger) {
-        ClientAppController appController = new ClientAppController(logger);
+    public ViewMain(
+        @NotNull TransportType transportType,
+        @NotNull JavunoExecutorType executorType,
+        @NotNull Logger logger) {
+        ClientAppController appController = new ClientAppController(transportType, executorType, logger);
         mvc = appController.getMVC();
         mvc.set(this, appController, appController);
 
@@ -0,0 +1,85 @@
+package solar.rpg.javuno.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Denotes the strategies that can be used to create the executor that runs connection handlers and other blocking
+ * tasks, such as game start countdowns. The strategy is chosen at startup.
+ * <p>
+ * Virtual threads only exist on JDK 21 and above, while Javuno is compiled for older releases. They are therefore
+ * looked up reflectively, and {@link #VIRTUAL} falls back to {@link #PLATFORM} on a runtime that does not have them.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public enum JavunoExecutorType {
+    /**
+     * Each task runs on a pooled platform thread. Blocking tasks hold on to their platform thread while blocked.
+     */
+    PLATFORM,
+    /**
+     * Each task runs on its own virtual thread. Blocking tasks release their carrier thread while blocked.
+     */
+    VIRTUAL;
+
+    /**
+     * Creates a new executor using this strategy.
+     *
+     * @param threadNamePrefix Prefix of the names given to virtual threads, followed by a counter.
+     * @param logger           Logging object.
+     * @return The new executor.
+     */
+    @NotNull
+    public ExecutorService newExecutor(@NotNull String threadNamePrefix, @NotNull Logger logger) {
+        if (this == VIRTUAL) {
+            try {
+                return newVirtualThreadExecutor(threadNamePrefix);
+            } catch (ReflectiveOperationException e) {
+                logger.log(
+                    Level.WARNING,
+                    String.format("Virtual threads are not supported by Java %s, using platform threads instead",
+                                  Runtime.version().feature()));
+            }
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Looks up and creates a virtual thread per task executor.
+     *
+     * @param threadNamePrefix Prefix of the names given to virtual threads, followed by a counter.
+     * @return The new executor.
+     * @throws ReflectiveOperationException Virtual threads are not supported by this runtime.
+     */
+    @NotNull
+    private static ExecutorService newVirtualThreadExecutor(@NotNull String threadNamePrefix)
+        throws ReflectiveOperationException {
+        Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        Method name = Class.forName("java.lang.Thread$Builder").getMethod("name", String.class, long.class);
+        Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+        ThreadFactory threadFactory = (ThreadFactory) factory.invoke(name.invoke(builder, threadNamePrefix, 0L));
+
+        return (ExecutorService) Executors.class
+            .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+            .invoke(null, threadFactory);
+    }
+
+    /**
+     * @return True, if this runtime supports virtual threads.
+     */
+    public static boolean isVirtualSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
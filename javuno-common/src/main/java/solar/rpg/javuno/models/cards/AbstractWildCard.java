@@ -1,44 +1,48 @@
 package solar.rpg.javuno.models.cards;
 
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
-import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
-
-import java.awt.*;
+import solar.rpg.javuno.models.cards.standard.StandardCards;
 
 /**
  * Represents an UNO wild card which when played, allows the player to select which color it will represent. Wild cards
- * can be played on top of any other card.
+ * can be played on top of any other card. The chosen color is tracked by the game model.
  *
  * @author jskinner
  * @since 1.0.0
  */
 public abstract class AbstractWildCard implements ICard {
 
-    @Nullable
-    private CardColor chosenCardColor;
-
     /**
-     * @return The chosen card color for this wild card.
+     * Card code of this UNO card.
      */
-    @Nullable
-    public CardColor getChosenCardColor() {
-        return chosenCardColor;
-    }
+    private final int code;
 
     /**
-     * Once played, the player must pick the color that this wild card represents.
+     * Constructs a new {@code AbstractWildCard} instance.
      *
-     * @param chosenCardColor The card color that this wild card will represent.
+     * @param symbol Card code symbol of this UNO card.
      */
-    public void setChosenCardColor(@Nullable CardColor chosenCardColor) {
-        if (this.chosenCardColor != null) throw new IllegalStateException("Wild card color has already been chosen");
-        this.chosenCardColor = chosenCardColor;
+    protected AbstractWildCard(int symbol) {
+        code = CardCode.of(symbol, null);
+    }
+
+    @Override
+    public int getCode() {
+        return code;
     }
 
     @Override
     @NotNull
     public String getHexColorCode() {
-        return chosenCardColor == null ? "#222222" : chosenCardColor.getHexColorCode();
+        return "222222";
+    }
+
+    /**
+     * Deserialized cards are replaced with their canonical instance.
+     *
+     * @return The canonical instance of this card.
+     */
+    protected Object readResolve() {
+        return StandardCards.get(code);
     }
 }
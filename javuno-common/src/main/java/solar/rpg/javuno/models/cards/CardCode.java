@@ -0,0 +1,88 @@
+package solar.rpg.javuno.models.cards;
+
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
+
+/**
+ * A card code identifies an UNO card using a single byte, so that hands, piles and packets do not need a separate
+ * object for every card. The lowest 4 bits hold the symbol, and the next 3 bits hold the color:
+ * <ul>
+ *     <li>Symbols 0-9 are numbered cards, followed by skip, reverse, draw two, wild and wild draw four.</li>
+ *     <li>Colors are {@link CardColor} ordinals. Wild cards have no color, which is stored as {@link #COLOR_NONE}.</li>
+ * </ul>
+ * Where a played wild card is sent along with its chosen color, the chosen color may be stored in the color bits.
+ *
+ * @author jskinner
+ * @see solar.rpg.javuno.models.cards.standard.StandardCards
+ * @since 1.0.0
+ */
+public final class CardCode {
+
+    public static final int SYMBOL_SKIP = 10;
+    public static final int SYMBOL_REVERSE = 11;
+    public static final int SYMBOL_DRAW_TWO = 12;
+    public static final int SYMBOL_WILD = 13;
+    public static final int SYMBOL_WILD_DRAW_FOUR = 14;
+
+    public static final int SYMBOL_MASK = 0x0F;
+    public static final int COLOR_SHIFT = 4;
+    public static final int COLOR_MASK = 0x07;
+    public static final int COLOR_NONE = 7;
+
+    /**
+     * Every card code is less than this value.
+     */
+    public static final int CODE_LIMIT = 1 << 7;
+
+    private CardCode() {
+    }
+
+    /**
+     * @param symbol The card symbol.
+     * @param color  The card color, or null if there is none.
+     * @return The card code.
+     */
+    public static int of(int symbol, @Nullable CardColor color) {
+        return symbol | (color == null ? COLOR_NONE : color.ordinal()) << COLOR_SHIFT;
+    }
+
+    /**
+     * @param code The card code.
+     * @return The symbol of the card code.
+     */
+    public static int getSymbol(int code) {
+        return code & SYMBOL_MASK;
+    }
+
+    /**
+     * @param code The card code.
+     * @return The color of the card code, or null if there is none.
+     * @throws IllegalArgumentException Color is invalid.
+     */
+    @Nullable
+    public static CardColor getColor(int code) {
+        int ordinal = code >>> COLOR_SHIFT & COLOR_MASK;
+        if (ordinal == COLOR_NONE) return null;
+        if (ordinal >= CardColor.values().length)
+            throw new IllegalArgumentException(String.format("Card code %d has an invalid color", code));
+        return CardColor.values()[ordinal];
+    }
+
+    /**
+     * @param code  The card code.
+     * @param color The new color, or null for none.
+     * @return The card code with its color replaced.
+     */
+    public static int withColor(int code, @Nullable CardColor color) {
+        return of(getSymbol(code), color);
+    }
+
+    /**
+     * @param code The card code.
+     * @return True, if the card code is a wild card.
+     */
+    public static boolean isWild(int code) {
+        int symbol = getSymbol(code);
+        return symbol == SYMBOL_WILD || symbol == SYMBOL_WILD_DRAW_FOUR;
+    }
+}
@@ -1,8 +1,7 @@
 package solar.rpg.javuno.models.cards;
 
 import org.jetbrains.annotations.NotNull;
-
-import java.awt.*;
+import solar.rpg.javuno.models.cards.standard.StandardCards;
 
 /**
  * Represents a playable UNO card that is colored.
@@ -17,14 +16,34 @@ public abstract class ColoredCard implements ICard {
      */
     @NotNull
     private final CardColor cardColor;
+    /**
+     * Card code of this UNO card.
+     */
+    private final int code;
 
     /**
      * Constructs a new {@code ColoredCard} instance.
      *
      * @param cardColor Color of this UNO card.
+     * @param symbol    Card code symbol of this UNO card.
      */
-    protected ColoredCard(@NotNull CardColor cardColor) {
+    protected ColoredCard(@NotNull CardColor cardColor, int symbol) {
         this.cardColor = cardColor;
+        code = CardCode.of(symbol, cardColor);
+    }
+
+    @Override
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Deserialized cards are replaced with their canonical instance.
+     *
+     * @return The canonical instance of this card.
+     */
+    protected Object readResolve() {
+        return StandardCards.get(code);
     }
 
     /**
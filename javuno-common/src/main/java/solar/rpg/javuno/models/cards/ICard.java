@@ -6,13 +6,19 @@ import java.awt.*;
 import java.io.Serializable;
 
 /**
- * Represents a playable UNO card of any type.
+ * Represents a playable UNO card of any type. Cards are immutable, and every card has a single canonical instance.
  *
  * @author jskinner
  * @since 1.0.0
  */
 public interface ICard extends Serializable {
 
+    /**
+     * @return The card code that identifies this card.
+     * @see CardCode
+     */
+    int getCode();
+
     @NotNull
     String getDescription();
 
@@ -1,6 +1,7 @@
 package solar.rpg.javuno.models.cards.standard;
 
 import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.cards.CardCode;
 import solar.rpg.javuno.models.cards.ColoredCard;
 import solar.rpg.javuno.models.cards.IDrawCard;
 
@@ -19,28 +20,12 @@ import solar.rpg.javuno.models.cards.IDrawCard;
 public final class DrawTwoCard extends ColoredCard implements IDrawCard {
 
     /**
-     * This is set to true once this draw two card's penalty has been applied to a player.
-     */
-    private boolean applied;
-
-    /**
-     * Constructs a new {@code DrawTwoCard} instance.
+     * Constructs a new {@code DrawTwoCard} instance. Use {@link StandardCards#drawTwo(CardColor)} instead.
      *
      * @param cardColor Color of this UNO draw two card.
      */
-    public DrawTwoCard(@NotNull CardColor cardColor) {
-        super(cardColor);
-    }
-
-    @Override
-    public boolean isApplied() {
-        return applied;
-    }
-
-    @Override
-    public void apply() {
-        if (applied) throw new IllegalStateException("Cannot be applied twice");
-        this.applied = true;
+    DrawTwoCard(@NotNull CardColor cardColor) {
+        super(cardColor, CardCode.SYMBOL_DRAW_TWO);
     }
 
     @Override
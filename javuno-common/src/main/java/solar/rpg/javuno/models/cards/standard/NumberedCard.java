@@ -23,13 +23,13 @@ public final class NumberedCard extends ColoredCard {
     private final int number;
 
     /**
-     * Constructs a new {@code NumberedCard} instance.
+     * Constructs a new {@code NumberedCard} instance. Use {@link StandardCards#numbered(CardColor, int)} instead.
      *
      * @param cardColor Color of this UNO card.
      * @param number    Number of this UNO card (0-9).
      */
-    public NumberedCard(@NotNull CardColor cardColor, int number) {
-        super(cardColor);
+    NumberedCard(@NotNull CardColor cardColor, int number) {
+        super(cardColor, number);
 
         assert number >= 0 && number <= 9 : String.format("Illegal card number %d", number);
         this.number = number;
@@ -1,6 +1,7 @@
 package solar.rpg.javuno.models.cards.standard;
 
 import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.cards.CardCode;
 import solar.rpg.javuno.models.cards.ColoredCard;
 
 /**
@@ -18,12 +19,12 @@ import solar.rpg.javuno.models.cards.ColoredCard;
 public final class ReverseCard extends ColoredCard {
 
     /**
-     * Constructs a new {@code ReverseCard} instance.
+     * Constructs a new {@code ReverseCard} instance. Use {@link StandardCards#reverse(CardColor)} instead.
      *
      * @param cardColor Color of this UNO reverse card.
      */
-    public ReverseCard(@NotNull CardColor cardColor) {
-        super(cardColor);
+    ReverseCard(@NotNull CardColor cardColor) {
+        super(cardColor, CardCode.SYMBOL_REVERSE);
     }
 
     @Override
@@ -1,6 +1,7 @@
 package solar.rpg.javuno.models.cards.standard;
 
 import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.cards.CardCode;
 import solar.rpg.javuno.models.cards.ColoredCard;
 
 /**
@@ -18,12 +19,12 @@ import solar.rpg.javuno.models.cards.ColoredCard;
 public final class SkipCard extends ColoredCard {
 
     /**
-     * Constructs a new {@code SkipCard} instance.
+     * Constructs a new {@code SkipCard} instance. Use {@link StandardCards#skip(CardColor)} instead.
      *
      * @param cardColor Color of this UNO skip card.
      */
-    public SkipCard(@NotNull CardColor cardColor) {
-        super(cardColor);
+    SkipCard(@NotNull CardColor cardColor) {
+        super(cardColor, CardCode.SYMBOL_SKIP);
     }
 
     @Override
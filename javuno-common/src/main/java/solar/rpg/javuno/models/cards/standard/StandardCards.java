@@ -0,0 +1,123 @@
+package solar.rpg.javuno.models.cards.standard;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.cards.CardCode;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
+import solar.rpg.javuno.models.cards.ICard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the canonical instance of every standard UNO card. Cards are immutable, so a single instance of each card is
+ * shared by every hand, pile and game, and two cards are equal if they are the same instance. Cards are looked up by
+ * their {@link CardCode}.
+ *
+ * @author jskinner
+ * @see CardCode
+ * @since 1.0.0
+ */
+public final class StandardCards {
+
+    /**
+     * Canonical cards, indexed by card code. Codes that are not valid are null.
+     */
+    @NotNull
+    private static final ICard[] CARDS = new ICard[CardCode.CODE_LIMIT];
+
+    static {
+        for (CardColor color : CardColor.values()) {
+            for (int number = 0; number <= 9; number++) register(new NumberedCard(color, number));
+            register(new SkipCard(color));
+            register(new ReverseCard(color));
+            register(new DrawTwoCard(color));
+        }
+        register(new WildCard());
+        register(new WildDrawFourCard());
+    }
+
+    private StandardCards() {
+    }
+
+    private static void register(@NotNull ICard card) {
+        CARDS[card.getCode()] = card;
+    }
+
+    /**
+     * @param code The card code.
+     * @return True, if the card code identifies a standard card. Chosen colors on wild cards are not valid here.
+     */
+    public static boolean isValid(int code) {
+        return code >= 0 && code < CARDS.length && CARDS[code] != null;
+    }
+
+    /**
+     * @param code The card code.
+     * @return The canonical card with the given card code.
+     * @throws IllegalArgumentException Card code is not valid.
+     */
+    @NotNull
+    public static ICard get(int code) {
+        if (!isValid(code)) throw new IllegalArgumentException(String.format("Invalid card code %d", code));
+        return CARDS[code];
+    }
+
+    /**
+     * @param color  Color of the card.
+     * @param number Number of the card (0-9).
+     * @return The canonical numbered card.
+     */
+    @NotNull
+    public static NumberedCard numbered(@NotNull CardColor color, int number) {
+        if (number < 0 || number > 9) throw new IllegalArgumentException(String.format("Illegal number %d", number));
+        return (NumberedCard) CARDS[CardCode.of(number, color)];
+    }
+
+    @NotNull
+    public static SkipCard skip(@NotNull CardColor color) {
+        return (SkipCard) CARDS[CardCode.of(CardCode.SYMBOL_SKIP, color)];
+    }
+
+    @NotNull
+    public static ReverseCard reverse(@NotNull CardColor color) {
+        return (ReverseCard) CARDS[CardCode.of(CardCode.SYMBOL_REVERSE, color)];
+    }
+
+    @NotNull
+    public static DrawTwoCard drawTwo(@NotNull CardColor color) {
+        return (DrawTwoCard) CARDS[CardCode.of(CardCode.SYMBOL_DRAW_TWO, color)];
+    }
+
+    @NotNull
+    public static WildCard wild() {
+        return (WildCard) CARDS[CardCode.of(CardCode.SYMBOL_WILD, null)];
+    }
+
+    @NotNull
+    public static WildDrawFourCard wildDrawFour() {
+        return (WildDrawFourCard) CARDS[CardCode.of(CardCode.SYMBOL_WILD_DRAW_FOUR, null)];
+    }
+
+    /**
+     * @param cards The cards.
+     * @return The card codes of the cards, in the same order.
+     */
+    @NotNull
+    public static byte[] toCodes(@NotNull List<ICard> cards) {
+        byte[] result = new byte[cards.size()];
+        for (int i = 0; i < result.length; i++) result[i] = (byte) cards.get(i).getCode();
+        return result;
+    }
+
+    /**
+     * @param codes The card codes.
+     * @return The canonical cards with the given card codes, in the same order.
+     * @throws IllegalArgumentException Any card code is not valid.
+     */
+    @NotNull
+    public static List<ICard> fromCodes(@NotNull byte[] codes) {
+        List<ICard> result = new ArrayList<>(codes.length);
+        for (byte code : codes) result.add(get(code));
+        return result;
+    }
+}
@@ -2,6 +2,7 @@ package solar.rpg.javuno.models.cards.standard;
 
 import org.jetbrains.annotations.NotNull;
 import solar.rpg.javuno.models.cards.AbstractWildCard;
+import solar.rpg.javuno.models.cards.CardCode;
 
 /**
  * Represents an UNO wild card which when played, allows the player to select which color it will represent.
@@ -12,6 +13,13 @@ import solar.rpg.javuno.models.cards.AbstractWildCard;
  */
 public final class WildCard extends AbstractWildCard {
 
+    /**
+     * Constructs a new {@code WildCard} instance. Use {@link StandardCards#wild()} instead.
+     */
+    WildCard() {
+        super(CardCode.SYMBOL_WILD);
+    }
+
     @NotNull
     @Override
     public String getDescription() {
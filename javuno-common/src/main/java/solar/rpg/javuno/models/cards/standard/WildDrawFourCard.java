@@ -2,10 +2,9 @@ package solar.rpg.javuno.models.cards.standard;
 
 import org.jetbrains.annotations.NotNull;
 import solar.rpg.javuno.models.cards.AbstractWildCard;
+import solar.rpg.javuno.models.cards.CardCode;
 import solar.rpg.javuno.models.cards.IDrawCard;
 
-import java.io.Serializable;
-
 /**
  * Represents an UNO wild draw four card. When this card is played, the next player's turn is forfeited, and they must
  * pick up four cards from the pile. Additionally, it allows the player to select which color it will represent.
@@ -17,19 +16,10 @@ import java.io.Serializable;
 public final class WildDrawFourCard extends AbstractWildCard implements IDrawCard {
 
     /**
-     * This is set to true once this wild draw four card's penalty has been applied to a player.
+     * Constructs a new {@code WildDrawFourCard} instance. Use {@link StandardCards#wildDrawFour()} instead.
      */
-    private boolean applied;
-
-    @Override
-    public boolean isApplied() {
-        return applied;
-    }
-
-    @Override
-    public void apply() {
-        if (applied) throw new IllegalStateException("Cannot be applied twice");
-        this.applied = true;
+    WildDrawFourCard() {
+        super(CardCode.SYMBOL_WILD_DRAW_FOUR);
     }
 
     @Override
@@ -4,6 +4,8 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
@@ -20,10 +22,15 @@ public abstract class AbstractGameLobbyModel {
     @NotNull
     private final ArrayList<String> lobbyPlayerNames;
     /**
-     * Names of all players who are marked as ready.
+     * Index of each player in {@link #lobbyPlayerNames}, keyed by name.
      */
     @NotNull
-    private final ArrayList<String> readyPlayerNames;
+    private final HashMap<String, Integer> lobbyPlayerIndexes;
+    /**
+     * Names of all players who are marked as ready, in the order that they were marked.
+     */
+    @NotNull
+    private final LinkedHashSet<String> readyPlayerNames;
     /**
      * True, if a game is currently running.
      */
@@ -34,7 +41,8 @@ public abstract class AbstractGameLobbyModel {
      */
     public AbstractGameLobbyModel() {
         lobbyPlayerNames = new ArrayList<>();
-        readyPlayerNames = new ArrayList<>();
+        lobbyPlayerIndexes = new HashMap<>();
+        readyPlayerNames = new LinkedHashSet<>();
         inGame = false;
     }
 
@@ -45,7 +53,7 @@ public abstract class AbstractGameLobbyModel {
      * @return The index of the player in the lobby list, or -1 if they cannot be found.
      */
     public int getPlayerLobbyIndex(@NotNull String playerName) {
-        return lobbyPlayerNames.indexOf(playerName);
+        return lobbyPlayerIndexes.getOrDefault(playerName, -1);
     }
 
     /**
@@ -61,7 +69,7 @@ public abstract class AbstractGameLobbyModel {
      * @return True, if the given player name exists in the lobby list.
      */
     public boolean doesPlayerExist(@NotNull String playerName) {
-        return lobbyPlayerNames.contains(playerName);
+        return lobbyPlayerIndexes.containsKey(playerName);
     }
 
     /**
@@ -73,6 +81,7 @@ public abstract class AbstractGameLobbyModel {
     protected void addPlayer(@NotNull String playerName) {
         if (doesPlayerExist(playerName))
             throw new IllegalArgumentException(String.format("Player %s already exists", playerName));
+        lobbyPlayerIndexes.put(playerName, lobbyPlayerNames.size());
         lobbyPlayerNames.add(playerName);
     }
 
@@ -82,8 +91,10 @@ public abstract class AbstractGameLobbyModel {
      * @param playerIndex Lobby index of the player to remove.
      */
     protected void removePlayer(int playerIndex) {
-        String playerName = lobbyPlayerNames.get(playerIndex);
-        lobbyPlayerNames.remove(playerIndex);
+        String playerName = lobbyPlayerNames.remove(playerIndex);
+        lobbyPlayerIndexes.remove(playerName);
+        // Players after the removed player move down by one
+        for (int i = playerIndex; i < lobbyPlayerNames.size(); i++) lobbyPlayerIndexes.put(lobbyPlayerNames.get(i), i);
         readyPlayerNames.remove(playerName);
     }
 
@@ -104,6 +115,13 @@ public abstract class AbstractGameLobbyModel {
         return readyPlayerNames.size() > 1;
     }
 
+    /**
+     * @return Amount of players in the lobby who are marked as ready.
+     */
+    public int getReadyPlayerCount() {
+        return readyPlayerNames.size();
+    }
+
     /**
      * @param playerName Name of the player to check.
      * @return True, if the given player is marked as ready.
@@ -1,6 +1,7 @@
 package solar.rpg.javuno.models.game;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import solar.rpg.javuno.models.cards.AbstractWildCard;
 import solar.rpg.javuno.models.cards.ColoredCard;
 import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
@@ -10,7 +11,14 @@ import solar.rpg.javuno.models.cards.standard.*;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EmptyStackException;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
 
 /**
@@ -22,11 +30,22 @@ import java.util.Stack;
  */
 public abstract class AbstractGameModel<T extends AbstractGamePlayer> implements Serializable {
 
+    /**
+     * The game options that are in effect unless set otherwise. These match how networked games are played.
+     */
+    public static final Set<GameOption> DEFAULT_GAME_OPTIONS = Collections.unmodifiableSet(
+        EnumSet.of(GameOption.CONSECUTIVE_DRAW_TWO, GameOption.PICK_UP_PUT_DOWN));
+
     /**
      * Participating players. <em>The index order is important.</em>
      */
     @NotNull
     protected final List<T> players;
+    /**
+     * Index of each participating player in {@link #players}, keyed by name.
+     */
+    @NotNull
+    private final Map<String, Integer> playerIndexes;
     /**
      * UNO discard pile. The card on top of the stack is the last played card.
      */
@@ -51,6 +70,30 @@ public abstract class AbstractGameModel<T extends AbstractGamePlayer> implements
      */
     @NotNull
     private UnoChallengeState unoChallengeState; //TODO: Should this be an attribute on the players?
+    /**
+     * The color chosen for the wild card on top of the discard pile, or null if the last played card is not wild.
+     */
+    @Nullable
+    private CardColor chosenColor;
+    /**
+     * Amount of cards at the bottom of the discard pile whose draw penalties no longer apply. The penalty of any draw
+     * card above this has not been applied yet.
+     */
+    private int appliedCardCount;
+    /**
+     * Amount of consecutive draw two cards on top of the discard pile whose penalty is yet to be applied. This is kept
+     * up to date as cards are played and drawn, so the discard pile never needs to be scanned.
+     */
+    private int drawTwoMultiplier;
+    /**
+     * The game options that are in effect.
+     */
+    @NotNull
+    private Set<GameOption> gameOptions;
+    /**
+     * The {@link PlayabilityTable} option mask of the game options that are in effect.
+     */
+    private int optionMask;
 
     /**
      * Constructs a new {@code AbstractGameModel} instance. The concrete implementation must provide either the starting
@@ -61,18 +104,30 @@ public abstract class AbstractGameModel<T extends AbstractGamePlayer> implements
      * @param direction         Current direction of game play.
      * @param gameState         Current game state.
      * @param unoChallengeState The current uno challenge state. //TODO: fix
+     * @param chosenColor       The color chosen for the wild card on top of the discard pile, if any.
+     * @param appliedCardCount  Amount of cards at the bottom of the discard pile whose draw penalties no longer apply.
+     * @param drawTwoMultiplier Amount of consecutive draw two cards whose penalty is yet to be applied.
      */
     public AbstractGameModel(
         @NotNull Stack<ICard> discardPile,
         @NotNull List<T> players,
         @NotNull Direction direction,
         @NotNull GameState gameState,
-        @NotNull UnoChallengeState unoChallengeState) {
+        @NotNull UnoChallengeState unoChallengeState,
+        @Nullable CardColor chosenColor,
+        int appliedCardCount,
+        int drawTwoMultiplier) {
         this.discardPile = discardPile;
         this.players = players;
+        playerIndexes = new HashMap<>();
+        for (int i = 0; i < players.size(); i++) playerIndexes.put(players.get(i).getName(), i);
         this.direction = direction;
         this.gameState = gameState;
         this.unoChallengeState = unoChallengeState;
+        this.chosenColor = chosenColor;
+        this.appliedCardCount = appliedCardCount;
+        this.drawTwoMultiplier = drawTwoMultiplier;
+        setGameOptions(DEFAULT_GAME_OPTIONS);
         currentPlayerIndex = 0; //TODO: Bug? Why is this set to zero? Do we pass through game models in packets??
     }
 
@@ -113,7 +168,7 @@ public abstract class AbstractGameModel<T extends AbstractGamePlayer> implements
      * @return True, if the given player is participating in this game.
      */
     public boolean doesPlayerExist(@NotNull String playerName) {
-        return players.stream().anyMatch(p -> p.getName().equals(playerName));
+        return playerIndexes.containsKey(playerName);
     }
 
     /**
@@ -133,11 +188,9 @@ public abstract class AbstractGameModel<T extends AbstractGamePlayer> implements
      * @throws JavunoStateException Given player does not exist or is not participating.
      */
     public int getPlayerIndex(@NotNull String playerName) {
-        for (int i = 0; i < players.size(); i++) {
-            AbstractGamePlayer player = players.get(i);
-            if (player.getName().equals(playerName)) return i;
-        }
-        throw new JavunoStateException(String.format("%s is not participating", playerName));
+        Integer result = playerIndexes.get(playerName);
+        if (result == null) throw new JavunoStateException(String.format("%s is not participating", playerName));
+        return result;
     }
 
     public void nextPlayer() {
@@ -178,6 +231,17 @@ public abstract class AbstractGameModel<T extends AbstractGamePlayer> implements
         return players.get(getNextPlayerIndex(direction.getReverse()));
     }
 
+    /**
+     * Removes a player from the game.
+     *
+     * @param playerIndex The index of the player to remove.
+     */
+    protected void removePlayer(int playerIndex) {
+        playerIndexes.remove(players.remove(playerIndex).getName());
+        // Players after the removed player move down by one
+        for (int i = playerIndex; i < players.size(); i++) playerIndexes.put(players.get(i).getName(), i);
+    }
+
     /**
      * @return Copy of references to the participating players.
      */
@@ -206,6 +270,72 @@ public abstract class AbstractGameModel<T extends AbstractGamePlayer> implements
         return unoChallengeState;
     }
 
+    /**
+     * Sets whether the player who played the last card can be challenged for their UNO call.
+     *
+     * @param unoChallengeState The new uno challenge state.
+     */
+    public void setUnoChallengeState(@NotNull UnoChallengeState unoChallengeState) {
+        this.unoChallengeState = unoChallengeState;
+    }
+
+    /**
+     * @return The color chosen for the wild card on top of the discard pile, or null if the last played card is not
+     * wild (or its color has not been chosen yet).
+     */
+    @Nullable
+    public CardColor getChosenColor() {
+        return chosenColor;
+    }
+
+    /**
+     * @return Amount of cards at the bottom of the discard pile whose draw penalties no longer apply.
+     */
+    public int getAppliedCardCount() {
+        return appliedCardCount;
+    }
+
+    /**
+     * @return The game options that are in effect.
+     */
+    @NotNull
+    public Set<GameOption> getGameOptions() {
+        return Collections.unmodifiableSet(gameOptions);
+    }
+
+    /**
+     * Sets the game options that are in effect. This should only be changed before the game has started.
+     *
+     * @param gameOptions The game options to enable. Any other game option is disabled.
+     */
+    public void setGameOptions(@NotNull Set<GameOption> gameOptions) {
+        this.gameOptions = gameOptions.isEmpty() ? EnumSet.noneOf(GameOption.class) : EnumSet.copyOf(gameOptions);
+        optionMask = PlayabilityTable.getOptionMask(gameOptions);
+    }
+
+    /**
+     * @param gameOption The game option to check.
+     * @return True, if the given game option is in effect.
+     */
+    public boolean isGameOptionEnabled(@NotNull GameOption gameOption) {
+        return gameOptions.contains(gameOption);
+    }
+
+    /**
+     * @return True, if the last played card is not a draw card, or its penalty has already been applied.
+     */
+    public boolean isLastPlayedPenaltyApplied() {
+        return isPenaltyApplied(getLastPlayedCard());
+    }
+
+    /**
+     * @param lastPlayed The card on top of the discard pile.
+     * @return True, if the given card is not a draw card, or its penalty has already been applied.
+     */
+    private boolean isPenaltyApplied(@NotNull ICard lastPlayed) {
+        return !(lastPlayed instanceof IDrawCard) || discardPile.size() <= appliedCardCount;
+    }
+
     /**
      * This method is called by the game controller when the player with the current turn draws cards from the draw
      * pile. This applies the penalty of any current draw card.
@@ -213,17 +343,65 @@ public abstract class AbstractGameModel<T extends AbstractGamePlayer> implements
      * @param nextTurn True, if the game should proceed to the next player's turn.
      */
     public void onDrawCards(boolean nextTurn) {
-        if (getLastPlayedCard() instanceof IDrawCard drawCard && !drawCard.isApplied()) drawCard.apply();
+        if (!isLastPlayedPenaltyApplied()) appliedCardCount = discardPile.size();
+        drawTwoMultiplier = 0;
         gameState = AbstractGameModel.GameState.AWAITING_PLAY;
         if (nextTurn) nextPlayer();
     }
 
+    /**
+     * @return The amount of cards that the player with the current turn must pick up when drawing. This is 1, unless
+     * there is an active card multiplier.
+     * @see #hasCardMultiplier()
+     */
+    public int getDrawAmount() {
+        ICard card = getLastPlayedCard();
+        if (card instanceof WildDrawFourCard drawFourCard
+            && !isPenaltyApplied(card)
+            && gameState == GameState.AWAITING_DRAW_FOUR_RESPONSE)
+            return drawFourCard.getDrawAmount();
+        else if (card instanceof DrawTwoCard drawTwoCard
+                 && !isPenaltyApplied(card)
+                 && gameState == GameState.AWAITING_DRAW_TWO_RESPONSE)
+            return drawTwoMultiplier * drawTwoCard.getDrawAmount();
+        return 1;
+    }
+
+    /**
+     * Removes every card from the discard pile except for the last played card, so that they can be shuffled back into
+     * the draw pile once it runs out. The penalty state of the last played card is kept.
+     *
+     * @return The removed cards, bottom first.
+     */
+    @NotNull
+    protected List<ICard> clearDiscardPile() {
+        boolean penaltyApplied = isLastPlayedPenaltyApplied();
+        ICard lastPlayed = discardPile.pop();
+        List<ICard> result = new ArrayList<>(discardPile);
+        discardPile.clear();
+        discardPile.push(lastPlayed);
+        appliedCardCount = penaltyApplied ? 1 : 0;
+        return result;
+    }
+
     /**
      * @param cardsToCheck The cards to check.
      * @return True, if any of the provided cards can be played on top of the discard pile.
      */
     public boolean canPlayAnyCard(List<ICard> cardsToCheck) {
-        return cardsToCheck.stream().anyMatch(this::isCardPlayable);
+        int row = getPlayabilityRow();
+        for (ICard card : cardsToCheck)
+            if (PlayabilityTable.isPlayable(row, card.getCode())) return true;
+        return false;
+    }
+
+    /**
+     * @param cardsToCheck The cards to check.
+     * @return A mask where each set bit is the index of a card that can be played on top of the discard pile.
+     */
+    @NotNull
+    public BitSet getPlayableCards(@NotNull List<ICard> cardsToCheck) {
+        return PlayabilityTable.getPlayableCards(getPlayabilityRow(), cardsToCheck);
     }
 
     /**
@@ -237,27 +415,22 @@ public abstract class AbstractGameModel<T extends AbstractGamePlayer> implements
         return (gameState == GameState.AWAITING_DRAW_TWO_RESPONSE && getDrawTwoMultiplier() > 0) ||
             (gameState == GameState.AWAITING_DRAW_FOUR_RESPONSE &&
                 (!discardPile.empty() &&
-                    getLastPlayedCard() instanceof WildDrawFourCard drawFourCard &&
-                    !drawFourCard.isApplied()
+                    getLastPlayedCard() instanceof WildDrawFourCard &&
+                    !isLastPlayedPenaltyApplied()
                 )
             );
     }
 
     /**
      * The draw two multiplier denotes how many cards a player must pick up following the placement of a series of draw
-     * two cards. This is calculated by looking back through the discard pile and determining how many consecutive draw
-     * two cards are yet to have their penalty applied.
+     * two cards. This is incremented for each consecutive draw two card that is played, and reset once the penalty is
+     * applied or any other card is played.
      *
      * @return The draw two multiplier, starts at 0 and increases by 1 for each consecutive draw two card that is yet to
      * be applied.
      */
     public int getDrawTwoMultiplier() {
-        int result = 0;
-        for (int i = discardPile.size() - 1; i > 0; i--) {
-            if (discardPile.get(i) instanceof DrawTwoCard drawTwoCard && !drawTwoCard.isApplied()) result++;
-            else break;
-        }
-        return result;
+        return drawTwoMultiplier;
     }
 
     /**
@@ -289,25 +462,47 @@ public abstract class AbstractGameModel<T extends AbstractGamePlayer> implements
             gameState = GameState.AWAITING_INITIAL_COLOR;
         else if (card instanceof SkipCard)
             setCurrentPlayerIndex(getNextPlayerIndex(direction));
-        else if (card instanceof DrawTwoCard)
+        else if (card instanceof DrawTwoCard) {
             gameState = GameState.AWAITING_DRAW_TWO_RESPONSE;
-        else if (card instanceof ReverseCard)
+            drawTwoMultiplier = 1;
+        } else if (card instanceof ReverseCard)
             direction = direction.getReverse();
     }
 
+    /**
+     * Sets the color of the wild card that the game started with. The starting player may then play on top of it. If
+     * the starting card is a draw four, its penalty does not apply.
+     *
+     * @param chosenColor The color chosen by the starting player.
+     * @throws JavunoStateException Not expecting the initial color.
+     */
+    public void chooseInitialColor(@NotNull CardColor chosenColor) {
+        if (gameState != GameState.AWAITING_INITIAL_COLOR) throw new JavunoStateException("Not expecting initial color");
+
+        this.chosenColor = chosenColor;
+        appliedCardCount = discardPile.size();
+        gameState = GameState.AWAITING_PLAY;
+    }
+
     /**
      * Places a new card on top of the discard pile. This must be a valid card to play.
      *
-     * @param cardToPlay The card to play.
+     * @param cardToPlay  The card to play.
+     * @param chosenColor The color chosen for the card, if it is a wild card (otherwise null).
      * @throws JavunoStateException Card is a wild card and chosen color has not been set.
+     * @throws JavunoStateException Card is not a wild card and chosen color has been set.
      * @throws JavunoStateException Card is not playable.
      */
-    public void playCard(@NotNull ICard cardToPlay) {
-        if (cardToPlay instanceof AbstractWildCard wildCard && wildCard.getChosenCardColor() == null)
+    public void playCard(@NotNull ICard cardToPlay, @Nullable CardColor chosenColor) {
+        if (cardToPlay instanceof AbstractWildCard && chosenColor == null)
             throw new JavunoStateException("Wild card color has not been set");
+        if (!(cardToPlay instanceof AbstractWildCard) && chosenColor != null)
+            throw new JavunoStateException("Only wild cards can have a chosen color");
         if (!isCardPlayable(cardToPlay)) throw new JavunoStateException("Card is not playable");
 
         discardPile.push(cardToPlay);
+        this.chosenColor = chosenColor;
+        drawTwoMultiplier = cardToPlay instanceof DrawTwoCard ? drawTwoMultiplier + 1 : 0;
         gameState = GameState.AWAITING_PLAY;
 
         if (cardToPlay instanceof ReverseCard) {
@@ -328,40 +523,29 @@ public abstract class AbstractGameModel<T extends AbstractGamePlayer> implements
      * @return True, if the given card can be played on top of the discard pile.
      */
     public boolean isCardPlayable(@NotNull ICard cardToPlay) {
-        ICard lastPlayed = getLastPlayedCard();
-
-        // Only another draw two card can be played on top of a draw two card (same for all action cards).
-        //TODO: If consecutive draw twos are disabled, then this is false.
-        if (lastPlayed instanceof DrawTwoCard && cardToPlay instanceof DrawTwoCard) return true;
-
-        if (gameState != GameState.AWAITING_PLAY) return false;
-
-        // Wild cards can be played on top of any other color (except in response to a draw two).
-        if (cardToPlay instanceof AbstractWildCard)
-            return !(lastPlayed instanceof DrawTwoCard lastDrawTwo) || lastDrawTwo.isApplied();
-
-        // Cards with matching colors can be played on top of one another.
-        if (getCardColor(lastPlayed) == getCardColor(cardToPlay)) return true;
-
-        // Cards with matching numbers can be played on top of one another.
-        if (lastPlayed instanceof NumberedCard numbered1 && cardToPlay instanceof NumberedCard numbered2)
-            return numbered1.getNumber() == numbered2.getNumber();
+        return PlayabilityTable.isPlayable(getPlayabilityRow(), cardToPlay.getCode());
+    }
 
-        return (lastPlayed instanceof SkipCard && cardToPlay instanceof SkipCard) ||
-            (lastPlayed instanceof ReverseCard && cardToPlay instanceof ReverseCard);
+    /**
+     * @return The row of the {@link PlayabilityTable} that describes the current state of the discard pile.
+     */
+    private int getPlayabilityRow() {
+        ICard lastPlayed = getLastPlayedCard();
+        return PlayabilityTable.getRow(
+            lastPlayed.getCode(),
+            chosenColor,
+            isPenaltyApplied(lastPlayed),
+            gameState,
+            optionMask);
     }
 
     /**
-     * @param card The card to retrieve the color from.
-     * @return The color of the card, otherwise the chosen color if wild.
-     * @throws JavunoStateException Wild card does not have a chosen color.
+     * @return The color of the last played card, otherwise the chosen color if wild (null if not chosen yet).
      */
-    private CardColor getCardColor(@NotNull ICard card) {
-        CardColor result;
-        if (card instanceof ColoredCard coloredCard) result = coloredCard.getCardColor();
-        else if (card instanceof AbstractWildCard wildCard) result = wildCard.getChosenCardColor();
-        else throw new JavunoStateException("Wild card does not have a chosen color");
-        return result;
+    @Nullable
+    public CardColor getLastPlayedColor() {
+        if (getLastPlayedCard() instanceof ColoredCard coloredCard) return coloredCard.getCardColor();
+        return chosenColor;
     }
 
     /**
@@ -369,9 +553,12 @@ public abstract class AbstractGameModel<T extends AbstractGamePlayer> implements
      * @throws IllegalStateException Discard pile is empty.
      */
     public ICard getLastPlayedCard() {
-        if (discardPile.empty())
+        // Peeking first avoids locking the discard pile twice, as this is called several times per turn.
+        try {
+            return discardPile.peek();
+        } catch (EmptyStackException e) {
             throw new IllegalStateException("Expected at least one card on the discard pile");
-        return discardPile.peek();
+        }
     }
 
     public enum GameState {
@@ -0,0 +1,174 @@
+package solar.rpg.javuno.models.game;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.cards.CardCode;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.game.AbstractGameModel.GameState;
+
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Precomputes which cards can be played on top of the discard pile for every possible situation, so that checking
+ * whether a card is playable is a single array read. A situation is described by a row, which is derived from:
+ * <ul>
+ *     <li>The card code of the last played card, with the chosen color in its color bits if it is a wild card.</li>
+ *     <li>Whether the penalty of the last played card has been applied.</li>
+ *     <li>The current {@link GameState}.</li>
+ *     <li>The enabled {@link GameOption}s that affect which cards are playable.</li>
+ * </ul>
+ * Each row is a 128-bit mask of the card codes that are playable in that situation.
+ *
+ * @author jskinner
+ * @see AbstractGameModel#isCardPlayable(ICard)
+ * @since 1.0.0
+ */
+public final class PlayabilityTable {
+
+    /**
+     * Game options that affect which cards are playable. Other options are ignored by this table.
+     */
+    @NotNull
+    private static final GameOption[] RELEVANT_OPTIONS = {GameOption.CONSECUTIVE_DRAW_TWO};
+    private static final int CONSECUTIVE_DRAW_TWO_MASK = getOptionMask(EnumSet.of(GameOption.CONSECUTIVE_DRAW_TWO));
+
+    private static final int STATE_COUNT = GameState.values().length;
+    private static final int OPTION_COMBINATIONS = 1 << RELEVANT_OPTIONS.length;
+    private static final int ROW_COUNT = CardCode.CODE_LIMIT * 2 * STATE_COUNT * OPTION_COMBINATIONS;
+
+    /**
+     * Playable card codes for each row, as two consecutive longs (codes 0-63, then 64-127).
+     */
+    @NotNull
+    private static final long[] PLAYABLE = new long[ROW_COUNT * 2];
+
+    static {
+        for (int topCode = 0; topCode < CardCode.CODE_LIMIT; topCode++)
+            for (int applied = 0; applied <= 1; applied++)
+                for (GameState gameState : GameState.values())
+                    for (int optionMask = 0; optionMask < OPTION_COMBINATIONS; optionMask++) {
+                        int row = getRow(topCode, applied == 1, gameState, optionMask);
+                        for (int code = 0; code < CardCode.CODE_LIMIT; code++)
+                            if (computePlayable(topCode, applied == 1, gameState, optionMask, code))
+                                PLAYABLE[row * 2 + (code >>> 6)] |= 1L << code;
+                    }
+    }
+
+    private PlayabilityTable() {
+    }
+
+    /**
+     * @param options The enabled game options.
+     * @return The option mask to look up rows with.
+     */
+    public static int getOptionMask(@NotNull Set<GameOption> options) {
+        int result = 0;
+        for (int i = 0; i < RELEVANT_OPTIONS.length; i++)
+            if (options.contains(RELEVANT_OPTIONS[i])) result |= 1 << i;
+        return result;
+    }
+
+    /**
+     * @param lastPlayedCode The card code of the last played card.
+     * @param chosenColor    The color chosen for the last played card, if it is a wild card.
+     * @param penaltyApplied True, if the penalty of the last played card has been applied (or it has none).
+     * @param gameState      The current game state.
+     * @param optionMask     The option mask of the enabled game options.
+     * @return The row that describes this situation.
+     */
+    public static int getRow(
+        int lastPlayedCode,
+        @Nullable CardColor chosenColor,
+        boolean penaltyApplied,
+        @NotNull GameState gameState,
+        int optionMask) {
+        int topCode = CardCode.isWild(lastPlayedCode) ? CardCode.withColor(lastPlayedCode, chosenColor) : lastPlayedCode;
+        return getRow(topCode, penaltyApplied, gameState, optionMask);
+    }
+
+    /**
+     * @param topCode        The card code of the last played card, with the chosen color in its color bits if wild.
+     * @param penaltyApplied True, if the penalty of the last played card has been applied (or it has none).
+     * @param gameState      The current game state.
+     * @param optionMask     The option mask of the enabled game options.
+     * @return The row that describes this situation.
+     */
+    public static int getRow(int topCode, boolean penaltyApplied, @NotNull GameState gameState, int optionMask) {
+        return ((topCode << 1 | (penaltyApplied ? 1 : 0)) * STATE_COUNT + gameState.ordinal()) * OPTION_COMBINATIONS
+            + optionMask;
+    }
+
+    /**
+     * @param row  The row that describes the current situation.
+     * @param code The card code of the card to check.
+     * @return True, if the card can be played.
+     */
+    public static boolean isPlayable(int row, int code) {
+        return (PLAYABLE[row * 2 + (code >>> 6)] >>> code & 1L) != 0;
+    }
+
+    /**
+     * @param row   The row that describes the current situation.
+     * @param cards The cards to check, such as a player's hand.
+     * @return A mask where each set bit is the index of a playable card.
+     */
+    @NotNull
+    public static BitSet getPlayableCards(int row, @NotNull List<ICard> cards) {
+        long low = PLAYABLE[row * 2];
+        long high = PLAYABLE[row * 2 + 1];
+        BitSet result = new BitSet(cards.size());
+        for (int i = 0; i < cards.size(); i++) {
+            int code = cards.get(i).getCode();
+            if (((code < 64 ? low : high) >>> code & 1L) != 0) result.set(i);
+        }
+        return result;
+    }
+
+    /**
+     * Decides whether a card is playable in a given situation. This is only used to build the table.
+     */
+    private static boolean computePlayable(
+        int topCode,
+        boolean penaltyApplied,
+        @NotNull GameState gameState,
+        int optionMask,
+        int code) {
+        if (CardCode.isWild(code) ? code != CardCode.withColor(code, null) : !hasValidColor(code)) return false;
+        if (!hasValidColor(topCode)) return false;
+
+        int topSymbol = CardCode.getSymbol(topCode);
+        int symbol = CardCode.getSymbol(code);
+        boolean consecutiveDrawTwo = (optionMask & CONSECUTIVE_DRAW_TWO_MASK) != 0;
+
+        // Only another draw two card can be played on top of a draw two card (same for all action cards).
+        if (consecutiveDrawTwo && topSymbol == CardCode.SYMBOL_DRAW_TWO && symbol == CardCode.SYMBOL_DRAW_TWO)
+            return true;
+
+        if (gameState != GameState.AWAITING_PLAY) return false;
+
+        // Wild cards can be played on top of any other color (except in response to a draw two).
+        if (CardCode.isWild(code)) return topSymbol != CardCode.SYMBOL_DRAW_TWO || penaltyApplied;
+
+        // Cards with matching colors can be played on top of one another.
+        CardColor topColor = CardCode.getColor(topCode);
+        if (topColor != null && topColor == CardCode.getColor(code)) return true;
+
+        // Cards with matching symbols can be played on top of one another, unless they are wild.
+        return !CardCode.isWild(topCode) && topSymbol == symbol;
+    }
+
+    /**
+     * @param code The card code.
+     * @return True, if the card code is a colored card with a valid color, or a wild card with no color or a valid
+     * chosen color.
+     */
+    private static boolean hasValidColor(int code) {
+        int ordinal = code >>> CardCode.COLOR_SHIFT & CardCode.COLOR_MASK;
+        if (CardCode.isWild(code)) return ordinal == CardCode.COLOR_NONE || ordinal < CardColor.values().length;
+        return CardCode.getSymbol(code) <= CardCode.SYMBOL_DRAW_TWO && ordinal < CardColor.values().length;
+    }
+}
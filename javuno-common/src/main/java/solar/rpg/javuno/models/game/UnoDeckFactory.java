@@ -2,9 +2,13 @@ package solar.rpg.javuno.models.game;
 
 import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
 import solar.rpg.javuno.models.cards.ICard;
-import solar.rpg.javuno.models.cards.standard.*;
+import solar.rpg.javuno.models.cards.standard.StandardCards;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 import java.util.Stack;
 import java.util.stream.IntStream;
 
@@ -16,6 +20,11 @@ import java.util.stream.IntStream;
  */
 public final class UnoDeckFactory {
 
+    /**
+     * The cards of a single standard UNO deck, in a fixed order. Draw piles are copied from this and then shuffled.
+     */
+    private static final ICard[] STANDARD_DECK = createStandardDeck();
+
     /**
      * Generates an UNO draw pile with the specified amount of standard UNO decks to include.
      * A standard UNO deck contains:
@@ -24,39 +33,61 @@ public final class UnoDeckFactory {
      *     <li>Action cards: each color contains 2x draw two cards, 2x skip cards, and 2x reverse cards.</li>
      *     <li>Wild cards: 4x wild cards and 4x wild draw four cards.</li>
      * </ul>
-     * The draw pile will be shuffled.
+     * The draw pile will be shuffled. Every card is a shared {@link StandardCards} instance.
      *
      * @param deckAmount Amount of standard UNO decks to put into the draw pile.
      * @return The new draw pile, shuffled.
      */
     public Stack<ICard> getNewDrawPile(int deckAmount) {
+        return getNewDrawPile(deckAmount, new Random());
+    }
+
+    /**
+     * Generates an UNO draw pile with the specified amount of standard UNO decks to include, shuffled using the given
+     * source of randomness. The same seed always produces the same draw pile.
+     *
+     * @param deckAmount Amount of standard UNO decks to put into the draw pile.
+     * @param random     Source of randomness for the shuffle.
+     * @return The new draw pile, shuffled.
+     * @see #getNewDrawPile(int)
+     */
+    public Stack<ICard> getNewDrawPile(int deckAmount, Random random) {
         assert deckAmount > 0 : "Expected deck amount to be greater than 0";
 
+        // The cards are shuffled in an array first, as shuffling the stack would lock it for every swap.
+        ICard[] cards = new ICard[STANDARD_DECK.length * deckAmount];
+        for (int i = 0; i < deckAmount; i++)
+            System.arraycopy(STANDARD_DECK, 0, cards, i * STANDARD_DECK.length, STANDARD_DECK.length);
+        List<ICard> cardList = Arrays.asList(cards);
+        Collections.shuffle(cardList, random);
+
         Stack<ICard> result = new Stack<>();
+        result.addAll(cardList);
+        return result;
+    }
 
-        for (int i = 1; i <= deckAmount; i++) {
-            for (CardColor cardColor : CardColor.values()) {
-                IntStream.rangeClosed(0, 9).forEachOrdered(cardNumber -> {
-                    result.add(new NumberedCard(cardColor, cardNumber));
-                    if (cardNumber > 0)
-                        result.add(new NumberedCard(cardColor, cardNumber));
-                });
-
-                IntStream.rangeClosed(1, 2).forEachOrdered(cardNumber -> {
-                    result.add(new DrawTwoCard(cardColor));
-                    result.add(new SkipCard(cardColor));
-                    result.add(new ReverseCard(cardColor));
-                });
-            }
-
-            for (int cardNumber = 1; cardNumber <= 4; cardNumber++) {
-                result.add(new WildCard());
-                result.add(new WildDrawFourCard());
-            }
+    private static ICard[] createStandardDeck() {
+        List<ICard> result = new ArrayList<>();
+
+        for (CardColor cardColor : CardColor.values()) {
+            IntStream.rangeClosed(0, 9).forEachOrdered(cardNumber -> {
+                result.add(StandardCards.numbered(cardColor, cardNumber));
+                if (cardNumber > 0)
+                    result.add(StandardCards.numbered(cardColor, cardNumber));
+            });
+
+            IntStream.rangeClosed(1, 2).forEachOrdered(cardNumber -> {
+                result.add(StandardCards.drawTwo(cardColor));
+                result.add(StandardCards.skip(cardColor));
+                result.add(StandardCards.reverse(cardColor));
+            });
         }
 
-        Collections.shuffle(result);
+        for (int cardNumber = 1; cardNumber <= 4; cardNumber++) {
+            result.add(StandardCards.wild());
+            result.add(StandardCards.wildDrawFour());
+        }
 
-        return result;
+        return result.toArray(new ICard[0]);
     }
 }
@@ -47,6 +47,13 @@ public abstract class AbstractJavunoPlayerPacket extends JServerPacket {
         return playerName;
     }
 
+    /**
+     * @return True, if the player name has been set.
+     */
+    public boolean hasPlayerName() {
+        return playerName != null;
+    }
+
     /**
      * Sets the name of the player.
      *
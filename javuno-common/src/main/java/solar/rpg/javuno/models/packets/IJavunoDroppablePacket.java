@@ -0,0 +1,11 @@
+package solar.rpg.javuno.models.packets;
+
+/**
+ * Marker interface denoting that a packet is not needed to keep a client's game in step with the server, such as a
+ * chat message. The server may drop these packets rather than queue them for a client that is falling behind.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public interface IJavunoDroppablePacket {
+}
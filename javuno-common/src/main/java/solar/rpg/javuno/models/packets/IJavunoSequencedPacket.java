@@ -0,0 +1,17 @@
+package solar.rpg.javuno.models.packets;
+
+/**
+ * Denotes that a particular packet is a delta in the game state stream. Each delta carries the state version that it
+ * produces, which is one higher than the version that it must be applied on top of. Clients apply deltas strictly in
+ * order, and report the last version they applied so that the server can resend any deltas that were missed.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public interface IJavunoSequencedPacket {
+
+    /**
+     * @return The state version that this delta produces.
+     */
+    int getSequence();
+}
@@ -2,8 +2,9 @@ package solar.rpg.javuno.models.packets;
 
 /**
  * Marker interface denoting that a particular packet will only be processed by the server once received if there has
- * not been another instance of the same packet type received within a certain period of time. If the packet is sent too
- * quickly, a {@link JavunoBadPacketException} will be thrown and needs to be handled by the server.
+ * not been another instance of the same packet type received within a certain period of time. Each type of packet may
+ * allow a short burst of instances before this applies. If the packet is sent too quickly, a
+ * {@link JavunoBadPacketException} will be thrown and needs to be handled by the server.
  *
  * @author jskinner
  * @since 1.0.0
@@ -14,4 +15,12 @@ public interface IJavunoTimeLimitedPacket {
      * @return The amount of time (in milliseconds) before the packet can be processed again after being received.
      */
     long getLimitDuration();
+
+    /**
+     * @return The amount of instances of the packet that can be processed in quick succession, after which one more
+     * instance can be processed each time the limit duration passes.
+     */
+    default int getLimitBurst() {
+        return 1;
+    }
 }
@@ -0,0 +1,86 @@
+package solar.rpg.javuno.models.packets;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketType;
+import solar.rpg.jserver.packet.JServerPacket;
+
+import java.util.function.Consumer;
+
+/**
+ * Maps each {@link JavunoPacketType} to the function that handles it, so that a packet handler can dispatch any packet
+ * with a single array lookup by type id. Handlers are registered once when the packet handler is constructed, and the
+ * registry is only read afterwards.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class JavunoPacketHandlerRegistry {
+
+    /**
+     * The handler of each packet type, indexed by type id. {@code null} if packets of that type are not handled.
+     */
+    @NotNull
+    private final Consumer<JServerPacket>[] handlers;
+
+    /**
+     * Constructs a new, empty {@code JavunoPacketHandlerRegistry} instance.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public JavunoPacketHandlerRegistry() {
+        handlers = (Consumer<JServerPacket>[]) new Consumer[JavunoPacketType.getIdCount()];
+    }
+
+    /**
+     * Registers a handler for every packet type whose class is, or extends, the given packet class, and that is not
+     * handled yet. This matches dispatching with a chain of {@code instanceof} checks, so a handler of
+     * {@code JavunoPacketInPlayCard} also handles {@code JavunoPacketInPlayWildCard}, unless a handler of
+     * {@code JavunoPacketInPlayWildCard} was registered before it.
+     *
+     * @param packetClass The class of packets to handle.
+     * @param handler     The function that handles packets of this class.
+     * @param <T>         The type of packets to handle.
+     * @return This registry, so that registrations can be chained.
+     * @throws IllegalArgumentException No packet type has the given class.
+     * @throws IllegalStateException    Handlers have already been registered for every matched packet type.
+     */
+    @NotNull
+    public <T extends JServerPacket> JavunoPacketHandlerRegistry register(
+        @NotNull Class<T> packetClass,
+        @NotNull Consumer<? super T> handler) {
+        boolean matched = false;
+        boolean claimed = false;
+        for (JavunoPacketType packetType : JavunoPacketType.values()) {
+            if (!packetClass.isAssignableFrom(packetType.getPacketClass())) continue;
+            matched = true;
+            // The first handler to be registered for a packet type keeps it, as the first matching instanceof would
+            if (handlers[packetType.getId()] != null) continue;
+
+            handlers[packetType.getId()] = packet -> handler.accept(packetClass.cast(packet));
+            claimed = true;
+        }
+        if (!matched)
+            throw new IllegalArgumentException(
+                String.format("No packet type for class %s", packetClass.getSimpleName()));
+        if (!claimed)
+            throw new IllegalStateException(
+                String.format("Every packet type for class %s is already handled", packetClass.getSimpleName()));
+        return this;
+    }
+
+    /**
+     * Passes a packet to the handler of its type.
+     *
+     * @param packet The packet to handle.
+     * @return True, if the packet was handled. False, if it is not a known JAVUNO packet or its type is not handled.
+     */
+    public boolean dispatch(@NotNull JServerPacket packet) {
+        JavunoPacketType packetType = JavunoPacketType.find(packet);
+        if (packetType == null) return false;
+
+        Consumer<JServerPacket> handler = handlers[packetType.getId()];
+        if (handler == null) return false;
+
+        handler.accept(packet);
+        return true;
+    }
+}
@@ -0,0 +1,99 @@
+package solar.rpg.javuno.models.packets.codec;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.packets.JavunoBadPacketException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Length-prefixed framing for packets encoded by {@link JavunoPacketCodec}, used by transports that send encoded packets
+ * directly over a socket instead of through JServer. Each frame is a 4 byte big-endian length, followed by that many
+ * bytes of encoded packet.
+ *
+ * @author jskinner
+ * @see JavunoPacketCodec
+ * @since 1.0.0
+ */
+public final class JavunoFrameCodec {
+
+    /**
+     * Length of the frame header, in bytes.
+     */
+    public static final int HEADER_LENGTH = 4;
+    /**
+     * The maximum length of an encoded packet inside a frame. Anything longer is treated as a malformed frame.
+     */
+    public static final int MAX_FRAME_LENGTH = 64 * 1024;
+
+    private JavunoFrameCodec() {
+    }
+
+    /**
+     * Wraps an encoded packet into a frame.
+     *
+     * @param data The encoded packet.
+     * @return The frame, including its header.
+     * @throws IllegalArgumentException Encoded packet is too long.
+     */
+    @NotNull
+    public static byte[] frame(@NotNull byte[] data) {
+        if (data.length > MAX_FRAME_LENGTH)
+            throw new IllegalArgumentException(String.format("Frame of %d bytes is too long", data.length));
+
+        byte[] result = new byte[HEADER_LENGTH + data.length];
+        ByteBuffer.wrap(result).putInt(data.length).put(data);
+        return result;
+    }
+
+    /**
+     * Wraps an encoded packet that was encoded in two parts into a single frame, such as a shared game state and the
+     * hand of one recipient.
+     *
+     * @param data The first part of the encoded packet.
+     * @param tail The rest of the encoded packet.
+     * @return The frame, including its header.
+     * @throws IllegalArgumentException Encoded packet is too long.
+     */
+    @NotNull
+    public static byte[] frame(@NotNull byte[] data, @NotNull byte[] tail) {
+        int length = data.length + tail.length;
+        if (length > MAX_FRAME_LENGTH)
+            throw new IllegalArgumentException(String.format("Frame of %d bytes is too long", length));
+
+        byte[] result = new byte[HEADER_LENGTH + length];
+        ByteBuffer.wrap(result).putInt(length).put(data).put(tail);
+        return result;
+    }
+
+    /**
+     * Reads the next complete frame from a buffer that is in read mode. If the buffer does not hold a complete frame
+     * yet, its position is left unchanged.
+     *
+     * @param buffer The buffer to read from.
+     * @return The encoded packet inside the frame, or {@code null} if the frame is not complete yet.
+     * @throws JavunoBadPacketException Frame length is invalid.
+     */
+    @Nullable
+    public static byte[] readFrame(@NotNull ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_LENGTH) return null;
+
+        int length = buffer.getInt(buffer.position());
+        checkLength(length);
+        if (buffer.remaining() < HEADER_LENGTH + length) return null;
+
+        byte[] result = new byte[length];
+        buffer.position(buffer.position() + HEADER_LENGTH);
+        buffer.get(result);
+        return result;
+    }
+
+    /**
+     * @param length The length read from a frame header.
+     * @throws JavunoBadPacketException Frame length is invalid.
+     */
+    public static void checkLength(int length) {
+        if (length < 0 || length > MAX_FRAME_LENGTH)
+            throw new JavunoBadPacketException(String.format("Invalid frame length %d", length), true);
+    }
+}
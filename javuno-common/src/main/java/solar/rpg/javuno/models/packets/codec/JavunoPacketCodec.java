@@ -0,0 +1,538 @@
+package solar.rpg.javuno.models.packets.codec;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.cards.CardCode;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.cards.standard.StandardCards;
+import solar.rpg.javuno.models.game.AbstractGameModel.GameState;
+import solar.rpg.javuno.models.game.AbstractGameModel.UnoChallengeState;
+import solar.rpg.javuno.models.game.ClientOpponent;
+import solar.rpg.javuno.models.game.Direction;
+import solar.rpg.javuno.models.packets.AbstractJavunoPlayerPacket;
+import solar.rpg.javuno.models.packets.JavunoBadPacketException;
+import solar.rpg.javuno.models.packets.in.*;
+import solar.rpg.javuno.models.packets.out.*;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutConnectionRejected.ConnectionRejectionReason;
+import solar.rpg.jserver.packet.JServerPacket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Stack;
+
+/**
+ * Compact binary codec for JAVUNO packets. Every encoded packet starts with the codec version and the
+ * {@link JavunoPacketType} id, followed by a body that is hand-written per packet type. Integers are written as
+ * varints, cards are written as single byte card codes, enums are written by ordinal, and strings are written through a
+ * per-packet string table.
+ * <p>
+ * The codec is negotiated during the handshake: {@link JavunoPacketInServerConnect} carries the highest codec version
+ * that the client supports, and {@link JavunoPacketOutConnectionAccepted} carries the version that the server chose.
+ * A version of {@code 0} means that packets are sent using plain Java serialization instead.
+ *
+ * @author jskinner
+ * @see JavunoPacketType
+ * @since 1.0.0
+ */
+public final class JavunoPacketCodec {
+
+    /**
+     * The codec version that this build encodes and decodes.
+     */
+    public static final int VERSION = 1;
+    /**
+     * Codec version that denotes plain Java serialization.
+     */
+    public static final int VERSION_SERIALIZED = 0;
+
+    private JavunoPacketCodec() {
+    }
+
+    /**
+     * @param version The codec version.
+     * @return True, if the given codec version can be encoded and decoded by this build.
+     */
+    public static boolean isSupported(int version) {
+        return version == VERSION;
+    }
+
+    /**
+     * Negotiates the codec version to use with a peer.
+     *
+     * @param peerVersion The highest codec version supported by the peer.
+     * @return The codec version to use, or {@link #VERSION_SERIALIZED} if there is no version in common.
+     */
+    public static int negotiate(int peerVersion) {
+        int version = Math.min(peerVersion, VERSION);
+        return isSupported(version) ? version : VERSION_SERIALIZED;
+    }
+
+    /* Encoding */
+
+    /**
+     * Encodes a packet to its binary form.
+     *
+     * @param packet The packet to encode.
+     * @return The encoded packet.
+     * @throws IllegalArgumentException The packet is not a known JAVUNO packet.
+     */
+    @NotNull
+    public static byte[] encode(@NotNull JServerPacket packet) {
+        JavunoPacketType type = JavunoPacketType.of(packet);
+        JavunoPacketWriter writer = new JavunoPacketWriter(32);
+        writeHeader(writer, type);
+
+        switch (type) {
+            case IN_SERVER_CONNECT -> {
+                JavunoPacketInServerConnect connect = (JavunoPacketInServerConnect) packet;
+                writer.writeString(connect.getWantedPlayerName());
+                writer.writeString(connect.getServerPassword());
+                writer.writeString(connect.getRoomName());
+                writer.writeVarInt(connect.getCodecVersion());
+            }
+            case IN_DRAW_CARDS -> {
+            }
+            case IN_PLAY_CARD -> writer.writeSignedVarInt(((JavunoPacketInPlayCard) packet).getCardIndex());
+            case IN_PLAY_WILD_CARD -> {
+                JavunoPacketInPlayWildCard playWild = (JavunoPacketInPlayWildCard) packet;
+                writer.writeSignedVarInt(playWild.getCardIndex());
+                writer.writeByte(playWild.getChosenColor().ordinal());
+            }
+            case IN_OUT_CHAT_MESSAGE -> {
+                JavunoPacketInOutChatMessage chat = (JavunoPacketInOutChatMessage) packet;
+                writer.writeString(chat.getMessage());
+                writer.writeString(chat.getSenderName());
+            }
+            case IN_OUT_PLAYER_READY_CHANGED -> {
+                writePlayerName(writer, (AbstractJavunoPlayerPacket) packet);
+                writer.writeBoolean(((JavunoPacketInOutPlayerReadyChanged) packet).isReady());
+            }
+            case OUT_CONNECTION_ACCEPTED -> {
+                JavunoPacketOutConnectionAccepted accepted = (JavunoPacketOutConnectionAccepted) packet;
+                writer.writeString(accepted.getPlayerName());
+                writeStrings(writer, accepted.getLobbyPlayerNames());
+                writer.writeVarInt(accepted.getCodecVersion());
+                writer.writeBoolean(accepted.isInGame());
+                if (accepted.isInGame()) writeGameState(writer, accepted.getGameState(), true);
+                else writeStrings(writer, accepted.getReadyPlayerNames());
+                writer.writeNullableString(accepted.getResumeToken());
+            }
+            case OUT_CONNECTION_REJECTED ->
+                writer.writeByte(((JavunoPacketOutConnectionRejected) packet).getRejectionReason().ordinal());
+            case OUT_DRAW_CARDS -> {
+                JavunoPacketOutDrawCards draw = (JavunoPacketOutDrawCards) packet;
+                writePlayerName(writer, draw);
+                writer.writeVarInt(draw.getCardAmount());
+                writer.writeBoolean(draw.isNextTurn());
+                writer.writeVarInt(draw.getSequence());
+            }
+            case OUT_RECEIVE_CARDS -> {
+                JavunoPacketOutReceiveCards receive = (JavunoPacketOutReceiveCards) packet;
+                writePlayerName(writer, receive);
+                writeCards(writer, receive.getReceivedCards());
+                writer.writeBoolean(receive.isNextTurn());
+                writer.writeVarInt(receive.getSequence());
+            }
+            case OUT_GAME_START -> writeGameState(writer, (JavunoPacketOutGameState) packet, false);
+            case OUT_GAME_STATE -> writeGameState(writer, (JavunoPacketOutGameState) packet, true);
+            case OUT_PLAY_CARD -> {
+                JavunoPacketOutPlayCard play = (JavunoPacketOutPlayCard) packet;
+                writePlayerName(writer, play);
+                writer.writeByte(CardCode.withColor(play.getCardToPlay().getCode(), play.getChosenColor()));
+                writer.writeSignedVarInt(play.getCardIndex());
+                writer.writeVarInt(play.getSequence());
+            }
+            case OUT_PLAYER_CONNECT, OUT_PLAYER_DISCONNECT ->
+                writePlayerName(writer, (AbstractJavunoPlayerPacket) packet);
+            case OUT_SERVER_MESSAGE -> writer.writeString(((JavunoPacketOutServerMessage) packet).getMessage());
+            case IN_STATE_ACK -> writer.writeVarInt(((JavunoPacketInStateAck) packet).getStateVersion());
+            case IN_SESSION_RESUME -> {
+                JavunoPacketInSessionResume resume = (JavunoPacketInSessionResume) packet;
+                writer.writeString(resume.getRoomName());
+                writer.writeString(resume.getPlayerName());
+                writer.writeString(resume.getResumeToken());
+                writer.writeSignedVarInt(resume.getStateVersion());
+                writer.writeVarInt(resume.getCodecVersion());
+            }
+            case OUT_SESSION_RESUMED -> {
+                JavunoPacketOutSessionResumed resumed = (JavunoPacketOutSessionResumed) packet;
+                writeStrings(writer, resumed.getLobbyPlayerNames());
+                writer.writeVarInt(resumed.getCodecVersion());
+                writer.writeBoolean(resumed.isInGame());
+                if (!resumed.isInGame()) writeStrings(writer, resumed.getReadyPlayerNames());
+                else {
+                    writer.writeBoolean(resumed.hasGameState());
+                    if (resumed.hasGameState()) writeGameState(writer, resumed.getGameState(), true);
+                }
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encodes the part of a game start or game state packet that is the same for every recipient. The client cards
+     * are written last, so a complete packet is the shared part followed by {@link #encodeHand(List)}.
+     *
+     * @param gameState The game state packet. Its client cards are ignored.
+     * @return The encoded packet, without the client cards.
+     */
+    @NotNull
+    public static byte[] encodeShared(@NotNull JavunoPacketOutGameState gameState) {
+        JavunoPacketType type = JavunoPacketType.of(gameState);
+        JavunoPacketWriter writer = new JavunoPacketWriter(32);
+        writeHeader(writer, type);
+        writeSharedGameState(writer, gameState, type == JavunoPacketType.OUT_GAME_STATE);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encodes the part of a game start or game state packet that differs for each recipient.
+     *
+     * @param clientCards The cards associated with the recipient, or null if the recipient is spectating.
+     * @return The encoded client cards, to be appended to {@link #encodeShared(JavunoPacketOutGameState)}.
+     */
+    @NotNull
+    public static byte[] encodeHand(@Nullable List<ICard> clientCards) {
+        JavunoPacketWriter writer = new JavunoPacketWriter(clientCards == null ? 1 : clientCards.size() + 2);
+        writeHand(writer, clientCards);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Writes the codec version and packet type id that every encoded packet starts with.
+     */
+    private static void writeHeader(@NotNull JavunoPacketWriter writer, @NotNull JavunoPacketType type) {
+        writer.writeByte(VERSION);
+        writer.writeVarInt(type.getId());
+    }
+
+    /**
+     * Writes the player name of a player packet, which may not have been set yet.
+     */
+    private static void writePlayerName(@NotNull JavunoPacketWriter writer, @NotNull AbstractJavunoPlayerPacket packet) {
+        writer.writeNullableString(packet.hasPlayerName() ? packet.getPlayerName() : null);
+    }
+
+    /**
+     * Writes a list of strings, prefixed by its size.
+     */
+    private static void writeStrings(@NotNull JavunoPacketWriter writer, @NotNull List<String> strings) {
+        writer.writeVarInt(strings.size());
+        for (String string : strings) writer.writeString(string);
+    }
+
+    /**
+     * Writes a list of cards as card codes, prefixed by its size.
+     */
+    private static void writeCards(@NotNull JavunoPacketWriter writer, @NotNull List<ICard> cards) {
+        writer.writeVarInt(cards.size());
+        for (ICard card : cards) writer.writeByte(card.getCode());
+    }
+
+    /**
+     * Writes the body of a game state packet. The client cards are written last, so that everything before them can be
+     * shared between recipients.
+     *
+     * @param writer    The writer.
+     * @param gameState The game state packet.
+     * @param withState True, if the game state and uno challenge state should be written.
+     */
+    private static void writeGameState(
+        @NotNull JavunoPacketWriter writer,
+        @NotNull JavunoPacketOutGameState gameState,
+        boolean withState) {
+        writeSharedGameState(writer, gameState, withState);
+        writeHand(writer, gameState.getClientCards());
+    }
+
+    /**
+     * Writes the client cards of a game state packet.
+     */
+    private static void writeHand(@NotNull JavunoPacketWriter writer, @Nullable List<ICard> clientCards) {
+        writer.writeBoolean(clientCards != null);
+        if (clientCards != null) writeCards(writer, clientCards);
+    }
+
+    /**
+     * Writes the body of a game state packet, except for the client cards.
+     */
+    private static void writeSharedGameState(
+        @NotNull JavunoPacketWriter writer,
+        @NotNull JavunoPacketOutGameState gameState,
+        boolean withState) {
+        writeCards(writer, gameState.getDiscardPile());
+
+        writer.writeVarInt(gameState.getPlayers().size());
+        for (ClientOpponent player : gameState.getPlayers()) {
+            writer.writeString(player.getName());
+            writer.writeBoolean(player.isUno());
+            writer.writeVarInt(player.getCardCount());
+        }
+        writer.writeSignedVarInt(gameState.getCurrentPlayerIndex());
+        writer.writeVarInt(gameState.getStateVersion());
+
+        // Direction, game state and uno challenge state are packed into a single byte.
+        int flags = gameState.getCurrentDirection().ordinal();
+        if (withState)
+            flags |= gameState.getGameState().ordinal() << 1 | gameState.getUnoChallengeState().ordinal() << 4;
+        writer.writeByte(flags);
+        if (withState) {
+            // The chosen color is stored in the color bits of the last played card's code.
+            writer.writeByte(CardCode.of(0, gameState.getChosenColor()));
+            writer.writeVarInt(gameState.getAppliedCardCount());
+            writer.writeVarInt(gameState.getDrawTwoMultiplier());
+        }
+    }
+
+    /* Decoding */
+
+    /**
+     * Decodes a packet from its binary form.
+     *
+     * @param data The encoded packet.
+     * @return The decoded packet. The origin address is not set.
+     * @throws JavunoBadPacketException The encoded packet is malformed, or uses an unsupported codec version.
+     */
+    @NotNull
+    public static JServerPacket decode(@NotNull byte[] data) {
+        JavunoPacketReader reader = new JavunoPacketReader(data, 0, data.length);
+        int version = reader.readByte();
+        if (!isSupported(version))
+            throw new JavunoBadPacketException(String.format("Unsupported codec version %d", version), true);
+
+        JavunoPacketType type;
+        try {
+            type = JavunoPacketType.byId(reader.readVarInt());
+        } catch (IllegalArgumentException e) {
+            throw new JavunoBadPacketException(e.getMessage(), true);
+        }
+
+        JServerPacket result;
+        try {
+            result = switch (type) {
+                case IN_SERVER_CONNECT -> new JavunoPacketInServerConnect(
+                    reader.readString(),
+                    reader.readString(),
+                    reader.readString(),
+                    reader.readVarInt());
+                case IN_DRAW_CARDS -> new JavunoPacketInDrawCards();
+                case IN_PLAY_CARD -> new JavunoPacketInPlayCard(reader.readSignedVarInt());
+                case IN_PLAY_WILD_CARD -> new JavunoPacketInPlayWildCard(
+                    reader.readSignedVarInt(),
+                    readEnum(reader, CardColor.values()));
+                case IN_OUT_CHAT_MESSAGE -> new JavunoPacketInOutChatMessage(reader.readString(), reader.readString());
+                case IN_OUT_PLAYER_READY_CHANGED -> {
+                    String playerName = reader.readNullableString();
+                    JavunoPacketInOutPlayerReadyChanged readyChanged =
+                        new JavunoPacketInOutPlayerReadyChanged(reader.readBoolean());
+                    if (playerName != null) readyChanged.setPlayerName(playerName);
+                    yield readyChanged;
+                }
+                case OUT_CONNECTION_ACCEPTED -> {
+                    String playerName = reader.readString();
+                    List<String> lobbyPlayerNames = readStrings(reader);
+                    int codecVersion = reader.readVarInt();
+                    boolean inGame = reader.readBoolean();
+                    List<String> readyPlayerNames = inGame ? null : readStrings(reader);
+                    JavunoPacketOutGameState gameState = inGame ? readGameState(reader, true) : null;
+                    yield new JavunoPacketOutConnectionAccepted(
+                        playerName,
+                        lobbyPlayerNames,
+                        readyPlayerNames,
+                        gameState,
+                        codecVersion,
+                        reader.readNullableString());
+                }
+                case OUT_CONNECTION_REJECTED ->
+                    new JavunoPacketOutConnectionRejected(readEnum(reader, ConnectionRejectionReason.values()));
+                case OUT_DRAW_CARDS -> new JavunoPacketOutDrawCards(
+                    readPlayerName(reader),
+                    reader.readVarInt(),
+                    reader.readBoolean(),
+                    reader.readVarInt());
+                case OUT_RECEIVE_CARDS -> new JavunoPacketOutReceiveCards(
+                    readPlayerName(reader),
+                    readCards(reader, new ArrayList<>()),
+                    reader.readBoolean(),
+                    reader.readVarInt());
+                case OUT_GAME_START -> readGameState(reader, false);
+                case OUT_GAME_STATE -> readGameState(reader, true);
+                case OUT_PLAY_CARD -> {
+                    String playerName = readPlayerName(reader);
+                    int code = reader.readByte();
+                    // A wild card is sent with its chosen color in the color bits.
+                    boolean wild = CardCode.isWild(code);
+                    yield new JavunoPacketOutPlayCard(
+                        playerName,
+                        readCard(wild ? CardCode.withColor(code, null) : code),
+                        wild ? CardCode.getColor(code) : null,
+                        reader.readSignedVarInt(),
+                        reader.readVarInt());
+                }
+                case OUT_PLAYER_CONNECT -> new JavunoPacketOutPlayerConnect(readPlayerName(reader));
+                case OUT_PLAYER_DISCONNECT -> new JavunoPacketOutPlayerDisconnect(readPlayerName(reader));
+                case OUT_SERVER_MESSAGE -> new JavunoPacketOutServerMessage(reader.readString());
+                case IN_STATE_ACK -> new JavunoPacketInStateAck(reader.readVarInt());
+                case IN_SESSION_RESUME -> new JavunoPacketInSessionResume(
+                    reader.readString(),
+                    reader.readString(),
+                    reader.readString(),
+                    reader.readSignedVarInt(),
+                    reader.readVarInt());
+                case OUT_SESSION_RESUMED -> {
+                    List<String> lobbyPlayerNames = readStrings(reader);
+                    int codecVersion = reader.readVarInt();
+                    boolean inGame = reader.readBoolean();
+                    if (!inGame) yield new JavunoPacketOutSessionResumed(
+                        lobbyPlayerNames,
+                        readStrings(reader),
+                        null,
+                        codecVersion);
+                    yield new JavunoPacketOutSessionResumed(
+                        lobbyPlayerNames,
+                        null,
+                        reader.readBoolean() ? readGameState(reader, true) : null,
+                        codecVersion);
+                }
+            };
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new JavunoBadPacketException(
+                String.format("Invalid %s packet: %s", type, e.getMessage()),
+                true);
+        }
+
+        if (reader.remaining() != 0)
+            throw new JavunoBadPacketException(
+                String.format("%d trailing bytes after %s packet", reader.remaining(), type),
+                true);
+        return result;
+    }
+
+    /**
+     * Reads the player name of a player packet that must have one.
+     */
+    @NotNull
+    private static String readPlayerName(@NotNull JavunoPacketReader reader) {
+        String playerName = reader.readNullableString();
+        if (playerName == null) throw new JavunoBadPacketException("Expected player name", true);
+        return playerName;
+    }
+
+    /**
+     * Reads a list of strings, prefixed by its size.
+     */
+    @NotNull
+    private static List<String> readStrings(@NotNull JavunoPacketReader reader) {
+        int size = readSize(reader);
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) result.add(reader.readString());
+        return result;
+    }
+
+    /**
+     * Reads a list of card codes, prefixed by its size, into the given list.
+     */
+    @NotNull
+    private static <T extends List<ICard>> T readCards(@NotNull JavunoPacketReader reader, @NotNull T result) {
+        int size = readSize(reader);
+        for (int i = 0; i < size; i++) result.add(readCard(reader.readByte()));
+        return result;
+    }
+
+    /**
+     * Reads the body of a game state packet.
+     *
+     * @param reader    The reader.
+     * @param withState True, if the game state and uno challenge state were written.
+     * @return The game state packet, or a game start packet if the states were not written.
+     */
+    @NotNull
+    private static JavunoPacketOutGameState readGameState(@NotNull JavunoPacketReader reader, boolean withState) {
+        Stack<ICard> discardPile = readCards(reader, new Stack<>());
+
+        int playerCount = readSize(reader);
+        List<ClientOpponent> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++)
+            players.add(new ClientOpponent(reader.readString(), reader.readBoolean(), reader.readVarInt()));
+        int currentPlayerIndex = reader.readSignedVarInt();
+        int stateVersion = reader.readVarInt();
+
+        int flags = reader.readByte();
+        Direction direction = readEnum(flags & 0x01, Direction.values());
+        if (!withState)
+            return new JavunoPacketOutGameStart(
+                readHand(reader),
+                discardPile,
+                players,
+                currentPlayerIndex,
+                direction,
+                stateVersion);
+
+        GameState gameState = readEnum(flags >>> 1 & 0x07, GameState.values());
+        UnoChallengeState unoChallengeState = readEnum(flags >>> 4 & 0x03, UnoChallengeState.values());
+        CardColor chosenColor = CardCode.getColor(reader.readByte());
+        int appliedCardCount = reader.readVarInt();
+        int drawTwoMultiplier = reader.readVarInt();
+        return new JavunoPacketOutGameState(
+            readHand(reader),
+            discardPile,
+            players,
+            currentPlayerIndex,
+            direction,
+            gameState,
+            unoChallengeState,
+            chosenColor,
+            appliedCardCount,
+            drawTwoMultiplier,
+            stateVersion);
+    }
+
+    /**
+     * Reads the client cards of a game state packet.
+     */
+    @Nullable
+    private static List<ICard> readHand(@NotNull JavunoPacketReader reader) {
+        return reader.readBoolean() ? readCards(reader, new ArrayList<>()) : null;
+    }
+
+    /**
+     * Reads a collection size, making sure that it cannot exceed the amount of remaining bytes.
+     */
+    private static int readSize(@NotNull JavunoPacketReader reader) {
+        int size = reader.readVarInt();
+        if (size > reader.remaining()) throw new JavunoBadPacketException("Unexpected end of packet", true);
+        return size;
+    }
+
+    /**
+     * Reads an enum constant by its ordinal.
+     */
+    @NotNull
+    private static <E extends Enum<E>> E readEnum(@NotNull JavunoPacketReader reader, @NotNull E[] values) {
+        return readEnum(reader.readByte(), values);
+    }
+
+    @NotNull
+    private static <E extends Enum<E>> E readEnum(int ordinal, @NotNull E[] values) {
+        if (ordinal >= values.length)
+            throw new JavunoBadPacketException(
+                String.format("Invalid %s ordinal %d", values.getClass().getComponentType().getSimpleName(), ordinal),
+                true);
+        return values[ordinal];
+    }
+
+    /* Card Encoding */
+
+    /**
+     * @param code The card code.
+     * @return The canonical card with the given card code.
+     * @throws JavunoBadPacketException Invalid card code.
+     */
+    @NotNull
+    private static ICard readCard(int code) {
+        if (!StandardCards.isValid(code))
+            throw new JavunoBadPacketException(String.format("Invalid card code %d", code), true);
+        return StandardCards.get(code);
+    }
+}
@@ -0,0 +1,40 @@
+package solar.rpg.javuno.models.packets.codec;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.jserver.packet.JServerPacket;
+
+/**
+ * Envelope for a packet that has been encoded by {@link JavunoPacketCodec}. Once both ends of a connection have agreed
+ * on a codec version, every packet is sent inside one of these envelopes instead of being serialized field-by-field.
+ * <p>
+ * The same envelope may be written to many connections at once, so the encoded bytes must never be modified.
+ *
+ * @author jskinner
+ * @see JavunoPacketCodec
+ * @since 1.0.0
+ */
+public final class JavunoPacketInOutEncoded extends JServerPacket {
+
+    /**
+     * The encoded packet.
+     */
+    @NotNull
+    private final byte[] data;
+
+    /**
+     * Constructs a new {@code JavunoPacketInOutEncoded} instance.
+     *
+     * @param data The encoded packet.
+     */
+    public JavunoPacketInOutEncoded(@NotNull byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * @return The encoded packet. This is not a copy, and must not be modified.
+     */
+    @NotNull
+    public byte[] getData() {
+        return data;
+    }
+}
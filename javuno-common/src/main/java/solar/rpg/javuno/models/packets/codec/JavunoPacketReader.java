@@ -0,0 +1,144 @@
+package solar.rpg.javuno.models.packets.codec;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.packets.JavunoBadPacketException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads values that were written by a {@link JavunoPacketWriter}. Malformed input is reported with a fatal
+ * {@link JavunoBadPacketException}, as it can only come from a broken or malicious peer.
+ *
+ * @author jskinner
+ * @see JavunoPacketWriter
+ * @since 1.0.0
+ */
+public final class JavunoPacketReader {
+
+    /**
+     * Strings that have been read so far, in order.
+     */
+    @NotNull
+    private final List<String> stringTable;
+    @NotNull
+    private final byte[] buffer;
+    private int position;
+    private final int limit;
+
+    /**
+     * Constructs a new {@code JavunoPacketReader} instance.
+     *
+     * @param buffer The bytes to read.
+     * @param offset Index of the first byte to read.
+     * @param length Amount of bytes that can be read.
+     */
+    public JavunoPacketReader(@NotNull byte[] buffer, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > buffer.length)
+            throw new IndexOutOfBoundsException("Invalid offset or length");
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+        stringTable = new ArrayList<>(4);
+    }
+
+    /**
+     * @return The next byte, as an unsigned value.
+     * @throws JavunoBadPacketException Unexpected end of packet.
+     */
+    public int readByte() {
+        if (position >= limit) throw new JavunoBadPacketException("Unexpected end of packet", true);
+        return buffer[position++] & 0xFF;
+    }
+
+    /**
+     * @return The next boolean.
+     * @throws JavunoBadPacketException Unexpected end of packet, or the byte is not a boolean.
+     */
+    public boolean readBoolean() {
+        int value = readByte();
+        if (value > 1) throw new JavunoBadPacketException(String.format("Invalid boolean %d", value), true);
+        return value == 1;
+    }
+
+    /**
+     * @return The next unsigned varint.
+     * @throws JavunoBadPacketException Unexpected end of packet, or the varint is too long.
+     */
+    public int readVarInt() {
+        int result = readUnsigned();
+        if (result < 0) throw new JavunoBadPacketException("Varint out of range", true);
+        return result;
+    }
+
+    /**
+     * @return The next zigzag-encoded varint.
+     * @throws JavunoBadPacketException Unexpected end of packet, or the varint is too long.
+     */
+    public int readSignedVarInt() {
+        int value = readUnsigned();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * @return The next long, written as 8 bytes with the most significant byte first.
+     * @throws JavunoBadPacketException Unexpected end of packet.
+     */
+    public long readLong() {
+        long result = 0;
+        for (int i = 0; i < 8; i++) result = (result << 8) | readByte();
+        return result;
+    }
+
+    /**
+     * @return The bits of the next unsigned varint.
+     * @throws JavunoBadPacketException Unexpected end of packet, or the varint is too long.
+     */
+    private int readUnsigned() {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new JavunoBadPacketException("Varint is too long", true);
+    }
+
+    /**
+     * @return The next string, resolved through the string table.
+     * @throws JavunoBadPacketException Unexpected end of packet, or invalid string table reference.
+     */
+    @NotNull
+    public String readString() {
+        int reference = readVarInt();
+        if (reference > 0) {
+            if (reference > stringTable.size())
+                throw new JavunoBadPacketException(String.format("Invalid string reference %d", reference), true);
+            return stringTable.get(reference - 1);
+        }
+
+        int length = readVarInt();
+        if (length > limit - position) throw new JavunoBadPacketException("Unexpected end of packet", true);
+        String result = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        stringTable.add(result);
+        return result;
+    }
+
+    /**
+     * @return The next string that may be {@code null}.
+     */
+    @Nullable
+    public String readNullableString() {
+        return readBoolean() ? readString() : null;
+    }
+
+    /**
+     * @return Amount of bytes that are yet to be read.
+     */
+    public int remaining() {
+        return limit - position;
+    }
+}
@@ -0,0 +1,136 @@
+package solar.rpg.javuno.models.packets.codec;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.packets.in.*;
+import solar.rpg.javuno.models.packets.out.*;
+import solar.rpg.jserver.packet.JServerPacket;
+
+/**
+ * Denotes every type of JAVUNO packet that can be sent over the wire, along with the stable type id that identifies it
+ * in the binary codec. <em>Type ids must never be reused or renumbered</em>, as they are part of the wire format.
+ *
+ * @author jskinner
+ * @see JavunoPacketCodec
+ * @since 1.0.0
+ */
+public enum JavunoPacketType {
+    IN_SERVER_CONNECT(0, JavunoPacketInServerConnect.class),
+    IN_DRAW_CARDS(1, JavunoPacketInDrawCards.class),
+    IN_PLAY_CARD(2, JavunoPacketInPlayCard.class),
+    IN_PLAY_WILD_CARD(3, JavunoPacketInPlayWildCard.class),
+    IN_OUT_CHAT_MESSAGE(4, JavunoPacketInOutChatMessage.class),
+    IN_OUT_PLAYER_READY_CHANGED(5, JavunoPacketInOutPlayerReadyChanged.class),
+    OUT_CONNECTION_ACCEPTED(6, JavunoPacketOutConnectionAccepted.class),
+    OUT_CONNECTION_REJECTED(7, JavunoPacketOutConnectionRejected.class),
+    OUT_DRAW_CARDS(8, JavunoPacketOutDrawCards.class),
+    OUT_RECEIVE_CARDS(9, JavunoPacketOutReceiveCards.class),
+    OUT_GAME_START(10, JavunoPacketOutGameStart.class),
+    OUT_GAME_STATE(11, JavunoPacketOutGameState.class),
+    OUT_PLAY_CARD(12, JavunoPacketOutPlayCard.class),
+    OUT_PLAYER_CONNECT(13, JavunoPacketOutPlayerConnect.class),
+    OUT_PLAYER_DISCONNECT(14, JavunoPacketOutPlayerDisconnect.class),
+    OUT_SERVER_MESSAGE(15, JavunoPacketOutServerMessage.class),
+    IN_STATE_ACK(16, JavunoPacketInStateAck.class),
+    IN_SESSION_RESUME(17, JavunoPacketInSessionResume.class),
+    OUT_SESSION_RESUMED(18, JavunoPacketOutSessionResumed.class);
+
+    /**
+     * Packet types indexed by their type id.
+     */
+    private static final JavunoPacketType[] BY_ID;
+    /**
+     * Packet types indexed by their packet class.
+     */
+    private static final ClassValue<JavunoPacketType> BY_CLASS = new ClassValue<>() {
+        @Override
+        @Nullable
+        protected JavunoPacketType computeValue(@NotNull Class<?> type) {
+            for (JavunoPacketType packetType : values())
+                if (packetType.packetClass == type) return packetType;
+            return null;
+        }
+    };
+
+    static {
+        int maxId = 0;
+        for (JavunoPacketType packetType : values()) maxId = Math.max(maxId, packetType.id);
+        BY_ID = new JavunoPacketType[maxId + 1];
+        for (JavunoPacketType packetType : values()) {
+            if (BY_ID[packetType.id] != null)
+                throw new IllegalStateException(String.format("Duplicate packet type id %d", packetType.id));
+            BY_ID[packetType.id] = packetType;
+        }
+    }
+
+    /**
+     * The stable id of this packet type on the wire.
+     */
+    private final int id;
+    /**
+     * The exact class of packets of this type.
+     */
+    @NotNull
+    private final Class<? extends JServerPacket> packetClass;
+
+    JavunoPacketType(int id, @NotNull Class<? extends JServerPacket> packetClass) {
+        this.id = id;
+        this.packetClass = packetClass;
+    }
+
+    /**
+     * @return The stable id of this packet type on the wire.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return The exact class of packets of this type.
+     */
+    @NotNull
+    public Class<? extends JServerPacket> getPacketClass() {
+        return packetClass;
+    }
+
+    /**
+     * @return The amount of type ids in use (the highest type id plus one).
+     */
+    public static int getIdCount() {
+        return BY_ID.length;
+    }
+
+    /**
+     * @param id The type id to look up.
+     * @return The packet type with the given type id.
+     * @throws IllegalArgumentException Unknown type id.
+     */
+    @NotNull
+    public static JavunoPacketType byId(int id) {
+        JavunoPacketType result = id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+        if (result == null) throw new IllegalArgumentException(String.format("Unknown packet type id %d", id));
+        return result;
+    }
+
+    /**
+     * @param packet The packet to look up.
+     * @return The type of the given packet.
+     * @throws IllegalArgumentException The packet is not a known JAVUNO packet.
+     */
+    @NotNull
+    public static JavunoPacketType of(@NotNull JServerPacket packet) {
+        JavunoPacketType result = find(packet);
+        if (result == null)
+            throw new IllegalArgumentException(String.format("Unknown packet %s", packet.getClass().getSimpleName()));
+        return result;
+    }
+
+    /**
+     * @param packet The packet to look up.
+     * @return The type of the given packet, or {@code null} if it is not a known JAVUNO packet.
+     */
+    @Nullable
+    public static JavunoPacketType find(@NotNull JServerPacket packet) {
+        return BY_CLASS.get(packet.getClass());
+    }
+}
@@ -0,0 +1,160 @@
+package solar.rpg.javuno.models.packets.codec;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Growable byte buffer used by {@link JavunoPacketCodec} to encode packets. Integers are written as unsigned varints,
+ * and strings are written through a per-packet string table so that repeated strings (such as player names) are only
+ * written once.
+ *
+ * @author jskinner
+ * @see JavunoPacketReader
+ * @since 1.0.0
+ */
+public final class JavunoPacketWriter {
+
+    /**
+     * The index of each string that has been written so far, in the order that they were first written. Later
+     * occurrences are written as a reference into this table.
+     */
+    @NotNull
+    private final Map<String, Integer> stringTable;
+    @NotNull
+    private byte[] buffer;
+    private int position;
+
+    /**
+     * Constructs a new {@code JavunoPacketWriter} instance.
+     *
+     * @param initialCapacity Initial capacity of the buffer, in bytes.
+     */
+    public JavunoPacketWriter(int initialCapacity) {
+        buffer = new byte[Math.max(16, initialCapacity)];
+        stringTable = new HashMap<>(8);
+    }
+
+    /**
+     * Writes a single byte.
+     *
+     * @param value The byte to write (only the lowest 8 bits are used).
+     */
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Writes a boolean as a single byte.
+     *
+     * @param value The boolean to write.
+     */
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a non-negative integer as an unsigned varint, using 1 byte for values below 128.
+     *
+     * @param value The integer to write.
+     * @throws IllegalArgumentException Value is negative.
+     */
+    public void writeVarInt(int value) {
+        if (value < 0) throw new IllegalArgumentException(String.format("Expected non-negative varint, got %d", value));
+        writeUnsigned(value);
+    }
+
+    /**
+     * Writes the bits of an integer as an unsigned varint.
+     *
+     * @param value The integer to write.
+     */
+    private void writeUnsigned(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Writes an integer that may be negative as a zigzag-encoded varint, so that small negative values stay small.
+     *
+     * @param value The integer to write.
+     */
+    public void writeSignedVarInt(int value) {
+        writeUnsigned((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Writes a long as 8 bytes, most significant byte first.
+     *
+     * @param value The long to write.
+     */
+    public void writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) buffer[position++] = (byte) (value >>> shift);
+    }
+
+    /**
+     * Writes a string through the string table. A string that has already been written to this packet is written as a
+     * reference to its first occurrence, otherwise it is written as UTF-8 bytes prefixed by its length.
+     *
+     * @param value The string to write.
+     */
+    public void writeString(@NotNull String value) {
+        Integer index = stringTable.putIfAbsent(value, stringTable.size());
+        if (index != null) {
+            writeVarInt(index + 1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(0);
+        writeVarInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Writes a string that may be {@code null}.
+     *
+     * @param value The string to write.
+     */
+    public void writeNullableString(@Nullable String value) {
+        writeBoolean(value != null);
+        if (value != null) writeString(value);
+    }
+
+    /**
+     * @return The amount of bytes written so far.
+     */
+    public int size() {
+        return position;
+    }
+
+    /**
+     * @return A copy of the bytes written so far.
+     */
+    @NotNull
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /**
+     * Makes sure that the buffer can fit the given amount of additional bytes.
+     *
+     * @param additional Amount of additional bytes.
+     */
+    private void ensureCapacity(int additional) {
+        if (position + additional <= buffer.length) return;
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+    }
+}
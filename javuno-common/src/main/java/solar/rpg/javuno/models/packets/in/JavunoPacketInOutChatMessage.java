@@ -2,6 +2,7 @@ package solar.rpg.javuno.models.packets.in;
 
 import org.jetbrains.annotations.NotNull;
 import solar.rpg.javuno.models.packets.IJavunoDistributedPacket;
+import solar.rpg.javuno.models.packets.IJavunoDroppablePacket;
 import solar.rpg.javuno.models.packets.IJavunoTimeLimitedPacket;
 import solar.rpg.jserver.packet.JServerPacket;
 
@@ -15,7 +16,8 @@ import java.util.function.Function;
  * @author jskinner
  * @since 1.0.0
  */
-public class JavunoPacketInOutChatMessage extends JServerPacket implements IJavunoDistributedPacket, IJavunoTimeLimitedPacket {
+public class JavunoPacketInOutChatMessage extends JServerPacket
+    implements IJavunoDistributedPacket, IJavunoTimeLimitedPacket, IJavunoDroppablePacket {
 
     /**
      * Chat message contents. This may be up to 300 characters long.
@@ -42,6 +44,14 @@ public class JavunoPacketInOutChatMessage extends JServerPacket implements IJavu
         this.senderName = senderName;
     }
 
+    /**
+     * @return Chat message contents.
+     */
+    @NotNull
+    public String getMessage() {
+        return message;
+    }
+
     /**
      * @return Name of the entity who sent the chat message.
      */
@@ -65,6 +75,11 @@ public class JavunoPacketInOutChatMessage extends JServerPacket implements IJavu
         return TimeUnit.SECONDS.toMillis(1);
     }
 
+    @Override
+    public int getLimitBurst() {
+        return 3;
+    }
+
     @Override
     public boolean distributeToSender() {
         return true;
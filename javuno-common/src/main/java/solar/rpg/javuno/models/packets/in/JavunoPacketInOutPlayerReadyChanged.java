@@ -2,6 +2,7 @@ package solar.rpg.javuno.models.packets.in;
 
 import solar.rpg.javuno.models.packets.AbstractJavunoPlayerPacket;
 import solar.rpg.javuno.models.packets.IJavunoDistributedPacket;
+import solar.rpg.javuno.models.packets.IJavunoDroppablePacket;
 import solar.rpg.javuno.models.packets.IJavunoTimeLimitedPacket;
 
 import java.util.concurrent.TimeUnit;
@@ -14,7 +15,8 @@ import java.util.concurrent.TimeUnit;
  * @since 1.0.0
  */
 public class JavunoPacketInOutPlayerReadyChanged
-    extends AbstractJavunoPlayerPacket implements IJavunoTimeLimitedPacket, IJavunoDistributedPacket {
+    extends AbstractJavunoPlayerPacket
+    implements IJavunoTimeLimitedPacket, IJavunoDistributedPacket, IJavunoDroppablePacket {
 
     /**
      * True, if the player has marked themselves as ready.
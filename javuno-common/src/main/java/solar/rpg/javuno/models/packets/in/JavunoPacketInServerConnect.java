@@ -5,13 +5,19 @@ import solar.rpg.jserver.packet.JServerPacket;
 
 /**
  * This packet is sent from a client to the server after establishing a socket connection to the server. A password may
- * be required to join the server successfully.
+ * be required to join the server successfully. The client also names the room (lobby) it wishes to join; the room is
+ * created by the server if it does not exist yet.
  *
  * @author jskinner
  * @since 1.0.0
  */
 public class JavunoPacketInServerConnect extends JServerPacket {
 
+    /**
+     * Name of the room that clients join when they do not request a specific one.
+     */
+    public static final String DEFAULT_ROOM_NAME = "lobby";
+
     /**
      * The requested player name. It may or may not be taken.
      */
@@ -22,16 +28,57 @@ public class JavunoPacketInServerConnect extends JServerPacket {
      */
     @NotNull
     private final String serverPassword;
+    /**
+     * The name of the room that the client wishes to join.
+     */
+    @NotNull
+    private final String roomName;
+    /**
+     * The highest binary codec version that the client understands, or 0 if it only supports Java serialization.
+     */
+    private final int codecVersion;
 
     /**
-     * Constructs a new {@code JavunoPacketInServerConnect} instance.
+     * Constructs a new {@code JavunoPacketInServerConnect} instance which joins the default room.
      *
      * @param wantedPlayerName The requested player name, which may already be taken.
      * @param serverPassword   The password to the server, empty if one is not set.
      */
     public JavunoPacketInServerConnect(@NotNull String wantedPlayerName, @NotNull String serverPassword) {
+        this(wantedPlayerName, serverPassword, DEFAULT_ROOM_NAME);
+    }
+
+    /**
+     * Constructs a new {@code JavunoPacketInServerConnect} instance.
+     *
+     * @param wantedPlayerName The requested player name, which may already be taken.
+     * @param serverPassword   The password to the server, empty if one is not set.
+     * @param roomName         The name of the room that the client wishes to join.
+     */
+    public JavunoPacketInServerConnect(
+        @NotNull String wantedPlayerName,
+        @NotNull String serverPassword,
+        @NotNull String roomName) {
+        this(wantedPlayerName, serverPassword, roomName, 0);
+    }
+
+    /**
+     * Constructs a new {@code JavunoPacketInServerConnect} instance.
+     *
+     * @param wantedPlayerName The requested player name, which may already be taken.
+     * @param serverPassword   The password to the server, empty if one is not set.
+     * @param roomName         The name of the room that the client wishes to join.
+     * @param codecVersion     The highest binary codec version that the client understands (0 if none).
+     */
+    public JavunoPacketInServerConnect(
+        @NotNull String wantedPlayerName,
+        @NotNull String serverPassword,
+        @NotNull String roomName,
+        int codecVersion) {
         this.wantedPlayerName = wantedPlayerName;
         this.serverPassword = serverPassword;
+        this.roomName = roomName;
+        this.codecVersion = codecVersion;
     }
 
     /**
@@ -49,4 +96,20 @@ public class JavunoPacketInServerConnect extends JServerPacket {
     public String getServerPassword() {
         return serverPassword;
     }
+
+    /**
+     * @return The name of the room that the client wishes to join.
+     */
+    @NotNull
+    public String getRoomName() {
+        return roomName;
+    }
+
+    /**
+     * @return The highest binary codec version that the client understands, or 0 if it only supports Java
+     * serialization.
+     */
+    public int getCodecVersion() {
+        return codecVersion;
+    }
 }
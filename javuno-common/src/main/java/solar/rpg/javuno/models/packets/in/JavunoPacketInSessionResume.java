@@ -0,0 +1,100 @@
+package solar.rpg.javuno.models.packets.in;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.jserver.packet.JServerPacket;
+
+/**
+ * This packet is sent from a client to the server instead of {@link JavunoPacketInServerConnect}, after the socket to
+ * the server was lost. If the resume token is still valid, the client takes back its seat in the room, and is only sent
+ * the game state deltas that it missed. Otherwise, the client has to connect again from scratch.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public class JavunoPacketInSessionResume extends JServerPacket {
+
+    /**
+     * The name of the room that the client was in.
+     */
+    @NotNull
+    private final String roomName;
+    /**
+     * The name that the client was accepted with.
+     */
+    @NotNull
+    private final String playerName;
+    /**
+     * The resume token that the server issued when the client was accepted.
+     */
+    @NotNull
+    private final String resumeToken;
+    /**
+     * The last game state version that the client has applied, or -1 if it was not in a game.
+     */
+    private final int stateVersion;
+    /**
+     * The highest binary codec version that the client understands, or 0 if it only supports Java serialization.
+     */
+    private final int codecVersion;
+
+    /**
+     * Constructs a new {@code JavunoPacketInSessionResume} instance.
+     *
+     * @param roomName     The name of the room that the client was in.
+     * @param playerName   The name that the client was accepted with.
+     * @param resumeToken  The resume token that the server issued when the client was accepted.
+     * @param stateVersion The last game state version that the client has applied, or -1 if it was not in a game.
+     * @param codecVersion The highest binary codec version that the client understands (0 if none).
+     */
+    public JavunoPacketInSessionResume(
+        @NotNull String roomName,
+        @NotNull String playerName,
+        @NotNull String resumeToken,
+        int stateVersion,
+        int codecVersion) {
+        this.roomName = roomName;
+        this.playerName = playerName;
+        this.resumeToken = resumeToken;
+        this.stateVersion = stateVersion;
+        this.codecVersion = codecVersion;
+    }
+
+    /**
+     * @return The name of the room that the client was in.
+     */
+    @NotNull
+    public String getRoomName() {
+        return roomName;
+    }
+
+    /**
+     * @return The name that the client was accepted with.
+     */
+    @NotNull
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * @return The resume token that the server issued when the client was accepted.
+     */
+    @NotNull
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    /**
+     * @return The last game state version that the client has applied, or -1 if it was not in a game.
+     */
+    public int getStateVersion() {
+        return stateVersion;
+    }
+
+    /**
+     * @return The highest binary codec version that the client understands, or 0 if it only supports Java
+     * serialization.
+     */
+    public int getCodecVersion() {
+        return codecVersion;
+    }
+}
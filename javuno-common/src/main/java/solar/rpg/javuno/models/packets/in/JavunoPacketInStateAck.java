@@ -0,0 +1,35 @@
+package solar.rpg.javuno.models.packets.in;
+
+import solar.rpg.jserver.packet.JServerPacket;
+
+/**
+ * This packet is sent from a client to the server to acknowledge the last game state version that it has applied. If
+ * the version is behind the server, the server responds with the deltas that were missed, or with a full game state
+ * snapshot if the client has fallen too far behind.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public class JavunoPacketInStateAck extends JServerPacket {
+
+    /**
+     * The last game state version that the client has applied.
+     */
+    private final int stateVersion;
+
+    /**
+     * Constructs a new {@code JavunoPacketInStateAck} instance.
+     *
+     * @param stateVersion The last game state version that the client has applied.
+     */
+    public JavunoPacketInStateAck(int stateVersion) {
+        this.stateVersion = stateVersion;
+    }
+
+    /**
+     * @return The last game state version that the client has applied.
+     */
+    public int getStateVersion() {
+        return stateVersion;
+    }
+}
@@ -35,6 +35,33 @@ public class JavunoPacketOutConnectionAccepted extends JServerPacket {
      */
     @Nullable
     private final JavunoPacketOutGameState gameState;
+    /**
+     * The binary codec version that both sides will use from now on, or 0 to keep using Java serialization.
+     */
+    private final int codecVersion;
+    /**
+     * The token that the client can resume its session with after losing its socket. {@code null} if sessions cannot
+     * be resumed.
+     */
+    @Nullable
+    private final String resumeToken;
+
+    /**
+     * Constructs a new {@code JavunoPacketOutConnectionAcceptedLobby} instance, without a resume token.
+     *
+     * @param playerName       Confirmed name of the player.
+     * @param lobbyPlayerNames Names of all players in the lobby. The order is important.
+     * @param readyPlayerNames Names of all players who are marked as ready (if game is not running).
+     * @param gameState        State of the currently running UNO game (if game is running).
+     * @param codecVersion     The negotiated binary codec version (0 to keep using Java serialization).
+     */
+    public JavunoPacketOutConnectionAccepted(
+        @NotNull String playerName, @NotNull List<String> lobbyPlayerNames,
+        @Nullable List<String> readyPlayerNames,
+        @Nullable JavunoPacketOutGameState gameState,
+        int codecVersion) {
+        this(playerName, lobbyPlayerNames, readyPlayerNames, gameState, codecVersion, null);
+    }
 
     /**
      * Constructs a new {@code JavunoPacketOutConnectionAcceptedLobby} instance.
@@ -43,17 +70,23 @@ public class JavunoPacketOutConnectionAccepted extends JServerPacket {
      * @param lobbyPlayerNames Names of all players in the lobby. The order is important.
      * @param readyPlayerNames Names of all players who are marked as ready (if game is not running).
      * @param gameState        State of the currently running UNO game (if game is running).
+     * @param codecVersion     The negotiated binary codec version (0 to keep using Java serialization).
+     * @param resumeToken      The token that the client can resume its session with (null if sessions cannot be).
      */
     public JavunoPacketOutConnectionAccepted(
         @NotNull String playerName, @NotNull List<String> lobbyPlayerNames,
         @Nullable List<String> readyPlayerNames,
-        @Nullable JavunoPacketOutGameState gameState) {
+        @Nullable JavunoPacketOutGameState gameState,
+        int codecVersion,
+        @Nullable String resumeToken) {
         this.playerName = playerName;
         if ((readyPlayerNames == null) == (gameState == null))
             throw new IllegalArgumentException("Either ready player names list or game state must be provided");
         this.lobbyPlayerNames = lobbyPlayerNames;
         this.readyPlayerNames = readyPlayerNames;
         this.gameState = gameState;
+        this.codecVersion = codecVersion;
+        this.resumeToken = resumeToken;
     }
 
     /**
@@ -98,4 +131,20 @@ public class JavunoPacketOutConnectionAccepted extends JServerPacket {
         if (gameState == null) throw new JavunoStateException("Game is not running");
         return gameState;
     }
+
+    /**
+     * @return The binary codec version that both sides will use from now on, or 0 to keep using Java serialization.
+     */
+    public int getCodecVersion() {
+        return codecVersion;
+    }
+
+    /**
+     * @return The token that the client can resume its session with after losing its socket, or {@code null} if
+     * sessions cannot be resumed.
+     */
+    @Nullable
+    public String getResumeToken() {
+        return resumeToken;
+    }
 }
@@ -49,6 +49,22 @@ public class JavunoPacketOutConnectionRejected extends JServerPacket {
         /**
          * The requested username contains invalid characters.
          */
-        INVALID_USERNAME
+        INVALID_USERNAME,
+        /**
+         * The requested room name contains invalid characters.
+         */
+        INVALID_ROOM_NAME,
+        /**
+         * The requested room does not exist, and the server cannot host any more rooms.
+         */
+        ROOM_LIMIT_REACHED,
+        /**
+         * The session could not be resumed, as its resume token is invalid or its seat is no longer reserved.
+         */
+        SESSION_EXPIRED,
+        /**
+         * A game is running in the requested room, and it cannot take any more spectators.
+         */
+        SPECTATOR_LIMIT_REACHED
     }
 }
@@ -2,6 +2,7 @@ package solar.rpg.javuno.models.packets.out;
 
 import org.jetbrains.annotations.NotNull;
 import solar.rpg.javuno.models.packets.AbstractJavunoPlayerPacket;
+import solar.rpg.javuno.models.packets.IJavunoSequencedPacket;
 import solar.rpg.javuno.models.packets.IJavunoTimeLimitedPacket;
 
 import java.util.concurrent.TimeUnit;
@@ -12,7 +13,8 @@ import java.util.concurrent.TimeUnit;
  * @author jskinner
  * @since 1.0.0
  */
-public class JavunoPacketOutDrawCards extends AbstractJavunoPlayerPacket implements IJavunoTimeLimitedPacket {
+public class JavunoPacketOutDrawCards
+    extends AbstractJavunoPlayerPacket implements IJavunoTimeLimitedPacket, IJavunoSequencedPacket {
 
     /**
      * Number of cards drawn by the player.
@@ -22,17 +24,23 @@ public class JavunoPacketOutDrawCards extends AbstractJavunoPlayerPacket impleme
      * True, if the player cannot play a card after drawing.
      */
     private final boolean nextTurn;
+    /**
+     * The game state version that drawing the cards produced.
+     */
+    private final int sequence;
 
     /**
      * Constructs a new {@code JavunoPacketOutDrawCards} instance.
      * @param playerName The name of the player who picked up cards.
      * @param cardAmount Number of cards drawn by the player.
      * @param nextTurn True, if the player cannot play a card after drawing.
+     * @param sequence The game state version that drawing the cards produced.
      */
-    public JavunoPacketOutDrawCards(@NotNull String playerName, int cardAmount, boolean nextTurn) {
+    public JavunoPacketOutDrawCards(@NotNull String playerName, int cardAmount, boolean nextTurn, int sequence) {
         super(playerName);
         this.cardAmount = cardAmount;
         this.nextTurn = nextTurn;
+        this.sequence = sequence;
     }
 
     /**
@@ -49,6 +57,11 @@ public class JavunoPacketOutDrawCards extends AbstractJavunoPlayerPacket impleme
         return nextTurn;
     }
 
+    @Override
+    public int getSequence() {
+        return sequence;
+    }
+
     @Override
     public long getLimitDuration() {
         return TimeUnit.SECONDS.toMillis(1);
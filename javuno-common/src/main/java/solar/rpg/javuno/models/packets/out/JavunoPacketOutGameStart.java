@@ -28,19 +28,37 @@ public class JavunoPacketOutGameStart extends JavunoPacketOutGameState {
      * @param players            Participating player objects (the order matters here).
      * @param currentPlayerIndex The index of the player who will be playing the next card.
      * @param currentDirection   The current direction of game play.
+     * @param stateVersion       The game state version that the game starts at.
      */
     public JavunoPacketOutGameStart(
             @Nullable List<ICard> clientCards,
             @NotNull Stack<ICard> discardPile,
             @NotNull List<ClientOpponent> players,
             int currentPlayerIndex,
-            @NotNull Direction currentDirection) {
+            @NotNull Direction currentDirection,
+            int stateVersion) {
         super(clientCards,
               discardPile,
               players,
               currentPlayerIndex,
               currentDirection,
               GameState.AWAITING_START,
-              UnoChallengeState.NOT_APPLICABLE);
+              UnoChallengeState.NOT_APPLICABLE,
+              null,
+              0,
+              0,
+              stateVersion);
+    }
+
+    @NotNull
+    @Override
+    public JavunoPacketOutGameStart withClientCards(@Nullable List<ICard> clientCards) {
+        return new JavunoPacketOutGameStart(
+            clientCards,
+            getDiscardPile(),
+            getPlayers(),
+            getCurrentPlayerIndex(),
+            getCurrentDirection(),
+            getStateVersion());
     }
 }
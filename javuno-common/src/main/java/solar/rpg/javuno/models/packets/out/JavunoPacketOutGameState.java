@@ -2,6 +2,7 @@ package solar.rpg.javuno.models.packets.out;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
 import solar.rpg.javuno.models.cards.ICard;
 import solar.rpg.javuno.models.game.AbstractGameModel.GameState;
 import solar.rpg.javuno.models.game.AbstractGameModel.UnoChallengeState;
@@ -56,6 +57,23 @@ public class JavunoPacketOutGameState extends JServerPacket {
      */
     @NotNull
     private final UnoChallengeState unoChallengeState;
+    /**
+     * The color chosen for the wild card on top of the discard pile, if any.
+     */
+    @Nullable
+    private final CardColor chosenColor;
+    /**
+     * Amount of cards at the bottom of the discard pile whose draw penalties no longer apply.
+     */
+    private final int appliedCardCount;
+    /**
+     * Amount of consecutive draw two cards whose penalty is yet to be applied.
+     */
+    private final int drawTwoMultiplier;
+    /**
+     * The game state version that this snapshot represents.
+     */
+    private final int stateVersion;
 
     /**
      * Constructs a new {@code AbstractJavunoPacketOutGameState} instance.
@@ -67,6 +85,10 @@ public class JavunoPacketOutGameState extends JServerPacket {
      * @param currentDirection   The current direction of game play.
      * @param gameState          The current game state.
      * @param unoChallengeState  The current uno challenge state.
+     * @param chosenColor        The color chosen for the wild card on top of the discard pile, if any.
+     * @param appliedCardCount   Amount of cards at the bottom of the discard pile whose penalties no longer apply.
+     * @param drawTwoMultiplier  Amount of consecutive draw two cards whose penalty is yet to be applied.
+     * @param stateVersion       The game state version that this snapshot represents.
      */
     public JavunoPacketOutGameState(
             @Nullable List<ICard> clientCards,
@@ -75,7 +97,11 @@ public class JavunoPacketOutGameState extends JServerPacket {
             int currentPlayerIndex,
             @NotNull Direction currentDirection,
             @NotNull GameState gameState,
-            @NotNull UnoChallengeState unoChallengeState) {
+            @NotNull UnoChallengeState unoChallengeState,
+            @Nullable CardColor chosenColor,
+            int appliedCardCount,
+            int drawTwoMultiplier,
+            int stateVersion) {
         this.clientCards = clientCards;
         this.discardPile = discardPile;
         this.players = players;
@@ -83,6 +109,33 @@ public class JavunoPacketOutGameState extends JServerPacket {
         this.currentDirection = currentDirection;
         this.gameState = gameState;
         this.unoChallengeState = unoChallengeState;
+        this.chosenColor = chosenColor;
+        this.appliedCardCount = appliedCardCount;
+        this.drawTwoMultiplier = drawTwoMultiplier;
+        this.stateVersion = stateVersion;
+    }
+
+    /**
+     * Creates a copy of this packet for another recipient. Everything but the client cards is shared with this packet,
+     * so a room can build the common part of the game state once and only vary the hand of each recipient.
+     *
+     * @param clientCards The cards associated with the player client that the copy is being sent to.
+     * @return The copy of this packet.
+     */
+    @NotNull
+    public JavunoPacketOutGameState withClientCards(@Nullable List<ICard> clientCards) {
+        return new JavunoPacketOutGameState(
+            clientCards,
+            discardPile,
+            players,
+            currentPlayerIndex,
+            currentDirection,
+            gameState,
+            unoChallengeState,
+            chosenColor,
+            appliedCardCount,
+            drawTwoMultiplier,
+            stateVersion);
     }
 
     /**
@@ -139,4 +192,33 @@ public class JavunoPacketOutGameState extends JServerPacket {
     public UnoChallengeState getUnoChallengeState() {
         return unoChallengeState;
     }
+
+    /**
+     * @return The color chosen for the wild card on top of the discard pile, if any.
+     */
+    @Nullable
+    public CardColor getChosenColor() {
+        return chosenColor;
+    }
+
+    /**
+     * @return Amount of cards at the bottom of the discard pile whose draw penalties no longer apply.
+     */
+    public int getAppliedCardCount() {
+        return appliedCardCount;
+    }
+
+    /**
+     * @return Amount of consecutive draw two cards whose penalty is yet to be applied.
+     */
+    public int getDrawTwoMultiplier() {
+        return drawTwoMultiplier;
+    }
+
+    /**
+     * @return The game state version that this snapshot represents.
+     */
+    public int getStateVersion() {
+        return stateVersion;
+    }
 }
@@ -1,8 +1,11 @@
 package solar.rpg.javuno.models.packets.out;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
 import solar.rpg.javuno.models.cards.ICard;
 import solar.rpg.javuno.models.packets.AbstractJavunoPlayerPacket;
+import solar.rpg.javuno.models.packets.IJavunoSequencedPacket;
 
 /**
  * This packet is sent out by the server when a player has played a valid card.
@@ -11,29 +14,47 @@ import solar.rpg.javuno.models.packets.AbstractJavunoPlayerPacket;
  * @author jskinner
  * @since 1.0.0
  */
-public class JavunoPacketOutPlayCard extends AbstractJavunoPlayerPacket {
+public class JavunoPacketOutPlayCard extends AbstractJavunoPlayerPacket implements IJavunoSequencedPacket {
 
     /**
      * The card that was played.
      */
     @NotNull
     private final ICard cardToPlay;
+    /**
+     * The color chosen for the card, if it is a wild card.
+     */
+    @Nullable
+    private final CardColor chosenColor;
     /**
      * The index of the card that was played.
      */
     private final int cardIndex;
+    /**
+     * The game state version that playing the card produced.
+     */
+    private final int sequence;
 
     /**
      * Constructs a new {@code JavunoPacketOutPlayCard} instance.
      *
-     * @param playerName The name of the player that played the card.
-     * @param cardToPlay The card that was played.
-     * @param cardIndex  The index of the card that was played.
+     * @param playerName  The name of the player that played the card.
+     * @param cardToPlay  The card that was played.
+     * @param chosenColor The color chosen for the card, if it is a wild card (otherwise null).
+     * @param cardIndex   The index of the card that was played.
+     * @param sequence    The game state version that playing the card produced.
      */
-    public JavunoPacketOutPlayCard(@NotNull String playerName, @NotNull ICard cardToPlay, int cardIndex) {
+    public JavunoPacketOutPlayCard(
+        @NotNull String playerName,
+        @NotNull ICard cardToPlay,
+        @Nullable CardColor chosenColor,
+        int cardIndex,
+        int sequence) {
         super(playerName);
         this.cardToPlay = cardToPlay;
+        this.chosenColor = chosenColor;
         this.cardIndex = cardIndex;
+        this.sequence = sequence;
     }
 
     /**
@@ -44,10 +65,23 @@ public class JavunoPacketOutPlayCard extends AbstractJavunoPlayerPacket {
         return cardToPlay;
     }
 
+    /**
+     * @return The color chosen for the card, if it is a wild card.
+     */
+    @Nullable
+    public CardColor getChosenColor() {
+        return chosenColor;
+    }
+
     /**
      * @return The index of the card that was played.
      */
     public int getCardIndex() {
         return cardIndex;
     }
+
+    @Override
+    public int getSequence() {
+        return sequence;
+    }
 }
@@ -26,12 +26,14 @@ public final class JavunoPacketOutReceiveCards extends JavunoPacketOutDrawCards
      * @param playerName    The name of the player who picked up cards.
      * @param receivedCards The drawn cards that the player will receive.
      * @param nextTurn      True, if the player cannot play a card after drawing.
+     * @param sequence      The game state version that drawing the cards produced.
      */
     public JavunoPacketOutReceiveCards(
             @NotNull String playerName,
             @NotNull List<ICard> receivedCards,
-            boolean nextTurn) {
-        super(playerName, receivedCards.size(), nextTurn);
+            boolean nextTurn,
+            int sequence) {
+        super(playerName, receivedCards.size(), nextTurn, sequence);
         this.receivedCards = receivedCards;
     }
 
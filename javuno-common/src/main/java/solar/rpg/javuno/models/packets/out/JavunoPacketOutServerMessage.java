@@ -28,6 +28,14 @@ public final class JavunoPacketOutServerMessage extends JServerPacket {
         this.message = message;
     }
 
+    /**
+     * @return The server message contents.
+     */
+    @NotNull
+    public String getMessage() {
+        return message;
+    }
+
     /**
      * @return The format of the message to display in the client event log.
      */
@@ -0,0 +1,112 @@
+package solar.rpg.javuno.models.packets.out;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.game.JavunoStateException;
+import solar.rpg.javuno.models.packets.in.JavunoPacketInSessionResume;
+import solar.rpg.jserver.packet.JServerPacket;
+
+import java.util.List;
+
+/**
+ * This packet is sent out from the server once it has accepted a {@link JavunoPacketInSessionResume} packet. The lobby
+ * is always sent in full, as it is small. If a game is running, the game state deltas that the client missed are sent
+ * straight after this packet, unless the client has fallen too far behind, in which case the full game state is
+ * included instead.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public class JavunoPacketOutSessionResumed extends JServerPacket {
+
+    /**
+     * Names of all players in the lobby. The order is important.
+     */
+    @NotNull
+    private final List<String> lobbyPlayerNames;
+    /**
+     * Names of all players who are marked as ready. {@code null} if a game is running.
+     */
+    @Nullable
+    private final List<String> readyPlayerNames;
+    /**
+     * State of the currently running UNO game. {@code null} if a game is not running, or if the client can catch up
+     * using the deltas that follow.
+     */
+    @Nullable
+    private final JavunoPacketOutGameState gameState;
+    /**
+     * The binary codec version that both sides will use from now on, or 0 to keep using Java serialization.
+     */
+    private final int codecVersion;
+
+    /**
+     * Constructs a new {@code JavunoPacketOutSessionResumed} instance.
+     *
+     * @param lobbyPlayerNames Names of all players in the lobby. The order is important.
+     * @param readyPlayerNames Names of all players who are marked as ready (if game is not running).
+     * @param gameState        State of the currently running UNO game (if the client cannot catch up using deltas).
+     * @param codecVersion     The negotiated binary codec version (0 to keep using Java serialization).
+     */
+    public JavunoPacketOutSessionResumed(
+        @NotNull List<String> lobbyPlayerNames,
+        @Nullable List<String> readyPlayerNames,
+        @Nullable JavunoPacketOutGameState gameState,
+        int codecVersion) {
+        if (readyPlayerNames != null && gameState != null)
+            throw new IllegalArgumentException("Expected either ready player names list or game state, not both");
+        this.lobbyPlayerNames = lobbyPlayerNames;
+        this.readyPlayerNames = readyPlayerNames;
+        this.gameState = gameState;
+        this.codecVersion = codecVersion;
+    }
+
+    /**
+     * @return Names of all players in the lobby. The order is important.
+     */
+    @NotNull
+    public List<String> getLobbyPlayerNames() {
+        return lobbyPlayerNames;
+    }
+
+    /**
+     * @return True, if a game is currently running.
+     */
+    public boolean isInGame() {
+        return readyPlayerNames == null;
+    }
+
+    /**
+     * @return Names of all players who are marked as ready.
+     * @throws JavunoStateException Game is already running.
+     */
+    @NotNull
+    public List<String> getReadyPlayerNames() {
+        if (readyPlayerNames == null) throw new JavunoStateException("Game is already running");
+        return readyPlayerNames;
+    }
+
+    /**
+     * @return True, if the full game state is included, rather than following as deltas.
+     */
+    public boolean hasGameState() {
+        return gameState != null;
+    }
+
+    /**
+     * @return The state of the current game.
+     * @throws JavunoStateException The full game state is not included.
+     */
+    @NotNull
+    public JavunoPacketOutGameState getGameState() {
+        if (gameState == null) throw new JavunoStateException("Game state is not included");
+        return gameState;
+    }
+
+    /**
+     * @return The binary codec version that both sides will use from now on, or 0 to keep using Java serialization.
+     */
+    public int getCodecVersion() {
+        return codecVersion;
+    }
+}
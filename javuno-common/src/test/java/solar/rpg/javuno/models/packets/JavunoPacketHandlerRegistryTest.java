@@ -0,0 +1,110 @@
+package solar.rpg.javuno.models.packets;
+
+import org.junit.jupiter.api.Test;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.game.AbstractGameModel.GameState;
+import solar.rpg.javuno.models.game.AbstractGameModel.UnoChallengeState;
+import solar.rpg.javuno.models.game.Direction;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutDrawCards;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutGameStart;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutGameState;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutReceiveCards;
+import solar.rpg.jserver.packet.JServerPacket;
+
+import java.util.List;
+import java.util.Stack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link JavunoPacketHandlerRegistry} dispatches packets like the chain of {@code instanceof} checks that
+ * it replaced, where the first matching handler wins.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+class JavunoPacketHandlerRegistryTest {
+
+    private static final List<ICard> NO_CARDS = List.of();
+
+    /**
+     * The class of the handler that the last packet was dispatched to.
+     */
+    private Class<?> handledClass;
+
+    @Test
+    void subclassRegisteredBeforeBaseClassKeepsItsType() {
+        JavunoPacketHandlerRegistry handlers = new JavunoPacketHandlerRegistry()
+            .register(JavunoPacketOutGameStart.class, packet -> handledClass = JavunoPacketOutGameStart.class)
+            .register(JavunoPacketOutGameState.class, packet -> handledClass = JavunoPacketOutGameState.class);
+
+        assertDispatched(
+            handlers,
+            new JavunoPacketOutGameStart(NO_CARDS, new Stack<>(), List.of(), 0, Direction.FORWARD, 0),
+            JavunoPacketOutGameStart.class);
+        assertDispatched(
+            handlers,
+            new JavunoPacketOutGameState(
+                NO_CARDS,
+                new Stack<>(),
+                List.of(),
+                0,
+                Direction.FORWARD,
+                GameState.AWAITING_PLAY,
+                UnoChallengeState.NOT_APPLICABLE,
+                null,
+                0,
+                0,
+                1),
+            JavunoPacketOutGameState.class);
+    }
+
+    @Test
+    void baseClassHandlesSubclass() {
+        JavunoPacketHandlerRegistry handlers = new JavunoPacketHandlerRegistry()
+            .register(JavunoPacketOutDrawCards.class, packet -> handledClass = JavunoPacketOutDrawCards.class);
+
+        assertDispatched(
+            handlers,
+            new JavunoPacketOutDrawCards("Player0", 1, true, 0),
+            JavunoPacketOutDrawCards.class);
+        assertDispatched(
+            handlers,
+            new JavunoPacketOutReceiveCards("Player0", NO_CARDS, true, 0),
+            JavunoPacketOutDrawCards.class);
+    }
+
+    @Test
+    void registeringFailsWhenEveryTypeIsAlreadyHandled() {
+        JavunoPacketHandlerRegistry handlers = new JavunoPacketHandlerRegistry()
+            .register(JavunoPacketOutGameState.class, packet -> {
+            });
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> handlers.register(JavunoPacketOutGameStart.class, packet -> {
+            }));
+        assertThrows(
+            IllegalStateException.class,
+            () -> handlers.register(JavunoPacketOutGameState.class, packet -> {
+            }));
+    }
+
+    @Test
+    void unhandledTypeIsNotDispatched() {
+        JavunoPacketHandlerRegistry handlers = new JavunoPacketHandlerRegistry()
+            .register(JavunoPacketOutReceiveCards.class, packet -> handledClass = JavunoPacketOutReceiveCards.class);
+
+        assertFalse(handlers.dispatch(new JavunoPacketOutDrawCards("Player0", 1, true, 0)));
+        assertNull(handledClass);
+    }
+
+    private void assertDispatched(
+        JavunoPacketHandlerRegistry handlers,
+        JServerPacket packet,
+        Class<?> expectedClass) {
+        handledClass = null;
+        assertTrue(handlers.dispatch(packet));
+        assertEquals(expectedClass, handledClass);
+    }
+}
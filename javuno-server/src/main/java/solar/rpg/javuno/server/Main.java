@@ -1,9 +1,15 @@
 package solar.rpg.javuno.server;
 
+import solar.rpg.javuno.concurrent.JavunoExecutorType;
+import solar.rpg.javuno.server.controllers.HostController.HostType;
+import solar.rpg.javuno.server.controllers.ServerRoomController;
+import solar.rpg.javuno.server.journal.GameJournal.FsyncPolicy;
 import solar.rpg.javuno.server.views.MainFrame;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
@@ -25,8 +31,61 @@ public class Main {
         logger.addHandler(handler);
         logger.setLevel(Level.FINER);
 
+        // The server host implementation can be chosen at startup, e.g. -Djavuno.host=selector
+        HostType hostType = HostType.valueOf(System.getProperty("javuno.host", "jserver").toUpperCase());
+        // Connection handlers and countdowns can run on virtual threads (JDK 21+), e.g. -Djavuno.executor=virtual
+        JavunoExecutorType executorType =
+                JavunoExecutorType.valueOf(System.getProperty("javuno.executor", "platform").toUpperCase());
+        // Seats can be filled by bot players, which think for a fixed time per move, e.g. -Djavuno.bots=3
+        int botSeats = Integer.getInteger("javuno.bots", 0);
+        int botMoveMillis = Integer.getInteger("javuno.botMoveMillis", 20);
+        // Players who take too long automatically draw, or never with -Djavuno.turnSeconds=0
+        int turnTimeoutSeconds = Integer.getInteger("javuno.turnSeconds", 30);
+        // Selector host connections that fall behind drop chat, then get evicted, e.g. -Djavuno.writeHighWaterKb=512
+        int writeHighWaterKb = Integer.getInteger("javuno.writeHighWaterKb", 256);
+        long slowConsumerMillis = Long.getLong("javuno.slowConsumerMillis", 10000);
+        // Games can be journaled to a directory and recovered after a restart, e.g. -Djavuno.journal=journal
+        String journalPath = System.getProperty("javuno.journal");
+        FsyncPolicy journalFsyncPolicy =
+                FsyncPolicy.valueOf(System.getProperty("javuno.journalFsync", "interval").toUpperCase());
+        long journalFsyncMillis = Long.getLong("javuno.journalFsyncMillis", 100);
+        int checkpointSeconds = Integer.getInteger("javuno.checkpointSeconds", 300);
+        // Rooms that sit idle can be moved off the heap until they are used again, e.g. -Djavuno.hibernateSeconds=600
+        int hibernateSeconds = Integer.getInteger("javuno.hibernateSeconds", 0);
+        // Players who lose their socket keep their seat for a while to resume, or never with -Djavuno.resumeSeconds=0
+        int resumeGraceSeconds = Integer.getInteger("javuno.resumeSeconds", 30);
+        // Spectators get coalesced game state updates at most this often, e.g. -Djavuno.spectatorSampleMillis=1000
+        int spectatorCap = Integer.getInteger("javuno.spectatorCap", 1000);
+        int spectatorSampleMillis = Integer.getInteger("javuno.spectatorSampleMillis", 500);
+
         SwingUtilities.invokeLater(() -> {
-            JFrame frame = new MainFrame(logger);
+            MainFrame frame = new MainFrame(hostType, executorType, logger);
+            frame.getMVC().getController().getRoomController().setBotSeats(botSeats);
+            frame.getMVC().getController().getRoomController().setBotMoveMillis(botMoveMillis);
+            frame.getMVC().getController().getRoomController().setTurnTimeoutSeconds(turnTimeoutSeconds);
+            frame.getMVC().getController().getRoomController().setResumeGraceSeconds(resumeGraceSeconds);
+            frame.getMVC().getController().getRoomController().setSpectatorCap(spectatorCap);
+            frame.getMVC().getController().getRoomController().setSpectatorSampleMillis(spectatorSampleMillis);
+            frame.getMVC().getController().getHostController().setWriteHighWaterMark(writeHighWaterKb * 1024);
+            frame.getMVC().getController().getHostController().setSlowConsumerMillis(slowConsumerMillis);
+            ServerRoomController roomController = frame.getMVC().getController().getRoomController();
+            if (hibernateSeconds > 0) {
+                try {
+                    roomController.enableHibernation(hibernateSeconds);
+                } catch (IOException e) {
+                    logger.log(Level.SEVERE, "Unable to create the hibernation store", e);
+                }
+            }
+            if (journalPath != null) {
+                roomController.setCheckpointIntervalSeconds(checkpointSeconds);
+                try {
+                    roomController.openJournal(Path.of(journalPath), journalFsyncPolicy, journalFsyncMillis);
+                } catch (IOException e) {
+                    logger.log(Level.SEVERE, String.format("Unable to open journal %s", journalPath), e);
+                }
+            }
+            if (journalPath != null || hibernateSeconds > 0)
+                Runtime.getRuntime().addShutdownHook(new Thread(roomController::shutdown, "javuno-shutdown"));
             frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
             frame.setVisible(true);
             frame.setMinimumSize(new Dimension(600, 400));
@@ -0,0 +1,159 @@
+package solar.rpg.javuno.server.bots;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.cards.CardCode;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.cards.standard.StandardCards;
+import solar.rpg.javuno.models.game.AbstractGameModel.GameState;
+import solar.rpg.javuno.models.game.Direction;
+import solar.rpg.javuno.models.game.PlayabilityTable;
+import solar.rpg.javuno.server.models.ServerGameModel;
+
+import java.util.List;
+
+/**
+ * An immutable snapshot of everything a bot player is allowed to know about a game when it is their turn. It is taken
+ * on the room worker, so that the search can run on another thread without touching the live game model. The hands of
+ * the other players are only known by their sizes; the cards that the bot cannot see are kept as a single pool.
+ *
+ * @author jskinner
+ * @see IsmctsSearch
+ * @since 1.0.0
+ */
+public final class BotObservation {
+
+    private final int playerCount;
+    /**
+     * The index of the bot player, who has the current turn.
+     */
+    private final int playerIndex;
+    /**
+     * The card codes in the bot player's hand.
+     */
+    @NotNull
+    private final byte[] handCodes;
+    @NotNull
+    private final int[] handSizes;
+    /**
+     * The card codes of the draw pile and every other player's hand, in no particular order.
+     */
+    @NotNull
+    private final byte[] unseenCodes;
+    /**
+     * The card codes of the discard pile, bottom first. Wild cards do not include their chosen color.
+     */
+    @NotNull
+    private final byte[] discardCodes;
+    /**
+     * The card code of the last played card, including the chosen color if it is wild.
+     */
+    private final int topCode;
+    private final boolean penaltyApplied;
+    private final int drawTwoMultiplier;
+    @NotNull
+    private final GameState gameState;
+    /**
+     * 1 if the direction of play is forward, otherwise -1.
+     */
+    private final int direction;
+    /**
+     * True, if the bot player has already drawn a playable card this turn.
+     */
+    private final boolean hasDrawn;
+    private final int optionMask;
+
+    private BotObservation(
+        @NotNull ServerGameModel gameModel,
+        int playerIndex,
+        boolean hasDrawn) {
+        this.playerIndex = playerIndex;
+        this.hasDrawn = hasDrawn;
+        playerCount = gameModel.getPlayers().size();
+        handCodes = StandardCards.toCodes(gameModel.getPlayer(playerIndex).getCards());
+        handSizes = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) handSizes[i] = gameModel.getPlayer(i).getCardCount();
+        unseenCodes = gameModel.getUnseenCardCodes(playerIndex);
+        List<ICard> discardPile = gameModel.getDiscardPile();
+        discardCodes = StandardCards.toCodes(discardPile);
+
+        int lastPlayedCode = gameModel.getLastPlayedCard().getCode();
+        topCode = CardCode.isWild(lastPlayedCode)
+            ? CardCode.withColor(lastPlayedCode, gameModel.getChosenColor())
+            : lastPlayedCode;
+        penaltyApplied = gameModel.isLastPlayedPenaltyApplied();
+        drawTwoMultiplier = gameModel.getDrawTwoMultiplier();
+        gameState = gameModel.getGameState();
+        direction = gameModel.getDirection() == Direction.FORWARD ? 1 : -1;
+        optionMask = PlayabilityTable.getOptionMask(gameModel.getGameOptions());
+    }
+
+    /**
+     * Takes a snapshot of a game from the point of view of the player with the current turn. This must be called on
+     * the room worker that owns the game.
+     *
+     * @param gameModel The game model.
+     * @param hasDrawn  True, if the current player has already drawn a playable card this turn.
+     * @return The snapshot.
+     */
+    @NotNull
+    public static BotObservation observe(@NotNull ServerGameModel gameModel, boolean hasDrawn) {
+        return new BotObservation(gameModel, gameModel.getCurrentPlayerIndex(), hasDrawn);
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getPlayerIndex() {
+        return playerIndex;
+    }
+
+    @NotNull
+    byte[] getHandCodes() {
+        return handCodes;
+    }
+
+    @NotNull
+    int[] getHandSizes() {
+        return handSizes;
+    }
+
+    @NotNull
+    byte[] getUnseenCodes() {
+        return unseenCodes;
+    }
+
+    @NotNull
+    byte[] getDiscardCodes() {
+        return discardCodes;
+    }
+
+    int getTopCode() {
+        return topCode;
+    }
+
+    boolean isPenaltyApplied() {
+        return penaltyApplied;
+    }
+
+    int getDrawTwoMultiplier() {
+        return drawTwoMultiplier;
+    }
+
+    @NotNull
+    GameState getGameState() {
+        return gameState;
+    }
+
+    int getDirection() {
+        return direction;
+    }
+
+    boolean hasDrawn() {
+        return hasDrawn;
+    }
+
+    int getOptionMask() {
+        return optionMask;
+    }
+}
@@ -0,0 +1,99 @@
+package solar.rpg.javuno.server.bots;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the move searches of bot players on a dedicated pool of low priority threads, so that searching never blocks
+ * the room workers or the network threads. Each move is searched by several threads at once, each with its own tree,
+ * and their root visit counts are merged once the time budget of the move has run out (root parallelism).
+ *
+ * @author jskinner
+ * @see IsmctsSearch
+ * @since 1.0.0
+ */
+public final class BotSearchService {
+
+    @NotNull
+    private final ExecutorService pool;
+    /**
+     * Each pool thread reuses its own search, so that its tree is only allocated once.
+     */
+    @NotNull
+    private final ThreadLocal<IsmctsSearch> searches;
+    /**
+     * Amount of threads that search each move at the same time.
+     */
+    private final int searchThreadsPerMove;
+
+    /**
+     * Constructs a new {@code BotSearchService} instance.
+     *
+     * @param threadCount          Amount of threads in the search pool.
+     * @param searchThreadsPerMove Amount of threads that search each move at the same time.
+     */
+    public BotSearchService(int threadCount, int searchThreadsPerMove) {
+        if (threadCount < 1) throw new IllegalArgumentException("Expected at least one search thread");
+        if (searchThreadsPerMove < 1) throw new IllegalArgumentException("Expected at least one search per move");
+        this.searchThreadsPerMove = searchThreadsPerMove;
+
+        AtomicInteger threadId = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, String.format("javuno-bot-%d", threadId.getAndIncrement()));
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+        searches = ThreadLocal.withInitial(() -> new IsmctsSearch(ThreadLocalRandom.current().nextLong()));
+    }
+
+    /**
+     * Chooses the next action of a bot player. The search stops once the time budget has run out, even if it is still
+     * queued behind other searches, in which case the play out policy chooses instead.
+     *
+     * @param observation What the bot player knows about the game.
+     * @param budgetNanos How long the search may take.
+     * @return A future that completes with the chosen action; see {@link IsmctsSearch#ACTION_DRAW}.
+     */
+    @NotNull
+    public CompletableFuture<Integer> chooseAction(@NotNull BotObservation observation, long budgetNanos) {
+        long deadlineNanos = System.nanoTime() + budgetNanos;
+
+        List<CompletableFuture<int[]>> searchFutures = new ArrayList<>(searchThreadsPerMove);
+        for (int i = 0; i < searchThreadsPerMove; i++)
+            searchFutures.add(CompletableFuture.supplyAsync(() -> {
+                int[] visitCounts = new int[IsmctsSearch.ACTION_LIMIT];
+                searches.get().search(observation, deadlineNanos, visitCounts);
+                return visitCounts;
+            }, pool));
+
+        return CompletableFuture.allOf(searchFutures.toArray(new CompletableFuture<?>[0])).thenApplyAsync(ignored -> {
+            int[] visitCounts = new int[IsmctsSearch.ACTION_LIMIT];
+            for (CompletableFuture<int[]> searchFuture : searchFutures) {
+                int[] searchVisitCounts = searchFuture.join();
+                for (int action = 0; action < visitCounts.length; action++)
+                    visitCounts[action] += searchVisitCounts[action];
+            }
+
+            int result = -1;
+            for (int action = 0; action < visitCounts.length; action++)
+                if (visitCounts[action] > 0 && (result < 0 || visitCounts[action] > visitCounts[result]))
+                    result = action;
+            return result >= 0 ? result : searches.get().choosePlayoutAction(observation);
+        }, pool);
+    }
+
+    /**
+     * Shuts down the search pool. Pending searches are discarded.
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
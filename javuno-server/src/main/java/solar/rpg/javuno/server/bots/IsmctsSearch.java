@@ -0,0 +1,492 @@
+package solar.rpg.javuno.server.bots;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.cards.CardCode;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
+import solar.rpg.javuno.models.cards.standard.StandardCards;
+import solar.rpg.javuno.models.game.AbstractGameModel.GameState;
+import solar.rpg.javuno.models.game.PlayabilityTable;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Chooses moves for a bot player using single-observer information set Monte Carlo tree search (ISMCTS). Each
+ * iteration deals the cards that the bot cannot see into a random determinization that is consistent with what it has
+ * observed, then walks a single tree shared by every determinization, only considering the moves that are legal in
+ * the current one. The game is played out with a cheap random policy from the first unexplored move.
+ * <p>
+ * The game rules are mirrored from {@link solar.rpg.javuno.models.game.AbstractGameModel} over flat arrays of card
+ * codes, using the same {@link PlayabilityTable}, so that iterations do not allocate. The tree is also stored in
+ * preallocated arrays. An instance is not thread-safe, and is intended to be reused by a single search thread.
+ *
+ * @author jskinner
+ * @see BotObservation
+ * @since 1.0.0
+ */
+public final class IsmctsSearch {
+
+    /**
+     * The action of drawing from the draw pile. Every other action is the code of the card to play, with the chosen
+     * color in its color bits if it is wild.
+     */
+    public static final int ACTION_DRAW = CardCode.CODE_LIMIT;
+    /**
+     * Every action is less than this value.
+     */
+    public static final int ACTION_LIMIT = ACTION_DRAW + 1;
+
+    /**
+     * The maximum amount of nodes in the tree. Once the tree is full, iterations play out from the deepest node.
+     */
+    private static final int MAX_NODES = 1 << 15;
+    /**
+     * Play outs that take longer than this are scored in favour of the player with the fewest cards.
+     */
+    private static final int MAX_PLAYOUT_MOVES = 1000;
+    /**
+     * The exploration constant of the UCB formula used to select moves in the tree.
+     */
+    private static final double EXPLORATION = 0.7;
+    private static final int[] CARD_CODES = IntStream.range(0, CardCode.CODE_LIMIT)
+        .filter(StandardCards::isValid)
+        .toArray();
+    private static final CardColor[] COLORS = CardColor.values();
+    private static final GameState[] GAME_STATES = GameState.values();
+
+    @NotNull
+    private final SplittableRandom random;
+
+    /* Tree */
+
+    @NotNull
+    private final int[] nodeParent;
+    @NotNull
+    private final int[] nodeFirstChild;
+    @NotNull
+    private final int[] nodeNextSibling;
+    /**
+     * The action that leads into each node.
+     */
+    @NotNull
+    private final int[] nodeAction;
+    /**
+     * The player who took the action that leads into each node.
+     */
+    @NotNull
+    private final int[] nodePlayer;
+    @NotNull
+    private final int[] nodeVisits;
+    @NotNull
+    private final int[] nodeWins;
+    /**
+     * Amount of times that the action leading into each node was legal when its parent was visited.
+     */
+    @NotNull
+    private final int[] nodeAvailability;
+    private int nodeCount;
+
+    /* Determinized Game State */
+
+    private int playerCount;
+    /**
+     * The amount of each card code held by each player, indexed by {@code player * CODE_LIMIT + code}.
+     */
+    @NotNull
+    private int[] hands;
+    @NotNull
+    private int[] handSizes;
+    @NotNull
+    private byte[] drawPile;
+    private int drawPileSize;
+    @NotNull
+    private byte[] discardPile;
+    private int discardPileSize;
+    private int topCode;
+    private boolean penaltyApplied;
+    private int drawTwoMultiplier;
+    private int gameState;
+    private int direction;
+    private int currentPlayer;
+    private boolean hasDrawn;
+    private int optionMask;
+    private int winner;
+
+    /* Scratch */
+
+    @NotNull
+    private final int[] actions;
+    @NotNull
+    private final int[] untriedActions;
+    @NotNull
+    private final boolean[] legalActions;
+    @NotNull
+    private final boolean[] triedActions;
+    @NotNull
+    private final int[] colorCounts;
+    @NotNull
+    private byte[] unseen;
+
+    /**
+     * Constructs a new {@code IsmctsSearch} instance.
+     *
+     * @param seed The seed of the determinizations and play outs.
+     */
+    public IsmctsSearch(long seed) {
+        random = new SplittableRandom(seed);
+        nodeParent = new int[MAX_NODES];
+        nodeFirstChild = new int[MAX_NODES];
+        nodeNextSibling = new int[MAX_NODES];
+        nodeAction = new int[MAX_NODES];
+        nodePlayer = new int[MAX_NODES];
+        nodeVisits = new int[MAX_NODES];
+        nodeWins = new int[MAX_NODES];
+        nodeAvailability = new int[MAX_NODES];
+        hands = new int[0];
+        handSizes = new int[0];
+        drawPile = new byte[0];
+        discardPile = new byte[0];
+        unseen = new byte[0];
+        actions = new int[ACTION_LIMIT];
+        untriedActions = new int[ACTION_LIMIT];
+        legalActions = new boolean[ACTION_LIMIT];
+        triedActions = new boolean[ACTION_LIMIT];
+        colorCounts = new int[COLORS.length];
+    }
+
+    /**
+     * Searches for the best action until the deadline has passed. If there is only one legal action, it is returned
+     * straight away.
+     *
+     * @param observation   What the bot player knows about the game.
+     * @param deadlineNanos The {@link System#nanoTime()} at which the search must stop.
+     * @param visitCounts   Array of {@link #ACTION_LIMIT} elements, which has the amount of visits of each action at
+     *                      the root of the tree added to it.
+     * @return The amount of iterations that were run.
+     */
+    public int search(@NotNull BotObservation observation, long deadlineNanos, @NotNull int[] visitCounts) {
+        determinize(observation);
+        if (getLegalActions() == 1) {
+            visitCounts[actions[0]]++;
+            return 0;
+        }
+
+        nodeCount = 1;
+        resetNode(0, -1, -1, -1);
+
+        int iterations = 0;
+        while (System.nanoTime() < deadlineNanos) {
+            iterate(observation);
+            iterations++;
+        }
+
+        for (int child = nodeFirstChild[0]; child >= 0; child = nodeNextSibling[child])
+            visitCounts[nodeAction[child]] += nodeVisits[child];
+        return iterations;
+    }
+
+    /**
+     * Chooses an action using the play out policy alone, for when there was no time to search.
+     *
+     * @param observation What the bot player knows about the game.
+     * @return The chosen action.
+     */
+    public int choosePlayoutAction(@NotNull BotObservation observation) {
+        determinize(observation);
+        return getPlayoutAction();
+    }
+
+    /**
+     * Runs a single iteration: determinize, select and expand, play out, then update the statistics along the path.
+     */
+    private void iterate(@NotNull BotObservation observation) {
+        determinize(observation);
+
+        int node = 0;
+        while (winner < 0) {
+            int actionCount = getLegalActions();
+            Arrays.fill(triedActions, false);
+            for (int child = nodeFirstChild[node]; child >= 0; child = nodeNextSibling[child])
+                triedActions[nodeAction[child]] = true;
+
+            int untriedCount = 0;
+            for (int i = 0; i < actionCount; i++)
+                if (!triedActions[actions[i]]) untriedActions[untriedCount++] = actions[i];
+
+            if (untriedCount > 0) {
+                if (nodeCount == MAX_NODES) break;
+
+                int action = untriedActions[random.nextInt(untriedCount)];
+                int child = nodeCount++;
+                resetNode(child, node, action, currentPlayer);
+                nodeNextSibling[child] = nodeFirstChild[node];
+                nodeFirstChild[node] = child;
+                apply(action);
+                node = child;
+                break;
+            }
+
+            node = selectChild(node, actionCount);
+            apply(nodeAction[node]);
+        }
+
+        for (int moves = 0; winner < 0 && moves < MAX_PLAYOUT_MOVES; moves++) apply(getPlayoutAction());
+        if (winner < 0) winner = getLeadingPlayer();
+
+        for (; node > 0; node = nodeParent[node]) {
+            nodeVisits[node]++;
+            if (nodePlayer[node] == winner) nodeWins[node]++;
+        }
+    }
+
+    /**
+     * Picks the child with the highest UCB score out of the children whose actions are legal in the current
+     * determinization. The legal actions must have just been listed.
+     */
+    private int selectChild(int node, int actionCount) {
+        Arrays.fill(legalActions, false);
+        for (int i = 0; i < actionCount; i++) legalActions[actions[i]] = true;
+
+        int result = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int child = nodeFirstChild[node]; child >= 0; child = nodeNextSibling[child]) {
+            if (!legalActions[nodeAction[child]]) continue;
+
+            nodeAvailability[child]++;
+            double visits = nodeVisits[child];
+            double score = visits == 0
+                ? Double.POSITIVE_INFINITY
+                : nodeWins[child] / visits + EXPLORATION * Math.sqrt(Math.log(nodeAvailability[child]) / visits);
+            if (score > bestScore) {
+                result = child;
+                bestScore = score;
+            }
+        }
+        return result;
+    }
+
+    private void resetNode(int node, int parent, int action, int player) {
+        nodeParent[node] = parent;
+        nodeFirstChild[node] = -1;
+        nodeNextSibling[node] = -1;
+        nodeAction[node] = action;
+        nodePlayer[node] = player;
+        nodeVisits[node] = 0;
+        nodeWins[node] = 0;
+        nodeAvailability[node] = 1;
+    }
+
+    /* Determinization */
+
+    /**
+     * Deals the cards that the bot cannot see randomly into the other players' hands and the draw pile, and copies
+     * everything else from the observation.
+     */
+    private void determinize(@NotNull BotObservation observation) {
+        playerCount = observation.getPlayerCount();
+        byte[] unseenCodes = observation.getUnseenCodes();
+        byte[] discardCodes = observation.getDiscardCodes();
+        int cardCount = unseenCodes.length + discardCodes.length + observation.getHandCodes().length;
+        if (hands.length < playerCount * CardCode.CODE_LIMIT) {
+            hands = new int[playerCount * CardCode.CODE_LIMIT];
+            handSizes = new int[playerCount];
+        }
+        if (drawPile.length < cardCount) {
+            drawPile = new byte[cardCount];
+            discardPile = new byte[cardCount];
+            unseen = new byte[cardCount];
+        }
+
+        Arrays.fill(hands, 0, playerCount * CardCode.CODE_LIMIT, 0);
+        System.arraycopy(observation.getHandSizes(), 0, handSizes, 0, playerCount);
+        int bot = observation.getPlayerIndex();
+        for (byte code : observation.getHandCodes()) hands[bot * CardCode.CODE_LIMIT + code]++;
+
+        System.arraycopy(unseenCodes, 0, unseen, 0, unseenCodes.length);
+        shuffle(unseen, unseenCodes.length);
+        int dealt = 0;
+        for (int player = 0; player < playerCount; player++) {
+            if (player == bot) continue;
+            for (int i = 0; i < handSizes[player]; i++) hands[player * CardCode.CODE_LIMIT + unseen[dealt++]]++;
+        }
+        drawPileSize = unseenCodes.length - dealt;
+        System.arraycopy(unseen, dealt, drawPile, 0, drawPileSize);
+
+        discardPileSize = discardCodes.length;
+        System.arraycopy(discardCodes, 0, discardPile, 0, discardPileSize);
+
+        topCode = observation.getTopCode();
+        penaltyApplied = observation.isPenaltyApplied();
+        drawTwoMultiplier = observation.getDrawTwoMultiplier();
+        gameState = observation.getGameState().ordinal();
+        direction = observation.getDirection();
+        currentPlayer = bot;
+        hasDrawn = observation.hasDrawn();
+        optionMask = observation.getOptionMask();
+        winner = -1;
+    }
+
+    private void shuffle(@NotNull byte[] codes, int length) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte swap = codes[i];
+            codes[i] = codes[j];
+            codes[j] = swap;
+        }
+    }
+
+    /* Game Rules */
+
+    /**
+     * Lists the legal actions of the current player into {@link #actions}. A wild card has one action per color.
+     *
+     * @return The amount of legal actions.
+     */
+    private int getLegalActions() {
+        int count = 0;
+        if (gameState != GameState.AWAITING_DRAW_FOUR_RESPONSE.ordinal()) {
+            int row = getRow();
+            int hand = currentPlayer * CardCode.CODE_LIMIT;
+            for (int code : CARD_CODES) {
+                if (hands[hand + code] == 0 || !PlayabilityTable.isPlayable(row, code)) continue;
+                if (CardCode.isWild(code))
+                    for (CardColor color : COLORS) actions[count++] = CardCode.withColor(code, color);
+                else actions[count++] = code;
+            }
+        }
+        // A player who has drawn a playable card may play it, but may not draw again.
+        if (!hasDrawn || count == 0) actions[count++] = ACTION_DRAW;
+        return count;
+    }
+
+    /**
+     * The play out policy: play a random playable card, choosing the color that the player holds the most of for a
+     * wild card. Otherwise, draw.
+     */
+    private int getPlayoutAction() {
+        if (gameState == GameState.AWAITING_DRAW_FOUR_RESPONSE.ordinal()) return ACTION_DRAW;
+
+        int row = getRow();
+        int hand = currentPlayer * CardCode.CODE_LIMIT;
+        int result = ACTION_DRAW;
+        int seen = 0;
+        for (int code : CARD_CODES)
+            if (hands[hand + code] > 0 && PlayabilityTable.isPlayable(row, code) && random.nextInt(++seen) == 0)
+                result = code;
+
+        if (result != ACTION_DRAW && CardCode.isWild(result))
+            result = CardCode.withColor(result, COLORS[getMostHeldColor(currentPlayer)]);
+        return result;
+    }
+
+    private int getMostHeldColor(int player) {
+        int[] counts = colorCounts;
+        Arrays.fill(counts, 0);
+        int hand = player * CardCode.CODE_LIMIT;
+        for (int code : CARD_CODES) {
+            int color = code >>> CardCode.COLOR_SHIFT & CardCode.COLOR_MASK;
+            if (color != CardCode.COLOR_NONE) counts[color] += hands[hand + code];
+        }
+
+        int result = random.nextInt(COLORS.length);
+        for (int i = 0; i < counts.length; i++) if (counts[i] > counts[result]) result = i;
+        return result;
+    }
+
+    private int getRow() {
+        return PlayabilityTable.getRow(topCode, penaltyApplied, GAME_STATES[gameState], optionMask);
+    }
+
+    private void apply(int action) {
+        if (action == ACTION_DRAW) draw();
+        else play(action);
+    }
+
+    private void play(int action) {
+        int code = CardCode.isWild(action) ? CardCode.withColor(action, null) : action;
+        int symbol = CardCode.getSymbol(code);
+        hands[currentPlayer * CardCode.CODE_LIMIT + code]--;
+        handSizes[currentPlayer]--;
+        discardPile[discardPileSize++] = (byte) code;
+
+        topCode = action;
+        penaltyApplied = symbol != CardCode.SYMBOL_DRAW_TWO && symbol != CardCode.SYMBOL_WILD_DRAW_FOUR;
+        drawTwoMultiplier = symbol == CardCode.SYMBOL_DRAW_TWO ? drawTwoMultiplier + 1 : 0;
+        gameState = GameState.AWAITING_PLAY.ordinal();
+        hasDrawn = false;
+
+        if (handSizes[currentPlayer] == 0) {
+            winner = currentPlayer;
+            return;
+        }
+
+        switch (symbol) {
+            case CardCode.SYMBOL_REVERSE -> {
+                direction = -direction;
+                if (playerCount == 2) return; // If there are only two players, the other person's turn is skipped.
+            }
+            case CardCode.SYMBOL_SKIP -> nextPlayer();
+            case CardCode.SYMBOL_DRAW_TWO -> gameState = GameState.AWAITING_DRAW_TWO_RESPONSE.ordinal();
+            case CardCode.SYMBOL_WILD_DRAW_FOUR -> gameState = GameState.AWAITING_DRAW_FOUR_RESPONSE.ordinal();
+            default -> {
+            }
+        }
+        nextPlayer();
+    }
+
+    private void draw() {
+        int amount = 1;
+        int symbol = CardCode.getSymbol(topCode);
+        if (!penaltyApplied) {
+            if (symbol == CardCode.SYMBOL_WILD_DRAW_FOUR
+                && gameState == GameState.AWAITING_DRAW_FOUR_RESPONSE.ordinal())
+                amount = 4;
+            else if (symbol == CardCode.SYMBOL_DRAW_TWO
+                     && gameState == GameState.AWAITING_DRAW_TWO_RESPONSE.ordinal())
+                amount = drawTwoMultiplier * 2;
+        }
+
+        int hand = currentPlayer * CardCode.CODE_LIMIT;
+        int drawn = 0;
+        int lastCode = 0;
+        for (; drawn < amount; drawn++) {
+            if (drawPileSize == 0) refillDrawPile();
+            if (drawPileSize == 0) break;
+            lastCode = drawPile[--drawPileSize];
+            hands[hand + lastCode]++;
+            handSizes[currentPlayer]++;
+        }
+
+        boolean nextTurn = drawn != 1 || !PlayabilityTable.isPlayable(getRow(), lastCode);
+        penaltyApplied = true;
+        drawTwoMultiplier = 0;
+        gameState = GameState.AWAITING_PLAY.ordinal();
+        hasDrawn = !nextTurn;
+        if (nextTurn) nextPlayer();
+    }
+
+    private void refillDrawPile() {
+        if (discardPileSize < 2) return;
+
+        drawPileSize = discardPileSize - 1;
+        System.arraycopy(discardPile, 0, drawPile, 0, drawPileSize);
+        shuffle(drawPile, drawPileSize);
+        discardPile[0] = discardPile[discardPileSize - 1];
+        discardPileSize = 1;
+    }
+
+    private void nextPlayer() {
+        currentPlayer = Math.floorMod(currentPlayer + direction, playerCount);
+    }
+
+    /**
+     * @return The player with the fewest cards, used to score play outs that did not finish.
+     */
+    private int getLeadingPlayer() {
+        int result = 0;
+        for (int player = 1; player < playerCount; player++)
+            if (handSizes[player] < handSizes[result]) result = player;
+        return result;
+    }
+}
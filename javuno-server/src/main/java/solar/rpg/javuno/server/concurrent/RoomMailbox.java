@@ -0,0 +1,116 @@
+package solar.rpg.javuno.server.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The mailbox of a single room. Any thread can post tasks to it, such as handling an inbound packet or expiring a
+ * timer, and they are queued on a lock-free queue. The tasks are run one at a time, in the order that they were posted,
+ * by whichever thread of the shared pool picks up the mailbox. A mailbox is only ever scheduled on one pool thread at a
+ * time, so the state of its room is mutated by one logical thread without any locking, while different rooms run in
+ * parallel across every thread of the pool.
+ * <p>
+ * To keep busy rooms from starving the others, a mailbox gives up its pool thread after running a batch of tasks, and
+ * is scheduled again behind the other mailboxes that are waiting.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class RoomMailbox implements Executor {
+
+    /**
+     * The maximum amount of tasks that are run each time the mailbox is scheduled.
+     */
+    private static final int BATCH_SIZE = 64;
+
+    @NotNull
+    private final Logger logger;
+    /**
+     * The name of the room that owns this mailbox.
+     */
+    @NotNull
+    private final String roomName;
+    /**
+     * The shared pool that runs the tasks of every mailbox.
+     */
+    @NotNull
+    private final Executor pool;
+    /**
+     * Tasks that have been posted, but not yet run. Many threads post, but only the scheduled thread polls.
+     */
+    @NotNull
+    private final Queue<Runnable> tasks;
+    /**
+     * True, while this mailbox is waiting in or running on the pool.
+     */
+    @NotNull
+    private final AtomicBoolean scheduled;
+
+    /**
+     * Constructs a new {@code RoomMailbox} instance.
+     *
+     * @param roomName The name of the room that owns this mailbox.
+     * @param pool     The shared pool that runs the tasks of every mailbox.
+     * @param logger   Logging object.
+     */
+    public RoomMailbox(@NotNull String roomName, @NotNull Executor pool, @NotNull Logger logger) {
+        this.roomName = roomName;
+        this.pool = pool;
+        this.logger = logger;
+        tasks = new ConcurrentLinkedQueue<>();
+        scheduled = new AtomicBoolean();
+    }
+
+    /**
+     * Posts a task to this mailbox. This can be called from any thread.
+     *
+     * @param task The task to run on behalf of the room.
+     */
+    @Override
+    public void execute(@NotNull Runnable task) {
+        tasks.add(task);
+        trySchedule();
+    }
+
+    /**
+     * @return True, if this mailbox has no tasks waiting to run.
+     */
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+
+    private void trySchedule() {
+        if (!scheduled.compareAndSet(false, true)) return;
+
+        try {
+            pool.execute(this::runBatch);
+        } catch (RejectedExecutionException e) {
+            // The pool has been shut down, so the tasks are discarded
+            scheduled.set(false);
+        }
+    }
+
+    private void runBatch() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Runnable task = tasks.poll();
+            if (task == null) break;
+
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.log(Level.WARNING, String.format("Unhandled exception in room %s", roomName), e);
+            }
+        }
+
+        scheduled.set(false);
+        // Tasks that were posted while the batch ran, or that did not fit in it, would otherwise never be picked up
+        if (!tasks.isEmpty()) trySchedule();
+    }
+}
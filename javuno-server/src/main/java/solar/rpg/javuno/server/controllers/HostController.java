@@ -2,10 +2,19 @@ package solar.rpg.javuno.server.controllers;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.packets.IJavunoDroppablePacket;
+import solar.rpg.javuno.models.packets.JavunoBadPacketException;
+import solar.rpg.javuno.models.packets.codec.JavunoFrameCodec;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketCodec;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketInOutEncoded;
+import solar.rpg.javuno.models.packets.in.JavunoPacketInServerConnect;
+import solar.rpg.javuno.models.packets.in.JavunoPacketInSessionResume;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutGameState;
 import solar.rpg.javuno.models.packets.out.JavunoPacketOutServerMessage;
 import solar.rpg.javuno.mvc.IController;
 import solar.rpg.javuno.mvc.JMVC;
-import solar.rpg.javuno.server.models.JavunoPacketTimeoutException;
+import solar.rpg.javuno.server.network.JavunoSelectorHost;
 import solar.rpg.javuno.server.views.MainFrame;
 import solar.rpg.jserver.connection.handlers.packet.JServerHost;
 import solar.rpg.jserver.packet.JServerPacket;
@@ -13,17 +22,23 @@ import solar.rpg.jserver.packet.JServerPacket;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * This controller is responsible for maintaining an instance of the Javuno server host that all clients can connect to
  * and correspond with. Packets are sent out through this controller, and incoming packets are sent to the {@link
- * ServerGameController} to be handled.
+ * ServerRoomController} to be routed to the room that handles them.
  *
  * @author jskinner
- * @see ServerGameController
+ * @see ServerRoomController
  * @since 1.0.0
  */
 public final class HostController implements IController {
@@ -34,30 +49,64 @@ public final class HostController implements IController {
     private final JMVC<MainFrame, HostController> mvc;
     @NotNull
     private final ExecutorService executor;
+    /**
+     * The type of server host to create when the host is started.
+     */
+    @NotNull
+    private final HostType hostType;
+    /**
+     * Amount of event loop threads used by the {@link HostType#SELECTOR} host.
+     */
+    private final int ioThreadCount;
     @Nullable
-    private JavunoServerHost serverHost;
+    private IJavunoServerHost serverHost;
 
     /**
      * Server password. This is required upon connection if provided.
      */
     @NotNull
     private String serverPassword;
+    /**
+     * True, if clients may negotiate the binary packet codec. Otherwise, Java serialization is always used.
+     */
+    private boolean binaryCodecEnabled;
+    /**
+     * Amount of bytes queued for a connection of the {@link HostType#SELECTOR} host above which it is under pressure.
+     */
+    private int writeHighWaterMark;
+    /**
+     * How long a connection of the {@link HostType#SELECTOR} host may stay over the high-water mark before it is
+     * evicted, in milliseconds.
+     */
+    private long slowConsumerMillis;
 
     /**
      * Constructs a new {@code HostController} instance.
      *
-     * @param executor Concurrent executor service.
-     * @param logger   Logging object.
+     * @param hostType      The type of server host to create when the host is started.
+     * @param ioThreadCount Amount of event loop threads used by the {@link HostType#SELECTOR} host.
+     * @param executor      Concurrent executor service.
+     * @param logger        Logging object.
      */
-    public HostController(@NotNull ExecutorService executor, @NotNull Logger logger) {
+    public HostController(
+        @NotNull HostType hostType,
+        int ioThreadCount,
+        @NotNull ExecutorService executor,
+        @NotNull Logger logger) {
+        if (ioThreadCount < 1) throw new IllegalArgumentException("Expected at least one I/O thread");
+        this.hostType = hostType;
+        this.ioThreadCount = ioThreadCount;
         this.executor = executor;
         this.logger = logger;
         mvc = new JMVC<>();
         serverPassword = "";
+        binaryCodecEnabled = true;
+        writeHighWaterMark = 256 * 1024;
+        slowConsumerMillis = TimeUnit.SECONDS.toMillis(10);
     }
 
     /**
-     * Creates a new {@code JavunoServerHost} instance at the given address and port.
+     * Creates a new server host of the configured {@link HostType} at the given address and port.
      *
      * @param bindAddr The internet address to bind to.
      * @param port     The port.
@@ -66,7 +115,16 @@ public final class HostController implements IController {
         if (serverHost != null) throw new IllegalStateException("Server host is already active");
 
         try {
-            serverHost = new JavunoServerHost(bindAddr, port, executor, logger);
+            serverHost = switch (hostType) {
+                case JSERVER -> new JavunoServerHost(bindAddr, port, executor, logger);
+                case SELECTOR -> {
+                    JavunoSelectorServerHost selectorHost =
+                        new JavunoSelectorServerHost(bindAddr, port, ioThreadCount, logger);
+                    selectorHost.setWriteHighWaterMark(writeHighWaterMark);
+                    selectorHost.setSlowConsumerTimeout(slowConsumerMillis, TimeUnit.MILLISECONDS);
+                    yield selectorHost;
+                }
+            };
         } catch (IOException e) {
             getMVC().getView().showErrorDialog(
                 "Unable to establish server host",
@@ -76,7 +134,7 @@ public final class HostController implements IController {
     }
 
     /**
-     * Stops the existing {@code JavunoServerHost} instance.
+     * Stops the existing server host instance.
      */
     public void stopHost() {
         if (serverHost == null) throw new IllegalStateException("Server host is not active");
@@ -86,11 +144,11 @@ public final class HostController implements IController {
     }
 
     /**
-     * @return Active instance of the {@code JavunoServerHost}.
+     * @return Active instance of the server host.
      * @throws IllegalStateException Server host does not yet exist.
      */
     @NotNull
-    public JavunoServerHost getServerHost() {
+    public IJavunoServerHost getServerHost() {
         if (serverHost == null) throw new IllegalStateException("Server host is not active");
         return serverHost;
     }
@@ -112,6 +170,89 @@ public final class HostController implements IController {
         this.serverPassword = serverPassword;
     }
 
+    /**
+     * @return True, if clients may negotiate the binary packet codec.
+     */
+    public boolean isBinaryCodecEnabled() {
+        return binaryCodecEnabled;
+    }
+
+    /**
+     * Sets whether clients may negotiate the binary packet codec. This only affects new connections.
+     *
+     * @param binaryCodecEnabled True, if clients may negotiate the binary packet codec.
+     */
+    public void setBinaryCodecEnabled(boolean binaryCodecEnabled) {
+        this.binaryCodecEnabled = binaryCodecEnabled;
+    }
+
+    /**
+     * @return Amount of bytes queued for a connection of the {@link HostType#SELECTOR} host above which it is under
+     * pressure.
+     */
+    public int getWriteHighWaterMark() {
+        return writeHighWaterMark;
+    }
+
+    /**
+     * Sets the amount of bytes queued for a connection of the {@link HostType#SELECTOR} host above which it is under
+     * pressure. This takes effect the next time the host is started.
+     *
+     * @param writeHighWaterMark The new high-water mark, in bytes.
+     */
+    public void setWriteHighWaterMark(int writeHighWaterMark) {
+        if (writeHighWaterMark < 1) throw new IllegalArgumentException("Expected high-water mark to be greater than 0");
+        this.writeHighWaterMark = writeHighWaterMark;
+    }
+
+    /**
+     * @return How long a connection of the {@link HostType#SELECTOR} host may stay over the high-water mark before it
+     * is evicted, in milliseconds.
+     */
+    public long getSlowConsumerMillis() {
+        return slowConsumerMillis;
+    }
+
+    /**
+     * Sets how long a connection of the {@link HostType#SELECTOR} host may stay over the high-water mark before it is
+     * evicted. This takes effect the next time the host is started.
+     *
+     * @param slowConsumerMillis The new timeout, in milliseconds.
+     */
+    public void setSlowConsumerMillis(long slowConsumerMillis) {
+        if (slowConsumerMillis < 0) throw new IllegalArgumentException("Expected timeout to be 0 or greater");
+        this.slowConsumerMillis = slowConsumerMillis;
+    }
+
+    /**
+     * @return The type of server host to create when the host is started.
+     */
+    @NotNull
+    public HostType getHostType() {
+        return hostType;
+    }
+
+    /**
+     * Routes an incoming packet to its room. If the packet cannot be routed, and the problem is fatal, the socket to its
+     * origin address is closed.
+     *
+     * @param host   The server host that received the packet.
+     * @param packet The decoded packet.
+     */
+    private void routePacket(@NotNull IJavunoServerHost host, @NotNull JServerPacket packet) {
+        try {
+            getRoomController().onPacketReceived(packet);
+        } catch (JavunoBadPacketException e) {
+            logger.log(Level.INFO, String.format("Unable to route packet from %s", packet.getOriginAddress()), e);
+            if (e.isFatal()) host.closeSocket(packet.getOriginAddress());
+        }
+    }
+
+    @NotNull
+    private ServerRoomController getRoomController() {
+        return getMVC().getView().getMVC().getController().getRoomController();
+    }
+
     /**
      * @return MVC relationship.
      */
@@ -127,7 +268,14 @@ public final class HostController implements IController {
      * @author jskinner
      * @since 1.0.0
      */
-    public final class JavunoServerHost extends JServerHost {
+    public final class JavunoServerHost extends JServerHost implements IJavunoServerHost {
+
+        /**
+         * The codec version negotiated with each origin address. Origin addresses that are not present use Java
+         * serialization.
+         */
+        @NotNull
+        private final Map<InetSocketAddress, Integer> codecVersions;
 
         /**
          * Constructs a new {@code JavunoServerHost} instance.
@@ -144,6 +292,81 @@ public final class HostController implements IController {
             @NotNull ExecutorService executor,
             @NotNull Logger logger) throws IOException {
             super(bindAddr, port, executor, logger);
+            codecVersions = new ConcurrentHashMap<>();
+        }
+
+        @Override
+        public void sendPacket(@NotNull InetSocketAddress originAddress, @NotNull JServerPacket packet) {
+            if (getCodecVersion(originAddress) == JavunoPacketCodec.VERSION_SERIALIZED)
+                writePacket(originAddress, packet);
+            else writePacket(originAddress, new JavunoPacketInOutEncoded(JavunoPacketCodec.encode(packet)));
+        }
+
+        /**
+         * {@inheritDoc} The same encoded envelope is shared by every origin address that negotiated the binary codec,
+         * so the cost of encoding does not grow with the amount of recipients.
+         */
+        @Override
+        public void sendPacketAll(
+            @NotNull Iterable<InetSocketAddress> originAddresses,
+            @NotNull JServerPacket packet,
+            @Nullable InetSocketAddress exclude) {
+            JavunoPacketInOutEncoded encodedPacket = null;
+            for (InetSocketAddress originAddress : originAddresses) {
+                if (originAddress.equals(exclude)) continue;
+
+                if (getCodecVersion(originAddress) == JavunoPacketCodec.VERSION_SERIALIZED)
+                    writePacket(originAddress, packet);
+                else {
+                    if (encodedPacket == null)
+                        encodedPacket = new JavunoPacketInOutEncoded(JavunoPacketCodec.encode(packet));
+                    writePacket(originAddress, encodedPacket);
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc} Origin addresses that use Java serialization are sent a copy of the packet that shares
+         * everything but the hand with the given packet. Packets are never dropped by this host.
+         */
+        @Override
+        public void sendGameStateAll(
+            @NotNull Iterable<InetSocketAddress> originAddresses,
+            @NotNull JavunoPacketOutGameState sharedPacket,
+            @NotNull Function<InetSocketAddress, List<ICard>> hands,
+            boolean droppable) {
+            byte[] sharedData = null;
+            JavunoPacketInOutEncoded spectatorPacket = null;
+            for (InetSocketAddress originAddress : originAddresses) {
+                List<ICard> hand = hands.apply(originAddress);
+                if (getCodecVersion(originAddress) == JavunoPacketCodec.VERSION_SERIALIZED) {
+                    writePacket(originAddress, sharedPacket.withClientCards(hand));
+                    continue;
+                }
+
+                if (sharedData == null) sharedData = JavunoPacketCodec.encodeShared(sharedPacket);
+                if (hand == null) {
+                    if (spectatorPacket == null)
+                        spectatorPacket = new JavunoPacketInOutEncoded(
+                            join(sharedData, JavunoPacketCodec.encodeHand(null)));
+                    writePacket(originAddress, spectatorPacket);
+                } else {
+                    byte[] data = join(sharedData, JavunoPacketCodec.encodeHand(hand));
+                    writePacket(originAddress, new JavunoPacketInOutEncoded(data));
+                }
+            }
+        }
+
+        @Override
+        public int getCodecVersion(@NotNull InetSocketAddress originAddress) {
+            return codecVersions.getOrDefault(originAddress, JavunoPacketCodec.VERSION_SERIALIZED);
+        }
+
+        @NotNull
+        private byte[] join(@NotNull byte[] data, @NotNull byte[] tail) {
+            byte[] result = Arrays.copyOf(data, data.length + tail.length);
+            System.arraycopy(tail, 0, result, data.length, tail.length);
+            return result;
         }
 
         //TODO: Make the accept/reject functionality generic code.
@@ -153,32 +376,154 @@ public final class HostController implements IController {
 
         @Override
         public void onSocketClosed(@NotNull InetSocketAddress originAddress) {
-            logger.log(
-                Level.FINER,
-                String.format(
-                    "Socket closed to player %s (%s)",
-                    mvc.getView().getMVC().getController().getGameController().getGameLobbyModel()
-                        .getPlayerNameWithDefault(originAddress, "N/A"),
-                    originAddress
-                )
-            );
-
-            getMVC().getView().getMVC().getController().getGameController().onPlayerDisconnect(originAddress);
+            getRoomController().onSocketClosed(originAddress);
+            codecVersions.remove(originAddress);
         }
 
         @Override
         public void onPacketReceived(@NotNull JServerPacket packet) {
             try {
-                getMVC().getView().getMVC().getController().getGameController().getPacketHandler().handlePacket(packet);
-            } catch (JavunoPacketTimeoutException e) {
-                getServerHost().writePacket(
-                    packet.getOriginAddress(),
-                    new JavunoPacketOutServerMessage("You are doing that too quickly! Please slow down.")
-                );
-            } catch (Exception e) {
-                //TODO: Handle packet
-                e.printStackTrace();
+                if (packet instanceof JavunoPacketInOutEncoded encodedPacket) {
+                    JServerPacket decodedPacket = JavunoPacketCodec.decode(encodedPacket.getData());
+                    decodedPacket.setOriginAddress(packet.getOriginAddress());
+                    packet = decodedPacket;
+                }
+                if (binaryCodecEnabled) {
+                    int peerCodecVersion = JavunoPacketCodec.VERSION_SERIALIZED;
+                    if (packet instanceof JavunoPacketInServerConnect connectPacket)
+                        peerCodecVersion = connectPacket.getCodecVersion();
+                    else if (packet instanceof JavunoPacketInSessionResume resumePacket)
+                        peerCodecVersion = resumePacket.getCodecVersion();
+                    int codecVersion = JavunoPacketCodec.negotiate(peerCodecVersion);
+                    if (codecVersion != JavunoPacketCodec.VERSION_SERIALIZED)
+                        codecVersions.putIfAbsent(packet.getOriginAddress(), codecVersion);
+                }
+            } catch (JavunoBadPacketException e) {
+                logger.log(Level.INFO, String.format("Unable to decode packet from %s", packet.getOriginAddress()), e);
+                closeSocket(packet.getOriginAddress());
+                return;
+            }
+            routePacket(this, packet);
+        }
+    }
+
+    /**
+     * {@code JavunoSelectorServerHost} is a delegate class of {@code HostController} that performs the same role as
+     * {@link JavunoServerHost}, but on top of a {@link JavunoSelectorHost}. A small, fixed amount of event loop threads
+     * serve every connection, and every packet is sent using the binary codec.
+     *
+     * @author jskinner
+     * @since 1.0.0
+     */
+    public final class JavunoSelectorServerHost extends JavunoSelectorHost implements IJavunoServerHost {
+
+        /**
+         * Constructs a new {@code JavunoSelectorServerHost} instance.
+         *
+         * @param bindAddr      The internet address for the server host to bind to.
+         * @param port          The server port.
+         * @param ioThreadCount Amount of event loop threads.
+         * @param logger        Logging object.
+         * @throws IOException I/O exception while creating server host.
+         */
+        public JavunoSelectorServerHost(
+            @NotNull InetAddress bindAddr,
+            int port,
+            int ioThreadCount,
+            @NotNull Logger logger) throws IOException {
+            super(bindAddr, port, ioThreadCount, logger);
+        }
+
+        @Override
+        public void sendPacket(@NotNull InetSocketAddress originAddress, @NotNull JServerPacket packet) {
+            writePacket(originAddress, packet);
+        }
+
+        /**
+         * {@inheritDoc} The packet is framed once, and the same frame is queued on every connection.
+         */
+        @Override
+        public void sendPacketAll(
+            @NotNull Iterable<InetSocketAddress> originAddresses,
+            @NotNull JServerPacket packet,
+            @Nullable InetSocketAddress exclude) {
+            byte[] frame = null;
+            boolean droppable = packet instanceof IJavunoDroppablePacket;
+            for (InetSocketAddress originAddress : originAddresses) {
+                if (originAddress.equals(exclude)) continue;
+                if (frame == null) frame = JavunoFrameCodec.frame(JavunoPacketCodec.encode(packet));
+                writeFrame(originAddress, frame, droppable);
             }
         }
+
+        /**
+         * {@inheritDoc} Each recipient with a hand gets its own frame, made by copying the shared bytes and appending
+         * the hand, while every spectator is queued the same frame.
+         */
+        @Override
+        public void sendGameStateAll(
+            @NotNull Iterable<InetSocketAddress> originAddresses,
+            @NotNull JavunoPacketOutGameState sharedPacket,
+            @NotNull Function<InetSocketAddress, List<ICard>> hands,
+            boolean droppable) {
+            byte[] sharedData = null;
+            byte[] spectatorFrame = null;
+            for (InetSocketAddress originAddress : originAddresses) {
+                if (sharedData == null) sharedData = JavunoPacketCodec.encodeShared(sharedPacket);
+                List<ICard> hand = hands.apply(originAddress);
+                if (hand == null) {
+                    if (spectatorFrame == null)
+                        spectatorFrame = JavunoFrameCodec.frame(sharedData, JavunoPacketCodec.encodeHand(null));
+                    writeFrame(originAddress, spectatorFrame, droppable);
+                } else {
+                    byte[] frame = JavunoFrameCodec.frame(sharedData, JavunoPacketCodec.encodeHand(hand));
+                    writeFrame(originAddress, frame, droppable);
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc} Connections to this host always use the binary codec.
+         */
+        @Override
+        public int getCodecVersion(@NotNull InetSocketAddress originAddress) {
+            return JavunoPacketCodec.VERSION;
+        }
+
+        @Override
+        public void onNewConnection(@NotNull InetSocketAddress originAddress) {
+        }
+
+        @Override
+        public void onSocketClosed(@NotNull InetSocketAddress originAddress) {
+            getRoomController().onSocketClosed(originAddress);
+        }
+
+        @Override
+        public void onPacketReceived(@NotNull JServerPacket packet) {
+            routePacket(this, packet);
+        }
+
+        @Override
+        @NotNull
+        protected JServerPacket createEvictionPacket() {
+            return new JavunoPacketOutServerMessage("You were disconnected because your connection could not keep up.");
+        }
+    }
+
+    /**
+     * Denotes the server host implementations that can be chosen at startup.
+     */
+    public enum HostType {
+        /**
+         * Blocking JServer host, which uses a thread for every connection. Supports both Java serialization and the
+         * binary codec.
+         */
+        JSERVER,
+        /**
+         * Non-blocking selector host, which serves every connection from a small, fixed amount of event loop threads.
+         * Requires clients to use the framed transport.
+         */
+        SELECTOR
     }
 }
@@ -0,0 +1,77 @@
+package solar.rpg.javuno.server.controllers;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutGameState;
+import solar.rpg.jserver.packet.JServerPacket;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Denotes an active Javuno server host that clients are connected to. Rooms send their packets through this
+ * interface, regardless of which {@link HostController.HostType} was chosen at startup.
+ *
+ * @author jskinner
+ * @see HostController
+ * @since 1.0.0
+ */
+public interface IJavunoServerHost {
+
+    /**
+     * Writes a packet to an origin address, encoding it with the codec version negotiated with that origin address.
+     *
+     * @param originAddress The origin address to write to.
+     * @param packet        The packet to write.
+     */
+    void sendPacket(@NotNull InetSocketAddress originAddress, @NotNull JServerPacket packet);
+
+    /**
+     * Writes a packet to many origin addresses at once. The packet is encoded at most once per codec version, and the
+     * encoded bytes are shared by every recipient.
+     *
+     * @param originAddresses The origin addresses to write to.
+     * @param packet          The packet to write.
+     * @param exclude         The origin address that should not receive the packet, or null to write to all.
+     */
+    void sendPacketAll(
+        @NotNull Iterable<InetSocketAddress> originAddresses,
+        @NotNull JServerPacket packet,
+        @Nullable InetSocketAddress exclude);
+
+    /**
+     * Writes a game start or game state packet to many origin addresses at once, where only the hand differs between
+     * recipients. Everything but the hand is encoded at most once per codec version, and each recipient is only
+     * sent its own hand on top. Recipients without a hand, such as spectators, all share the same encoded packet.
+     *
+     * @param originAddresses The origin addresses to write to.
+     * @param sharedPacket    The packet to write. Its client cards are ignored.
+     * @param hands           Gives the cards associated with an origin address, or null if it is spectating.
+     * @param droppable       True, if the packet may be dropped for origin addresses that are not keeping up.
+     */
+    void sendGameStateAll(
+        @NotNull Iterable<InetSocketAddress> originAddresses,
+        @NotNull JavunoPacketOutGameState sharedPacket,
+        @NotNull Function<InetSocketAddress, List<ICard>> hands,
+        boolean droppable);
+
+    /**
+     * @param originAddress The origin address.
+     * @return The codec version negotiated with the origin address.
+     */
+    int getCodecVersion(@NotNull InetSocketAddress originAddress);
+
+    /**
+     * Closes the socket to an origin address.
+     *
+     * @param originAddress The origin address.
+     */
+    void closeSocket(@NotNull InetSocketAddress originAddress);
+
+    /**
+     * Closes the host, and every socket connected to it.
+     */
+    void close();
+}
@@ -6,19 +6,18 @@ import solar.rpg.javuno.models.packets.AbstractJavunoPlayerPacket;
 import solar.rpg.javuno.models.packets.IJavunoDistributedPacket;
 import solar.rpg.javuno.models.packets.IJavunoTimeLimitedPacket;
 import solar.rpg.javuno.models.packets.JavunoBadPacketException;
+import solar.rpg.javuno.models.packets.JavunoPacketHandlerRegistry;
 import solar.rpg.javuno.models.packets.in.*;
 import solar.rpg.javuno.mvc.JMVC;
-import solar.rpg.javuno.server.controllers.HostController.JavunoServerHost;
 import solar.rpg.javuno.server.models.JavunoPacketTimeoutException;
+import solar.rpg.javuno.server.models.PacketRateLimiter;
 import solar.rpg.javuno.server.models.ServerGameLobbyModel;
 import solar.rpg.javuno.server.models.ServerGameModel;
 import solar.rpg.javuno.server.views.MainFrame;
 import solar.rpg.jserver.packet.JServerPacket;
 
 import java.net.InetSocketAddress;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -38,66 +37,70 @@ public final class JavunoServerPacketValidatorHandler {
     @NotNull
     private final JMVC<MainFrame, ServerGameController> mvc;
     /**
-     * Stores the last time a specific type of packet was received from each origin address.
+     * Limits how often each origin address can send each type of time limited packet. Shared by every room.
      */
     @NotNull
-    private final Map<InetSocketAddress, Map<Class<? extends JServerPacket>, Long>> lastReceivedTimeMap;
+    private final PacketRateLimiter rateLimiter;
+    /**
+     * The function that handles each type of inbound packet.
+     */
+    @NotNull
+    private final JavunoPacketHandlerRegistry handlers;
 
     /**
      * Constructs a new {@code JavunoServerPacketValidatorHandler} instance.
      *
-     * @param mvc    MVC object that belongs to the {@code ServerGameController}.
-     * @param logger Logger object.
+     * @param mvc         MVC object that belongs to the {@code ServerGameController}.
+     * @param rateLimiter Limits how often each origin address can send each type of time limited packet.
+     * @param logger      Logger object.
      */
     public JavunoServerPacketValidatorHandler(
         @NotNull JMVC<MainFrame, ServerGameController> mvc,
+        @NotNull PacketRateLimiter rateLimiter,
         @NotNull Logger logger) {
         this.mvc = mvc;
+        this.rateLimiter = rateLimiter;
         this.logger = logger;
-        lastReceivedTimeMap = Collections.synchronizedMap(new HashMap<>());
-    }
-
-    public void onPlayerDisconnect(@NotNull InetSocketAddress originAddress) {
-        lastReceivedTimeMap.remove(originAddress);
+        handlers = new JavunoPacketHandlerRegistry()
+            .register(JavunoPacketInDrawCards.class, this::handleDrawCardsPacket)
+            .register(JavunoPacketInPlayCard.class, this::handlePlayCardPacket)
+            .register(JavunoPacketInOutChatMessage.class, this::validateChatPacket)
+            .register(JavunoPacketInServerConnect.class, this::handleConnectPacket)
+            .register(JavunoPacketInSessionResume.class, this::handleSessionResumePacket)
+            .register(JavunoPacketInOutPlayerReadyChanged.class, this::handlePlayerReadyChanged)
+            .register(JavunoPacketInStateAck.class, this::handleStateAckPacket);
     }
 
     /**
      * Public facing method so any inbound packet can be handled by the server appropriately. This method delegates the
-     * validation and handling of each type of packet to various functions.
+     * validation and handling of each type of packet to the function registered for its type.
      *
      * @param packet The inbound packet (from a client) to handle.
      * @throws JavunoBadPacketException There was a validation error or a problem handling the packet.
      */
     public void handlePacket(@NotNull JServerPacket packet) throws JavunoBadPacketException {
-        logger.log(
-            Level.FINER,
-            String.format(
-                "Handling %s packet from %s",
-                packet.getClass().getSimpleName(),
-                mvc.getView().getMVC().getController().getGameController().getGameLobbyModel()
-                    .getPlayerNameWithDefault(packet.getOriginAddress(), "N/A")
-            )
-        );
+        if (logger.isLoggable(Level.FINER))
+            logger.log(
+                Level.FINER,
+                String.format(
+                    "Handling %s packet from %s",
+                    packet.getClass().getSimpleName(),
+                    getLobbyModel().getPlayerNameWithDefault(packet.getOriginAddress(), "N/A")
+                )
+            );
 
         if (packet instanceof IJavunoTimeLimitedPacket) validateTimeLimitedPacket(packet);
         if (packet instanceof AbstractJavunoPlayerPacket playerPacket) handlePlayerPacket(playerPacket);
 
-        if (packet instanceof JavunoPacketInDrawCards drawCardsPacket) handleDrawCardsPacket(drawCardsPacket);
-        else if (packet instanceof JavunoPacketInPlayCard playCardPacket) handlePlayCardPacket(playCardPacket);
-        else if (packet instanceof JavunoPacketInOutChatMessage chatPacket) validateChatPacket(chatPacket);
-        else if (packet instanceof JavunoPacketInServerConnect connectPacket) handleConnectPacket(connectPacket);
-        else if (packet instanceof JavunoPacketInOutPlayerReadyChanged readyChangedPacket)
-            handlePlayerReadyChanged(readyChangedPacket);
-        else
+        if (!handlers.dispatch(packet))
             throw new JavunoBadPacketException(
                 String.format("Unsupported packet type %s", packet.getClass().getSimpleName()),
                 true
             );
 
         if (packet instanceof IJavunoDistributedPacket distributedPacket) {
-            JavunoServerHost serverHost = getHostController().getServerHost();
-            if (distributedPacket.distributeToSender()) serverHost.writePacketAll(packet);
-            else serverHost.writePacketAllExcept(packet, packet.getOriginAddress());
+            if (distributedPacket.distributeToSender()) mvc.getController().writePacketAll(packet);
+            else mvc.getController().writePacketAllExcept(packet, packet.getOriginAddress());
         }
     }
 
@@ -107,36 +110,24 @@ public final class JavunoServerPacketValidatorHandler {
      *
      * @param packet The time limited packet to validate.
      * @throws IllegalArgumentException     Provided packet was not a {@link IJavunoTimeLimitedPacket}.
-     * @throws JavunoPacketTimeoutException Packet of same type was sent before the time limit expired.
+     * @throws JavunoPacketTimeoutException Too many packets of the same type were sent within the time limit.
      */
     private void validateTimeLimitedPacket(@NotNull JServerPacket packet) {
         if (!(packet instanceof IJavunoTimeLimitedPacket timeLimitedPacket))
             throw new IllegalArgumentException("Packet is not time limited");
 
-        Map<Class<? extends JServerPacket>, Long> lastReceivedTimePacketClassesMap;
-        if (lastReceivedTimeMap.containsKey(packet.getOriginAddress()))
-            lastReceivedTimePacketClassesMap = lastReceivedTimeMap.get(packet.getOriginAddress());
-        else {
-            lastReceivedTimePacketClassesMap = Collections.synchronizedMap(new HashMap<>());
-            lastReceivedTimeMap.put(packet.getOriginAddress(), lastReceivedTimePacketClassesMap);
-        }
-        Class<? extends JServerPacket> packetClass = packet.getClass();
-
-        if (lastReceivedTimePacketClassesMap.containsKey(packetClass)) {
-            long lastReceived = System.currentTimeMillis() - lastReceivedTimePacketClassesMap.get(packetClass);
-            if (lastReceived < timeLimitedPacket.getLimitDuration())
-                throw new JavunoPacketTimeoutException(
-                    String.format(
-                        "Packet of type %s was received less than %dms ago (∆%dms)",
-                        packetClass.getSimpleName(),
-                        timeLimitedPacket.getLimitDuration(),
-                        lastReceived
-                    ),
-                    true
-                );
-        }
-
-        lastReceivedTimePacketClassesMap.put(packetClass, System.currentTimeMillis());
+        long excessNanos = rateLimiter.tryAcquire(packet);
+        if (excessNanos > 0)
+            throw new JavunoPacketTimeoutException(
+                String.format(
+                    "Packet of type %s was received more than %d time(s) in %dms (retry in %dms)",
+                    packet.getClass().getSimpleName(),
+                    timeLimitedPacket.getLimitBurst(),
+                    timeLimitedPacket.getLimitDuration(),
+                    TimeUnit.NANOSECONDS.toMillis(excessNanos)
+                ),
+                true
+            );
     }
 
     /**
@@ -202,6 +193,21 @@ public final class JavunoServerPacketValidatorHandler {
         );
     }
 
+    /**
+     * Handles an incoming session resume packet, which a client sends instead of a connection packet after losing its
+     * socket. It will check that the resume token is valid before giving the client its seat back.
+     *
+     * @param resumePacket The session resume packet to handle.
+     */
+    private void handleSessionResumePacket(@NotNull JavunoPacketInSessionResume resumePacket) {
+        mvc.getController().onSessionResume(
+            resumePacket.getOriginAddress(),
+            resumePacket.getPlayerName(),
+            resumePacket.getResumeToken(),
+            resumePacket.getStateVersion()
+        );
+    }
+
     private void handlePlayerReadyChanged(
         @NotNull JavunoPacketInOutPlayerReadyChanged readyChangedPacket) throws JavunoBadPacketException {
         try {
@@ -218,6 +224,17 @@ public final class JavunoServerPacketValidatorHandler {
         }
     }
 
+    private void handleStateAckPacket(@NotNull JavunoPacketInStateAck stateAckPacket) {
+        try {
+            mvc.getController().onStateAck(stateAckPacket.getOriginAddress(), stateAckPacket.getStateVersion());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new JavunoBadPacketException(
+                String.format("Unable to acknowledge state: %s", e.getMessage()),
+                false
+            );
+        }
+    }
+
     private void validateChatPacket(@NotNull JavunoPacketInOutChatMessage chatPacket) throws JavunoBadPacketException {
         try {
             InetSocketAddress originAddress = getLobbyModel().getOriginAddress(chatPacket.getSenderName());
@@ -243,9 +260,4 @@ public final class JavunoServerPacketValidatorHandler {
     private ServerGameModel getModel() {
         return mvc.getController().getGameModel();
     }
-
-    @NotNull
-    private HostController getHostController() {
-        return mvc.getView().getMVC().getController().getHostController();
-    }
 }
@@ -1,12 +1,13 @@
 package solar.rpg.javuno.server.controllers;
 
 import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.concurrent.JavunoExecutorType;
 import solar.rpg.javuno.mvc.IController;
 import solar.rpg.javuno.mvc.JMVC;
+import solar.rpg.javuno.server.controllers.HostController.HostType;
 import solar.rpg.javuno.server.views.MainFrame;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 public class ServerAppController implements IController {
@@ -18,15 +19,22 @@ public class ServerAppController implements IController {
     @NotNull
     private final HostController serverHostController;
     @NotNull
-    private final ServerGameController serverGameController;
+    private final ServerRoomController serverRoomController;
 
-    public ServerAppController(@NotNull Logger logger) {
+    public ServerAppController(
+        @NotNull HostType hostType,
+        @NotNull JavunoExecutorType executorType,
+        @NotNull Logger logger) {
         this.logger = logger;
         mvc = new JMVC<>();
-        ExecutorService executor = Executors.newCachedThreadPool();
-
-        serverHostController = new HostController(executor, logger);
-        serverGameController = new ServerGameController(executor, logger);
+        ExecutorService executor = executorType.newExecutor("javuno-server-", logger);
+
+        serverHostController = new HostController(
+            hostType,
+            Runtime.getRuntime().availableProcessors(),
+            executor,
+            logger);
+        serverRoomController = new ServerRoomController(Runtime.getRuntime().availableProcessors(), logger);
     }
 
     @NotNull
@@ -35,8 +43,8 @@ public class ServerAppController implements IController {
     }
 
     @NotNull
-    public ServerGameController getGameController() {
-        return serverGameController;
+    public ServerRoomController getRoomController() {
+        return serverRoomController;
     }
 
     @Override
@@ -3,166 +3,386 @@ package solar.rpg.javuno.server.controllers;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import solar.rpg.javuno.models.cards.AbstractWildCard;
+import solar.rpg.javuno.models.cards.CardCode;
+import solar.rpg.javuno.models.cards.ColoredCard;
 import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.game.AbstractGameModel.GameState;
+import solar.rpg.javuno.models.game.AbstractGameModel.UnoChallengeState;
 import solar.rpg.javuno.models.game.ClientOpponent;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketReader;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketWriter;
 import solar.rpg.javuno.models.packets.out.*;
 import solar.rpg.javuno.models.packets.out.JavunoPacketOutConnectionRejected.ConnectionRejectionReason;
 import solar.rpg.javuno.mvc.IController;
 import solar.rpg.javuno.mvc.JMVC;
+import solar.rpg.javuno.server.bots.BotObservation;
+import solar.rpg.javuno.server.bots.IsmctsSearch;
+import solar.rpg.javuno.server.hibernation.HibernationStore;
+import solar.rpg.javuno.server.journal.GameJournal;
+import solar.rpg.javuno.server.journal.GameSnapshot;
+import solar.rpg.javuno.server.journal.JournalRecord;
+import solar.rpg.javuno.server.models.PacketRateLimiter;
 import solar.rpg.javuno.server.models.ServerGameLobbyModel;
 import solar.rpg.javuno.server.models.ServerGameModel;
+import solar.rpg.javuno.server.models.ServerGameStateLog;
 import solar.rpg.javuno.server.models.ServerGamePlayer;
+import solar.rpg.javuno.server.spectators.SpectatorWriter;
+import solar.rpg.javuno.server.timers.HashedTimingWheel;
+import solar.rpg.javuno.server.timers.HashedTimingWheel.Timeout;
 import solar.rpg.javuno.server.views.MainFrame;
-import solar.rpg.jserver.connection.handlers.packet.JServerHost;
 import solar.rpg.jserver.packet.JServerPacket;
 
+import java.io.IOException;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
+import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import static solar.rpg.javuno.models.cards.ColoredCard.CardColor;
 
+/**
+ * This controller represents a single room hosted by the server: one lobby, and the game that is running in it (if
+ * any). All of its state is owned by the room's mailbox, so every method must be called from the room executor.
+ *
+ * @author jskinner
+ * @see ServerRoomController
+ * @since 1.0.0
+ */
 public class ServerGameController implements IController {
 
+    /**
+     * How long the game start countdown lasts, in seconds.
+     */
+    //TODO Make this longer
+    private static final int GAME_START_SECONDS = 5;
+    /**
+     * How long a player who is down to their last card can be challenged for not calling UNO, in seconds.
+     */
+    private static final int UNO_CHALLENGE_SECONDS = 5;
+    /**
+     * Generates the resume tokens of every room.
+     */
+    private static final SecureRandom RESUME_TOKEN_RANDOM = new SecureRandom();
+
     @NotNull
     private final Logger logger;
     @NotNull
     private final JMVC<MainFrame, ServerGameController> mvc;
+    /**
+     * The name of this room.
+     */
     @NotNull
-    private final ExecutorService executor;
+    private final String roomName;
+    /**
+     * The mailbox of this room, which runs its tasks one at a time. All state of the room is only touched from here.
+     */
     @NotNull
-    private final ServerGameLobbyModel gameLobbyModel;
+    private final Executor roomExecutor;
+    /**
+     * Runs the countdowns and timers of this room. Expired timers hand their work back to the room executor.
+     */
+    @NotNull
+    private final HashedTimingWheel timingWheel;
+    /**
+     * The lobby of this room. {@code null} while the room is hibernating.
+     */
+    @Nullable
+    private ServerGameLobbyModel gameLobbyModel;
     @Nullable
     private ServerGameModel gameModel;
+    /**
+     * The most recent deltas of the game state stream, used to bring clients that fell behind up to date.
+     */
+    @Nullable
+    private ServerGameStateLog gameStateLog;
     @NotNull
     private final JavunoServerPacketValidatorHandler packetHandler;
+    /**
+     * The game start countdown, if the game is starting.
+     */
     @Nullable
-    private CompletableFuture<Void> currentGameStart;
+    private Timeout gameStartTimeout;
+    /**
+     * Draws for the current player if they do not take their turn in time.
+     */
+    @Nullable
+    private Timeout turnTimeout;
+    /**
+     * Closes the window in which the player who played the last card can be challenged for not calling UNO.
+     */
+    @Nullable
+    private Timeout unoChallengeTimeout;
+    /**
+     * Sends spectators the game state once the sampling interval has passed. Only scheduled after the game state has
+     * changed, and while there are spectators.
+     */
+    @Nullable
+    private Timeout spectatorSampleTimeout;
+    /**
+     * True, if the current player has just drawn a card that they may play.
+     */
+    private boolean hasDrawn;
+    /**
+     * The token that each player in the lobby can resume their session with, keyed by player name.
+     */
+    @NotNull
+    private final Map<String, String> resumeTokens;
+    /**
+     * Ends the grace period of each player who lost their socket, keyed by player name. Their seat is reserved until
+     * then: they stay in the lobby and the game, and the deltas that they miss are kept in the game state log.
+     */
+    @NotNull
+    private final Map<String, Timeout> reservedSeats;
+    /**
+     * The {@link System#nanoTime()} at which a packet or connection for this room was last handled.
+     */
+    private volatile long lastActiveNanos;
+    /**
+     * The store that holds the state of this room while it is hibernating. {@code null} if the room is awake.
+     */
+    @Nullable
+    private volatile HibernationStore hibernationStore;
+    /**
+     * The slot of {@link #hibernationStore} that holds the state of this room while it is hibernating.
+     */
+    private int hibernationSlot;
 
-    public ServerGameController(@NotNull ExecutorService executor, @NotNull Logger logger) {
-        this.executor = executor;
+    /**
+     * Constructs a new {@code ServerGameController} instance.
+     *
+     * @param roomName     The name of this room.
+     * @param roomExecutor The mailbox of this room, which runs its tasks one at a time.
+     * @param timingWheel  Runs the countdowns and timers of this room.
+     * @param rateLimiter  Limits how often each player can send each type of time limited packet.
+     * @param logger       Logging object.
+     */
+    public ServerGameController(
+        @NotNull String roomName,
+        @NotNull Executor roomExecutor,
+        @NotNull HashedTimingWheel timingWheel,
+        @NotNull PacketRateLimiter rateLimiter,
+        @NotNull Logger logger) {
+        this.roomName = roomName;
+        this.roomExecutor = roomExecutor;
+        this.timingWheel = timingWheel;
         this.logger = logger;
         mvc = new JMVC<>();
         gameLobbyModel = new ServerGameLobbyModel();
-        packetHandler = new JavunoServerPacketValidatorHandler(mvc, logger);
+        resumeTokens = new HashMap<>();
+        reservedSeats = new HashMap<>();
+        packetHandler = new JavunoServerPacketValidatorHandler(mvc, rateLimiter, logger);
+        lastActiveNanos = System.nanoTime();
     }
 
     /* Game Starting Logic */
 
     public void tryGameStart() {
-        if (gameLobbyModel.isInGame()) throw new IllegalStateException("Game has already started");
-        if (currentGameStart != null) {
-            if (!gameLobbyModel.canStart()) cancelGameStarting();
-        } else if (getGameLobbyModel().canStart()) setGameStarting();
+        if (getGameLobbyModel().isInGame()) throw new IllegalStateException("Game has already started");
+        if (gameStartTimeout != null) {
+            if (!canStartGame()) cancelGameStarting();
+        } else if (canStartGame()) setGameStarting();
+    }
+
+    /**
+     * A game can start once there are enough players to fill at least two seats, counting the bot seats. At least one
+     * human player must be ready.
+     *
+     * @return True, if a game can start.
+     */
+    private boolean canStartGame() {
+        int readyCount = getGameLobbyModel().getReadyPlayerCount();
+        return readyCount >= 1 && readyCount + getRoomController().getBotSeats() >= 2;
     }
 
     private void setGameStarting() {
-        if (currentGameStart != null) throw new IllegalStateException("Game is already starting");
-        currentGameStart = new CompletableFuture<>();
-
-        final CompletableFuture<Void> gameStart = currentGameStart;
-        executor.submit(() -> {
-            try {
-                //TODO Make this longer
-                Thread.sleep(TimeUnit.SECONDS.toMillis(5));
-                if (!gameStart.isCancelled()) onStartGame();
-            } catch (InterruptedException ignored) {
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        });
+        if (gameStartTimeout != null) throw new IllegalStateException("Game is already starting");
+
+        // The countdown may expire just as it is cancelled, so the room checks that the current one has expired
+        gameStartTimeout = timingWheel.schedule(
+            () -> roomExecutor.execute(() -> {
+                if (gameStartTimeout != null && gameStartTimeout.isExpired()) onStartGame();
+            }),
+            GAME_START_SECONDS,
+            TimeUnit.SECONDS);
     }
 
     private void cancelGameStarting() {
-        if (currentGameStart == null) throw new IllegalStateException("Game is not starting");
-        currentGameStart.cancel(true);
-        currentGameStart = null;
+        if (gameStartTimeout == null) throw new IllegalStateException("Game is not starting");
+        gameStartTimeout.cancel();
+        gameStartTimeout = null;
     }
 
     private void onStartGame() {
-        if (currentGameStart == null) throw new IllegalStateException("Game is not starting");
-        currentGameStart.complete(null);
-        currentGameStart = null;
-
-        gameLobbyModel.setInGame(true);
-        gameModel = new ServerGameModel(
-            gameLobbyModel.getReadyPlayerNames().stream().map(ServerGamePlayer::new).collect(Collectors.toList()));
+        if (gameStartTimeout == null) throw new IllegalStateException("Game is not starting");
+        gameStartTimeout = null;
 
-        for (String playerName : gameLobbyModel.getLobbyPlayerNames()) {
-            InetSocketAddress originAddress = gameLobbyModel.getOriginAddress(playerName);
-
-            List<ICard> playerCards = gameModel.doesPlayerExist(playerName)
-                ? gameModel.getPlayer(gameModel.getPlayerIndex(playerName)).getCards()
-                : null;
-
-            getHostController().getServerHost().writePacket(
-                originAddress,
-                new JavunoPacketOutGameStart(
-                    playerCards,
-                    gameModel.getDiscardPile(),
-                    getClientGamePlayers(),
-                    gameModel.getCurrentPlayerIndex(),
-                    gameModel.getDirection()
-                )
-            );
+        getGameLobbyModel().setInGame(true);
+        List<ServerGamePlayer> players = new ArrayList<>();
+        for (String playerName : getGameLobbyModel().getReadyPlayerNames()) players.add(new ServerGamePlayer(playerName));
+        for (int i = 1, botSeats = getRoomController().getBotSeats(); botSeats > 0; i++) {
+            String botName = String.format("Bot%d", i);
+            if (getGameLobbyModel().doesPlayerExist(botName)) continue;
+            players.add(new ServerGamePlayer(botName, true));
+            botSeats--;
         }
+        gameModel = new ServerGameModel(players);
+        hasDrawn = false;
+        gameStateLog = new ServerGameStateLog(gameModel.getStateVersion());
+        seatPlayers();
+        appendJournal(JournalRecord.gameStart(roomName, gameModel.getSeed(), players));
+
+        // The discard pile and opponents are the same for everybody, so they are built and encoded once.
+        writeGameStateAll(new JavunoPacketOutGameStart(
+            null,
+            gameModel.getDiscardPile(),
+            getClientGamePlayers(),
+            gameModel.getCurrentPlayerIndex(),
+            gameModel.getDirection(),
+            gameModel.getStateVersion()
+        ));
 
         gameModel.start();
+        onTurnChanged(false);
     }
 
     /* Lobby Events */
 
     public void onPlayerReadyChanged(@NotNull InetSocketAddress originAddress, boolean isReady) {
-        String playerName = gameLobbyModel.getPlayerName(originAddress);
+        String playerName = getGameLobbyModel().getPlayerName(originAddress);
 
-        if (isReady) gameLobbyModel.markPlayerReady(playerName);
-        else gameLobbyModel.unmarkPlayerReady(playerName);
+        if (isReady) getGameLobbyModel().markPlayerReady(playerName);
+        else getGameLobbyModel().unmarkPlayerReady(playerName);
     }
 
-    public void onPlayerDisconnect(@NotNull InetSocketAddress originAddress) {
-        String oldPlayerName = gameLobbyModel.getPlayerName(originAddress);
-        gameLobbyModel.removePlayer(originAddress);
-        getPacketHandler().onPlayerDisconnect(originAddress);
-        getHostController().getServerHost().writePacketAll(new JavunoPacketOutPlayerDisconnect(oldPlayerName));
+    /**
+     * Called once the socket of a player has closed. If the player can resume their session, their seat is reserved
+     * for the grace period, and nobody is told that they left unless it expires. Otherwise, the player leaves the room.
+     *
+     * @param originAddress The origin address of the closed socket.
+     * @return True, if the seat of the player is now reserved.
+     */
+    public boolean onPlayerDisconnect(@NotNull InetSocketAddress originAddress) {
+        String playerName = getGameLobbyModel().getPlayerName(originAddress);
+        int resumeGraceSeconds = getRoomController().getResumeGraceSeconds();
+        if (resumeGraceSeconds == 0 || !resumeTokens.containsKey(playerName)) {
+            removePlayer(playerName);
+            return false;
+        }
+
+        Timeout graceTimeout = reservedSeats.remove(playerName);
+        if (graceTimeout != null) graceTimeout.cancel();
+        // The seat may be resumed just as the grace period ends, so the room checks that the current one has expired
+        reservedSeats.put(
+            playerName,
+            timingWheel.schedule(
+                () -> roomExecutor.execute(() -> onReservedSeatExpired(playerName)),
+                resumeGraceSeconds,
+                TimeUnit.SECONDS));
+        logger.log(Level.FINE, String.format("Reserved seat of %s in room %s", playerName, roomName));
+        return true;
+    }
+
+    private void onReservedSeatExpired(@NotNull String playerName) {
+        Timeout graceTimeout = reservedSeats.get(playerName);
+        if (graceTimeout == null || !graceTimeout.isExpired()) return;
+
+        reservedSeats.remove(playerName);
+        logger.log(Level.FINE, String.format("Reserved seat of %s in room %s expired", playerName, roomName));
+        removePlayer(playerName);
+        // The reserved seat was counted in place of the connection that was lost
+        getRoomController().releaseConnection(this);
+    }
+
+    /**
+     * Removes a player from the lobby, and tells everyone else that they left.
+     *
+     * @param playerName The name of the player.
+     */
+    private void removePlayer(@NotNull String playerName) {
+        getGameLobbyModel().removePlayer(getGameLobbyModel().getOriginAddress(playerName));
+        resumeTokens.remove(playerName);
+        appendJournal(JournalRecord.playerLeave(roomName, playerName));
+        if (gameStateLog != null) gameStateLog.removePlayer(playerName);
+        writePacketAll(new JavunoPacketOutPlayerDisconnect(playerName));
+        if (!getGameLobbyModel().isInGame() && gameStartTimeout != null && !canStartGame())
+            cancelGameStarting();
     }
 
     private void onPlayerConnect(@NotNull String playerName, @NotNull InetSocketAddress originAddress) {
-        gameLobbyModel.addPlayer(playerName, originAddress);
+        getGameLobbyModel().addPlayer(playerName, originAddress);
+        appendJournal(JournalRecord.playerJoin(roomName, playerName));
     }
 
     /* Client Events */
 
     public void onDrawCards(@NotNull InetSocketAddress originAddress) {
-        String playerName = getGameLobbyModel().getPlayerName(originAddress);
-        if (!getGameModel().isCurrentPlayer(playerName))
-            throw new IllegalStateException(String.format("%s is not the current player", playerName));
-        if (!getGameModel().getGameState().canDraw())
-            throw new IllegalStateException(String.format("Not expecting this action from %s", playerName));
+        boolean nextTurn = drawCards(getGameLobbyModel().getPlayerName(originAddress), originAddress);
+        onTurnChanged(!nextTurn);
+    }
 
-        List<ICard> cardsToDraw = mvc.getController().getDrawnCards(playerName);
+    /**
+     * Draws cards for the current player. The drawn cards are only revealed to the player who drew them.
+     *
+     * @param playerName    The name of the player.
+     * @param originAddress The player's origin address, or {@code null} if they are a bot.
+     * @return True, if it is now the next player's turn.
+     * @throws IllegalStateException The player is not the current player, or the game state does not allow drawing.
+     */
+    private boolean drawCards(@NotNull String playerName, @Nullable InetSocketAddress originAddress) {
+        List<ICard> cardsToDraw = getDrawnCards(playerName);
+        boolean nextTurn = applyDrawnCards(playerName, cardsToDraw);
+        appendJournal(JournalRecord.drawCards(roomName, playerName));
 
+        int sequence = getGameModel().getStateVersion();
+        JavunoPacketOutDrawCards drawCardsPacket = new JavunoPacketOutDrawCards(
+            playerName,
+            cardsToDraw.size(),
+            nextTurn,
+            sequence
+        );
+        JavunoPacketOutReceiveCards receiveCardsPacket = new JavunoPacketOutReceiveCards(
+            playerName,
+            cardsToDraw,
+            nextTurn,
+            sequence
+        );
+        if (originAddress == null) {
+            getGameStateLog().append(drawCardsPacket, null, null);
+            writeStateDelta(drawCardsPacket, null);
+        } else {
+            getGameStateLog().append(drawCardsPacket, playerName, receiveCardsPacket);
+            writeStateDelta(drawCardsPacket, originAddress);
+            writePacket(originAddress, receiveCardsPacket);
+        }
+        return nextTurn;
+    }
+
+    /**
+     * Adds drawn cards to the hand of the current player, without notifying anyone.
+     *
+     * @param playerName  The name of the player.
+     * @param cardsToDraw The cards that were drawn for the player.
+     * @return True, if it is now the next player's turn.
+     */
+    private boolean applyDrawnCards(@NotNull String playerName, @NotNull List<ICard> cardsToDraw) {
         getGameModel().getPlayer(getGameModel().getPlayerIndex(playerName)).getCards().addAll(cardsToDraw);
 
         boolean nextTurn = cardsToDraw.size() != 1 || !getGameModel().isCardPlayable(cardsToDraw.get(0));
         getGameModel().onDrawCards(nextTurn);
-
-        getHostController().getServerHost().writePacketAllExcept(new JavunoPacketOutDrawCards(
-            playerName,
-            cardsToDraw.size(),
-            nextTurn
-        ), originAddress);
-        getHostController().getServerHost().writePacket(
-            originAddress,
-            new JavunoPacketOutReceiveCards(
-                playerName,
-                cardsToDraw,
-                nextTurn
-            )
-        );
+        hasDrawn = !nextTurn;
+        return nextTurn;
     }
 
     /**
@@ -177,7 +397,44 @@ public class ServerGameController implements IController {
      * @throws IllegalArgumentException Chosen color was provided where selected selected card is not a wild card.
      */
     public void onPlayCard(@NotNull InetSocketAddress originAddress, int cardIndex, @Nullable CardColor chosenColor) {
-        String playerName = getGameLobbyModel().getPlayerName(originAddress);
+        playCard(getGameLobbyModel().getPlayerName(originAddress), cardIndex, chosenColor);
+        onTurnChanged(false);
+    }
+
+    /**
+     * Plays a card from the current player's hand.
+     *
+     * @param playerName  The name of the player.
+     * @param cardIndex   The index of the card to play.
+     * @param chosenColor The chosen card color, if a wild card was played (otherwise null).
+     * @see #onPlayCard(InetSocketAddress, int, CardColor)
+     */
+    private void playCard(@NotNull String playerName, int cardIndex, @Nullable CardColor chosenColor) {
+        ICard card = applyPlayCard(playerName, cardIndex, chosenColor);
+        openUnoChallengeWindow(getGameModel().getPlayer(getGameModel().getPlayerIndex(playerName)));
+        appendJournal(JournalRecord.playCard(roomName, playerName, cardIndex, chosenColor));
+        JavunoPacketOutPlayCard playCardPacket = new JavunoPacketOutPlayCard(
+            playerName,
+            card,
+            chosenColor,
+            cardIndex,
+            getGameModel().getStateVersion()
+        );
+        getGameStateLog().append(playCardPacket, null, null);
+        writeStateDelta(playCardPacket, null);
+    }
+
+    /**
+     * Plays a card from the current player's hand, without notifying anyone.
+     *
+     * @param playerName  The name of the player.
+     * @param cardIndex   The index of the card to play.
+     * @param chosenColor The chosen card color, if a wild card was played (otherwise null).
+     * @return The played card.
+     * @see #playCard(String, int, CardColor)
+     */
+    @NotNull
+    private ICard applyPlayCard(@NotNull String playerName, int cardIndex, @Nullable CardColor chosenColor) {
         if (!getGameModel().isCurrentPlayer(playerName))
             throw new IllegalStateException(String.format("%s is not the current player", playerName));
         if (!getGameModel().getGameState().canPlay())
@@ -185,13 +442,440 @@ public class ServerGameController implements IController {
         ServerGamePlayer player = getGameModel().getPlayer(getGameModel().getPlayerIndex(playerName));
         ICard card = player.getCards().remove(cardIndex);
 
-        if (card instanceof AbstractWildCard wildCard) {
+        if (card instanceof AbstractWildCard) {
             if (chosenColor == null) throw new IllegalArgumentException("Chosen color has not been provided");
-            wildCard.setChosenCardColor(chosenColor);
         } else if (chosenColor != null) throw new IllegalArgumentException("Expected chosen color to be null");
 
-        getGameModel().playCard(card);
-        getHostController().getServerHost().writePacketAll(new JavunoPacketOutPlayCard(playerName, card, cardIndex));
+        getGameModel().playCard(card, chosenColor);
+        hasDrawn = false;
+        return card;
+    }
+
+    /* Journal */
+
+    /**
+     * Re-applies an event that was recovered from the journal. A snapshot replaces the game state that the previous
+     * records of this room built. Only the game state is rebuilt: nobody is notified, and no timers are started until
+     * {@link #onJournalRecovered()}. Players who were in the lobby are not restored, as they have to connect again.
+     *
+     * @param record The recovered record.
+     * @throws IllegalStateException The record does not apply to the current game state.
+     */
+    public void replay(@NotNull JournalRecord record) {
+        wake();
+        switch (record.getType()) {
+            case GAME_START -> {
+                gameModel = new ServerGameModel(record.createPlayers(), record.getSeed());
+                gameModel.start();
+                hasDrawn = false;
+            }
+            case SNAPSHOT -> {
+                GameSnapshot snapshot = record.getSnapshot();
+                gameModel = snapshot.restore();
+                hasDrawn = snapshot.hasDrawn();
+            }
+            case DRAW_CARDS -> {
+                String playerName = record.getPlayerName();
+                applyDrawnCards(playerName, getDrawnCards(playerName));
+            }
+            case PLAY_CARD -> {
+                applyPlayCard(record.getPlayerName(), record.getCardIndex(), record.getChosenColor());
+                // UNO challenge windows are short-lived, so they are not restored
+                getGameModel().setUnoChallengeState(UnoChallengeState.NOT_APPLICABLE);
+            }
+            case ROOM_CLOSED -> gameModel = null;
+            case PLAYER_JOIN, PLAYER_LEAVE -> {
+            }
+        }
+    }
+
+    /**
+     * Called once every journal record of this room has been replayed. If a game was running, it resumes, so that
+     * players can rejoin it and the turn timer and bot players pick up where they left off.
+     */
+    public void onJournalRecovered() {
+        wake();
+        if (gameModel == null) return;
+
+        getGameLobbyModel().setInGame(true);
+        gameStateLog = new ServerGameStateLog(gameModel.getStateVersion());
+        seatPlayers();
+        logger.log(
+            Level.INFO,
+            String.format("Recovered game in room %s at version %d", roomName, gameModel.getStateVersion()));
+        onTurnChanged(hasDrawn);
+    }
+
+    /**
+     * Appends a snapshot of the running game to the journal, if any. Once this has been called for every room, the
+     * journal no longer needs the records from before the checkpoint started.
+     */
+    public void onCheckpoint() {
+        // Hibernating rooms already hold an encoded snapshot, so they are not woken up
+        HibernationStore store = hibernationStore;
+        if (store != null) {
+            JavunoPacketReader reader = createHibernatedReader(store.read(hibernationSlot));
+            if (reader.readBoolean()) appendJournal(JournalRecord.snapshot(roomName, GameSnapshot.read(reader)));
+            return;
+        }
+
+        if (gameModel == null) return;
+        appendJournal(JournalRecord.snapshot(roomName, GameSnapshot.capture(gameModel, hasDrawn)));
+    }
+
+    /**
+     * Called once this room has been discarded. Its timers are cancelled, and its game is ended.
+     */
+    public void onRoomClosed() {
+        wake();
+        if (gameStartTimeout != null) cancelGameStarting();
+        if (turnTimeout != null) turnTimeout.cancel();
+        if (unoChallengeTimeout != null) unoChallengeTimeout.cancel();
+        if (spectatorSampleTimeout != null) spectatorSampleTimeout.cancel();
+        turnTimeout = null;
+        unoChallengeTimeout = null;
+        spectatorSampleTimeout = null;
+        for (Timeout graceTimeout : reservedSeats.values()) graceTimeout.cancel();
+        reservedSeats.clear();
+
+        if (gameModel != null) appendJournal(JournalRecord.roomClosed(roomName));
+        gameModel = null;
+        gameStateLog = null;
+    }
+
+    /* Hibernation */
+
+    /**
+     * Called before a packet or connection for this room is handled. Marks the room as active, and rehydrates it first
+     * if it is hibernating.
+     */
+    public void wake() {
+        lastActiveNanos = System.nanoTime();
+        HibernationStore store = hibernationStore;
+        if (store == null) return;
+
+        hibernationStore = null;
+        JavunoPacketReader reader = createHibernatedReader(store.remove(hibernationSlot));
+        if (reader.readBoolean()) {
+            GameSnapshot snapshot = GameSnapshot.read(reader);
+            gameModel = snapshot.restore();
+            hasDrawn = snapshot.hasDrawn();
+            // Clients that acknowledge an earlier version are sent a full snapshot
+            gameStateLog = new ServerGameStateLog(gameModel.getStateVersion());
+        }
+
+        ServerGameLobbyModel lobbyModel = new ServerGameLobbyModel();
+        int playerCount = reader.readVarInt();
+        for (int i = 0; i < playerCount; i++) {
+            String playerName = reader.readString();
+            lobbyModel.addPlayer(playerName, readOriginAddress(reader));
+            if (reader.readBoolean()) lobbyModel.markPlayerReady(playerName);
+            String resumeToken = reader.readNullableString();
+            if (resumeToken != null) resumeTokens.put(playerName, resumeToken);
+        }
+        lobbyModel.setInGame(reader.readBoolean());
+        gameLobbyModel = lobbyModel;
+        if (gameModel != null) seatPlayers();
+        logger.log(Level.FINER, String.format("Rehydrated room %s", roomName));
+    }
+
+    /**
+     * Moves the state of this room into a hibernation store, if it has been idle for long enough and has nothing
+     * scheduled. The room is rehydrated by {@link #wake()} once a packet or connection for it arrives.
+     *
+     * @param store     The store to move the state of this room into.
+     * @param idleNanos How long the room must have been idle for.
+     * @return True, if the room is now hibernating.
+     */
+    public boolean hibernate(@NotNull HibernationStore store, long idleNanos) {
+        if (hibernationStore != null) return true;
+        if (!isIdle(idleNanos)) return false;
+        // Timers and bot searches expect the room to be awake when they finish
+        if (gameStartTimeout != null || turnTimeout != null || unoChallengeTimeout != null) return false;
+        if (spectatorSampleTimeout != null) return false;
+        if (!reservedSeats.isEmpty()) return false;
+        if (gameModel != null && gameModel.getPlayer(gameModel.getCurrentPlayerIndex()).isBot()) return false;
+
+        ServerGameLobbyModel lobbyModel = getGameLobbyModel();
+        JavunoPacketWriter writer = new JavunoPacketWriter(256);
+        writer.writeBoolean(gameModel != null);
+        if (gameModel != null) GameSnapshot.capture(gameModel, hasDrawn).write(writer);
+        writer.writeVarInt(lobbyModel.getLobbyPlayerNames().size());
+        for (String playerName : lobbyModel.getLobbyPlayerNames()) {
+            writer.writeString(playerName);
+            writeOriginAddress(writer, lobbyModel.getOriginAddress(playerName));
+            writer.writeBoolean(lobbyModel.isPlayerReady(playerName));
+            writer.writeNullableString(resumeTokens.get(playerName));
+        }
+        writer.writeBoolean(lobbyModel.isInGame());
+
+        int slot;
+        try {
+            slot = store.store(writer.toByteArray());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, String.format("Unable to hibernate room %s", roomName), e);
+            return false;
+        }
+        if (slot < 0) return false;
+
+        hibernationSlot = slot;
+        hibernationStore = store;
+        gameLobbyModel = null;
+        gameModel = null;
+        gameStateLog = null;
+        resumeTokens.clear();
+        logger.log(Level.FINER, String.format("Hibernated room %s", roomName));
+        return true;
+    }
+
+    /**
+     * @param idleNanos How long the room must have been idle for.
+     * @return True, if no packet or connection for this room has been handled for at least the given time.
+     */
+    public boolean isIdle(long idleNanos) {
+        return System.nanoTime() - lastActiveNanos >= idleNanos;
+    }
+
+    /**
+     * @return True, if the state of this room has been moved into a hibernation store.
+     */
+    public boolean isHibernating() {
+        return hibernationStore != null;
+    }
+
+    @NotNull
+    private static JavunoPacketReader createHibernatedReader(@NotNull byte[] data) {
+        return new JavunoPacketReader(data, 0, data.length);
+    }
+
+    private static void writeOriginAddress(@NotNull JavunoPacketWriter writer, @NotNull InetSocketAddress address) {
+        byte[] addressBytes = address.getAddress().getAddress();
+        writer.writeVarInt(addressBytes.length);
+        for (byte addressByte : addressBytes) writer.writeByte(addressByte);
+        writer.writeVarInt(address.getPort());
+    }
+
+    @NotNull
+    private static InetSocketAddress readOriginAddress(@NotNull JavunoPacketReader reader) {
+        byte[] addressBytes = new byte[reader.readVarInt()];
+        for (int i = 0; i < addressBytes.length; i++) addressBytes[i] = (byte) reader.readByte();
+        try {
+            return new InetSocketAddress(InetAddress.getByAddress(addressBytes), reader.readVarInt());
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Hibernated origin address is invalid", e);
+        }
+    }
+
+    /**
+     * Appends a record to the journal, if journaling is enabled.
+     *
+     * @param record The record to append.
+     */
+    private void appendJournal(@NotNull JournalRecord record) {
+        GameJournal journal = getRoomController().getJournal();
+        if (journal != null) journal.append(record);
+    }
+
+    /* Timers */
+
+    /**
+     * Called after every action that may have changed whose turn it is. Restarts the turn timer, and lets the current
+     * player move if they are a bot.
+     *
+     * @param hasDrawn True, if the current player has just drawn a card that they may play.
+     */
+    private void onTurnChanged(boolean hasDrawn) {
+        restartTurnTimeout();
+        scheduleBotTurn(hasDrawn);
+    }
+
+    /**
+     * Gives the current player a limited amount of time to take their turn. Bots are not timed, as their moves are
+     * already time-limited.
+     */
+    private void restartTurnTimeout() {
+        if (turnTimeout != null) turnTimeout.cancel();
+        turnTimeout = null;
+
+        ServerGameModel model = getGameModel();
+        int turnTimeoutSeconds = getRoomController().getTurnTimeoutSeconds();
+        if (turnTimeoutSeconds == 0 || !model.getGameState().canDraw()) return;
+        if (model.getPlayer(model.getCurrentPlayerIndex()).isBot()) return;
+
+        int stateVersion = model.getStateVersion();
+        turnTimeout = timingWheel.schedule(
+            () -> roomExecutor.execute(() -> onTurnTimeout(model, stateVersion)),
+            turnTimeoutSeconds,
+            TimeUnit.SECONDS);
+    }
+
+    /**
+     * Draws for the current player, who has run out of time to take their turn.
+     *
+     * @param model        The game that the turn timer was started in.
+     * @param stateVersion The game state version that the turn timer was started at.
+     */
+    private void onTurnTimeout(@NotNull ServerGameModel model, int stateVersion) {
+        if (gameModel != model || model.getStateVersion() != stateVersion) return;
+
+        String playerName = model.getCurrentPlayerName();
+        logger.log(Level.FINE, String.format("%s ran out of time in room %s", playerName, roomName));
+
+        // Players who have left the lobby have nobody to reveal their drawn cards to
+        InetSocketAddress originAddress = getGameLobbyModel().doesPlayerExist(playerName)
+            ? getGameLobbyModel().getOriginAddress(playerName)
+            : null;
+        boolean nextTurn = drawCards(playerName, originAddress);
+        onTurnChanged(!nextTurn);
+    }
+
+    /**
+     * Closes the previous UNO challenge window, and opens a new one if the player who just played a card is down to
+     * their last card without having called UNO.
+     *
+     * @param player The player who just played a card.
+     */
+    private void openUnoChallengeWindow(@NotNull ServerGamePlayer player) {
+        if (unoChallengeTimeout != null) unoChallengeTimeout.cancel();
+        unoChallengeTimeout = null;
+
+        ServerGameModel model = getGameModel();
+        if (player.getCardCount() != 1 || player.isUno()) {
+            model.setUnoChallengeState(UnoChallengeState.NOT_APPLICABLE);
+            return;
+        }
+
+        model.setUnoChallengeState(UnoChallengeState.NOT_CALLED);
+        unoChallengeTimeout = timingWheel.schedule(
+            () -> roomExecutor.execute(() -> {
+                if (unoChallengeTimeout == null || !unoChallengeTimeout.isExpired()) return;
+                unoChallengeTimeout = null;
+                model.setUnoChallengeState(UnoChallengeState.NOT_APPLICABLE);
+            }),
+            UNO_CHALLENGE_SECONDS,
+            TimeUnit.SECONDS);
+    }
+
+    /* Bot Players */
+
+    /**
+     * If the current player is a bot, starts searching for its next move. The move is made on the room executor once
+     * the search has finished, unless the game has moved on in the meantime.
+     *
+     * @param hasDrawn True, if the current player has just drawn a card that they may play.
+     */
+    private void scheduleBotTurn(boolean hasDrawn) {
+        ServerGameModel model = getGameModel();
+        if (!model.getPlayer(model.getCurrentPlayerIndex()).isBot()) return;
+        if (model.getGameState() == GameState.AWAITING_INITIAL_COLOR)
+            chooseInitialColor(chooseBotColor(model.getCurrentPlayerCards()));
+
+        ServerRoomController roomController = getRoomController();
+        int stateVersion = model.getStateVersion();
+        roomController.getBotSearchService()
+            .chooseAction(
+                BotObservation.observe(model, hasDrawn),
+                TimeUnit.MILLISECONDS.toNanos(roomController.getBotMoveMillis()))
+            .whenComplete((action, ex) -> {
+                if (ex != null) logger.log(Level.WARNING, String.format("Bot search failed in room %s", roomName), ex);
+                else roomExecutor.execute(() -> onBotAction(model, stateVersion, action));
+            });
+    }
+
+    /**
+     * @param playerName The player name to check.
+     * @return True, if a bot player in the running game has the given name. Bots are not in the lobby, so their names
+     * must be reserved separately.
+     */
+    private boolean isBotPlayer(@NotNull String playerName) {
+        if (gameModel == null || !gameModel.doesPlayerExist(playerName)) return false;
+        return gameModel.getPlayer(gameModel.getPlayerIndex(playerName)).isBot();
+    }
+
+    /**
+     * Chooses the color of a wild card for a bot player: the color that it holds the most cards of.
+     *
+     * @param cards The cards of the bot player.
+     * @return The chosen color.
+     */
+    @NotNull
+    private static CardColor chooseBotColor(@NotNull List<ICard> cards) {
+        CardColor[] colors = CardColor.values();
+        int[] counts = new int[colors.length];
+        for (ICard card : cards)
+            if (card instanceof ColoredCard coloredCard) counts[coloredCard.getCardColor().ordinal()]++;
+
+        int result = 0;
+        for (int i = 1; i < counts.length; i++)
+            if (counts[i] > counts[result]) result = i;
+        return colors[result];
+    }
+
+    /**
+     * Sets the color of the wild card that the game started with. The game state stream has no delta for this, so
+     * every player is sent the game state as a whole, and a snapshot is journaled so that the game can be recovered.
+     *
+     * @param chosenColor The color chosen by the starting player.
+     */
+    private void chooseInitialColor(@NotNull CardColor chosenColor) {
+        getGameModel().chooseInitialColor(chosenColor);
+        // Clients that acknowledge an earlier version are sent a full snapshot
+        gameStateLog = new ServerGameStateLog(getGameModel().getStateVersion());
+        appendJournal(JournalRecord.snapshot(roomName, GameSnapshot.capture(getGameModel(), hasDrawn)));
+        writeGameStateAll(getSharedGameStatePacket());
+    }
+
+    /**
+     * Makes the move that was chosen for the current bot player.
+     *
+     * @param model        The game that the move was chosen for.
+     * @param stateVersion The game state version that the move was chosen for.
+     * @param action       The chosen action.
+     */
+    private void onBotAction(@NotNull ServerGameModel model, int stateVersion, int action) {
+        if (gameModel != model || model.getStateVersion() != stateVersion) return;
+
+        String playerName = model.getCurrentPlayerName();
+        if (action == IsmctsSearch.ACTION_DRAW) {
+            boolean nextTurn = drawCards(playerName, null);
+            onTurnChanged(!nextTurn);
+            return;
+        }
+
+        int code = CardCode.isWild(action) ? CardCode.withColor(action, null) : action;
+        List<ICard> cards = model.getCurrentPlayerCards();
+        int cardIndex = 0;
+        while (cards.get(cardIndex).getCode() != code) cardIndex++;
+
+        playCard(playerName, cardIndex, CardCode.isWild(action) ? CardCode.getColor(action) : null);
+        onTurnChanged(false);
+    }
+
+    /**
+     * This method is called when a client acknowledges the last game state version that it has applied. If the client
+     * is behind, it is sent the deltas that it missed, or a full snapshot if it has fallen too far behind. Spectators
+     * are not sent anything, as the next game state update that they are streamed brings them up to date.
+     *
+     * @param originAddress The player's origin address.
+     * @param stateVersion  The last game state version that the client has applied.
+     * @throws IllegalStateException    Game is not running.
+     * @throws IllegalArgumentException State version is ahead of the server.
+     */
+    public void onStateAck(@NotNull InetSocketAddress originAddress, int stateVersion) {
+        String playerName = getGameLobbyModel().getPlayerName(originAddress);
+        ServerGameStateLog stateLog = getGameStateLog();
+        if (!getGameLobbyModel().isSeated(playerName)) return;
+        stateLog.acknowledge(playerName, stateVersion);
+        if (stateVersion == stateLog.getLatestVersion()) return;
+
+        List<JServerPacket> deltas = stateLog.getDeltasSince(stateVersion, playerName);
+        if (deltas == null) {
+            logger.log(
+                Level.FINE,
+                String.format("%s is too far behind (v%d), sending snapshot", playerName, stateVersion)
+            );
+            writePacket(originAddress, getGameStatePacket(playerName));
+        } else for (JServerPacket delta : deltas) writePacket(originAddress, delta);
     }
 
     /**
@@ -206,7 +890,7 @@ public class ServerGameController implements IController {
         @NotNull InetSocketAddress originAddress,
         @NotNull String wantedPlayerName,
         @NotNull String serverPassword) {
-        JServerHost serverHost = getHostController().getServerHost();
+        IJavunoServerHost serverHost = getHostController().getServerHost();
 
         boolean closeSocket = false;
         JServerPacket packetToWrite;
@@ -214,33 +898,276 @@ public class ServerGameController implements IController {
         if (!serverPassword.isEmpty() && !serverPassword.equals(getHostController().getServerPassword())) {
             packetToWrite = new JavunoPacketOutConnectionRejected(ConnectionRejectionReason.INCORRECT_PASSWORD);
             closeSocket = true;
-        } else if (getGameLobbyModel().doesPlayerExist(wantedPlayerName)) {
+        } else if (getGameLobbyModel().doesPlayerExist(wantedPlayerName) || isBotPlayer(wantedPlayerName)) {
             packetToWrite = new JavunoPacketOutConnectionRejected(ConnectionRejectionReason.USERNAME_ALREADY_TAKEN);
             closeSocket = true;
         } else if (!wantedPlayerName.matches("^[a-zA-Z0-9]*$")) {
             packetToWrite = new JavunoPacketOutConnectionRejected(ConnectionRejectionReason.INVALID_USERNAME);
             closeSocket = true;
+        } else if (getGameLobbyModel().isInGame()
+            && !getGameLobbyModel().isSeated(wantedPlayerName)
+            && getGameLobbyModel().getSpectatorOriginAddresses().size() >= getRoomController().getSpectatorCap()) {
+            packetToWrite = new JavunoPacketOutConnectionRejected(ConnectionRejectionReason.SPECTATOR_LIMIT_REACHED);
+            closeSocket = true;
         } else {
             onPlayerConnect(wantedPlayerName, originAddress);
+            String resumeToken = null;
+            if (getRoomController().getResumeGraceSeconds() > 0) {
+                resumeToken = createResumeToken();
+                resumeTokens.put(wantedPlayerName, resumeToken);
+            }
             packetToWrite = new JavunoPacketOutConnectionAccepted(
                 wantedPlayerName,
-                gameLobbyModel.getLobbyPlayerNames(),
-                gameLobbyModel.isInGame()
+                getGameLobbyModel().getLobbyPlayerNames(),
+                getGameLobbyModel().isInGame()
                     ? null
-                    : gameLobbyModel.getReadyPlayerNames(),
-                gameLobbyModel.isInGame()
+                    : getGameLobbyModel().getReadyPlayerNames(),
+                getGameLobbyModel().isInGame()
                     ? getGameStatePacket(wantedPlayerName)
-                    : null
+                    : null,
+                serverHost.getCodecVersion(originAddress),
+                resumeToken
             );
-            serverHost.writePacketAllExcept(new JavunoPacketOutPlayerConnect(wantedPlayerName), originAddress);
+            writePacketAllExcept(new JavunoPacketOutPlayerConnect(wantedPlayerName), originAddress);
         }
 
-        serverHost.writePacket(originAddress, packetToWrite);
+        serverHost.sendPacket(originAddress, packetToWrite);
         if (closeSocket) serverHost.closeSocket(originAddress);
     }
 
+    /**
+     * This method is called when a client that lost its socket sends through a session resume packet. If the resume
+     * token is valid, the player takes back their seat from the new origin address, and is only sent what they missed:
+     * the lobby, followed by the deltas of the game state stream since the given version. If they have fallen too far
+     * behind, the full game state is sent instead of the deltas. Otherwise, a rejected packet is sent.
+     *
+     * @param originAddress The new origin address of the player.
+     * @param playerName    The name that the player was accepted with.
+     * @param resumeToken   The resume token that the player was issued.
+     * @param stateVersion  The last game state version that the client has applied, or -1 if it was not in a game.
+     */
+    public void onSessionResume(
+        @NotNull InetSocketAddress originAddress,
+        @NotNull String playerName,
+        @NotNull String resumeToken,
+        int stateVersion) {
+        IJavunoServerHost serverHost = getHostController().getServerHost();
+        String expectedToken = resumeTokens.get(playerName);
+        if (expectedToken == null || !MessageDigest.isEqual(
+            expectedToken.getBytes(StandardCharsets.US_ASCII),
+            resumeToken.getBytes(StandardCharsets.US_ASCII))) {
+            serverHost.sendPacket(
+                originAddress,
+                new JavunoPacketOutConnectionRejected(ConnectionRejectionReason.SESSION_EXPIRED));
+            serverHost.closeSocket(originAddress);
+            return;
+        }
+
+        ServerGameLobbyModel lobbyModel = getGameLobbyModel();
+        InetSocketAddress oldOriginAddress = lobbyModel.getOriginAddress(playerName);
+        lobbyModel.replaceOriginAddress(playerName, originAddress);
+        Timeout graceTimeout = reservedSeats.remove(playerName);
+        if (graceTimeout != null) {
+            graceTimeout.cancel();
+            // The new connection is counted in place of the reserved seat
+            getRoomController().releaseConnection(this);
+        } else {
+            // The old socket has not been noticed to be closed yet, so it is closed now that it has been replaced
+            serverHost.closeSocket(oldOriginAddress);
+        }
+
+        JavunoPacketOutGameState gameStatePacket = null;
+        List<JServerPacket> deltas = List.of();
+        if (lobbyModel.isInGame()) {
+            ServerGameStateLog stateLog = getGameStateLog();
+            List<JServerPacket> missedDeltas = stateVersion >= 0 && stateVersion <= stateLog.getLatestVersion()
+                ? stateLog.getDeltasSince(stateVersion, playerName)
+                : null;
+            if (missedDeltas == null) gameStatePacket = getGameStatePacket(playerName);
+            else {
+                stateLog.acknowledge(playerName, stateVersion);
+                deltas = missedDeltas;
+            }
+        }
+
+        serverHost.sendPacket(
+            originAddress,
+            new JavunoPacketOutSessionResumed(
+                lobbyModel.getLobbyPlayerNames(),
+                lobbyModel.isInGame() ? null : lobbyModel.getReadyPlayerNames(),
+                gameStatePacket,
+                serverHost.getCodecVersion(originAddress)
+            )
+        );
+        for (JServerPacket delta : deltas) serverHost.sendPacket(originAddress, delta);
+        logger.log(
+            Level.FINE,
+            String.format(
+                "%s resumed their session in room %s (%s)",
+                playerName,
+                roomName,
+                gameStatePacket != null ? "full state" : String.format("%d missed deltas", deltas.size())
+            )
+        );
+    }
+
+    @NotNull
+    private static String createResumeToken() {
+        byte[] tokenBytes = new byte[16];
+        RESUME_TOKEN_RANDOM.nextBytes(tokenBytes);
+        return HexFormat.of().formatHex(tokenBytes);
+    }
+
+    /* Room Packet Writing */
+
+    /**
+     * Writes a packet to a single origin address.
+     *
+     * @param originAddress The origin address to write to.
+     * @param packet        The packet to write.
+     */
+    public void writePacket(@NotNull InetSocketAddress originAddress, @NotNull JServerPacket packet) {
+        getHostController().getServerHost().sendPacket(originAddress, packet);
+    }
+
+    /**
+     * Writes a packet to every player in this room's lobby. Spectators are written to by the spectator writer.
+     *
+     * @param packet The packet to write.
+     */
+    public void writePacketAll(@NotNull JServerPacket packet) {
+        getHostController().getServerHost().sendPacketAll(getGameLobbyModel().getSeatedOriginAddresses(), packet, null);
+        writePacketSpectators(packet, null);
+    }
+
+    /**
+     * Writes a game start or game state packet to every player in this room's lobby. Everything but the hand is shared
+     * between recipients, and each participating player is sent their own hand on top. Spectators are written to by
+     * the spectator writer.
+     *
+     * @param sharedPacket The packet to write, without any client cards.
+     */
+    public void writeGameStateAll(@NotNull JavunoPacketOutGameState sharedPacket) {
+        IJavunoServerHost serverHost = getHostController().getServerHost();
+        serverHost.sendGameStateAll(
+            getGameLobbyModel().getSeatedOriginAddresses(),
+            sharedPacket,
+            originAddress -> getPlayerCards(getGameLobbyModel().getPlayerName(originAddress)),
+            false);
+
+        List<InetSocketAddress> spectators = getGameLobbyModel().getSpectatorOriginAddresses();
+        if (!spectators.isEmpty())
+            getSpectatorWriter().write(
+                roomName,
+                () -> serverHost.sendGameStateAll(spectators, sharedPacket, originAddress -> null, false));
+    }
+
+    /**
+     * Writes a packet to every player in this room's lobby, except for one. Spectators are written to by the spectator
+     * writer.
+     *
+     * @param packet  The packet to write.
+     * @param exclude The origin address that should not receive the packet.
+     */
+    public void writePacketAllExcept(@NotNull JServerPacket packet, @NotNull InetSocketAddress exclude) {
+        getHostController().getServerHost().sendPacketAll(
+            getGameLobbyModel().getSeatedOriginAddresses(),
+            packet,
+            exclude);
+        writePacketSpectators(packet, exclude);
+    }
+
+    /**
+     * Writes a packet to every spectator in this room's lobby, from the spectator writer thread.
+     *
+     * @param packet  The packet to write.
+     * @param exclude The origin address that should not receive the packet, or null to write to all.
+     */
+    private void writePacketSpectators(@NotNull JServerPacket packet, @Nullable InetSocketAddress exclude) {
+        List<InetSocketAddress> spectators = getGameLobbyModel().getSpectatorOriginAddresses();
+        if (spectators.isEmpty()) return;
+        IJavunoServerHost serverHost = getHostController().getServerHost();
+        getSpectatorWriter().write(roomName, () -> serverHost.sendPacketAll(spectators, packet, exclude));
+    }
+
+    /**
+     * Writes a delta of the game state stream to every seated player in this room's lobby. Spectators are not sent the
+     * delta, but the game state as a whole once the sampling interval has passed.
+     *
+     * @param packet  The delta to write.
+     * @param exclude The origin address that should not receive the delta, or null to write to all.
+     */
+    private void writeStateDelta(@NotNull JServerPacket packet, @Nullable InetSocketAddress exclude) {
+        getHostController().getServerHost().sendPacketAll(
+            getGameLobbyModel().getSeatedOriginAddresses(),
+            packet,
+            exclude);
+        scheduleSpectatorSample();
+    }
+
+    /* Spectators */
+
+    /**
+     * Gives every player in the running game a seat in the lobby, so that everyone else in the lobby is a spectator.
+     */
+    private void seatPlayers() {
+        List<String> playerNames = new ArrayList<>();
+        for (ServerGamePlayer player : getGameModel().getPlayers()) playerNames.add(player.getName());
+        getGameLobbyModel().setSeatedPlayerNames(playerNames);
+    }
+
+    /**
+     * Called after every change to the game state stream. If there are spectators, and they are not already waiting
+     * for an update, they are sent the game state once the sampling interval has passed. Every change made in the
+     * meantime is covered by that single update.
+     */
+    private void scheduleSpectatorSample() {
+        if (spectatorSampleTimeout != null || getGameLobbyModel().getSpectatorOriginAddresses().isEmpty()) return;
+
+        spectatorSampleTimeout = timingWheel.schedule(
+            () -> roomExecutor.execute(() -> {
+                if (spectatorSampleTimeout == null || !spectatorSampleTimeout.isExpired()) return;
+                spectatorSampleTimeout = null;
+                onSpectatorSample();
+            }),
+            getRoomController().getSpectatorSampleMillis(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends the current game state to every spectator. The state is captured here, but it is encoded and written by
+     * the spectator writer, which only writes the latest state if this room has several waiting to be written.
+     * Spectators that are not keeping up have the state dropped, as the next update brings them up to date anyway.
+     */
+    private void onSpectatorSample() {
+        List<InetSocketAddress> spectators = getGameLobbyModel().getSpectatorOriginAddresses();
+        if (gameModel == null || spectators.isEmpty()) return;
+
+        JavunoPacketOutGameState statePacket = getSharedGameStatePacket();
+        IJavunoServerHost serverHost = getHostController().getServerHost();
+        getSpectatorWriter().writeState(
+            roomName,
+            () -> serverHost.sendGameStateAll(spectators, statePacket, originAddress -> null, true));
+    }
+
     /* Field Getters & Setters */
 
+    /**
+     * @return The name of this room.
+     */
+    @NotNull
+    public String getRoomName() {
+        return roomName;
+    }
+
+    /**
+     * @return The mailbox of this room, which runs its tasks one at a time.
+     */
+    @NotNull
+    public Executor getRoomExecutor() {
+        return roomExecutor;
+    }
+
     @NotNull
     public List<ICard> getDrawnCards(@NotNull String playerName) {
         if (!getGameModel().isCurrentPlayer(playerName))
@@ -257,6 +1184,7 @@ public class ServerGameController implements IController {
 
     @NotNull
     public ServerGameLobbyModel getGameLobbyModel() {
+        if (gameLobbyModel == null) throw new IllegalStateException("Room is hibernating");
         return gameLobbyModel;
     }
 
@@ -266,6 +1194,12 @@ public class ServerGameController implements IController {
         return gameModel;
     }
 
+    @NotNull
+    public ServerGameStateLog getGameStateLog() {
+        if (gameStateLog == null) throw new IllegalStateException("Game is not running");
+        return gameStateLog;
+    }
+
     @NotNull
     private List<ClientOpponent> getClientGamePlayers() {
         return getGameModel().getPlayers().stream().map(serverGamePlayer -> new ClientOpponent(
@@ -284,14 +1218,26 @@ public class ServerGameController implements IController {
 
     @NotNull
     private JavunoPacketOutGameState getGameStatePacket(@NotNull String playerName) {
+        return getSharedGameStatePacket().withClientCards(getPlayerCards(playerName));
+    }
+
+    /**
+     * @return The state of the current game, without the cards of any player.
+     */
+    @NotNull
+    private JavunoPacketOutGameState getSharedGameStatePacket() {
         return new JavunoPacketOutGameState(
-            getPlayerCards(playerName),
+            null,
             getGameModel().getDiscardPile(),
             getClientGamePlayers(),
             getGameModel().getCurrentPlayerIndex(),
             getGameModel().getDirection(),
             getGameModel().getGameState(),
-            getGameModel().getUnoChallengeState()
+            getGameModel().getUnoChallengeState(),
+            getGameModel().getChosenColor(),
+            getGameModel().getAppliedCardCount(),
+            getGameModel().getDrawTwoMultiplier(),
+            getGameModel().getStateVersion()
         );
     }
 
@@ -302,6 +1248,16 @@ public class ServerGameController implements IController {
         return mvc.getView().getMVC().getController().getHostController();
     }
 
+    @NotNull
+    private SpectatorWriter getSpectatorWriter() {
+        return getRoomController().getSpectatorWriter();
+    }
+
+    @NotNull
+    private ServerRoomController getRoomController() {
+        return mvc.getView().getMVC().getController().getRoomController();
+    }
+
     @Override
     public JMVC<MainFrame, ServerGameController> getMVC() {
         return mvc;
@@ -0,0 +1,771 @@
+package solar.rpg.javuno.server.controllers;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.packets.JavunoBadPacketException;
+import solar.rpg.javuno.models.packets.in.JavunoPacketInServerConnect;
+import solar.rpg.javuno.models.packets.in.JavunoPacketInSessionResume;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutConnectionRejected;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutConnectionRejected.ConnectionRejectionReason;
+import solar.rpg.javuno.models.packets.out.JavunoPacketOutServerMessage;
+import solar.rpg.javuno.mvc.IController;
+import solar.rpg.javuno.mvc.JMVC;
+import solar.rpg.javuno.server.bots.BotSearchService;
+import solar.rpg.javuno.server.concurrent.RoomMailbox;
+import solar.rpg.javuno.server.hibernation.HibernationStore;
+import solar.rpg.javuno.server.journal.GameJournal;
+import solar.rpg.javuno.server.journal.GameJournal.FsyncPolicy;
+import solar.rpg.javuno.server.journal.JournalRecord;
+import solar.rpg.javuno.server.models.JavunoPacketTimeoutException;
+import solar.rpg.javuno.server.models.PacketRateLimiter;
+import solar.rpg.javuno.server.spectators.SpectatorWriter;
+import solar.rpg.javuno.server.timers.HashedTimingWheel;
+import solar.rpg.javuno.server.views.MainFrame;
+import solar.rpg.jserver.packet.JServerPacket;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This controller owns every room hosted by the server. A room is an independent lobby and game pair, represented by
+ * its own {@link ServerGameController}. Each room has a {@link RoomMailbox} that its work is posted to, and the
+ * mailboxes of every room are run by a shared pool of workers. The state of any given room is therefore only ever
+ * mutated by one thread at a time, while rooms run in parallel. Incoming packets are routed to the room that their
+ * origin address joined with its {@link JavunoPacketInServerConnect} packet.
+ *
+ * @author jskinner
+ * @see ServerGameController
+ * @since 1.0.0
+ */
+public final class ServerRoomController implements IController {
+
+    /**
+     * The maximum amount of rooms that can exist at the same time.
+     */
+    public static final int MAX_ROOMS = 10000;
+
+    @NotNull
+    private final Logger logger;
+    @NotNull
+    private final JMVC<MainFrame, ServerRoomController> mvc;
+    /**
+     * Runs the mailboxes of every room.
+     */
+    @NotNull
+    private final ForkJoinPool workerPool;
+    /**
+     * All active rooms, keyed by room name. Guarded by its own monitor.
+     */
+    @NotNull
+    private final Map<String, ServerGameController> rooms;
+    /**
+     * Amount of connections routed to each active room, keyed by room name, counting the seats that are reserved for
+     * players who may resume their session. Guarded by the monitor of {@link #rooms}.
+     */
+    @NotNull
+    private final Map<String, Integer> roomConnectionCounts;
+    /**
+     * The room that each origin address has joined.
+     */
+    @NotNull
+    private final Map<InetSocketAddress, ServerGameController> connectionRooms;
+    /**
+     * Runs the countdowns and timers of every room.
+     */
+    @NotNull
+    private final HashedTimingWheel timingWheel;
+    /**
+     * Searches for the moves of bot players in every room.
+     */
+    @NotNull
+    private final BotSearchService botSearchService;
+    /**
+     * Limits how often each connection can send each type of time limited packet, across every room.
+     */
+    @NotNull
+    private final PacketRateLimiter rateLimiter;
+    /**
+     * Writes to the spectators of every room.
+     */
+    @NotNull
+    private final SpectatorWriter spectatorWriter;
+    /**
+     * The journal that the events of every room are appended to, or {@code null} if journaling is disabled.
+     */
+    @Nullable
+    private volatile GameJournal journal;
+    /**
+     * Holds the state of rooms that have been idle for too long, or {@code null} if hibernation is disabled.
+     */
+    @Nullable
+    private volatile HibernationStore hibernationStore;
+    /**
+     * How long a room must be idle before it hibernates, in seconds.
+     */
+    private volatile int hibernateIdleSeconds;
+    /**
+     * Amount of seats that are filled by bot players when a game starts.
+     */
+    private volatile int botSeats;
+    /**
+     * How long a bot player may think about each move, in milliseconds.
+     */
+    private volatile int botMoveMillis;
+    /**
+     * How long a player has to take their turn before they automatically draw, in seconds. 0 if turns are untimed.
+     */
+    private volatile int turnTimeoutSeconds;
+    /**
+     * How often the journal takes a checkpoint, in seconds.
+     */
+    private volatile int checkpointIntervalSeconds;
+    /**
+     * How long the seat of a player who lost their socket is reserved for them to resume their session, in seconds. 0
+     * if sessions cannot be resumed.
+     */
+    private volatile int resumeGraceSeconds;
+    /**
+     * The maximum amount of spectators in each room while a game is running.
+     */
+    private volatile int spectatorCap;
+    /**
+     * How long spectators wait for game state updates, in milliseconds. Every change during this time is sent to them
+     * as a single update.
+     */
+    private volatile int spectatorSampleMillis;
+
+    /**
+     * Constructs a new {@code ServerRoomController} instance.
+     *
+     * @param workerCount Amount of worker threads that run the rooms.
+     * @param logger      Logging object.
+     */
+    public ServerRoomController(int workerCount, @NotNull Logger logger) {
+        if (workerCount < 1) throw new IllegalArgumentException("Expected at least one worker");
+        this.logger = logger;
+        mvc = new JMVC<>();
+        AtomicInteger workerCounter = new AtomicInteger();
+        // Async mode runs mailboxes in the order that they were scheduled, rather than the most recent first
+        workerPool = new ForkJoinPool(
+            workerCount,
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(String.format("javuno-room-worker-%d", workerCounter.getAndIncrement()));
+                return thread;
+            },
+            null,
+            true);
+        rooms = new HashMap<>();
+        roomConnectionCounts = new HashMap<>();
+        connectionRooms = new ConcurrentHashMap<>();
+        timingWheel = new HashedTimingWheel(50, TimeUnit.MILLISECONDS, 512, logger);
+        botSearchService = new BotSearchService(workerCount, Math.min(2, workerCount));
+        rateLimiter = new PacketRateLimiter();
+        spectatorWriter = new SpectatorWriter();
+        botMoveMillis = 20;
+        turnTimeoutSeconds = 30;
+        checkpointIntervalSeconds = 300;
+        resumeGraceSeconds = 30;
+        spectatorCap = 1000;
+        spectatorSampleMillis = 500;
+    }
+
+    /* Packet Routing */
+
+    /**
+     * Routes an incoming packet to the room that its origin address has joined, where it is posted to the mailbox of
+     * the room. Connection and session resume packets decide which room the origin address joins.
+     *
+     * @param packet The inbound packet (from a client) to route.
+     * @throws JavunoBadPacketException Origin address has not joined a room, or has already joined one.
+     */
+    public void onPacketReceived(@NotNull JServerPacket packet) throws JavunoBadPacketException {
+        ServerGameController room = connectionRooms.get(packet.getOriginAddress());
+
+        if (packet instanceof JavunoPacketInServerConnect || packet instanceof JavunoPacketInSessionResume) {
+            if (room != null)
+                throw new JavunoBadPacketException(
+                    String.format("%s has already joined room %s", packet.getOriginAddress(), room.getRoomName()),
+                    true
+                );
+            room = packet instanceof JavunoPacketInServerConnect connectPacket
+                ? joinRoom(connectPacket)
+                : resumeRoom((JavunoPacketInSessionResume) packet);
+            if (room == null) return;
+        } else if (room == null)
+            throw new JavunoBadPacketException(
+                String.format("%s has not joined a room", packet.getOriginAddress()),
+                true
+            );
+
+        final ServerGameController targetRoom = room;
+        targetRoom.getRoomExecutor().execute(() -> handlePacket(targetRoom, packet));
+    }
+
+    /**
+     * Called once the socket to an origin address has closed. The origin address leaves the room that it joined. If the
+     * room reserves the seat of the player, the room stays open until the seat is resumed or expires. Otherwise, the
+     * room is discarded if nobody else is connected to it.
+     *
+     * @param originAddress The origin address of the closed socket.
+     */
+    public void onSocketClosed(@NotNull InetSocketAddress originAddress) {
+        ServerGameController room = connectionRooms.remove(originAddress);
+        if (room == null) return;
+
+        room.getRoomExecutor().execute(() -> {
+            room.wake();
+            logger.log(
+                Level.FINER,
+                String.format(
+                    "Socket closed to player %s (%s)",
+                    room.getGameLobbyModel().getPlayerNameWithDefault(originAddress, "N/A"),
+                    originAddress
+                )
+            );
+            // Packets from this connection that are still queued on the room run first, so its buckets stay removed
+            rateLimiter.removeConnection(originAddress);
+            // Players who were never accepted, or whose session was already resumed elsewhere, have no seat to reserve
+            if (!room.getGameLobbyModel().doesPlayerExist(originAddress) || !room.onPlayerDisconnect(originAddress))
+                releaseConnection(room);
+        });
+    }
+
+    /**
+     * Stops counting a connection or reserved seat towards a room, and discards the room if nothing else is counted
+     * towards it. This must be called from the mailbox of the room.
+     *
+     * @param room The room that the connection or reserved seat was counted towards.
+     */
+    void releaseConnection(@NotNull ServerGameController room) {
+        boolean roomClosed = false;
+        synchronized (rooms) {
+            int remaining = roomConnectionCounts.merge(room.getRoomName(), -1, Integer::sum);
+            if (remaining <= 0) {
+                roomConnectionCounts.remove(room.getRoomName());
+                if (!room.getRoomName().equals(JavunoPacketInServerConnect.DEFAULT_ROOM_NAME))
+                    roomClosed = rooms.remove(room.getRoomName(), room);
+            }
+        }
+        if (roomClosed) room.onRoomClosed();
+    }
+
+    /**
+     * Associates the origin address of a connection packet with the room that it requested, creating the room if it
+     * does not exist yet. If the room name is invalid or no more rooms can be created, the connection is rejected.
+     *
+     * @param connectPacket The connection packet.
+     * @return The joined room, or {@code null} if the connection was rejected.
+     */
+    @Nullable
+    private ServerGameController joinRoom(@NotNull JavunoPacketInServerConnect connectPacket) {
+        String roomName = connectPacket.getRoomName();
+        InetSocketAddress originAddress = connectPacket.getOriginAddress();
+
+        ConnectionRejectionReason rejectionReason = null;
+        ServerGameController room = null;
+
+        if (roomName.isEmpty() || roomName.length() > 20 || !roomName.matches("^[a-zA-Z0-9]*$"))
+            rejectionReason = ConnectionRejectionReason.INVALID_ROOM_NAME;
+        else synchronized (rooms) {
+            room = rooms.get(roomName);
+            if (room == null && rooms.size() < MAX_ROOMS) {
+                room = createRoom(roomName);
+                rooms.put(roomName, room);
+            }
+
+            if (room != null) {
+                connectionRooms.put(originAddress, room);
+                roomConnectionCounts.merge(roomName, 1, Integer::sum);
+            } else rejectionReason = ConnectionRejectionReason.ROOM_LIMIT_REACHED;
+        }
+
+        if (rejectionReason != null) rejectConnection(originAddress, rejectionReason);
+        return room;
+    }
+
+    /**
+     * Associates the origin address of a session resume packet with the room that it names. The room must still
+     * exist: rooms are only discarded once every seat reserved in them has expired, along with its resume token.
+     *
+     * @param resumePacket The session resume packet.
+     * @return The room to resume the session in, or {@code null} if the session was rejected.
+     */
+    @Nullable
+    private ServerGameController resumeRoom(@NotNull JavunoPacketInSessionResume resumePacket) {
+        InetSocketAddress originAddress = resumePacket.getOriginAddress();
+        ServerGameController room;
+        synchronized (rooms) {
+            room = rooms.get(resumePacket.getRoomName());
+            if (room != null) {
+                connectionRooms.put(originAddress, room);
+                roomConnectionCounts.merge(room.getRoomName(), 1, Integer::sum);
+            }
+        }
+
+        if (room == null) rejectConnection(originAddress, ConnectionRejectionReason.SESSION_EXPIRED);
+        return room;
+    }
+
+    private void rejectConnection(@NotNull InetSocketAddress originAddress, @NotNull ConnectionRejectionReason reason) {
+        getHostController().getServerHost().sendPacket(originAddress, new JavunoPacketOutConnectionRejected(reason));
+        getHostController().getServerHost().closeSocket(originAddress);
+    }
+
+    /**
+     * Creates a new room, along with its mailbox.
+     *
+     * @param roomName Name of the new room.
+     * @return The new room.
+     */
+    @NotNull
+    private ServerGameController createRoom(@NotNull String roomName) {
+        RoomMailbox mailbox = new RoomMailbox(roomName, workerPool, logger);
+        ServerGameController room = new ServerGameController(roomName, mailbox, timingWheel, rateLimiter, logger);
+        room.getMVC().set(mvc.getView(), room);
+        logger.log(Level.FINE, String.format("Created room %s", roomName));
+        return room;
+    }
+
+    /**
+     * Handles a packet on behalf of a room. This must be called from the mailbox of the room. If the packet is bad,
+     * and the problem is fatal, the socket to its origin address is closed.
+     *
+     * @param room   The room that the packet was routed to.
+     * @param packet The packet to handle.
+     */
+    private void handlePacket(@NotNull ServerGameController room, @NotNull JServerPacket packet) {
+        try {
+            room.wake();
+            room.getPacketHandler().handlePacket(packet);
+        } catch (JavunoPacketTimeoutException e) {
+            getHostController().getServerHost().sendPacket(
+                packet.getOriginAddress(),
+                new JavunoPacketOutServerMessage("You are doing that too quickly! Please slow down.")
+            );
+        } catch (JavunoBadPacketException e) {
+            logger.log(
+                Level.INFO,
+                String.format(
+                    "Unable to handle packet from %s in room %s",
+                    packet.getOriginAddress(),
+                    room.getRoomName()),
+                e);
+            if (e.isFatal()) getHostController().getServerHost().closeSocket(packet.getOriginAddress());
+        } catch (Exception e) {
+            logger.log(
+                Level.WARNING,
+                String.format("Unhandled exception handling packet in room %s", room.getRoomName()),
+                e);
+        }
+    }
+
+    /* Journal */
+
+    /**
+     * Opens the journal, and rebuilds the rooms and games that were recorded in it. Every room that is rebuilt resumes
+     * its game once all of its records have been replayed. From then on, the events of every room are appended to the
+     * journal, and checkpoints are taken periodically.
+     *
+     * @param path                The directory of the journal, which is created if it does not exist.
+     * @param fsyncPolicy         How often written records are synced to the disk.
+     * @param fsyncIntervalMillis How often written records are synced with {@link FsyncPolicy#INTERVAL}.
+     * @throws IOException           The journal file could not be read or opened for writing.
+     * @throws IllegalStateException The journal has already been opened.
+     */
+    public void openJournal(@NotNull Path path, @NotNull FsyncPolicy fsyncPolicy, long fsyncIntervalMillis)
+        throws IOException {
+        if (journal != null) throw new IllegalStateException("Journal has already been opened");
+
+        Map<String, ServerGameController> recoveredRooms = new HashMap<>();
+        journal = GameJournal.open(
+            path,
+            fsyncPolicy,
+            fsyncIntervalMillis,
+            record -> replay(record, recoveredRooms),
+            logger);
+        for (ServerGameController room : recoveredRooms.values())
+            room.getRoomExecutor().execute(room::onJournalRecovered);
+        scheduleCheckpoint();
+    }
+
+    private void scheduleCheckpoint() {
+        try {
+            timingWheel.schedule(
+                () -> workerPool.execute(this::checkpoint),
+                checkpointIntervalSeconds,
+                TimeUnit.SECONDS);
+        } catch (IllegalStateException e) {
+            // The server is shutting down
+        }
+    }
+
+    /**
+     * Starts a new journal segment, and has every room append a snapshot of its game to it. Once every room has done
+     * so, the earlier segments are deleted, so that restarting only replays the snapshots of live games and the events
+     * since. The next checkpoint is scheduled once this one has finished.
+     */
+    private void checkpoint() {
+        GameJournal journal = this.journal;
+        if (journal == null || journal.isClosed()) return;
+
+        // The segment is started first, so rooms created from now on only have records in the new segment
+        long segment = journal.startSegment();
+        List<ServerGameController> liveRooms;
+        synchronized (rooms) {
+            liveRooms = new ArrayList<>(rooms.values());
+        }
+
+        AtomicInteger remaining = new AtomicInteger(liveRooms.size() + 1);
+        Runnable onRoomCaptured = () -> {
+            if (remaining.decrementAndGet() != 0) return;
+            journal.deleteSegmentsBefore(segment);
+            logger.log(
+                Level.FINE,
+                String.format("Checkpointed %d rooms to journal segment %d", liveRooms.size(), segment));
+            scheduleCheckpoint();
+        };
+        for (ServerGameController room : liveRooms)
+            room.getRoomExecutor().execute(() -> {
+                try {
+                    room.onCheckpoint();
+                } finally {
+                    onRoomCaptured.run();
+                }
+            });
+        onRoomCaptured.run();
+    }
+
+    /**
+     * Posts a recovered journal record to the mailbox of its room, creating the room if needed.
+     *
+     * @param record         The recovered record.
+     * @param recoveredRooms The rooms that have been rebuilt so far.
+     */
+    private void replay(@NotNull JournalRecord record, @NotNull Map<String, ServerGameController> recoveredRooms) {
+        ServerGameController room;
+        synchronized (rooms) {
+            room = rooms.get(record.getRoomName());
+            // Nobody can have joined yet, so rooms whose game ended are discarded again
+            if (room != null
+                && record.getType() == JournalRecord.Type.ROOM_CLOSED
+                && !room.getRoomName().equals(JavunoPacketInServerConnect.DEFAULT_ROOM_NAME)) {
+                rooms.remove(room.getRoomName());
+                recoveredRooms.remove(room.getRoomName());
+                return;
+            }
+            if (room == null) {
+                if (record.getType() != JournalRecord.Type.GAME_START
+                    && record.getType() != JournalRecord.Type.SNAPSHOT) return;
+                if (rooms.size() >= MAX_ROOMS) {
+                    logger.log(
+                        Level.WARNING,
+                        String.format(
+                            "Unable to recover room %s, as the room limit was reached",
+                            record.getRoomName()));
+                    return;
+                }
+                room = createRoom(record.getRoomName());
+                rooms.put(record.getRoomName(), room);
+            }
+        }
+        recoveredRooms.put(room.getRoomName(), room);
+
+        final ServerGameController targetRoom = room;
+        room.getRoomExecutor().execute(() -> {
+            try {
+                targetRoom.replay(record);
+            } catch (RuntimeException e) {
+                logger.log(
+                    Level.WARNING,
+                    String.format("Unable to replay %s record in room %s", record.getType(), targetRoom.getRoomName()),
+                    e);
+            }
+        });
+    }
+
+    /* Hibernation */
+
+    /**
+     * Starts hibernating rooms that have been idle for the given time. A hibernating room only keeps a small shell on
+     * the heap, and its state is kept in a memory-mapped store until a packet or connection for it arrives.
+     *
+     * @param idleSeconds How long a room must be idle before it hibernates, in seconds.
+     * @throws IOException           The hibernation store could not be created.
+     * @throws IllegalStateException Hibernation has already been enabled.
+     */
+    public void enableHibernation(int idleSeconds) throws IOException {
+        if (idleSeconds < 1) throw new IllegalArgumentException("Expected idle time to be at least 1 second");
+        if (hibernationStore != null) throw new IllegalStateException("Hibernation has already been enabled");
+
+        Path path = Files.createTempFile("javuno-rooms", ".hibernate");
+        hibernateIdleSeconds = idleSeconds;
+        hibernationStore = new HibernationStore(path);
+        scheduleHibernation();
+    }
+
+    private void scheduleHibernation() {
+        try {
+            // Rooms are checked twice per idle period, so that they hibernate at most half a period late
+            timingWheel.schedule(
+                () -> workerPool.execute(this::hibernateIdleRooms),
+                Math.max(hibernateIdleSeconds / 2, 1),
+                TimeUnit.SECONDS);
+        } catch (IllegalStateException e) {
+            // The server is shutting down
+        }
+    }
+
+    /**
+     * Asks every room that has been idle for long enough to hibernate. The rooms decide on their own mailbox, so a room
+     * that becomes active in the meantime stays awake.
+     */
+    private void hibernateIdleRooms() {
+        HibernationStore store = hibernationStore;
+        if (store == null) return;
+
+        long idleNanos = TimeUnit.SECONDS.toNanos(hibernateIdleSeconds);
+        List<ServerGameController> idleRooms = new ArrayList<>();
+        synchronized (rooms) {
+            for (ServerGameController room : rooms.values())
+                if (!room.isHibernating() && room.isIdle(idleNanos)) idleRooms.add(room);
+        }
+        for (ServerGameController room : idleRooms)
+            room.getRoomExecutor().execute(() -> room.hibernate(store, idleNanos));
+        scheduleHibernation();
+    }
+
+    /**
+     * Shuts down all room workers, timers, bot searches and spectator writes, then closes the journal once every record
+     * that was appended has been written. Pending room tasks are discarded, and hibernating rooms are lost.
+     */
+    public void shutdown() {
+        workerPool.shutdownNow();
+        timingWheel.shutdown();
+        botSearchService.shutdown();
+        spectatorWriter.shutdown();
+        GameJournal journal = this.journal;
+        if (journal != null) journal.close();
+        HibernationStore hibernationStore = this.hibernationStore;
+        if (hibernationStore != null) {
+            try {
+                hibernationStore.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Unable to close the hibernation store", e);
+            }
+        }
+    }
+
+    /* Field Getters */
+
+    /**
+     * @param originAddress The origin address.
+     * @return The room that the origin address has joined, or {@code null} if it has not joined one.
+     */
+    @Nullable
+    public ServerGameController getRoom(@NotNull InetSocketAddress originAddress) {
+        return connectionRooms.get(originAddress);
+    }
+
+    /**
+     * @return The amount of active rooms.
+     */
+    public int getRoomCount() {
+        synchronized (rooms) {
+            return rooms.size();
+        }
+    }
+
+    /**
+     * @return The journal that the events of every room are appended to, or {@code null} if journaling is disabled.
+     */
+    @Nullable
+    public GameJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * @return Holds the state of rooms that have been idle for too long, or {@code null} if hibernation is disabled.
+     */
+    @Nullable
+    public HibernationStore getHibernationStore() {
+        return hibernationStore;
+    }
+
+    /**
+     * @return Searches for the moves of bot players in every room.
+     */
+    @NotNull
+    public BotSearchService getBotSearchService() {
+        return botSearchService;
+    }
+
+    /**
+     * @return Limits how often each connection can send each type of time limited packet, and counts the packets that
+     * it throttled.
+     */
+    @NotNull
+    public PacketRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * @return Writes to the spectators of every room, and counts the game state updates that it coalesced.
+     */
+    @NotNull
+    public SpectatorWriter getSpectatorWriter() {
+        return spectatorWriter;
+    }
+
+    /**
+     * @return Amount of seats that are filled by bot players when a game starts.
+     */
+    public int getBotSeats() {
+        return botSeats;
+    }
+
+    /**
+     * Sets the amount of seats that are filled by bot players when a game starts. This only affects new games.
+     *
+     * @param botSeats The new amount of bot seats.
+     */
+    public void setBotSeats(int botSeats) {
+        if (botSeats < 0) throw new IllegalArgumentException("Expected bot seats to be at least 0");
+        this.botSeats = botSeats;
+    }
+
+    /**
+     * @return How long a bot player may think about each move, in milliseconds.
+     */
+    public int getBotMoveMillis() {
+        return botMoveMillis;
+    }
+
+    /**
+     * Sets how long a bot player may think about each move.
+     *
+     * @param botMoveMillis The new time budget of each move, in milliseconds.
+     */
+    public void setBotMoveMillis(int botMoveMillis) {
+        if (botMoveMillis < 1) throw new IllegalArgumentException("Expected bot move time to be at least 1ms");
+        this.botMoveMillis = botMoveMillis;
+    }
+
+    /**
+     * @return How long a player has to take their turn before they automatically draw, in seconds. 0 if turns are
+     * untimed.
+     */
+    public int getTurnTimeoutSeconds() {
+        return turnTimeoutSeconds;
+    }
+
+    /**
+     * Sets how long a player has to take their turn before they automatically draw. This applies from the next turn.
+     *
+     * @param turnTimeoutSeconds The new turn timeout in seconds, or 0 for untimed turns.
+     */
+    public void setTurnTimeoutSeconds(int turnTimeoutSeconds) {
+        if (turnTimeoutSeconds < 0) throw new IllegalArgumentException("Expected turn timeout to be at least 0");
+        this.turnTimeoutSeconds = turnTimeoutSeconds;
+    }
+
+    /**
+     * @return How often the journal takes a checkpoint, in seconds.
+     */
+    public int getCheckpointIntervalSeconds() {
+        return checkpointIntervalSeconds;
+    }
+
+    /**
+     * Sets how often the journal takes a checkpoint. This applies from the next checkpoint.
+     *
+     * @param checkpointIntervalSeconds The new checkpoint interval in seconds.
+     */
+    public void setCheckpointIntervalSeconds(int checkpointIntervalSeconds) {
+        if (checkpointIntervalSeconds < 1)
+            throw new IllegalArgumentException("Expected checkpoint interval to be at least 1 second");
+        this.checkpointIntervalSeconds = checkpointIntervalSeconds;
+    }
+
+    /**
+     * @return How long the seat of a player who lost their socket is reserved for them to resume their session, in
+     * seconds. 0 if sessions cannot be resumed.
+     */
+    public int getResumeGraceSeconds() {
+        return resumeGraceSeconds;
+    }
+
+    /**
+     * Sets how long the seat of a player who lost their socket is reserved for them. Resume tokens are only issued
+     * while this is above 0, so players who were accepted while sessions could not be resumed are not affected.
+     *
+     * @param resumeGraceSeconds The new grace period in seconds, or 0 if sessions cannot be resumed.
+     */
+    public void setResumeGraceSeconds(int resumeGraceSeconds) {
+        if (resumeGraceSeconds < 0) throw new IllegalArgumentException("Expected resume grace period to be at least 0");
+        this.resumeGraceSeconds = resumeGraceSeconds;
+    }
+
+    /**
+     * @return The maximum amount of spectators in each room while a game is running.
+     */
+    public int getSpectatorCap() {
+        return spectatorCap;
+    }
+
+    /**
+     * Sets the maximum amount of spectators in each room while a game is running. Spectators who are already in a
+     * room are not affected.
+     *
+     * @param spectatorCap The new spectator cap, or 0 if players cannot join a room while a game is running.
+     */
+    public void setSpectatorCap(int spectatorCap) {
+        if (spectatorCap < 0) throw new IllegalArgumentException("Expected spectator cap to be at least 0");
+        this.spectatorCap = spectatorCap;
+    }
+
+    /**
+     * @return How long spectators wait for game state updates, in milliseconds.
+     */
+    public int getSpectatorSampleMillis() {
+        return spectatorSampleMillis;
+    }
+
+    /**
+     * Sets how long spectators wait for game state updates. Every change during this time is sent to them as a
+     * single update, so a longer time means fewer, larger updates. This applies from the next update.
+     *
+     * @param spectatorSampleMillis The new sampling interval, in milliseconds.
+     */
+    public void setSpectatorSampleMillis(int spectatorSampleMillis) {
+        if (spectatorSampleMillis < 1)
+            throw new IllegalArgumentException("Expected spectator sampling interval to be at least 1ms");
+        this.spectatorSampleMillis = spectatorSampleMillis;
+    }
+
+    /* MVC */
+
+    @NotNull
+    private HostController getHostController() {
+        return mvc.getView().getMVC().getController().getHostController();
+    }
+
+    @Override
+    @NotNull
+    public JMVC<MainFrame, ServerRoomController> getMVC() {
+        return mvc;
+    }
+}
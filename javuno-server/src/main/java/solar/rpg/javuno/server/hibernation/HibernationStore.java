@@ -0,0 +1,174 @@
+package solar.rpg.javuno.server.hibernation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the encoded state of rooms that are hibernating, off the heap. The store is a file that is memory-mapped in
+ * fixed-size regions, each divided into fixed-size slots. Each hibernating room occupies one slot, so storing and
+ * loading a room is a copy between the heap and the page cache, and the operating system decides when to write the
+ * pages to disk. Slots that are freed are reused, so the file only grows to the most rooms that hibernated at once.
+ * <p>
+ * The store is not durable: it is deleted once it is closed.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class HibernationStore {
+
+    /**
+     * Length of each slot. The first four bytes of a slot hold the length of the data stored in it.
+     */
+    public static final int SLOT_BYTES = 4096;
+    /**
+     * Amount of slots in each mapped region.
+     */
+    private static final int SLOTS_PER_REGION = 256;
+    private static final long REGION_BYTES = (long) SLOT_BYTES * SLOTS_PER_REGION;
+
+    @NotNull
+    private final FileChannel channel;
+    /**
+     * The mapped regions of the file, in file order. Guarded by the monitor of this store.
+     */
+    @NotNull
+    private final List<MappedByteBuffer> regions;
+    /**
+     * Slots that have been freed, to be reused before the file is grown. Guarded by the monitor of this store.
+     */
+    @NotNull
+    private int[] freeSlots;
+    private int freeSlotCount;
+    /**
+     * Amount of slots that hold data. Guarded by the monitor of this store.
+     */
+    private int usedSlotCount;
+    private boolean closed;
+
+    /**
+     * Constructs a new {@code HibernationStore} instance, backed by a new file. Any existing file at the path is
+     * replaced.
+     *
+     * @param path The path of the store file, which is deleted when the store is closed.
+     * @throws IOException The store file could not be created.
+     */
+    public HibernationStore(@NotNull Path path) throws IOException {
+        channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.DELETE_ON_CLOSE);
+        regions = new ArrayList<>();
+        freeSlots = new int[SLOTS_PER_REGION];
+    }
+
+    /**
+     * Copies data into a free slot.
+     *
+     * @param data The data to store.
+     * @return The slot that the data was stored in, or -1 if the data does not fit in a slot.
+     * @throws IOException           The store file could not be grown.
+     * @throws IllegalStateException The store has been closed.
+     */
+    public synchronized int store(@NotNull byte[] data) throws IOException {
+        if (closed) throw new IllegalStateException("Hibernation store has been closed");
+        if (data.length > SLOT_BYTES - 4) return -1;
+
+        if (freeSlotCount == 0) growRegion();
+        int slot = freeSlots[--freeSlotCount];
+        MappedByteBuffer region = getRegion(slot);
+        int offset = (slot % SLOTS_PER_REGION) * SLOT_BYTES;
+        region.putInt(offset, data.length);
+        region.put(offset + 4, data);
+        usedSlotCount++;
+        return slot;
+    }
+
+    /**
+     * Copies data out of a slot, and frees the slot.
+     *
+     * @param slot The slot that the data was stored in.
+     * @return The stored data.
+     * @throws IllegalStateException The store has been closed.
+     */
+    @NotNull
+    public synchronized byte[] remove(int slot) {
+        byte[] data = read(slot);
+        freeSlots[freeSlotCount++] = slot;
+        usedSlotCount--;
+        return data;
+    }
+
+    /**
+     * Copies data out of a slot, leaving it stored.
+     *
+     * @param slot The slot that the data was stored in.
+     * @return The stored data.
+     * @throws IllegalStateException The store has been closed.
+     */
+    @NotNull
+    public synchronized byte[] read(int slot) {
+        if (closed) throw new IllegalStateException("Hibernation store has been closed");
+        MappedByteBuffer region = getRegion(slot);
+        int offset = (slot % SLOTS_PER_REGION) * SLOT_BYTES;
+        byte[] data = new byte[region.getInt(offset)];
+        region.get(offset + 4, data);
+        return data;
+    }
+
+    /**
+     * Closes and deletes the store file. Hibernating rooms can no longer be rehydrated afterwards.
+     *
+     * @throws IOException The store file could not be closed.
+     */
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        regions.clear();
+        channel.close();
+    }
+
+    /**
+     * Maps another region at the end of the store file, and adds its slots to the free slots.
+     */
+    private void growRegion() throws IOException {
+        int firstSlot = regions.size() * SLOTS_PER_REGION;
+        regions.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) regions.size() * REGION_BYTES, REGION_BYTES));
+        if (freeSlots.length < regions.size() * SLOTS_PER_REGION)
+            freeSlots = new int[regions.size() * SLOTS_PER_REGION];
+        // Lower slots are handed out first, so the start of the file stays the most used
+        for (int i = SLOTS_PER_REGION - 1; i >= 0; i--) freeSlots[freeSlotCount++] = firstSlot + i;
+    }
+
+    @NotNull
+    private MappedByteBuffer getRegion(int slot) {
+        if (slot < 0 || slot / SLOTS_PER_REGION >= regions.size())
+            throw new IllegalArgumentException(String.format("Invalid slot %d", slot));
+        return regions.get(slot / SLOTS_PER_REGION);
+    }
+
+    /* Metrics */
+
+    /**
+     * @return Amount of slots that hold the data of a hibernating room.
+     */
+    public synchronized int getUsedSlotCount() {
+        return usedSlotCount;
+    }
+
+    /**
+     * @return Length of the store file, in bytes.
+     */
+    public synchronized long getMappedBytes() {
+        return regions.size() * REGION_BYTES;
+    }
+}
@@ -0,0 +1,530 @@
+package solar.rpg.javuno.server.journal;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.packets.JavunoBadPacketException;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketReader;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of the events that happen in every room, so that rooms and their games can be rebuilt after the
+ * server restarts. Each {@link JournalRecord} is framed by its length and a CRC32 checksum of its contents.
+ * <p>
+ * Rooms append records from their own workers without blocking: the records are queued, then encoded and written by a
+ * single journal thread. Every record that queued up while the previous write was in progress is written with one
+ * gathering write, and synced to the disk with one {@code fsync}, so the cost of syncing is shared by every room (group
+ * commit).
+ * <p>
+ * The journal is a directory of numbered segment files, and records are appended to the newest one. To keep restarts
+ * fast, a checkpoint starts a new segment and appends a {@link GameSnapshot} of every running game to it. Once every
+ * snapshot has been written, the older segments are no longer needed to rebuild any game, so they are deleted.
+ * <p>
+ * When the journal is opened, every intact record is replayed, oldest segment first. A record that was only partly
+ * written when the server stopped fails its checksum, so it and anything after it in its segment are discarded.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class GameJournal {
+
+    /**
+     * Length of the header in front of each record: the length of the record, then its checksum.
+     */
+    private static final int HEADER_BYTES = 8;
+    /**
+     * The maximum length of a single record. Anything longer is treated as corruption.
+     */
+    private static final int MAX_RECORD_BYTES = 1 << 16;
+    /**
+     * The maximum amount of records that are written together.
+     */
+    private static final int MAX_BATCH_SIZE = 1024;
+    /**
+     * How long the journal thread waits for records before checking whether it should sync or stop, in milliseconds.
+     */
+    private static final long POLL_MILLIS = 50;
+    /**
+     * Matches the file names of segments, capturing the segment number.
+     */
+    private static final Pattern SEGMENT_PATTERN = Pattern.compile("^(\\d{16})\\.journal$");
+
+    @NotNull
+    private final Logger logger;
+    /**
+     * The directory that holds the segment files.
+     */
+    @NotNull
+    private final Path directory;
+    @NotNull
+    private final FsyncPolicy fsyncPolicy;
+    /**
+     * How often written records are synced to the disk with {@link FsyncPolicy#INTERVAL}, in nanoseconds.
+     */
+    private final long fsyncIntervalNanos;
+    /**
+     * Records that have been appended, and segment operations that have been requested, but not yet carried out.
+     */
+    @NotNull
+    private final BlockingQueue<PendingEntry> pendingEntries;
+    @NotNull
+    private final Thread journalThread;
+    /**
+     * The number of the newest segment that has been requested, which may not have been created yet.
+     */
+    @NotNull
+    private final AtomicLong lastSegment;
+    @NotNull
+    private final AtomicLong appendedCount;
+    @NotNull
+    private final AtomicLong commitCount;
+    @NotNull
+    private final AtomicLong fsyncCount;
+    /**
+     * The newest segment, which records are written to. Only used by the journal thread once it has started.
+     */
+    @NotNull
+    private FileChannel channel;
+    /**
+     * True, once the journal has been closed, or has stopped because it could not be written to.
+     */
+    private volatile boolean closed;
+
+    private GameJournal(
+        @NotNull Path directory,
+        @NotNull FileChannel channel,
+        long segment,
+        @NotNull FsyncPolicy fsyncPolicy,
+        long fsyncIntervalMillis,
+        @NotNull Logger logger) {
+        this.directory = directory;
+        this.channel = channel;
+        this.fsyncPolicy = fsyncPolicy;
+        this.logger = logger;
+        fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+        pendingEntries = new LinkedBlockingQueue<>();
+        lastSegment = new AtomicLong(segment);
+        appendedCount = new AtomicLong();
+        commitCount = new AtomicLong();
+        fsyncCount = new AtomicLong();
+
+        journalThread = new Thread(this::run, "javuno-journal");
+        journalThread.setDaemon(true);
+    }
+
+    /**
+     * Opens a journal, creating its directory if it does not exist. Every intact record in the journal is passed to the
+     * given consumer, in the order that they were appended, before this returns. New records are appended after them.
+     *
+     * @param directory           The directory that holds the segment files of the journal.
+     * @param fsyncPolicy         How often written records are synced to the disk.
+     * @param fsyncIntervalMillis How often written records are synced with {@link FsyncPolicy#INTERVAL}.
+     * @param recovered           Consumes each record that was recovered from the journal.
+     * @param logger              Logging object.
+     * @return The opened journal.
+     * @throws IOException The journal could not be read or opened for writing.
+     */
+    @NotNull
+    public static GameJournal open(
+        @NotNull Path directory,
+        @NotNull FsyncPolicy fsyncPolicy,
+        long fsyncIntervalMillis,
+        @NotNull Consumer<JournalRecord> recovered,
+        @NotNull Logger logger) throws IOException {
+        if (fsyncIntervalMillis < 1) throw new IllegalArgumentException("Expected fsync interval to be at least 1ms");
+        Files.createDirectories(directory);
+
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory)) {
+            for (Path path : paths) {
+                Matcher matcher = SEGMENT_PATTERN.matcher(path.getFileName().toString());
+                if (matcher.matches()) segments.put(Long.parseLong(matcher.group(1)), path);
+            }
+        }
+
+        AtomicLong recordCount = new AtomicLong();
+        long end = 0;
+        for (Path path : segments.values()) {
+            try (FileChannel segmentChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                end = recover(segmentChannel, record -> {
+                    recovered.accept(record);
+                    recordCount.incrementAndGet();
+                }, logger);
+            }
+        }
+        logger.log(
+            Level.INFO,
+            String.format("Recovered %d journal records from %d segments", recordCount.get(), segments.size()));
+
+        long segment = segments.isEmpty() ? 1 : segments.lastKey();
+        FileChannel channel = FileChannel.open(
+            getSegmentPath(directory, segment),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            if (end < channel.size()) {
+                logger.log(
+                    Level.WARNING,
+                    String.format("Discarding %d bytes of torn journal records", channel.size() - end));
+                channel.truncate(end);
+                channel.force(true);
+            }
+            channel.position(end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        GameJournal journal = new GameJournal(directory, channel, segment, fsyncPolicy, fsyncIntervalMillis, logger);
+        journal.journalThread.start();
+        return journal;
+    }
+
+    /**
+     * Reads every intact record from the start of a segment.
+     *
+     * @return The position after the last intact record.
+     */
+    private static long recover(
+        @NotNull FileChannel channel,
+        @NotNull Consumer<JournalRecord> recovered,
+        @NotNull Logger logger) throws IOException {
+        long position = 0;
+        byte[] payload;
+        while ((payload = readPayload(channel, position)) != null) {
+            JournalRecord record;
+            try {
+                record = JournalRecord.read(new JavunoPacketReader(payload, 0, payload.length));
+            } catch (JavunoBadPacketException e) {
+                logger.log(Level.WARNING, String.format("Unreadable journal record at %d", position), e);
+                break;
+            }
+            recovered.accept(record);
+            position += HEADER_BYTES + payload.length;
+        }
+        return position;
+    }
+
+    /**
+     * Reads the record at a position of a segment.
+     *
+     * @return The contents of the record, or {@code null} if there is no intact record at the position.
+     */
+    @Nullable
+    private static byte[] readPayload(@NotNull FileChannel channel, long position) throws IOException {
+        long available = channel.size() - position;
+        if (available < HEADER_BYTES) return null;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(channel, header, position);
+        int length = header.getInt(0);
+        int checksum = header.getInt(4);
+        if (length < 1 || length > MAX_RECORD_BYTES || available - HEADER_BYTES < length) return null;
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(channel, payload, position + HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(payload.array(), 0, length);
+        return (int) crc.getValue() == checksum ? payload.array() : null;
+    }
+
+    private static void readFully(@NotNull FileChannel channel, @NotNull ByteBuffer buffer, long position)
+        throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) throw new IOException("Unexpected end of journal segment");
+        }
+    }
+
+    @NotNull
+    private static Path getSegmentPath(@NotNull Path directory, long segment) {
+        return directory.resolve(String.format("%016d.journal", segment));
+    }
+
+    /**
+     * Queues a record to be written to the journal. This can be called from any thread, and never blocks on the disk.
+     * Records are written in the order that they were appended. Records appended after the journal has stopped are
+     * discarded.
+     *
+     * @param record The record to append.
+     */
+    public void append(@NotNull JournalRecord record) {
+        if (closed) return;
+        pendingEntries.add(new PendingEntry(record, null));
+        appendedCount.incrementAndGet();
+    }
+
+    /**
+     * Starts a new segment. Records that were appended before this call are written to the previous segment, and
+     * records that are appended afterwards are written to the new one.
+     *
+     * @return The number of the new segment.
+     */
+    public long startSegment() {
+        long segment = lastSegment.incrementAndGet();
+        pendingEntries.add(new PendingEntry(null, () -> {
+            channel.force(false);
+            fsyncCount.incrementAndGet();
+            channel.close();
+            channel = FileChannel.open(
+                getSegmentPath(directory, segment),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        }));
+        return segment;
+    }
+
+    /**
+     * Deletes every segment before the given one, once every record that was appended before this call has been
+     * written and synced. This must only be called once the records of the given segment onwards are enough to
+     * rebuild every room.
+     *
+     * @param segment The number of the oldest segment to keep.
+     */
+    public void deleteSegmentsBefore(long segment) {
+        pendingEntries.add(new PendingEntry(null, () -> {
+            channel.force(false);
+            fsyncCount.incrementAndGet();
+
+            int deletedCount = 0;
+            try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory)) {
+                for (Path path : paths) {
+                    Matcher matcher = SEGMENT_PATTERN.matcher(path.getFileName().toString());
+                    if (matcher.matches() && Long.parseLong(matcher.group(1)) < segment) {
+                        Files.delete(path);
+                        deletedCount++;
+                    }
+                }
+            }
+            logger.log(Level.FINE, String.format("Deleted %d journal segments before %d", deletedCount, segment));
+        }));
+    }
+
+    /**
+     * Writes every record that has been appended, syncs them to the disk, and closes the journal. Records that are
+     * appended afterwards are discarded.
+     */
+    public void close() {
+        if (closed) return;
+        closed = true;
+        // The journal thread is never interrupted, as interrupting a thread in a channel operation closes the channel
+        try {
+            journalThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* Journal Thread */
+
+    private void run() {
+        List<PendingEntry> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        List<ByteBuffer> frames = new ArrayList<>(MAX_BATCH_SIZE);
+        long lastFsyncNanos = System.nanoTime();
+        boolean unsynced = false;
+
+        try {
+            while (true) {
+                PendingEntry first = pendingEntries.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    pendingEntries.drainTo(batch, MAX_BATCH_SIZE - 1);
+                    for (PendingEntry entry : batch) {
+                        if (entry.record != null) {
+                            ByteBuffer frame = encode(entry.record);
+                            if (frame != null) frames.add(frame);
+                            continue;
+                        }
+
+                        // Segment operations apply to the records before them, so those are written first
+                        write(frames);
+                        assert entry.operation != null;
+                        entry.operation.run();
+                        lastFsyncNanos = System.nanoTime();
+                        unsynced = false;
+                    }
+                    if (!frames.isEmpty()) {
+                        write(frames);
+                        unsynced = true;
+                    }
+                    batch.clear();
+                }
+
+                boolean stopping = closed && pendingEntries.isEmpty();
+                boolean intervalPassed = System.nanoTime() - lastFsyncNanos >= fsyncIntervalNanos;
+                if (unsynced && (stopping
+                    || fsyncPolicy == FsyncPolicy.ALWAYS
+                    || fsyncPolicy == FsyncPolicy.INTERVAL && intervalPassed)) {
+                    channel.force(false);
+                    fsyncCount.incrementAndGet();
+                    lastFsyncNanos = System.nanoTime();
+                    unsynced = false;
+                }
+                if (stopping) break;
+            }
+        } catch (IOException e) {
+            closed = true;
+            logger.log(Level.SEVERE, "Unable to write to the journal, so it has stopped", e);
+        } catch (InterruptedException e) {
+            closed = true;
+        } finally {
+            pendingEntries.clear();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Unable to close the journal", e);
+            }
+        }
+    }
+
+    /**
+     * Encodes a record, along with its header.
+     *
+     * @return The framed record, or {@code null} if it is too long to be written.
+     */
+    @Nullable
+    private ByteBuffer encode(@NotNull JournalRecord record) {
+        JavunoPacketWriter writer = new JavunoPacketWriter(32);
+        record.write(writer);
+        byte[] payload = writer.toByteArray();
+        if (payload.length > MAX_RECORD_BYTES) {
+            logger.log(
+                Level.WARNING,
+                String.format("Discarding %s journal record of %d bytes", record.getType(), payload.length));
+            return null;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        frame.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        return frame;
+    }
+
+    /**
+     * Writes framed records to the newest segment with a single gathering write, then clears them.
+     */
+    private void write(@NotNull List<ByteBuffer> frames) throws IOException {
+        if (frames.isEmpty()) return;
+
+        ByteBuffer[] buffers = frames.toArray(new ByteBuffer[0]);
+        int index = 0;
+        while (index < buffers.length) {
+            channel.write(buffers, index, buffers.length - index);
+            while (index < buffers.length && !buffers[index].hasRemaining()) index++;
+        }
+        frames.clear();
+        commitCount.incrementAndGet();
+    }
+
+    /* Metrics */
+
+    /**
+     * @return Amount of records that have been appended.
+     */
+    public long getAppendedCount() {
+        return appendedCount.get();
+    }
+
+    /**
+     * @return Amount of batches of records that have been written.
+     */
+    public long getCommitCount() {
+        return commitCount.get();
+    }
+
+    /**
+     * @return Amount of times that written records have been synced to the disk.
+     */
+    public long getFsyncCount() {
+        return fsyncCount.get();
+    }
+
+    /**
+     * @return Amount of records and segment operations that have been requested, but not yet carried out.
+     */
+    public int getPendingCount() {
+        return pendingEntries.size();
+    }
+
+    /**
+     * @return The number of the newest segment.
+     */
+    public long getLastSegment() {
+        return lastSegment.get();
+    }
+
+    /**
+     * @return True, if the journal has been closed, or has stopped because it could not be written to.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * An operation on the segment files, which is carried out by the journal thread.
+     */
+    @FunctionalInterface
+    private interface SegmentOperation {
+
+        void run() throws IOException;
+    }
+
+    /**
+     * A record to write, or a segment operation to carry out once the records before it have been written.
+     */
+    private static final class PendingEntry {
+
+        @Nullable
+        private final JournalRecord record;
+        @Nullable
+        private final SegmentOperation operation;
+
+        private PendingEntry(@Nullable JournalRecord record, @Nullable SegmentOperation operation) {
+            this.record = record;
+            this.operation = operation;
+        }
+    }
+
+    /**
+     * Denotes how often written records are synced to the disk. Records that were written but not synced survive the
+     * server process crashing, but not the operating system crashing or losing power.
+     */
+    public enum FsyncPolicy {
+        /**
+         * Every batch of records is synced before the next batch is written.
+         */
+        ALWAYS,
+        /**
+         * Written records are synced at a fixed interval.
+         */
+        INTERVAL,
+        /**
+         * Written records are left for the operating system to sync, except when the journal is closed or a checkpoint
+         * is taken.
+         */
+        NEVER
+    }
+}
@@ -0,0 +1,316 @@
+package solar.rpg.javuno.server.journal;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.cards.standard.StandardCards;
+import solar.rpg.javuno.models.game.AbstractGameModel.GameState;
+import solar.rpg.javuno.models.game.AbstractGameModel.UnoChallengeState;
+import solar.rpg.javuno.models.game.Direction;
+import solar.rpg.javuno.models.packets.JavunoBadPacketException;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketReader;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketWriter;
+import solar.rpg.javuno.server.models.ServerGameModel;
+import solar.rpg.javuno.server.models.ServerGamePlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Stack;
+
+/**
+ * A copy of the complete state of a running game: the players and their hands, both piles, and the state of play. A
+ * snapshot is captured from the room's mailbox by copying the card codes, which is cheap; it is then immutable, so it
+ * can be encoded and written by the journal thread while the game moves on.
+ *
+ * @author jskinner
+ * @see ServerGameModel
+ * @since 1.0.0
+ */
+public final class GameSnapshot {
+
+    private final long seed;
+    private final int stateVersion;
+    @NotNull
+    private final String[] playerNames;
+    @NotNull
+    private final boolean[] playerBots;
+    @NotNull
+    private final boolean[] playerUnos;
+    /**
+     * The card codes in each player's hand, in hand order.
+     */
+    @NotNull
+    private final byte[][] playerCardCodes;
+    /**
+     * The card codes of the draw pile, from the bottom to the top.
+     */
+    @NotNull
+    private final byte[] drawPileCodes;
+    /**
+     * The card codes of the discard pile, from the bottom to the top.
+     */
+    @NotNull
+    private final byte[] discardPileCodes;
+    @NotNull
+    private final Direction direction;
+    @NotNull
+    private final GameState gameState;
+    @NotNull
+    private final UnoChallengeState unoChallengeState;
+    @Nullable
+    private final CardColor chosenColor;
+    private final int currentPlayerIndex;
+    private final int appliedCardCount;
+    private final int drawTwoMultiplier;
+    /**
+     * True, if the current player has just drawn a card that they may play.
+     */
+    private final boolean hasDrawn;
+
+    private GameSnapshot(
+        long seed,
+        int stateVersion,
+        @NotNull String[] playerNames,
+        @NotNull boolean[] playerBots,
+        @NotNull boolean[] playerUnos,
+        @NotNull byte[][] playerCardCodes,
+        @NotNull byte[] drawPileCodes,
+        @NotNull byte[] discardPileCodes,
+        @NotNull Direction direction,
+        @NotNull GameState gameState,
+        @NotNull UnoChallengeState unoChallengeState,
+        @Nullable CardColor chosenColor,
+        int currentPlayerIndex,
+        int appliedCardCount,
+        int drawTwoMultiplier,
+        boolean hasDrawn) {
+        this.seed = seed;
+        this.stateVersion = stateVersion;
+        this.playerNames = playerNames;
+        this.playerBots = playerBots;
+        this.playerUnos = playerUnos;
+        this.playerCardCodes = playerCardCodes;
+        this.drawPileCodes = drawPileCodes;
+        this.discardPileCodes = discardPileCodes;
+        this.direction = direction;
+        this.gameState = gameState;
+        this.unoChallengeState = unoChallengeState;
+        this.chosenColor = chosenColor;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.appliedCardCount = appliedCardCount;
+        this.drawTwoMultiplier = drawTwoMultiplier;
+        this.hasDrawn = hasDrawn;
+    }
+
+    /**
+     * Captures the state of a game. This must be called from the mailbox of the room that the game is running in.
+     *
+     * @param model    The game to capture.
+     * @param hasDrawn True, if the current player has just drawn a card that they may play.
+     * @return The snapshot of the game.
+     */
+    @NotNull
+    public static GameSnapshot capture(@NotNull ServerGameModel model, boolean hasDrawn) {
+        List<ServerGamePlayer> players = model.getPlayers();
+        String[] playerNames = new String[players.size()];
+        boolean[] playerBots = new boolean[players.size()];
+        boolean[] playerUnos = new boolean[players.size()];
+        byte[][] playerCardCodes = new byte[players.size()][];
+        for (int i = 0; i < players.size(); i++) {
+            ServerGamePlayer player = players.get(i);
+            playerNames[i] = player.getName();
+            playerBots[i] = player.isBot();
+            playerUnos[i] = player.isUno();
+            playerCardCodes[i] = toCodes(player.getCards());
+        }
+
+        return new GameSnapshot(
+            model.getSeed(),
+            model.getStateVersion(),
+            playerNames,
+            playerBots,
+            playerUnos,
+            playerCardCodes,
+            model.getDrawPileCodes(),
+            toCodes(model.getDiscardPile()),
+            model.getDirection(),
+            model.getGameState(),
+            model.getUnoChallengeState(),
+            model.getChosenColor(),
+            model.getCurrentPlayerIndex(),
+            model.getAppliedCardCount(),
+            model.getDrawTwoMultiplier(),
+            hasDrawn);
+    }
+
+    /**
+     * @return A new game in the captured state.
+     */
+    @NotNull
+    public ServerGameModel restore() {
+        List<ServerGamePlayer> players = new ArrayList<>(playerNames.length);
+        for (int i = 0; i < playerNames.length; i++) {
+            ServerGamePlayer player = new ServerGamePlayer(playerNames[i], playerBots[i]);
+            player.setUno(playerUnos[i]);
+            for (byte code : playerCardCodes[i]) player.getCards().add(StandardCards.get(code));
+            players.add(player);
+        }
+
+        return new ServerGameModel(
+            players,
+            seed,
+            toPile(drawPileCodes),
+            toPile(discardPileCodes),
+            direction,
+            gameState,
+            unoChallengeState,
+            chosenColor,
+            appliedCardCount,
+            drawTwoMultiplier,
+            currentPlayerIndex,
+            stateVersion);
+    }
+
+    @NotNull
+    private static byte[] toCodes(@NotNull List<ICard> cards) {
+        byte[] result = new byte[cards.size()];
+        for (int i = 0; i < result.length; i++) result[i] = (byte) cards.get(i).getCode();
+        return result;
+    }
+
+    @NotNull
+    private static Stack<ICard> toPile(@NotNull byte[] codes) {
+        Stack<ICard> result = new Stack<>();
+        for (byte code : codes) result.add(StandardCards.get(code));
+        return result;
+    }
+
+    /* Encoding */
+
+    /**
+     * @param writer The writer to encode this snapshot with.
+     */
+    public void write(@NotNull JavunoPacketWriter writer) {
+        writer.writeLong(seed);
+        writer.writeVarInt(stateVersion);
+        writer.writeVarInt(playerNames.length);
+        for (int i = 0; i < playerNames.length; i++) {
+            writer.writeString(playerNames[i]);
+            writer.writeBoolean(playerBots[i]);
+            writer.writeBoolean(playerUnos[i]);
+            writeCodes(writer, playerCardCodes[i]);
+        }
+        writeCodes(writer, drawPileCodes);
+        writeCodes(writer, discardPileCodes);
+        writer.writeByte(direction.ordinal());
+        writer.writeByte(gameState.ordinal());
+        writer.writeByte(unoChallengeState.ordinal());
+        writer.writeSignedVarInt(chosenColor == null ? -1 : chosenColor.ordinal());
+        writer.writeVarInt(currentPlayerIndex);
+        writer.writeVarInt(appliedCardCount);
+        writer.writeVarInt(drawTwoMultiplier);
+        writer.writeBoolean(hasDrawn);
+    }
+
+    /**
+     * Decodes a snapshot that was encoded by {@link #write(JavunoPacketWriter)}.
+     *
+     * @param reader The reader to decode the snapshot from.
+     * @return The decoded snapshot.
+     * @throws JavunoBadPacketException The snapshot is malformed.
+     */
+    @NotNull
+    public static GameSnapshot read(@NotNull JavunoPacketReader reader) {
+        long seed = reader.readLong();
+        int stateVersion = reader.readVarInt();
+        int playerCount = reader.readVarInt();
+        if (playerCount < 1 || playerCount > reader.remaining())
+            throw new JavunoBadPacketException(String.format("Invalid player count %d", playerCount), true);
+
+        String[] playerNames = new String[playerCount];
+        boolean[] playerBots = new boolean[playerCount];
+        boolean[] playerUnos = new boolean[playerCount];
+        byte[][] playerCardCodes = new byte[playerCount][];
+        for (int i = 0; i < playerCount; i++) {
+            playerNames[i] = reader.readString();
+            playerBots[i] = reader.readBoolean();
+            playerUnos[i] = reader.readBoolean();
+            playerCardCodes[i] = readCodes(reader);
+        }
+        byte[] drawPileCodes = readCodes(reader);
+        byte[] discardPileCodes = readCodes(reader);
+        Direction direction = readEnum(reader.readByte(), Direction.values());
+        GameState gameState = readEnum(reader.readByte(), GameState.values());
+        UnoChallengeState unoChallengeState = readEnum(reader.readByte(), UnoChallengeState.values());
+        int colorOrdinal = reader.readSignedVarInt();
+        CardColor chosenColor = colorOrdinal == -1 ? null : readEnum(colorOrdinal, CardColor.values());
+        int currentPlayerIndex = reader.readVarInt();
+        if (currentPlayerIndex >= playerCount)
+            throw new JavunoBadPacketException(String.format("Invalid player index %d", currentPlayerIndex), true);
+
+        return new GameSnapshot(
+            seed,
+            stateVersion,
+            playerNames,
+            playerBots,
+            playerUnos,
+            playerCardCodes,
+            drawPileCodes,
+            discardPileCodes,
+            direction,
+            gameState,
+            unoChallengeState,
+            chosenColor,
+            currentPlayerIndex,
+            reader.readVarInt(),
+            reader.readVarInt(),
+            reader.readBoolean());
+    }
+
+    private static void writeCodes(@NotNull JavunoPacketWriter writer, @NotNull byte[] codes) {
+        writer.writeVarInt(codes.length);
+        for (byte code : codes) writer.writeByte(code);
+    }
+
+    @NotNull
+    private static byte[] readCodes(@NotNull JavunoPacketReader reader) {
+        int count = reader.readVarInt();
+        if (count > reader.remaining())
+            throw new JavunoBadPacketException("Unexpected end of snapshot", true);
+
+        byte[] result = new byte[count];
+        for (int i = 0; i < count; i++) {
+            int code = reader.readByte();
+            if (!StandardCards.isValid(code))
+                throw new JavunoBadPacketException(String.format("Invalid card code %d", code), true);
+            result[i] = (byte) code;
+        }
+        return result;
+    }
+
+    @NotNull
+    private static <T extends Enum<T>> T readEnum(int ordinal, @NotNull T[] values) {
+        if (ordinal < 0 || ordinal >= values.length)
+            throw new JavunoBadPacketException(
+                String.format("Invalid %s %d", values[0].getDeclaringClass().getSimpleName(), ordinal),
+                true);
+        return values[ordinal];
+    }
+
+    /* Field Getters */
+
+    /**
+     * @return The game state version that was captured.
+     */
+    public int getStateVersion() {
+        return stateVersion;
+    }
+
+    /**
+     * @return True, if the current player had just drawn a card that they may play.
+     */
+    public boolean hasDrawn() {
+        return hasDrawn;
+    }
+}
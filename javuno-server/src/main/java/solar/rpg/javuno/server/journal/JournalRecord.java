@@ -0,0 +1,350 @@
+package solar.rpg.javuno.server.journal;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
+import solar.rpg.javuno.models.packets.JavunoBadPacketException;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketReader;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketWriter;
+import solar.rpg.javuno.server.models.ServerGamePlayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single event that happened in a room, as written to the {@link GameJournal}. Games are dealt from a seeded random,
+ * so the start of a game and the actions taken in it are enough to rebuild the exact game state.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class JournalRecord {
+
+    /**
+     * The type of event.
+     */
+    @NotNull
+    private final Type type;
+    /**
+     * The name of the room that the event happened in.
+     */
+    @NotNull
+    private final String roomName;
+    /**
+     * The player who took the action, or joined or left. {@code null} for other types of event.
+     */
+    @Nullable
+    private final String playerName;
+    /**
+     * The seed that the game was dealt from, for {@link Type#GAME_START}.
+     */
+    private final long seed;
+    /**
+     * The names of the participating players in seat order, for {@link Type#GAME_START}.
+     */
+    @NotNull
+    private final List<String> playerNames;
+    /**
+     * The participating players who are bots, in seat order, for {@link Type#GAME_START}.
+     */
+    @NotNull
+    private final List<Boolean> playerBots;
+    /**
+     * The index of the played card in the player's hand, for {@link Type#PLAY_CARD}.
+     */
+    private final int cardIndex;
+    /**
+     * The color chosen for a played wild card, for {@link Type#PLAY_CARD}.
+     */
+    @Nullable
+    private final CardColor chosenColor;
+    /**
+     * The captured state of the game, for {@link Type#SNAPSHOT}.
+     */
+    @Nullable
+    private final GameSnapshot snapshot;
+
+    private JournalRecord(
+        @NotNull Type type,
+        @NotNull String roomName,
+        @Nullable String playerName,
+        long seed,
+        @NotNull List<String> playerNames,
+        @NotNull List<Boolean> playerBots,
+        int cardIndex,
+        @Nullable CardColor chosenColor,
+        @Nullable GameSnapshot snapshot) {
+        this.type = type;
+        this.roomName = roomName;
+        this.playerName = playerName;
+        this.seed = seed;
+        this.playerNames = playerNames;
+        this.playerBots = playerBots;
+        this.cardIndex = cardIndex;
+        this.chosenColor = chosenColor;
+        this.snapshot = snapshot;
+    }
+
+    /* Factories */
+
+    /**
+     * @param roomName The name of the room.
+     * @param seed     The seed that the game was dealt from.
+     * @param players  The participating players, in seat order.
+     * @return A record of a game starting.
+     */
+    @NotNull
+    public static JournalRecord gameStart(
+        @NotNull String roomName,
+        long seed,
+        @NotNull List<ServerGamePlayer> players) {
+        List<String> playerNames = new ArrayList<>(players.size());
+        List<Boolean> playerBots = new ArrayList<>(players.size());
+        for (ServerGamePlayer player : players) {
+            playerNames.add(player.getName());
+            playerBots.add(player.isBot());
+        }
+        return new JournalRecord(Type.GAME_START, roomName, null, seed, playerNames, playerBots, 0, null, null);
+    }
+
+    /**
+     * @param roomName    The name of the room.
+     * @param playerName  The name of the player who played a card.
+     * @param cardIndex   The index of the played card in the player's hand.
+     * @param chosenColor The color chosen for a wild card, otherwise {@code null}.
+     * @return A record of a player playing a card.
+     */
+    @NotNull
+    public static JournalRecord playCard(
+        @NotNull String roomName,
+        @NotNull String playerName,
+        int cardIndex,
+        @Nullable CardColor chosenColor) {
+        return new JournalRecord(
+            Type.PLAY_CARD, roomName, playerName, 0, List.of(), List.of(), cardIndex, chosenColor, null);
+    }
+
+    /**
+     * @param roomName   The name of the room.
+     * @param playerName The name of the player who drew cards.
+     * @return A record of a player drawing cards.
+     */
+    @NotNull
+    public static JournalRecord drawCards(@NotNull String roomName, @NotNull String playerName) {
+        return new JournalRecord(Type.DRAW_CARDS, roomName, playerName, 0, List.of(), List.of(), 0, null, null);
+    }
+
+    /**
+     * @param roomName   The name of the room.
+     * @param playerName The name of the player who joined.
+     * @return A record of a player joining the room.
+     */
+    @NotNull
+    public static JournalRecord playerJoin(@NotNull String roomName, @NotNull String playerName) {
+        return new JournalRecord(Type.PLAYER_JOIN, roomName, playerName, 0, List.of(), List.of(), 0, null, null);
+    }
+
+    /**
+     * @param roomName   The name of the room.
+     * @param playerName The name of the player who left.
+     * @return A record of a player leaving the room.
+     */
+    @NotNull
+    public static JournalRecord playerLeave(@NotNull String roomName, @NotNull String playerName) {
+        return new JournalRecord(Type.PLAYER_LEAVE, roomName, playerName, 0, List.of(), List.of(), 0, null, null);
+    }
+
+    /**
+     * @param roomName The name of the room.
+     * @return A record of a room being discarded, along with any game that was running in it.
+     */
+    @NotNull
+    public static JournalRecord roomClosed(@NotNull String roomName) {
+        return new JournalRecord(Type.ROOM_CLOSED, roomName, null, 0, List.of(), List.of(), 0, null, null);
+    }
+
+    /**
+     * @param roomName The name of the room.
+     * @param snapshot The captured state of the game running in the room.
+     * @return A record of the state of a game, which replaces the state that the previous records built.
+     */
+    @NotNull
+    public static JournalRecord snapshot(@NotNull String roomName, @NotNull GameSnapshot snapshot) {
+        return new JournalRecord(Type.SNAPSHOT, roomName, null, 0, List.of(), List.of(), 0, null, snapshot);
+    }
+
+    /* Encoding */
+
+    /**
+     * Encodes this record, without the journal's length and checksum header.
+     *
+     * @param writer The writer to encode this record with.
+     */
+    void write(@NotNull JavunoPacketWriter writer) {
+        writer.writeByte(type.ordinal());
+        writer.writeString(roomName);
+        switch (type) {
+            case GAME_START -> {
+                writer.writeLong(seed);
+                writer.writeVarInt(playerNames.size());
+                for (int i = 0; i < playerNames.size(); i++) {
+                    writer.writeString(playerNames.get(i));
+                    writer.writeBoolean(playerBots.get(i));
+                }
+            }
+            case PLAY_CARD -> {
+                writer.writeString(getPlayerName());
+                writer.writeVarInt(cardIndex);
+                writer.writeSignedVarInt(chosenColor == null ? -1 : chosenColor.ordinal());
+            }
+            case DRAW_CARDS, PLAYER_JOIN, PLAYER_LEAVE -> writer.writeString(getPlayerName());
+            case SNAPSHOT -> getSnapshot().write(writer);
+            case ROOM_CLOSED -> {
+            }
+        }
+    }
+
+    /**
+     * Decodes a record that was encoded by {@link #write(JavunoPacketWriter)}.
+     *
+     * @param reader The reader to decode the record from.
+     * @return The decoded record.
+     * @throws JavunoBadPacketException The record is malformed.
+     */
+    @NotNull
+    static JournalRecord read(@NotNull JavunoPacketReader reader) {
+        int typeOrdinal = reader.readByte();
+        if (typeOrdinal >= Type.values().length)
+            throw new JavunoBadPacketException(String.format("Unknown journal record type %d", typeOrdinal), true);
+        Type type = Type.values()[typeOrdinal];
+        String roomName = reader.readString();
+
+        return switch (type) {
+            case GAME_START -> {
+                long seed = reader.readLong();
+                int playerCount = reader.readVarInt();
+                if (playerCount > reader.remaining())
+                    throw new JavunoBadPacketException("Unexpected end of journal record", true);
+                List<String> playerNames = new ArrayList<>(playerCount);
+                List<Boolean> playerBots = new ArrayList<>(playerCount);
+                for (int i = 0; i < playerCount; i++) {
+                    playerNames.add(reader.readString());
+                    playerBots.add(reader.readBoolean());
+                }
+                yield new JournalRecord(
+                    type,
+                    roomName,
+                    null,
+                    seed,
+                    Collections.unmodifiableList(playerNames),
+                    Collections.unmodifiableList(playerBots),
+                    0,
+                    null,
+                    null);
+            }
+            case PLAY_CARD -> {
+                String playerName = reader.readString();
+                int cardIndex = reader.readVarInt();
+                int colorOrdinal = reader.readSignedVarInt();
+                if (colorOrdinal < -1 || colorOrdinal >= CardColor.values().length)
+                    throw new JavunoBadPacketException(String.format("Unknown card color %d", colorOrdinal), true);
+                yield playCard(
+                    roomName,
+                    playerName,
+                    cardIndex,
+                    colorOrdinal == -1 ? null : CardColor.values()[colorOrdinal]);
+            }
+            case DRAW_CARDS -> drawCards(roomName, reader.readString());
+            case PLAYER_JOIN -> playerJoin(roomName, reader.readString());
+            case PLAYER_LEAVE -> playerLeave(roomName, reader.readString());
+            case ROOM_CLOSED -> roomClosed(roomName);
+            case SNAPSHOT -> snapshot(roomName, GameSnapshot.read(reader));
+        };
+    }
+
+    /* Field Getters */
+
+    /**
+     * @return The type of event.
+     */
+    @NotNull
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return The name of the room that the event happened in.
+     */
+    @NotNull
+    public String getRoomName() {
+        return roomName;
+    }
+
+    /**
+     * @return The player who took the action, or joined or left.
+     * @throws IllegalStateException This type of event does not have a player.
+     */
+    @NotNull
+    public String getPlayerName() {
+        if (playerName == null) throw new IllegalStateException(String.format("%s record has no player", type));
+        return playerName;
+    }
+
+    /**
+     * @return The seed that the game was dealt from.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return Creates the participating players of a started game, in seat order, with empty hands.
+     */
+    @NotNull
+    public List<ServerGamePlayer> createPlayers() {
+        List<ServerGamePlayer> result = new ArrayList<>(playerNames.size());
+        for (int i = 0; i < playerNames.size(); i++)
+            result.add(new ServerGamePlayer(playerNames.get(i), playerBots.get(i)));
+        return result;
+    }
+
+    /**
+     * @return The index of the played card in the player's hand.
+     */
+    public int getCardIndex() {
+        return cardIndex;
+    }
+
+    /**
+     * @return The color chosen for a played wild card, otherwise {@code null}.
+     */
+    @Nullable
+    public CardColor getChosenColor() {
+        return chosenColor;
+    }
+
+    /**
+     * @return The captured state of the game.
+     * @throws IllegalStateException This type of event does not have a snapshot.
+     */
+    @NotNull
+    public GameSnapshot getSnapshot() {
+        if (snapshot == null) throw new IllegalStateException(String.format("%s record has no snapshot", type));
+        return snapshot;
+    }
+
+    /**
+     * Denotes the types of event that are written to the journal. <em>The order must never change</em>, as the ordinal
+     * of each type is written to the journal.
+     */
+    public enum Type {
+        GAME_START,
+        PLAY_CARD,
+        DRAW_CARDS,
+        PLAYER_JOIN,
+        PLAYER_LEAVE,
+        ROOM_CLOSED,
+        SNAPSHOT
+    }
+}
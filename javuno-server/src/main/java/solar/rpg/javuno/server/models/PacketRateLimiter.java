@@ -0,0 +1,126 @@
+package solar.rpg.javuno.server.models;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.packets.IJavunoTimeLimitedPacket;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketType;
+import solar.rpg.jserver.packet.JServerPacket;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how often each connection can send each type of {@link IJavunoTimeLimitedPacket}, using a token bucket per
+ * connection and packet type. A bucket holds up to {@link IJavunoTimeLimitedPacket#getLimitBurst()} tokens, and gains
+ * one token each time {@link IJavunoTimeLimitedPacket#getLimitDuration()} passes. Each accepted packet takes a token.
+ * <p>
+ * Rather than counting tokens, each bucket stores the time at which it will next be full, in a slot of a fixed array
+ * indexed by {@link JavunoPacketType#getId()}. Checking a packet reads the clock once and updates its slot with a
+ * single compare-and-set, so this can be called from any thread without locking.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class PacketRateLimiter {
+
+    /**
+     * The bucket state of each connection. Each slot holds the time at which the bucket of that packet type will be
+     * full again, relative to {@link #startNanos}.
+     */
+    @NotNull
+    private final ConcurrentHashMap<InetSocketAddress, AtomicLongArray> connectionBuckets;
+    /**
+     * Amount of throttled packets of each type, indexed by type id.
+     */
+    @NotNull
+    private final LongAdder[] throttledCounts;
+    /**
+     * The {@link System#nanoTime()} that bucket times are relative to, so that empty slots are always in the past.
+     */
+    private final long startNanos;
+
+    /**
+     * Constructs a new {@code PacketRateLimiter} instance.
+     */
+    public PacketRateLimiter() {
+        connectionBuckets = new ConcurrentHashMap<>();
+        throttledCounts = new LongAdder[JavunoPacketType.getIdCount()];
+        for (int i = 0; i < throttledCounts.length; i++) throttledCounts[i] = new LongAdder();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes a token from the bucket of the packet's origin address and type, if one is available.
+     *
+     * @param packet The time limited packet that was received.
+     * @return 0 if the packet was accepted, otherwise how long until it would have been accepted, in nanoseconds.
+     * @throws IllegalArgumentException Provided packet was not a {@link IJavunoTimeLimitedPacket}.
+     */
+    public long tryAcquire(@NotNull JServerPacket packet) {
+        if (!(packet instanceof IJavunoTimeLimitedPacket timeLimitedPacket))
+            throw new IllegalArgumentException("Packet is not time limited");
+
+        int typeId = JavunoPacketType.of(packet).getId();
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(timeLimitedPacket.getLimitDuration());
+        long burstNanos = intervalNanos * Math.max(timeLimitedPacket.getLimitBurst(), 1);
+        AtomicLongArray buckets = getBuckets(packet.getOriginAddress());
+        long now = System.nanoTime() - startNanos;
+
+        while (true) {
+            long fullAt = buckets.get(typeId);
+            long newFullAt = Math.max(fullAt, now) + intervalNanos;
+            long excessNanos = newFullAt - now - burstNanos;
+            if (excessNanos > 0) {
+                throttledCounts[typeId].increment();
+                return excessNanos;
+            }
+            if (buckets.compareAndSet(typeId, fullAt, newFullAt)) return 0;
+        }
+    }
+
+    /**
+     * Discards the buckets of a connection that has closed.
+     *
+     * @param originAddress The origin address of the closed connection.
+     */
+    public void removeConnection(@NotNull InetSocketAddress originAddress) {
+        connectionBuckets.remove(originAddress);
+    }
+
+    @NotNull
+    private AtomicLongArray getBuckets(@NotNull InetSocketAddress originAddress) {
+        AtomicLongArray buckets = connectionBuckets.get(originAddress);
+        if (buckets != null) return buckets;
+        return connectionBuckets.computeIfAbsent(
+            originAddress,
+            address -> new AtomicLongArray(JavunoPacketType.getIdCount()));
+    }
+
+    /* Metrics */
+
+    /**
+     * @param packetType The packet type.
+     * @return Amount of packets of this type that have been throttled.
+     */
+    public long getThrottledCount(@NotNull JavunoPacketType packetType) {
+        return throttledCounts[packetType.getId()].sum();
+    }
+
+    /**
+     * @return Amount of packets of any type that have been throttled.
+     */
+    public long getThrottledCount() {
+        long total = 0;
+        for (LongAdder throttledCount : throttledCounts) total += throttledCount.sum();
+        return total;
+    }
+
+    /**
+     * @return Amount of connections that have sent a time limited packet and are still open.
+     */
+    public int getConnectionCount() {
+        return connectionBuckets.size();
+    }
+}
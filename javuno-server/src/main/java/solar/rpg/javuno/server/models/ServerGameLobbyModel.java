@@ -1,14 +1,24 @@
 package solar.rpg.javuno.server.models;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import solar.rpg.javuno.models.game.AbstractGameLobbyModel;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * This model stores the server-side information for the JAVUNO game lobby. It stores origin address information about
  * players in the lobby. This is done so the game controller can send packets to any given player client as needed.
+ * <p>
+ * While a game is running, players in the lobby who do not have a seat in it are spectators. The origin addresses of
+ * seated players and spectators are kept as separate lists, which are only rebuilt once the lobby or the seats change.
  *
  * @author jskinner
  * @since 1.0.0
@@ -20,6 +30,26 @@ public class ServerGameLobbyModel extends AbstractGameLobbyModel {
      */
     @NotNull
     private final ArrayList<InetSocketAddress> playerOriginAddresses;
+    /**
+     * The name of the player associated with each origin address.
+     */
+    @NotNull
+    private final HashMap<InetSocketAddress, String> originAddressPlayerNames;
+    /**
+     * The names of the players who have a seat in the running game, or {@code null} if there is no game running.
+     */
+    @Nullable
+    private Set<String> seatedPlayerNames;
+    /**
+     * The origin addresses of seated players, or {@code null} if they have to be rebuilt. Never modified once built.
+     */
+    @Nullable
+    private List<InetSocketAddress> seatedOriginAddresses;
+    /**
+     * The origin addresses of spectators, or {@code null} if they have to be rebuilt. Never modified once built.
+     */
+    @Nullable
+    private List<InetSocketAddress> spectatorOriginAddresses;
 
     /**
      * Constructs a new {@code ServerGameLobbyModel} instance. This is done on server startup.
@@ -27,6 +57,7 @@ public class ServerGameLobbyModel extends AbstractGameLobbyModel {
     public ServerGameLobbyModel() {
         super();
         playerOriginAddresses = new ArrayList<>();
+        originAddressPlayerNames = new HashMap<>();
     }
 
     /**
@@ -34,7 +65,7 @@ public class ServerGameLobbyModel extends AbstractGameLobbyModel {
      * @return True, if the given origin address is associated with a player in the lobby list.
      */
     public boolean doesPlayerExist(@NotNull InetSocketAddress originAddress) {
-        return playerOriginAddresses.contains(originAddress);
+        return originAddressPlayerNames.containsKey(originAddress);
     }
 
     /**
@@ -46,11 +77,13 @@ public class ServerGameLobbyModel extends AbstractGameLobbyModel {
      * @throws IllegalStateException    Index of origin address does not match index of player.
      */
     public void addPlayer(@NotNull String playerName, @NotNull InetSocketAddress originAddress) {
-        if (playerOriginAddresses.contains(originAddress))
+        if (doesPlayerExist(originAddress))
             throw new IllegalArgumentException(String.format("Origin address %s already registered", originAddress));
         super.addPlayer(playerName);
         playerOriginAddresses.add(originAddress);
-        if (playerOriginAddresses.indexOf(originAddress) != getPlayerLobbyIndex(playerName))
+        originAddressPlayerNames.put(originAddress, playerName);
+        invalidateAudience();
+        if (playerOriginAddresses.size() - 1 != getPlayerLobbyIndex(playerName))
             throw new IllegalStateException("Player index mismatch");
     }
 
@@ -63,7 +96,26 @@ public class ServerGameLobbyModel extends AbstractGameLobbyModel {
     public void removePlayer(@NotNull InetSocketAddress originAddress) {
         int playerIndex = getPlayerLobbyIndex(originAddress);
         playerOriginAddresses.remove(playerIndex);
+        originAddressPlayerNames.remove(originAddress);
         super.removePlayer(playerIndex);
+        invalidateAudience();
+    }
+
+    /**
+     * Associates a player in the lobby list with a new origin address, keeping their place in the lobby list. This is
+     * done when a player resumes their session from a new socket.
+     *
+     * @param playerName       The name of the player.
+     * @param newOriginAddress The new origin address of the player.
+     * @throws IllegalArgumentException Player name does not exist, or new origin address already exists.
+     */
+    public void replaceOriginAddress(@NotNull String playerName, @NotNull InetSocketAddress newOriginAddress) {
+        if (doesPlayerExist(newOriginAddress))
+            throw new IllegalArgumentException(String.format("Origin address %s already registered", newOriginAddress));
+        int playerIndex = getPlayerLobbyIndex(playerName);
+        originAddressPlayerNames.remove(playerOriginAddresses.set(playerIndex, newOriginAddress));
+        originAddressPlayerNames.put(newOriginAddress, playerName);
+        invalidateAudience();
     }
 
     /**
@@ -76,6 +128,69 @@ public class ServerGameLobbyModel extends AbstractGameLobbyModel {
         return playerOriginAddresses.get(getPlayerLobbyIndex(playerName));
     }
 
+    /**
+     * @return Unmodifiable view of the origin addresses of all players in the lobby. The order matches the lobby list.
+     */
+    @NotNull
+    public List<InetSocketAddress> getOriginAddresses() {
+        return Collections.unmodifiableList(playerOriginAddresses);
+    }
+
+    /**
+     * Sets which players have a seat in the running game. The names do not have to be in the lobby, so that players
+     * who rejoin a recovered game take back their seat.
+     *
+     * @param seatedPlayerNames The names of the seated players, or {@code null} if there is no game running.
+     */
+    public void setSeatedPlayerNames(@Nullable Collection<String> seatedPlayerNames) {
+        this.seatedPlayerNames = seatedPlayerNames == null ? null : new HashSet<>(seatedPlayerNames);
+        invalidateAudience();
+    }
+
+    /**
+     * @param playerName The player name to check.
+     * @return True, if the player has a seat in the running game, or if there is no game running.
+     */
+    public boolean isSeated(@NotNull String playerName) {
+        return seatedPlayerNames == null || seatedPlayerNames.contains(playerName);
+    }
+
+    /**
+     * @return The origin addresses of all players in the lobby who have a seat in the running game, or of every player
+     * if there is no game running. The list is never modified, so it can be handed to other threads.
+     */
+    @NotNull
+    public List<InetSocketAddress> getSeatedOriginAddresses() {
+        if (seatedOriginAddresses == null) buildAudience();
+        return seatedOriginAddresses;
+    }
+
+    /**
+     * @return The origin addresses of all players in the lobby who do not have a seat in the running game. The list is
+     * never modified, so it can be handed to other threads.
+     */
+    @NotNull
+    public List<InetSocketAddress> getSpectatorOriginAddresses() {
+        if (spectatorOriginAddresses == null) buildAudience();
+        return spectatorOriginAddresses;
+    }
+
+    private void buildAudience() {
+        List<InetSocketAddress> seated = new ArrayList<>();
+        List<InetSocketAddress> spectators = new ArrayList<>();
+        for (InetSocketAddress originAddress : playerOriginAddresses) {
+            if (isSeated(originAddressPlayerNames.get(originAddress))) seated.add(originAddress);
+            else spectators.add(originAddress);
+        }
+        seatedOriginAddresses = Collections.unmodifiableList(seated);
+        spectatorOriginAddresses = Collections.unmodifiableList(spectators);
+    }
+
+    private void invalidateAudience() {
+        seatedOriginAddresses = null;
+        spectatorOriginAddresses = null;
+    }
+
     /**
      * @param originAddress The origin address to retrieve the player name from.
      * @return The name of the player associated with the given origin address.
@@ -83,7 +198,11 @@ public class ServerGameLobbyModel extends AbstractGameLobbyModel {
      */
     @NotNull
     public String getPlayerName(@NotNull InetSocketAddress originAddress) {
-        return getPlayerName(getPlayerLobbyIndex(originAddress));
+        String result = originAddressPlayerNames.get(originAddress);
+        if (result == null)
+            throw new IllegalArgumentException(String.format("Could not find player associated with %s",
+                                                             originAddress));
+        return result;
     }
 
     /**
@@ -93,8 +212,7 @@ public class ServerGameLobbyModel extends AbstractGameLobbyModel {
      */
     @NotNull
     public String getPlayerNameWithDefault(@NotNull InetSocketAddress originAddress, @NotNull String theDefault) {
-        if (doesPlayerExist(originAddress)) return getPlayerName(originAddress);
-        else return theDefault;
+        return originAddressPlayerNames.getOrDefault(originAddress, theDefault);
     }
 
     /**
@@ -103,10 +221,6 @@ public class ServerGameLobbyModel extends AbstractGameLobbyModel {
      * @throws IllegalArgumentException Origin address does not exist.
      */
     public int getPlayerLobbyIndex(@NotNull InetSocketAddress originAddress) {
-        int result = playerOriginAddresses.indexOf(originAddress);
-        if (result == -1)
-            throw new IllegalArgumentException(String.format("Could not find player associated with %s",
-                                                             originAddress));
-        return result;
+        return getPlayerLobbyIndex(getPlayerName(originAddress));
     }
 }
@@ -1,9 +1,9 @@
 package solar.rpg.javuno.server.models;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
 import solar.rpg.javuno.models.cards.ICard;
-import solar.rpg.javuno.models.cards.standard.DrawTwoCard;
-import solar.rpg.javuno.models.cards.standard.WildDrawFourCard;
 import solar.rpg.javuno.models.game.AbstractGameModel;
 import solar.rpg.javuno.models.game.Direction;
 import solar.rpg.javuno.models.game.UnoDeckFactory;
@@ -24,11 +24,19 @@ public class ServerGameModel extends AbstractGameModel<ServerGamePlayer> {
 
     @NotNull
     private final Random random;
+    /**
+     * The seed that the draw pile was shuffled and the first player was chosen with.
+     */
+    private final long seed;
     /**
      * The draw pile. Cards are placed on top.
      */
     @NotNull
     private final Stack<ICard> drawPile;
+    /**
+     * The current game state version. This is incremented by every mutation that is streamed to clients.
+     */
+    private int stateVersion;
 
     /**
      * Constructs a new {@code ServerGameModel} instance.
@@ -36,15 +44,81 @@ public class ServerGameModel extends AbstractGameModel<ServerGamePlayer> {
      * @param players The names of all participating players (the order matters here).
      */
     public ServerGameModel(@NotNull List<ServerGamePlayer> players) {
-        super(new Stack<>(), players, Direction.FORWARD, GameState.AWAITING_START, UnoChallengeState.NOT_APPLICABLE);
-        random = new Random();
-        drawPile = new UnoDeckFactory().getNewDrawPile(2);
+        this(players, new Random().nextLong());
+    }
+
+    /**
+     * Constructs a new {@code ServerGameModel} instance. Games that are constructed with the same players and seed are
+     * dealt identically, so a game can be rebuilt from its seed and the actions taken in it.
+     *
+     * @param players The names of all participating players (the order matters here).
+     * @param seed    The seed to shuffle the draw pile and choose the first player with.
+     */
+    public ServerGameModel(@NotNull List<ServerGamePlayer> players, long seed) {
+        super(
+            new Stack<>(),
+            players,
+            Direction.FORWARD,
+            GameState.AWAITING_START,
+            UnoChallengeState.NOT_APPLICABLE,
+            null,
+            0,
+            0);
+        this.seed = seed;
+        random = new Random(seed);
+        drawPile = new UnoDeckFactory().getNewDrawPile(2, random);
         discardPile.push(drawPile.pop());
         setCurrentPlayerIndex(random.nextInt(players.size()));
         IntStream.range(0, players.size()).forEachOrdered(
                 i -> getPlayer(i).getCards().addAll(drawCards(7)));
     }
 
+    /**
+     * Constructs a {@code ServerGameModel} instance of a game that is already in progress, such as one that is
+     * restored from a snapshot.
+     *
+     * @param players            The participating players, holding their cards (the order matters here).
+     * @param seed               The seed that the game was dealt from.
+     * @param drawPile           The draw pile. Cards are placed on top.
+     * @param discardPile        The discard pile. Cards are placed on top.
+     * @param direction          Current direction of game play.
+     * @param gameState          Current game state.
+     * @param unoChallengeState  Current UNO challenge state.
+     * @param chosenColor        The color chosen for the wild card on top of the discard pile, if any.
+     * @param appliedCardCount   Amount of cards at the bottom of the discard pile whose draw penalties no longer apply.
+     * @param drawTwoMultiplier  Amount of consecutive draw two cards whose penalty is yet to be applied.
+     * @param currentPlayerIndex Index of the player who has the current turn.
+     * @param stateVersion       The current game state version.
+     */
+    public ServerGameModel(
+        @NotNull List<ServerGamePlayer> players,
+        long seed,
+        @NotNull Stack<ICard> drawPile,
+        @NotNull Stack<ICard> discardPile,
+        @NotNull Direction direction,
+        @NotNull GameState gameState,
+        @NotNull UnoChallengeState unoChallengeState,
+        @Nullable CardColor chosenColor,
+        int appliedCardCount,
+        int drawTwoMultiplier,
+        int currentPlayerIndex,
+        int stateVersion) {
+        super(
+            discardPile,
+            players,
+            direction,
+            gameState,
+            unoChallengeState,
+            chosenColor,
+            appliedCardCount,
+            drawTwoMultiplier);
+        this.seed = seed;
+        this.drawPile = drawPile;
+        this.stateVersion = stateVersion;
+        random = new Random(seed);
+        setCurrentPlayerIndex(currentPlayerIndex);
+    }
+
     private List<ICard> drawCards(int amount) {
         if (drawPile.size() < amount)
             throw new IllegalArgumentException(String.format("Draw pile does not have at least %d cards", amount));
@@ -52,19 +126,39 @@ public class ServerGameModel extends AbstractGameModel<ServerGamePlayer> {
     }
 
     public List<ICard> drawCards() {
-        int amount = 1;
-
-        ICard card = getLastPlayedCard();
-        if (card instanceof WildDrawFourCard drawFourCard
-            && !drawFourCard.isApplied()
-            && getGameState() == GameState.AWAITING_DRAW_FOUR_RESPONSE)
-            amount = drawFourCard.getDrawAmount();
-        else if (card instanceof DrawTwoCard drawTwoCard
-                 && !drawTwoCard.isApplied()
-                 && getGameState() == GameState.AWAITING_DRAW_TWO_RESPONSE)
-            amount = getDrawTwoMultiplier() * drawTwoCard.getDrawAmount();
-
-        return drawCards(amount);
+        return drawCards(getDrawAmount());
+    }
+
+    @Override
+    public void playCard(@NotNull ICard cardToPlay, @Nullable CardColor chosenColor) {
+        super.playCard(cardToPlay, chosenColor);
+        stateVersion++;
+    }
+
+    @Override
+    public void onDrawCards(boolean nextTurn) {
+        super.onDrawCards(nextTurn);
+        stateVersion++;
+    }
+
+    @Override
+    public void chooseInitialColor(@NotNull CardColor chosenColor) {
+        super.chooseInitialColor(chosenColor);
+        stateVersion++;
+    }
+
+    /**
+     * @return The seed that the draw pile was shuffled and the first player was chosen with.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The current game state version.
+     */
+    public int getStateVersion() {
+        return stateVersion;
     }
 
     @NotNull
@@ -72,12 +166,45 @@ public class ServerGameModel extends AbstractGameModel<ServerGamePlayer> {
         return getPlayer(getCurrentPlayerIndex()).getCards();
     }
 
+    /**
+     * @return The codes of the cards in the draw pile, from the bottom to the top.
+     */
+    @NotNull
+    public byte[] getDrawPileCodes() {
+        byte[] result = new byte[drawPile.size()];
+        for (int i = 0; i < result.length; i++) result[i] = (byte) drawPile.get(i).getCode();
+        return result;
+    }
+
+    /**
+     * Returns the codes of every card that the given player cannot see: the draw pile, and the hands of every other
+     * player. These are returned as a whole, so they do not reveal which player holds which card.
+     *
+     * @param playerIndex The index of the player.
+     * @return The card codes, in no particular order.
+     */
+    @NotNull
+    public byte[] getUnseenCardCodes(int playerIndex) {
+        int count = drawPile.size();
+        for (int i = 0; i < players.size(); i++) if (i != playerIndex) count += players.get(i).getCardCount();
+
+        byte[] result = new byte[count];
+        int index = 0;
+        for (ICard card : drawPile) result[index++] = (byte) card.getCode();
+        for (int i = 0; i < players.size(); i++) {
+            if (i == playerIndex) continue;
+            for (ICard card : players.get(i).getCards()) result[index++] = (byte) card.getCode();
+        }
+        return result;
+    }
+
     @NotNull
     public List<Integer> getPlayerCardCounts() {
         return getPlayers().stream().map(ServerGamePlayer::getCardCount).collect(Collectors.toList());
     }
 
+    @Override
     public void removePlayer(int playerIndex) {
-        players.remove(playerIndex);
+        super.removePlayer(playerIndex);
     }
 }
@@ -5,17 +5,41 @@ import solar.rpg.javuno.models.cards.ICard;
 import solar.rpg.javuno.models.game.AbstractGamePlayer;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 public final class ServerGamePlayer extends AbstractGamePlayer {
 
+    /**
+     * The cards in this player's hand. Only accessed from the mailbox of the room that the player is in.
+     */
     @NotNull
     private final List<ICard> cards;
+    /**
+     * True, if this player is controlled by the server instead of a client.
+     */
+    private final boolean bot;
 
     public ServerGamePlayer(@NotNull String name) {
+        this(name, false);
+    }
+
+    /**
+     * Constructs a new {@code ServerGamePlayer} instance.
+     *
+     * @param name The name of the player.
+     * @param bot  True, if this player is controlled by the server instead of a client.
+     */
+    public ServerGamePlayer(@NotNull String name, boolean bot) {
         super(name, false);
-        this.cards = Collections.synchronizedList(new ArrayList<>());
+        this.bot = bot;
+        this.cards = new ArrayList<>();
+    }
+
+    /**
+     * @return True, if this player is controlled by the server instead of a client.
+     */
+    public boolean isBot() {
+        return bot;
     }
 
     @Override
@@ -0,0 +1,175 @@
+package solar.rpg.javuno.server.models;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.packets.IJavunoSequencedPacket;
+import solar.rpg.jserver.packet.JServerPacket;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This model stores the most recent deltas of the game state stream, so that clients who have missed some of them can
+ * be brought up to date without sending the entire game state. It also tracks the last state version that each player
+ * has acknowledged. If a client falls further behind than the deltas that are kept, it needs a full snapshot instead.
+ *
+ * @author jskinner
+ * @see IJavunoSequencedPacket
+ * @since 1.0.0
+ */
+public final class ServerGameStateLog {
+
+    /**
+     * The maximum amount of deltas that are kept.
+     */
+    public static final int MAX_DELTAS = 64;
+
+    /**
+     * The most recent deltas, oldest first.
+     */
+    @NotNull
+    private final ArrayDeque<StateDelta> deltas;
+    /**
+     * The last state version that each player has acknowledged.
+     */
+    @NotNull
+    private final Map<String, Integer> acknowledgedVersions;
+    /**
+     * The state version that the game started at.
+     */
+    private final int initialVersion;
+
+    /**
+     * Constructs a new {@code ServerGameStateLog} instance.
+     *
+     * @param initialVersion The state version that the game started at.
+     */
+    public ServerGameStateLog(int initialVersion) {
+        this.initialVersion = initialVersion;
+        deltas = new ArrayDeque<>(MAX_DELTAS);
+        acknowledgedVersions = new HashMap<>();
+    }
+
+    /**
+     * Appends a delta to the log, discarding the oldest delta if the log is full. Deltas must be appended in order.
+     *
+     * @param publicPacket     The delta sent to every player, except for the private recipient.
+     * @param privateRecipient The name of the player that receives a different delta, or null if there is none.
+     * @param privatePacket    The delta sent to the private recipient, or null if there is none.
+     * @param <T>              Packet type of the deltas.
+     * @throws IllegalArgumentException Delta is out of order, or private delta does not match the public delta.
+     */
+    public <T extends JServerPacket & IJavunoSequencedPacket> void append(
+        @NotNull T publicPacket,
+        @Nullable String privateRecipient,
+        @Nullable T privatePacket) {
+        if (publicPacket.getSequence() != getLatestVersion() + 1)
+            throw new IllegalArgumentException(String.format(
+                "Expected delta %d, got %d",
+                getLatestVersion() + 1,
+                publicPacket.getSequence()
+            ));
+        if ((privateRecipient == null) != (privatePacket == null))
+            throw new IllegalArgumentException("Expected both private recipient and private packet, or neither");
+        if (privatePacket != null && privatePacket.getSequence() != publicPacket.getSequence())
+            throw new IllegalArgumentException("Private delta does not match public delta");
+
+        if (deltas.size() == MAX_DELTAS) deltas.removeFirst();
+        deltas.addLast(new StateDelta(publicPacket.getSequence(), publicPacket, privateRecipient, privatePacket));
+    }
+
+    /**
+     * Returns every delta that a player needs to catch up from the given state version, as that player would have
+     * originally received them.
+     *
+     * @param stateVersion The last state version that the player has applied.
+     * @param playerName   The name of the player.
+     * @return The deltas in order, or {@code null} if the player is too far behind and needs a snapshot.
+     * @throws IllegalArgumentException State version is ahead of the log.
+     */
+    @Nullable
+    public List<JServerPacket> getDeltasSince(int stateVersion, @NotNull String playerName) {
+        if (stateVersion > getLatestVersion())
+            throw new IllegalArgumentException(String.format(
+                "State version %d is ahead of %d",
+                stateVersion,
+                getLatestVersion()
+            ));
+        if (stateVersion < getOldestVersion()) return null;
+
+        List<JServerPacket> result = new ArrayList<>(getLatestVersion() - stateVersion);
+        for (StateDelta delta : deltas)
+            if (delta.sequence > stateVersion)
+                result.add(playerName.equals(delta.privateRecipient) ? delta.privatePacket : delta.publicPacket);
+        return result;
+    }
+
+    /**
+     * Records the last state version that a player has acknowledged.
+     *
+     * @param playerName   The name of the player.
+     * @param stateVersion The acknowledged state version.
+     */
+    public void acknowledge(@NotNull String playerName, int stateVersion) {
+        acknowledgedVersions.merge(playerName, stateVersion, Math::max);
+    }
+
+    /**
+     * @param playerName The name of the player.
+     * @return The last state version that the player has acknowledged, or the initial version if none.
+     */
+    public int getAcknowledgedVersion(@NotNull String playerName) {
+        return acknowledgedVersions.getOrDefault(playerName, initialVersion);
+    }
+
+    /**
+     * Forgets the acknowledged state version of a player.
+     *
+     * @param playerName The name of the player.
+     */
+    public void removePlayer(@NotNull String playerName) {
+        acknowledgedVersions.remove(playerName);
+    }
+
+    /**
+     * @return The state version produced by the most recent delta.
+     */
+    public int getLatestVersion() {
+        return deltas.isEmpty() ? initialVersion : deltas.getLast().sequence;
+    }
+
+    /**
+     * @return The oldest state version that a player can catch up from using deltas alone.
+     */
+    public int getOldestVersion() {
+        return deltas.isEmpty() ? initialVersion : deltas.getFirst().sequence - 1;
+    }
+
+    /**
+     * A single delta in the game state stream.
+     */
+    private static final class StateDelta {
+
+        private final int sequence;
+        @NotNull
+        private final JServerPacket publicPacket;
+        @Nullable
+        private final String privateRecipient;
+        @Nullable
+        private final JServerPacket privatePacket;
+
+        private StateDelta(
+            int sequence,
+            @NotNull JServerPacket publicPacket,
+            @Nullable String privateRecipient,
+            @Nullable JServerPacket privatePacket) {
+            this.sequence = sequence;
+            this.publicPacket = publicPacket;
+            this.privateRecipient = privateRecipient;
+            this.privatePacket = privatePacket;
+        }
+    }
+}
@@ -0,0 +1,695 @@
+package solar.rpg.javuno.server.network;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import solar.rpg.javuno.models.packets.IJavunoDroppablePacket;
+import solar.rpg.javuno.models.packets.JavunoBadPacketException;
+import solar.rpg.javuno.models.packets.codec.JavunoFrameCodec;
+import solar.rpg.javuno.models.packets.codec.JavunoPacketCodec;
+import solar.rpg.jserver.packet.JServerPacket;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A non-blocking server host built on {@link Selector}. Instead of dedicating a thread to every socket, connections are
+ * spread across a small, fixed amount of event loop threads, each of which owns a selector and performs all reads and
+ * writes for its connections without blocking. Packets are sent as {@link JavunoFrameCodec} frames holding packets
+ * encoded by {@link JavunoPacketCodec}, so clients must use the framed transport to connect to this host.
+ * <p>
+ * The callbacks mirror those of {@code JServerHost}, and are called from the event loop thread that owns the
+ * connection. They must not block.
+ * <p>
+ * Each connection has a bounded write queue. Once a connection has more than the high-water mark of bytes waiting to
+ * be sent, frames of {@link IJavunoDroppablePacket}s are dropped instead of queued. A connection that stays over the
+ * high-water mark for longer than the slow consumer timeout, or that reaches the hard limit of four times the
+ * high-water mark, is evicted: its queue is discarded and it is closed. Each event loop also checks its connections
+ * periodically, so that a connection is evicted even if nothing else is written to it.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public abstract class JavunoSelectorHost {
+
+    /**
+     * Initial size of the read buffer of each connection. It grows as needed, up to the maximum frame length.
+     */
+    private static final int INITIAL_READ_BUFFER_SIZE = 1024;
+    /**
+     * Multiple of the high-water mark at which a connection is evicted straight away.
+     */
+    private static final int HARD_LIMIT_FACTOR = 4;
+    /**
+     * How often each event loop checks its connections for slow consumers, in milliseconds.
+     */
+    private static final long SLOW_CONSUMER_SWEEP_MILLIS = 1000;
+
+    @NotNull
+    private final Logger logger;
+    @NotNull
+    private final ServerSocketChannel serverChannel;
+    @NotNull
+    private final EventLoop[] eventLoops;
+    /**
+     * Every open connection, keyed by origin address.
+     */
+    @NotNull
+    private final Map<InetSocketAddress, Connection> connections;
+    /**
+     * Incremented for each accepted connection, used to spread connections evenly across the event loops.
+     */
+    @NotNull
+    private final AtomicInteger nextEventLoop;
+    /**
+     * Amount of frames that were dropped instead of queued for a connection over the high-water mark.
+     */
+    @NotNull
+    private final LongAdder droppedFrameCount;
+    /**
+     * Amount of connections that were evicted for not keeping up with their writes.
+     */
+    @NotNull
+    private final LongAdder evictedConnectionCount;
+    /**
+     * Amount of queued bytes above which a connection is under pressure.
+     */
+    private volatile int writeHighWaterMark;
+    /**
+     * How long a connection may stay over the high-water mark before it is evicted, in nanoseconds.
+     */
+    private volatile long slowConsumerNanos;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new {@code JavunoSelectorHost} instance, and starts listening for incoming connections.
+     *
+     * @param bindAddr      The internet address to bind to.
+     * @param port          The port.
+     * @param ioThreadCount Amount of event loop threads.
+     * @param logger        Logging object.
+     * @throws IOException I/O exception while creating the server socket or selectors.
+     */
+    public JavunoSelectorHost(
+        @NotNull InetAddress bindAddr,
+        int port,
+        int ioThreadCount,
+        @NotNull Logger logger) throws IOException {
+        if (ioThreadCount < 1) throw new IllegalArgumentException("Expected at least one I/O thread");
+        this.logger = logger;
+        connections = new ConcurrentHashMap<>();
+        nextEventLoop = new AtomicInteger();
+        droppedFrameCount = new LongAdder();
+        evictedConnectionCount = new LongAdder();
+        writeHighWaterMark = 256 * 1024;
+        slowConsumerNanos = TimeUnit.SECONDS.toNanos(10);
+
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.configureBlocking(false);
+            serverChannel.bind(new InetSocketAddress(bindAddr, port));
+
+            eventLoops = new EventLoop[ioThreadCount];
+            for (int i = 0; i < ioThreadCount; i++) eventLoops[i] = new EventLoop(i);
+            serverChannel.register(eventLoops[0].selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
+
+        for (EventLoop eventLoop : eventLoops) eventLoop.thread.start();
+        logger.log(Level.INFO, String.format("Listening on %s:%d with %d I/O threads", bindAddr, port, ioThreadCount));
+    }
+
+    /* Callbacks */
+
+    /**
+     * Called once a new connection has been accepted.
+     *
+     * @param originAddress The origin address of the new connection.
+     */
+    public abstract void onNewConnection(@NotNull InetSocketAddress originAddress);
+
+    /**
+     * Called once a connection has been closed, either by this host or by the other end.
+     *
+     * @param originAddress The origin address of the closed connection.
+     */
+    public abstract void onSocketClosed(@NotNull InetSocketAddress originAddress);
+
+    /**
+     * Called when a packet has been received and decoded. The origin address of the packet is set.
+     *
+     * @param packet The received packet.
+     */
+    public abstract void onPacketReceived(@NotNull JServerPacket packet);
+
+    /**
+     * Creates the packet that is sent on a best effort basis to a connection that is being evicted, so that the client
+     * can tell why it was disconnected.
+     *
+     * @return The packet to send, or {@code null} to close the connection without one.
+     */
+    @Nullable
+    protected JServerPacket createEvictionPacket() {
+        return null;
+    }
+
+    /* Writing */
+
+    /**
+     * Encodes a packet and writes it to an origin address. Nothing happens if the origin address is not connected.
+     *
+     * @param originAddress The origin address to write to.
+     * @param packet        The packet to write.
+     */
+    public void writePacket(@NotNull InetSocketAddress originAddress, @NotNull JServerPacket packet) {
+        Connection connection = connections.get(originAddress);
+        if (connection == null) return;
+
+        byte[] frame = JavunoFrameCodec.frame(JavunoPacketCodec.encode(packet));
+        connection.enqueue(ByteBuffer.wrap(frame).asReadOnlyBuffer(), packet instanceof IJavunoDroppablePacket);
+    }
+
+    /**
+     * Writes a frame to an origin address. The frame is not copied, so the same frame can be written to many origin
+     * addresses, as long as it is never modified. Nothing happens if the origin address is not connected.
+     *
+     * @param originAddress The origin address to write to.
+     * @param frame         The frame to write, including its header.
+     * @param droppable     True, if the frame may be dropped when the connection is over the high-water mark.
+     */
+    public void writeFrame(@NotNull InetSocketAddress originAddress, @NotNull byte[] frame, boolean droppable) {
+        Connection connection = connections.get(originAddress);
+        if (connection != null) connection.enqueue(ByteBuffer.wrap(frame).asReadOnlyBuffer(), droppable);
+    }
+
+    /* Connection Management */
+
+    /**
+     * Closes the connection to an origin address once every packet that was written to it has been sent.
+     *
+     * @param originAddress The origin address of the connection to close.
+     */
+    public void closeSocket(@NotNull InetSocketAddress originAddress) {
+        Connection connection = connections.get(originAddress);
+        if (connection != null) connection.requestClose();
+    }
+
+    /**
+     * Stops listening for new connections, closes every connection, and stops the event loop threads.
+     */
+    public void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to close server socket", e);
+        }
+        for (EventLoop eventLoop : eventLoops) eventLoop.selector.wakeup();
+    }
+
+    /**
+     * @return The amount of open connections.
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /* Flow Control */
+
+    /**
+     * @return Amount of queued bytes above which a connection is under pressure.
+     */
+    public int getWriteHighWaterMark() {
+        return writeHighWaterMark;
+    }
+
+    /**
+     * Sets the amount of queued bytes above which a connection is under pressure.
+     *
+     * @param writeHighWaterMark The new high-water mark, in bytes.
+     */
+    public void setWriteHighWaterMark(int writeHighWaterMark) {
+        if (writeHighWaterMark < 1) throw new IllegalArgumentException("Expected high-water mark to be greater than 0");
+        this.writeHighWaterMark = writeHighWaterMark;
+    }
+
+    /**
+     * Sets how long a connection may stay over the high-water mark before it is evicted.
+     *
+     * @param slowConsumerTimeout The new timeout.
+     * @param unit                The time unit of the timeout.
+     */
+    public void setSlowConsumerTimeout(long slowConsumerTimeout, @NotNull TimeUnit unit) {
+        if (slowConsumerTimeout < 0) throw new IllegalArgumentException("Expected timeout to be 0 or greater");
+        slowConsumerNanos = unit.toNanos(slowConsumerTimeout);
+    }
+
+    /**
+     * @param originAddress The origin address.
+     * @return Amount of bytes waiting to be sent to the origin address, or 0 if it is not connected.
+     */
+    public long getQueuedBytes(@NotNull InetSocketAddress originAddress) {
+        Connection connection = connections.get(originAddress);
+        return connection == null ? 0 : connection.queuedBytes.get();
+    }
+
+    /**
+     * @return Amount of bytes waiting to be sent to every connection.
+     */
+    public long getTotalQueuedBytes() {
+        long total = 0;
+        for (Connection connection : connections.values()) total += connection.queuedBytes.get();
+        return total;
+    }
+
+    /**
+     * @return The largest amount of bytes waiting to be sent to any one connection.
+     */
+    public long getMaxQueuedBytes() {
+        long max = 0;
+        for (Connection connection : connections.values()) max = Math.max(max, connection.queuedBytes.get());
+        return max;
+    }
+
+    /**
+     * @return Amount of frames that were dropped instead of queued for a connection over the high-water mark.
+     */
+    public long getDroppedFrameCount() {
+        return droppedFrameCount.sum();
+    }
+
+    /**
+     * @return Amount of connections that were evicted for not keeping up with their writes.
+     */
+    public long getEvictedConnectionCount() {
+        return evictedConnectionCount.sum();
+    }
+
+    /**
+     * @return True, if this host has been closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Accepts every pending connection, and hands each of them to the next event loop.
+     */
+    private void acceptConnections() {
+        while (true) {
+            SocketChannel channel = null;
+            try {
+                channel = serverChannel.accept();
+                if (channel == null) return;
+
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                InetSocketAddress originAddress = (InetSocketAddress) channel.getRemoteAddress();
+
+                EventLoop eventLoop = eventLoops[Math.floorMod(nextEventLoop.getAndIncrement(), eventLoops.length)];
+                Connection connection = new Connection(channel, originAddress, eventLoop);
+                connections.put(originAddress, connection);
+                eventLoop.execute(connection::register);
+            } catch (IOException e) {
+                logger.log(Level.INFO, "Unable to accept connection", e);
+                if (channel != null) closeQuietly(channel);
+                if (!serverChannel.isOpen()) return;
+            }
+        }
+    }
+
+    private void closeQuietly(@NotNull Channel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * An event loop thread that owns a selector, and performs every read and write of the connections registered to
+     * it. Tasks submitted from other threads are run on the event loop thread between selections.
+     */
+    private final class EventLoop implements Runnable {
+
+        @NotNull
+        private final Selector selector;
+        @NotNull
+        private final Thread thread;
+        @NotNull
+        private final Queue<Runnable> tasks;
+        /**
+         * The {@link System#nanoTime()} at which the connections of this event loop are next checked for slow
+         * consumers.
+         */
+        private long nextSweep;
+
+        private EventLoop(int index) throws IOException {
+            selector = Selector.open();
+            tasks = new ConcurrentLinkedQueue<>();
+            thread = new Thread(this, String.format("javuno-io-%d", index));
+            thread.setDaemon(true);
+        }
+
+        /**
+         * Runs a task on this event loop.
+         *
+         * @param task The task to run.
+         */
+        private void execute(@NotNull Runnable task) {
+            tasks.add(task);
+            if (Thread.currentThread() != thread) selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (!closed) {
+                try {
+                    if (tasks.isEmpty()) selector.select(SLOW_CONSUMER_SWEEP_MILLIS);
+                    else selector.selectNow();
+
+                    Runnable task;
+                    while ((task = tasks.poll()) != null) task.run();
+
+                    Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                    while (selectedKeys.hasNext()) {
+                        SelectionKey key = selectedKeys.next();
+                        selectedKeys.remove();
+                        if (!key.isValid()) continue;
+
+                        if (key.isAcceptable()) {
+                            acceptConnections();
+                            continue;
+                        }
+                        Connection connection = (Connection) key.attachment();
+                        if (key.isReadable()) connection.read();
+                        if (key.isValid() && key.isWritable()) connection.flush();
+                    }
+
+                    long now = System.nanoTime();
+                    if (now - nextSweep >= 0) {
+                        nextSweep = now + TimeUnit.MILLISECONDS.toNanos(SLOW_CONSUMER_SWEEP_MILLIS);
+                        sweepSlowConsumers(now);
+                    }
+                } catch (IOException | ClosedSelectorException e) {
+                    if (!closed) logger.log(Level.WARNING, String.format("Error in %s", thread.getName()), e);
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, String.format("Unhandled exception in %s", thread.getName()), e);
+                }
+            }
+
+            for (Connection connection : connections.values())
+                if (connection.eventLoop == this) connection.close();
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        /**
+         * Evicts the connections of this event loop that have been over the high-water mark for too long, including
+         * those that nothing has been written to since they went over.
+         *
+         * @param now The current {@link System#nanoTime()}.
+         */
+        private void sweepSlowConsumers(long now) {
+            for (Connection connection : connections.values())
+                if (connection.eventLoop == this) connection.checkSlowConsumer(now);
+        }
+    }
+
+    /**
+     * A single connection. Reads, writes and closing are only ever performed by the event loop that owns it, while
+     * frames can be queued for writing from any thread.
+     */
+    private final class Connection {
+
+        @NotNull
+        private final SocketChannel channel;
+        @NotNull
+        private final InetSocketAddress originAddress;
+        @NotNull
+        private final EventLoop eventLoop;
+        /**
+         * Frames waiting to be written, oldest first.
+         */
+        @NotNull
+        private final Queue<ByteBuffer> writeQueue;
+        /**
+         * Amount of bytes in the write queue that have not been written yet.
+         */
+        @NotNull
+        private final AtomicLong queuedBytes;
+        /**
+         * True, if a flush task has been submitted to the event loop and has not run yet.
+         */
+        @NotNull
+        private final AtomicBoolean flushScheduled;
+        /**
+         * True, once the connection has been chosen for eviction.
+         */
+        @NotNull
+        private final AtomicBoolean evicting;
+        /**
+         * The {@link System#nanoTime()} at which the connection went over the high-water mark, or 0 if it is under.
+         */
+        private volatile long overHighWaterSince;
+        @NotNull
+        private ByteBuffer readBuffer;
+        @Nullable
+        private SelectionKey key;
+        /**
+         * True, if the connection should be closed once the write queue is empty.
+         */
+        private volatile boolean closeRequested;
+        private boolean closed;
+
+        private Connection(
+            @NotNull SocketChannel channel,
+            @NotNull InetSocketAddress originAddress,
+            @NotNull EventLoop eventLoop) {
+            this.channel = channel;
+            this.originAddress = originAddress;
+            this.eventLoop = eventLoop;
+            writeQueue = new ConcurrentLinkedQueue<>();
+            queuedBytes = new AtomicLong();
+            flushScheduled = new AtomicBoolean();
+            evicting = new AtomicBoolean();
+            readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE);
+        }
+
+        private void register() {
+            try {
+                key = channel.register(eventLoop.selector, SelectionKey.OP_READ, this);
+            } catch (IOException e) {
+                close();
+                return;
+            }
+
+            try {
+                onNewConnection(originAddress);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, String.format("Unhandled exception accepting %s", originAddress), e);
+            }
+            if (!writeQueue.isEmpty()) flush();
+        }
+
+        private void read() {
+            try {
+                if (channel.read(readBuffer) == -1) {
+                    close();
+                    return;
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+
+            readBuffer.flip();
+            try {
+                byte[] frame;
+                while (!closed && (frame = JavunoFrameCodec.readFrame(readBuffer)) != null) {
+                    JServerPacket packet = JavunoPacketCodec.decode(frame);
+                    packet.setOriginAddress(originAddress);
+                    try {
+                        onPacketReceived(packet);
+                    } catch (RuntimeException e) {
+                        logger.log(Level.WARNING, String.format("Unhandled exception handling packet from %s",
+                                                                originAddress), e);
+                    }
+                }
+            } catch (JavunoBadPacketException e) {
+                logger.log(Level.INFO, String.format("Bad frame from %s", originAddress), e);
+                close();
+                return;
+            }
+            if (closed) return;
+
+            // Make sure that the buffer can fit the next frame once it arrives in full.
+            if (readBuffer.remaining() >= JavunoFrameCodec.HEADER_LENGTH) {
+                int frameLength = JavunoFrameCodec.HEADER_LENGTH + readBuffer.getInt(readBuffer.position());
+                if (frameLength > readBuffer.capacity()) {
+                    ByteBuffer grownBuffer = ByteBuffer.allocate(frameLength);
+                    grownBuffer.put(readBuffer);
+                    readBuffer = grownBuffer;
+                    return;
+                }
+            }
+            readBuffer.compact();
+        }
+
+        /**
+         * Queues a frame for writing, and makes sure that the event loop will flush it. If the connection is over the
+         * high-water mark, droppable frames are dropped, and the connection is evicted if it has been over for too
+         * long or has reached the hard limit.
+         *
+         * @param frame     The frame to write.
+         * @param droppable True, if the frame may be dropped when the connection is over the high-water mark.
+         */
+        private void enqueue(@NotNull ByteBuffer frame, boolean droppable) {
+            if (closeRequested) return;
+
+            long queued = queuedBytes.get();
+            if (queued >= writeHighWaterMark) {
+                if (checkSlowConsumer(System.nanoTime())) return;
+                if (droppable) {
+                    droppedFrameCount.increment();
+                    return;
+                }
+            }
+
+            if (queuedBytes.addAndGet(frame.remaining()) >= writeHighWaterMark && overHighWaterSince == 0)
+                overHighWaterSince = System.nanoTime();
+            writeQueue.add(frame);
+            if (flushScheduled.compareAndSet(false, true)) eventLoop.execute(this::flush);
+        }
+
+        /**
+         * Evicts the connection if it has been over the high-water mark for longer than the slow consumer timeout, or
+         * has reached the hard limit. Starts timing the connection if it is over the high-water mark but was not
+         * timed yet.
+         *
+         * @param now The current {@link System#nanoTime()}.
+         * @return True, if the connection is being evicted.
+         */
+        private boolean checkSlowConsumer(long now) {
+            if (evicting.get()) return true;
+
+            long queued = queuedBytes.get();
+            int highWaterMark = writeHighWaterMark;
+            if (queued < highWaterMark) {
+                overHighWaterSince = 0;
+                return false;
+            }
+
+            long since = overHighWaterSince;
+            if (since == 0) overHighWaterSince = now;
+            if ((since != 0 && now - since > slowConsumerNanos)
+                || queued >= (long) highWaterMark * HARD_LIMIT_FACTOR) {
+                evict(queued);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Discards the write queue of a connection that is not keeping up, and closes it. The eviction packet is
+         * written if the socket has room for it, but is not waited for.
+         *
+         * @param queued Amount of bytes that were queued when the connection was chosen for eviction.
+         */
+        private void evict(long queued) {
+            if (!evicting.compareAndSet(false, true)) return;
+            closeRequested = true;
+
+            eventLoop.execute(() -> {
+                if (closed) return;
+                logger.log(
+                    Level.INFO,
+                    String.format("Evicting slow consumer %s with %d bytes queued", originAddress, queued));
+                evictedConnectionCount.increment();
+                writeQueue.clear();
+                queuedBytes.set(0);
+
+                JServerPacket evictionPacket = createEvictionPacket();
+                if (evictionPacket != null) {
+                    try {
+                        byte[] evictionFrame = JavunoFrameCodec.frame(JavunoPacketCodec.encode(evictionPacket));
+                        channel.write(ByteBuffer.wrap(evictionFrame));
+                    } catch (IOException ignored) {
+                    }
+                }
+                close();
+            });
+        }
+
+        /**
+         * Writes as many queued frames as the socket accepts without blocking. If the socket is full, the event loop
+         * is asked to call this again once the socket is writable.
+         */
+        private void flush() {
+            flushScheduled.set(false);
+            if (closed || key == null) return;
+
+            try {
+                ByteBuffer frame;
+                while ((frame = writeQueue.peek()) != null) {
+                    channel.write(frame);
+                    if (frame.hasRemaining()) {
+                        key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                        return;
+                    }
+                    writeQueue.poll();
+                    if (queuedBytes.addAndGet(-frame.limit()) < writeHighWaterMark) overHighWaterSince = 0;
+                }
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            } catch (IOException | CancelledKeyException e) {
+                close();
+                return;
+            }
+            if (closeRequested) close();
+        }
+
+        private void requestClose() {
+            closeRequested = true;
+            eventLoop.execute(() -> {
+                if (writeQueue.isEmpty()) close();
+                else flush();
+            });
+        }
+
+        private void close() {
+            if (closed) return;
+            closed = true;
+
+            connections.remove(originAddress, this);
+            if (key != null) key.cancel();
+            closeQuietly(channel);
+            writeQueue.clear();
+            queuedBytes.set(0);
+
+            try {
+                onSocketClosed(originAddress);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, String.format("Unhandled exception closing %s", originAddress), e);
+            }
+        }
+    }
+}
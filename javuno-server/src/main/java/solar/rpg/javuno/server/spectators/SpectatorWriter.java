@@ -0,0 +1,133 @@
+package solar.rpg.javuno.server.spectators;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes packets to the spectators of every room on a single, low priority thread, so that fanning out to thousands of
+ * spectators never delays the room workers or the players who are seated in a game. Writes are run in the order that
+ * they were submitted.
+ * <p>
+ * Game state updates are coalesced: each room has at most one update waiting to be written, and an update that is
+ * submitted while another is still waiting replaces it. A room that changes faster than its spectators can be written
+ * to therefore only ever has its latest state written. A write that is submitted for a room moves the update that the
+ * room has waiting behind it, so that the update never overtakes a write that was submitted after it.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class SpectatorWriter {
+
+    @NotNull
+    private final ExecutorService executor;
+    /**
+     * The game state update that each room has waiting to be written, keyed by room name.
+     */
+    @NotNull
+    private final Map<String, PendingStateWrite> pendingStateWrites;
+    /**
+     * Amount of game state updates that were replaced by a newer update before they were written.
+     */
+    @NotNull
+    private final LongAdder coalescedStateWriteCount;
+
+    /**
+     * Constructs a new {@code SpectatorWriter} instance.
+     */
+    public SpectatorWriter() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "javuno-spectator-writer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        pendingStateWrites = new ConcurrentHashMap<>();
+        coalescedStateWriteCount = new LongAdder();
+    }
+
+    /**
+     * Submits a write, such as a lobby event, that every spectator of a room must receive. The game state update that
+     * the room has waiting, if any, is moved behind this write, as it would otherwise be written before it.
+     *
+     * @param roomName The name of the room.
+     * @param write    The write to run on the spectator writer thread.
+     */
+    public void write(@NotNull String roomName, @NotNull Runnable write) {
+        PendingStateWrite pendingStateWrite = pendingStateWrites.remove(roomName);
+        execute(write);
+        if (pendingStateWrite != null) writeState(roomName, pendingStateWrite.stateWrite);
+    }
+
+    /**
+     * Runs a write on the spectator writer thread, unless it has been shut down.
+     *
+     * @param write The write to run.
+     */
+    private void execute(@NotNull Runnable write) {
+        try {
+            executor.execute(write);
+        } catch (RejectedExecutionException ignored) {
+            // The writer has been shut down along with the server
+        }
+    }
+
+    /**
+     * Submits a game state update for the spectators of a room. If the room already has an update waiting to be
+     * written, it is replaced by this one.
+     *
+     * @param roomName   The name of the room.
+     * @param stateWrite The write to run on the spectator writer thread.
+     */
+    public void writeState(@NotNull String roomName, @NotNull Runnable stateWrite) {
+        PendingStateWrite created = new PendingStateWrite(stateWrite);
+        PendingStateWrite pendingStateWrite = pendingStateWrites.compute(roomName, (name, current) -> {
+            if (current == null) return created;
+            current.stateWrite = stateWrite;
+            return current;
+        });
+        if (pendingStateWrite != created) {
+            coalescedStateWriteCount.increment();
+            return;
+        }
+        // The update is only written from here if it has not since been moved behind another write
+        execute(() -> {
+            if (pendingStateWrites.remove(roomName, created)) created.stateWrite.run();
+        });
+    }
+
+    /**
+     * Shuts down the spectator writer thread. Pending writes are discarded.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        pendingStateWrites.clear();
+    }
+
+    /* Metrics */
+
+    /**
+     * @return Amount of game state updates that were replaced by a newer update before they were written.
+     */
+    public long getCoalescedStateWriteCount() {
+        return coalescedStateWriteCount.sum();
+    }
+
+    /**
+     * A game state update that is waiting to be written, which is replaced in place by newer updates.
+     */
+    private static final class PendingStateWrite {
+
+        @NotNull
+        private volatile Runnable stateWrite;
+
+        private PendingStateWrite(@NotNull Runnable stateWrite) {
+            this.stateWrite = stateWrite;
+        }
+    }
+}
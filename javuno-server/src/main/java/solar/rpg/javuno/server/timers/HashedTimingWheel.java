@@ -0,0 +1,295 @@
+package solar.rpg.javuno.server.timers;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs delayed tasks for every room on a single thread, using a hashed timing wheel. The wheel is a ring of buckets
+ * that the timer thread advances through one tick at a time. A timeout is placed into the bucket of the tick that it
+ * expires on, along with how many more times the wheel must turn before that happens. Scheduling and cancelling are
+ * O(1) and never block, so any amount of rooms can keep timers without holding any threads.
+ * <p>
+ * Timeouts expire up to one tick late. Tasks run on the timer thread, so they must be short; rooms hand their work
+ * back to their own worker.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class HashedTimingWheel {
+
+    /**
+     * The maximum amount of newly scheduled timeouts that are placed into the wheel on each tick, so that a burst of
+     * scheduling cannot delay expiring the timeouts that are due.
+     */
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    @NotNull
+    private final Logger logger;
+    @NotNull
+    private final Thread timerThread;
+    private final long tickNanos;
+    @NotNull
+    private final Bucket[] wheel;
+    private final int mask;
+    /**
+     * The {@link System#nanoTime()} that deadlines are relative to.
+     */
+    private final long startNanos;
+    /**
+     * Timeouts that have been scheduled, but not yet placed into the wheel by the timer thread.
+     */
+    @NotNull
+    private final Queue<Timeout> scheduledTimeouts;
+    /**
+     * Timeouts that have been cancelled, but not yet removed from the wheel by the timer thread.
+     */
+    @NotNull
+    private final Queue<Timeout> cancelledTimeouts;
+    @NotNull
+    private final AtomicInteger pendingCount;
+    /**
+     * The amount of ticks that have passed. Only used by the timer thread.
+     */
+    private long tick;
+    private volatile boolean shutdown;
+
+    /**
+     * Constructs a new {@code HashedTimingWheel} instance, and starts its timer thread.
+     *
+     * @param tickDuration How long each tick of the wheel lasts.
+     * @param unit         The time unit of the tick duration.
+     * @param wheelSize    Amount of buckets in the wheel, which is rounded up to a power of two.
+     * @param logger       Logging object.
+     */
+    public HashedTimingWheel(long tickDuration, @NotNull TimeUnit unit, int wheelSize, @NotNull Logger logger) {
+        if (tickDuration <= 0) throw new IllegalArgumentException("Expected tick duration to be greater than 0");
+        if (wheelSize < 1 || wheelSize > 1 << 30)
+            throw new IllegalArgumentException(String.format("Wheel size %d is out of range", wheelSize));
+        this.logger = logger;
+        tickNanos = unit.toNanos(tickDuration);
+
+        int bucketCount = Integer.highestOneBit(wheelSize - 1) << 1;
+        wheel = new Bucket[Math.max(bucketCount, 1)];
+        for (int i = 0; i < wheel.length; i++) wheel[i] = new Bucket();
+        mask = wheel.length - 1;
+
+        scheduledTimeouts = new ConcurrentLinkedQueue<>();
+        cancelledTimeouts = new ConcurrentLinkedQueue<>();
+        pendingCount = new AtomicInteger();
+        startNanos = System.nanoTime();
+
+        timerThread = new Thread(this::run, "javuno-timer");
+        timerThread.setDaemon(true);
+        timerThread.start();
+    }
+
+    /**
+     * Schedules a task to run once the delay has passed. This can be called from any thread.
+     *
+     * @param task  The task to run on the timer thread.
+     * @param delay How long to wait before running the task.
+     * @param unit  The time unit of the delay.
+     * @return The timeout, which can be cancelled.
+     * @throws IllegalStateException The timing wheel has been shut down.
+     */
+    @NotNull
+    public Timeout schedule(@NotNull Runnable task, long delay, @NotNull TimeUnit unit) {
+        if (shutdown) throw new IllegalStateException("Timing wheel has been shut down");
+
+        Timeout timeout = new Timeout(task, System.nanoTime() - startNanos + Math.max(unit.toNanos(delay), 0));
+        pendingCount.incrementAndGet();
+        scheduledTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the timer thread. Pending timeouts never expire.
+     */
+    public void shutdown() {
+        shutdown = true;
+        timerThread.interrupt();
+    }
+
+    /**
+     * @return Amount of timeouts that have neither expired nor been cancelled.
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /* Timer Thread */
+
+    private void run() {
+        while (waitForNextTick()) {
+            removeCancelledTimeouts();
+            transferScheduledTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts();
+            tick++;
+        }
+    }
+
+    /**
+     * Sleeps until the current tick has ended.
+     *
+     * @return False, if the wheel was shut down while waiting.
+     */
+    private boolean waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (!shutdown) {
+            long sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - (System.nanoTime() - startNanos) + 999_999);
+            if (sleepMillis <= 0) return true;
+
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException ignored) {
+            }
+        }
+        return false;
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null)
+            if (timeout.bucket != null) timeout.bucket.remove(timeout);
+    }
+
+    private void transferScheduledTimeouts() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = scheduledTimeouts.poll();
+            if (timeout == null) return;
+            if (timeout.state.get() != Timeout.PENDING) continue;
+
+            long expiryTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+            // Timeouts that are already due are placed into the current bucket, so that they expire on this tick
+            wheel[(int) (Math.max(expiryTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * A task that has been scheduled on the timing wheel.
+     */
+    public final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        @NotNull
+        private final Runnable task;
+        /**
+         * When this timeout expires, relative to {@link #startNanos}.
+         */
+        private final long deadline;
+        @NotNull
+        private final AtomicInteger state;
+
+        /* Only used by the timer thread */
+
+        private long remainingRounds;
+        @Nullable
+        private Bucket bucket;
+        @Nullable
+        private Timeout next;
+        @Nullable
+        private Timeout previous;
+
+        private Timeout(@NotNull Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+            state = new AtomicInteger(PENDING);
+        }
+
+        /**
+         * Cancels this timeout, so that its task never runs. This can be called from any thread.
+         *
+         * @return True, if this timeout was cancelled. False, if it had already expired or been cancelled.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) return false;
+
+            pendingCount.decrementAndGet();
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        /**
+         * @return True, if this timeout was cancelled before it expired.
+         */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        /**
+         * @return True, if this timeout has expired and its task has run (or is running).
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) return;
+
+            pendingCount.decrementAndGet();
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Unhandled exception in timer task", e);
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of the timeouts that expire on one tick of each turn of the wheel.
+     */
+    private static final class Bucket {
+
+        @Nullable
+        private Timeout head;
+        @Nullable
+        private Timeout tail;
+
+        private void add(@NotNull Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) head = tail = timeout;
+            else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        private void remove(@NotNull Timeout timeout) {
+            if (timeout.previous != null) timeout.previous.next = timeout.next;
+            else head = timeout.next;
+            if (timeout.next != null) timeout.next.previous = timeout.previous;
+            else tail = timeout.previous;
+
+            timeout.bucket = null;
+            timeout.next = null;
+            timeout.previous = null;
+        }
+
+        /**
+         * Expires every timeout in this bucket that is due on the current turn of the wheel.
+         */
+        private void expireTimeouts() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else timeout.remainingRounds--;
+                timeout = next;
+            }
+        }
+    }
+}
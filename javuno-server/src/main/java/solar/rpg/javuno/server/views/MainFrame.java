@@ -1,11 +1,13 @@
 package solar.rpg.javuno.server.views;
 
 import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.concurrent.JavunoExecutorType;
 import solar.rpg.javuno.mvc.IView;
 import solar.rpg.javuno.mvc.JMVC;
 import solar.rpg.javuno.server.controllers.HostController;
+import solar.rpg.javuno.server.controllers.HostController.HostType;
 import solar.rpg.javuno.server.controllers.ServerAppController;
-import solar.rpg.javuno.server.controllers.ServerGameController;
+import solar.rpg.javuno.server.controllers.ServerRoomController;
 
 import javax.swing.*;
 import java.awt.*;
@@ -35,19 +37,19 @@ public class MainFrame extends JFrame implements IView {
     @NotNull
     private final JMVC<MainFrame, ServerAppController> mvc;
 
-    public MainFrame(@NotNull Logger logger) {
+    public MainFrame(@NotNull HostType hostType, @NotNull JavunoExecutorType executorType, @NotNull Logger logger) {
         super("Javuno Server 1.0.0");
         this.logger = logger;
 
-        ServerAppController appController = new ServerAppController(logger);
+        ServerAppController appController = new ServerAppController(hostType, executorType, logger);
         mvc = appController.getMVC();
         mvc.set(this, appController);
 
         HostController serverHostController = appController.getHostController();
         serverHostController.getMVC().set(this, serverHostController);
 
-        ServerGameController serverGameController = appController.getGameController();
-        serverGameController.getMVC().set(this, serverGameController);
+        ServerRoomController serverRoomController = appController.getRoomController();
+        serverRoomController.getMVC().set(this, serverRoomController);
 
         mainPanel = new JPanel();
 
@@ -0,0 +1,175 @@
+package solar.rpg.javuno.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.game.GameOption;
+import solar.rpg.javuno.simulator.strategies.IPlayerStrategy;
+import solar.rpg.javuno.simulator.strategies.StrategyType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Spreads a large batch of independent simulated games across a {@link ForkJoinPool}. The batch is split into fixed
+ * chunks of games, and each chunk is simulated by its own {@link GameSimulator}, with its own strategies, decks and
+ * game models. Chunks record their outcomes into their own statistics, which are merged as the tasks are joined, so
+ * workers never share any mutable state.
+ * <p>
+ * Every chunk is seeded from the batch seed and its position in the batch, so the outcomes of a batch only depend on
+ * its seed, not on the amount of workers or how the chunks were scheduled.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class BatchSimulator {
+
+    /**
+     * Amount of games simulated by each chunk. This is large enough that splitting and merging costs nothing in
+     * comparison, while still leaving enough chunks to balance across workers.
+     */
+    public static final int CHUNK_SIZE = 2048;
+
+    @NotNull
+    private final ForkJoinPool pool;
+    @NotNull
+    private final List<StrategyType> strategyTypes;
+
+    /**
+     * Constructs a new {@code BatchSimulator} instance.
+     *
+     * @param pool          The pool to run the simulations on.
+     * @param strategyTypes The type of strategy that plays each seat. There must be at least two seats.
+     * @throws IllegalArgumentException Less than two seats.
+     */
+    public BatchSimulator(@NotNull ForkJoinPool pool, @NotNull List<StrategyType> strategyTypes) {
+        if (strategyTypes.size() < 2)
+            throw new IllegalArgumentException(String.format(
+                "Expected at least 2 seats, got %d",
+                strategyTypes.size()
+            ));
+
+        this.pool = pool;
+        this.strategyTypes = List.copyOf(strategyTypes);
+    }
+
+    /**
+     * Simulates a batch of games, waiting for them all to finish.
+     *
+     * @param gameCount   Amount of games to simulate.
+     * @param gameOptions The game options that every game is played with.
+     * @param seed        The seed of the batch.
+     * @return The combined outcomes of the games, including the time taken.
+     * @throws IllegalArgumentException Game option cannot be simulated.
+     */
+    @NotNull
+    public SimulationStatistics run(long gameCount, @NotNull Set<GameOption> gameOptions, long seed) {
+        for (GameOption gameOption : gameOptions)
+            if (!GameSimulator.SUPPORTED_OPTIONS.contains(gameOption))
+                throw new IllegalArgumentException(String.format("Game option %s cannot be simulated", gameOption));
+
+        Set<GameOption> options = gameOptions.isEmpty() ? EnumSet.noneOf(GameOption.class) : EnumSet.copyOf(gameOptions);
+        long chunkCount = (gameCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        long start = System.nanoTime();
+        SimulationStatistics result = pool.invoke(new BatchTask(gameCount, 0, chunkCount, options, seed));
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Measures the effect of each game option that can be simulated. A baseline batch is run with the given game
+     * options, then another batch is run for each supported game option with only that game option toggled. Every
+     * batch uses the same seed, so the decks and starting players match between batches.
+     *
+     * @param gameCount   Amount of games to simulate in each batch.
+     * @param gameOptions The game options of the baseline batch.
+     * @param seed        The seed of every batch.
+     * @return The outcomes of each toggled batch, by the game option that was toggled.
+     * @see #run(long, Set, long)
+     */
+    @NotNull
+    public Map<GameOption, SimulationStatistics> compareOptions(
+        long gameCount,
+        @NotNull Set<GameOption> gameOptions,
+        long seed) {
+        Map<GameOption, SimulationStatistics> result = new EnumMap<>(GameOption.class);
+        for (GameOption gameOption : GameSimulator.SUPPORTED_OPTIONS) {
+            Set<GameOption> toggled = gameOptions.isEmpty()
+                ? EnumSet.noneOf(GameOption.class)
+                : EnumSet.copyOf(gameOptions);
+            if (!toggled.remove(gameOption)) toggled.add(gameOption);
+            result.put(gameOption, run(gameCount, toggled, seed));
+        }
+        return result;
+    }
+
+    public int getSeatCount() {
+        return strategyTypes.size();
+    }
+
+    /**
+     * @param seed       The seed of the batch.
+     * @param chunkIndex The position of the chunk in the batch.
+     * @return The seed of the chunk, mixed so that neighbouring chunks are not correlated.
+     */
+    private static long getChunkSeed(long seed, long chunkIndex) {
+        long result = seed + chunkIndex * 0x9E3779B97F4A7C15L;
+        result = (result ^ (result >>> 30)) * 0xBF58476D1CE4E5B9L;
+        result = (result ^ (result >>> 27)) * 0x94D049BB133111EBL;
+        return result ^ (result >>> 31);
+    }
+
+    /**
+     * Simulates a range of chunks, splitting the range in half until only one chunk is left.
+     */
+    private final class BatchTask extends RecursiveTask<SimulationStatistics> {
+
+        private final long gameCount;
+        private final long fromChunk;
+        private final long toChunk;
+        @NotNull
+        private final Set<GameOption> gameOptions;
+        private final long seed;
+
+        private BatchTask(
+            long gameCount,
+            long fromChunk,
+            long toChunk,
+            @NotNull Set<GameOption> gameOptions,
+            long seed) {
+            this.gameCount = gameCount;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.gameOptions = gameOptions;
+            this.seed = seed;
+        }
+
+        @Override
+        protected SimulationStatistics compute() {
+            if (toChunk - fromChunk > 1) {
+                long middle = (fromChunk + toChunk) >>> 1;
+                BatchTask left = new BatchTask(gameCount, fromChunk, middle, gameOptions, seed);
+                left.fork();
+                SimulationStatistics result = new BatchTask(gameCount, middle, toChunk, gameOptions, seed).compute();
+                result.merge(left.join());
+                return result;
+            }
+
+            Random random = new Random(getChunkSeed(seed, fromChunk));
+            List<IPlayerStrategy> strategies = new ArrayList<>(strategyTypes.size());
+            for (StrategyType strategyType : strategyTypes) strategies.add(strategyType.newStrategy(random));
+
+            GameSimulator simulator = new GameSimulator(strategies, gameOptions, random);
+            SimulationStatistics result = new SimulationStatistics(strategyTypes.size());
+            long games = Math.min(CHUNK_SIZE, gameCount - fromChunk * CHUNK_SIZE);
+            for (long i = 0; i < games; i++) simulator.playGame(result);
+            return result;
+        }
+    }
+}
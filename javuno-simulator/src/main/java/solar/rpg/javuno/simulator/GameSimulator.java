@@ -0,0 +1,163 @@
+package solar.rpg.javuno.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.cards.AbstractWildCard;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.cards.standard.NumberedCard;
+import solar.rpg.javuno.models.game.AbstractGameModel.GameState;
+import solar.rpg.javuno.models.game.GameOption;
+import solar.rpg.javuno.simulator.models.SimulatedGameModel;
+import solar.rpg.javuno.simulator.models.SimulatedPlayer;
+import solar.rpg.javuno.simulator.strategies.IPlayerStrategy;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Plays UNO games back to back without any network or UI, using the same rules as a networked game. Each seat is
+ * played by a strategy, which is asked for its move whenever that seat has the current turn. Only the game options in
+ * {@link #SUPPORTED_OPTIONS} can be simulated. A simulator is not thread-safe, but separate simulators can run at the
+ * same time.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class GameSimulator {
+
+    /**
+     * The maximum amount of turns in a single game. Games that go on for longer are recorded as unfinished.
+     */
+    public static final int MAX_TURNS = 10_000;
+    /**
+     * The game options that the simulated rules implement.
+     */
+    public static final Set<GameOption> SUPPORTED_OPTIONS = Collections.unmodifiableSet(EnumSet.of(
+        GameOption.CONSECUTIVE_DRAW_TWO,
+        GameOption.PICK_UP_PUT_DOWN,
+        GameOption.MUST_FINISH_WITH_NUMBERED_CARD));
+
+    @NotNull
+    private final IPlayerStrategy[] strategies;
+    @NotNull
+    private final String[] playerNames;
+    @NotNull
+    private final Set<GameOption> gameOptions;
+    @NotNull
+    private final Random random;
+    private final boolean pickUpPutDown;
+    private final boolean mustFinishWithNumberedCard;
+
+    /**
+     * Constructs a new {@code GameSimulator} instance.
+     *
+     * @param strategies  The strategy that plays each seat. There must be at least two seats.
+     * @param gameOptions The game options that every game is played with.
+     * @param random      Source of randomness for the deck shuffles and starting players.
+     * @throws IllegalArgumentException Less than two seats.
+     * @throws IllegalArgumentException Game option cannot be simulated.
+     */
+    public GameSimulator(
+        @NotNull List<IPlayerStrategy> strategies,
+        @NotNull Set<GameOption> gameOptions,
+        @NotNull Random random) {
+        if (strategies.size() < 2)
+            throw new IllegalArgumentException(String.format("Expected at least 2 seats, got %d", strategies.size()));
+        for (GameOption gameOption : gameOptions)
+            if (!SUPPORTED_OPTIONS.contains(gameOption))
+                throw new IllegalArgumentException(String.format("Game option %s cannot be simulated", gameOption));
+
+        this.strategies = strategies.toArray(new IPlayerStrategy[0]);
+        this.gameOptions = gameOptions;
+        this.random = random;
+        pickUpPutDown = gameOptions.contains(GameOption.PICK_UP_PUT_DOWN);
+        mustFinishWithNumberedCard = gameOptions.contains(GameOption.MUST_FINISH_WITH_NUMBERED_CARD);
+        playerNames = new String[strategies.size()];
+        for (int i = 0; i < playerNames.length; i++) playerNames[i] = "Seat " + (i + 1);
+    }
+
+    /**
+     * Simulates the given amount of games back to back.
+     *
+     * @param gameCount Amount of games to simulate.
+     * @return The outcomes of the games, including the time taken.
+     */
+    @NotNull
+    public SimulationStatistics run(long gameCount) {
+        SimulationStatistics result = new SimulationStatistics(strategies.length);
+        long start = System.nanoTime();
+        for (long i = 0; i < gameCount; i++) playGame(result);
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Simulates a single game from start to finish and records its outcome.
+     *
+     * @param statistics The statistics to record the outcome in.
+     */
+    public void playGame(@NotNull SimulationStatistics statistics) {
+        List<SimulatedPlayer> players = new ArrayList<>(playerNames.length);
+        for (int i = 0; i < playerNames.length; i++) players.add(new SimulatedPlayer(playerNames[i], i));
+
+        SimulatedGameModel gameModel = new SimulatedGameModel(players, random);
+        gameModel.setGameOptions(gameOptions);
+        gameModel.start();
+
+        boolean hasDrawn = false;
+        for (int turn = 1; turn <= MAX_TURNS; turn++) {
+            SimulatedPlayer player = gameModel.getCurrentPlayer();
+            IPlayerStrategy strategy = strategies[player.getSeat()];
+            List<ICard> cards = player.getCards();
+
+            GameState gameState = gameModel.getGameState();
+            if (gameState == GameState.AWAITING_INITIAL_COLOR) {
+                gameModel.chooseInitialColor(strategy.chooseColor(gameModel, cards));
+                continue;
+            }
+
+            int cardIndex = -1;
+            if (gameState.canPlay()) {
+                BitSet playableCards = gameModel.getPlayableCards(cards);
+                if (mustFinishWithNumberedCard && cards.size() == 1 && !(cards.get(0) instanceof NumberedCard))
+                    playableCards.clear();
+                if (!playableCards.isEmpty()) {
+                    cardIndex = strategy.chooseCard(gameModel, cards, playableCards);
+                    if (cardIndex >= 0 && !playableCards.get(cardIndex))
+                        throw new IllegalStateException(String.format(
+                            "%s chose card %d, which is not playable",
+                            player.getName(),
+                            cardIndex
+                        ));
+                }
+            }
+
+            if (cardIndex >= 0) {
+                ICard card = cards.remove(cardIndex);
+                gameModel.playCard(card, card instanceof AbstractWildCard ? strategy.chooseColor(gameModel, cards) : null);
+                hasDrawn = false;
+
+                if (cards.isEmpty()) {
+                    statistics.recordGame(player.getSeat(), turn);
+                    return;
+                }
+            } else if (hasDrawn) {
+                // The player has already drawn a playable card this turn, but decided to keep it.
+                gameModel.nextPlayer();
+                hasDrawn = false;
+            } else {
+                int drawn = gameModel.drawCards();
+                boolean nextTurn = !pickUpPutDown
+                    || drawn != 1
+                    || !gameModel.isCardPlayable(cards.get(cards.size() - 1));
+                gameModel.onDrawCards(nextTurn);
+                hasDrawn = !nextTurn;
+            }
+        }
+        statistics.recordGame(-1, MAX_TURNS);
+    }
+}
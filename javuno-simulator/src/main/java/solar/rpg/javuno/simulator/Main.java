@@ -0,0 +1,114 @@
+package solar.rpg.javuno.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.game.AbstractGameModel;
+import solar.rpg.javuno.models.game.GameOption;
+import solar.rpg.javuno.simulator.strategies.StrategyType;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs a batch of headless UNO games across every core and reports the throughput and outcomes.
+ * <p>
+ * Usage: {@code Main [games] [strategies] [seed] [options]}, which defaults to {@code 1000000 greedy,random 0} with
+ * the default game options. The strategies are a comma separated list with one entry per seat, e.g.
+ * {@code greedy,random,random,random} for a four player game. The options are a comma separated list of game options,
+ * or {@code none}.
+ * <p>
+ * The amount of workers can be chosen with {@code -Djavuno.parallelism}, which defaults to the amount of cores. With
+ * {@code -Djavuno.compareOptions=true}, the batch is repeated with each supported game option toggled to show its
+ * effect.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class Main {
+
+    /**
+     * Amount of games to simulate before measuring, so that the measured games run on compiled code.
+     */
+    private static final int WARMUP_GAMES = 20_000;
+
+    private Main() {
+    }
+
+    public static void main(String[] args) {
+        long gameCount = Long.parseLong(arg(args, 0, "1000000"));
+        String[] strategyNames = arg(args, 1, "greedy,random").split(",");
+        long seed = Long.parseLong(arg(args, 2, "0"));
+        Set<GameOption> gameOptions = parseGameOptions(arg(args, 3, ""));
+
+        int parallelism = Integer.getInteger("javuno.parallelism", Runtime.getRuntime().availableProcessors());
+        boolean compareOptions = Boolean.getBoolean("javuno.compareOptions");
+
+        List<StrategyType> strategyTypes = new ArrayList<>(strategyNames.length);
+        for (String strategyName : strategyNames)
+            strategyTypes.add(StrategyType.valueOf(strategyName.trim().toUpperCase()));
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        BatchSimulator simulator = new BatchSimulator(pool, strategyTypes);
+        simulator.run(WARMUP_GAMES, gameOptions, seed);
+
+        System.out.printf("Workers: %d, options: %s%n", parallelism, gameOptions);
+        SimulationStatistics statistics = simulator.run(gameCount, gameOptions, seed);
+        printStatistics(statistics, strategyNames);
+
+        if (compareOptions) {
+            Map<GameOption, SimulationStatistics> comparison = simulator.compareOptions(gameCount, gameOptions, seed);
+            for (Map.Entry<GameOption, SimulationStatistics> entry : comparison.entrySet()) {
+                SimulationStatistics toggled = entry.getValue();
+                System.out.printf("%nWith %s %s:%n",
+                                  entry.getKey(),
+                                  gameOptions.contains(entry.getKey()) ? "disabled" : "enabled");
+                System.out.printf("%+.1f turns per game%n", toggled.getAverageTurns() - statistics.getAverageTurns());
+                for (int seat = 0; seat < toggled.getSeatCount(); seat++)
+                    System.out.printf("Seat %d (%s): %+.2f%% wins%n",
+                                      seat + 1,
+                                      strategyNames[seat].trim(),
+                                      (toggled.getSeatWinRate(seat) - statistics.getSeatWinRate(seat)) * 100);
+            }
+        }
+
+        pool.shutdown();
+    }
+
+    private static void printStatistics(@NotNull SimulationStatistics statistics, @NotNull String[] strategyNames) {
+        System.out.printf("Simulated %d games in %d ms%n",
+                          statistics.getGameCount(),
+                          statistics.getElapsedNanos() / 1_000_000);
+        System.out.printf("%,.0f games/s, %,.0f turns/s, %.1f turns per game, %d unfinished%n",
+                          statistics.getGamesPerSecond(),
+                          statistics.getTurnsPerSecond(),
+                          statistics.getAverageTurns(),
+                          statistics.getUnfinishedCount());
+        for (int seat = 0; seat < statistics.getSeatCount(); seat++)
+            System.out.printf("Seat %d (%s): %.2f%% wins%n",
+                              seat + 1,
+                              strategyNames[seat].trim(),
+                              statistics.getSeatWinRate(seat) * 100);
+    }
+
+    /**
+     * @param value A comma separated list of game options, {@code none}, or empty for the default game options.
+     * @return The parsed game options.
+     */
+    @NotNull
+    private static Set<GameOption> parseGameOptions(@NotNull String value) {
+        if (value.isBlank()) return AbstractGameModel.DEFAULT_GAME_OPTIONS;
+
+        Set<GameOption> result = EnumSet.noneOf(GameOption.class);
+        if (value.equalsIgnoreCase("none")) return result;
+        for (String name : value.split(",")) result.add(GameOption.valueOf(name.trim().toUpperCase()));
+        return result;
+    }
+
+    @NotNull
+    private static String arg(@NotNull String[] args, int index, @NotNull String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+}
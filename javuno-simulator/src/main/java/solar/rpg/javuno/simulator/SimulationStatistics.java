@@ -0,0 +1,133 @@
+package solar.rpg.javuno.simulator;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Accumulates the outcomes of simulated games. Instances are not thread-safe; concurrent simulations should each keep
+ * their own statistics and {@link #merge(SimulationStatistics) merge} them afterwards.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class SimulationStatistics {
+
+    /**
+     * Amount of games won from each seat.
+     */
+    @NotNull
+    private final long[] seatWins;
+    private long gameCount;
+    /**
+     * Amount of games that hit the turn limit without a winner.
+     */
+    private long unfinishedCount;
+    private long turnCount;
+    private long elapsedNanos;
+
+    /**
+     * Constructs a new {@code SimulationStatistics} instance.
+     *
+     * @param seatCount Amount of seats in each simulated game.
+     */
+    public SimulationStatistics(int seatCount) {
+        seatWins = new long[seatCount];
+    }
+
+    /**
+     * Records the outcome of a single game.
+     *
+     * @param winningSeat The seat that won the game, or -1 if the game was unfinished.
+     * @param turns       Amount of turns that the game took.
+     */
+    public void recordGame(int winningSeat, int turns) {
+        gameCount++;
+        turnCount += turns;
+        if (winningSeat < 0) unfinishedCount++;
+        else seatWins[winningSeat]++;
+    }
+
+    /**
+     * Adds the outcomes recorded by other statistics to these. The elapsed time is not added, as the other games may
+     * have run at the same time.
+     *
+     * @param other The statistics to add.
+     * @throws IllegalArgumentException Seat counts do not match.
+     */
+    public void merge(@NotNull SimulationStatistics other) {
+        if (other.seatWins.length != seatWins.length)
+            throw new IllegalArgumentException(String.format(
+                "Expected %d seats, got %d",
+                seatWins.length,
+                other.seatWins.length
+            ));
+
+        for (int i = 0; i < seatWins.length; i++) seatWins[i] += other.seatWins[i];
+        gameCount += other.gameCount;
+        unfinishedCount += other.unfinishedCount;
+        turnCount += other.turnCount;
+    }
+
+    /**
+     * @param elapsedNanos Wall clock time taken to simulate the recorded games, in nanoseconds.
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getSeatCount() {
+        return seatWins.length;
+    }
+
+    /**
+     * @param seat The seat.
+     * @return Amount of games won from the given seat.
+     */
+    public long getSeatWins(int seat) {
+        return seatWins[seat];
+    }
+
+    /**
+     * @param seat The seat.
+     * @return The fraction of games won from the given seat, between 0 and 1.
+     */
+    public double getSeatWinRate(int seat) {
+        return gameCount == 0 ? 0 : (double) seatWins[seat] / gameCount;
+    }
+
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    public long getUnfinishedCount() {
+        return unfinishedCount;
+    }
+
+    public long getTurnCount() {
+        return turnCount;
+    }
+
+    /**
+     * @return The average amount of turns per game.
+     */
+    public double getAverageTurns() {
+        return gameCount == 0 ? 0 : (double) turnCount / gameCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return Games simulated per second of wall clock time.
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : gameCount * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @return Turns simulated per second of wall clock time.
+     */
+    public double getTurnsPerSecond() {
+        return elapsedNanos == 0 ? 0 : turnCount * 1e9 / elapsedNanos;
+    }
+}
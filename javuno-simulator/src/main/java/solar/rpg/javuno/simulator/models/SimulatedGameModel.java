@@ -0,0 +1,99 @@
+package solar.rpg.javuno.simulator.models;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.game.AbstractGameModel;
+import solar.rpg.javuno.models.game.Direction;
+import solar.rpg.javuno.models.game.UnoDeckFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+
+/**
+ * {@code SimulatedGameModel} is the state of a headless UNO game. The rules are the same as a networked game, as they
+ * are shared through {@link AbstractGameModel}. Every random decision is taken from the given source of randomness, so
+ * a game can be replayed from its seed. Once the draw pile runs out, the discard pile is shuffled back into it.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class SimulatedGameModel extends AbstractGameModel<SimulatedPlayer> {
+
+    /**
+     * Amount of standard UNO decks in the draw pile, the same as a networked game.
+     */
+    public static final int DECK_AMOUNT = 2;
+    /**
+     * Amount of cards dealt to each player at the start of the game.
+     */
+    public static final int STARTING_HAND_SIZE = 7;
+
+    @NotNull
+    private final Random random;
+    /**
+     * The draw pile. Cards are placed on top.
+     */
+    @NotNull
+    private final Stack<ICard> drawPile;
+
+    /**
+     * Constructs a new {@code SimulatedGameModel} instance. The starting card is turned over, a random starting player
+     * is picked, and every player is dealt their starting hand. The game must still be started.
+     *
+     * @param players The participating players (the order matters here).
+     * @param random  Source of randomness for the shuffles and the starting player.
+     */
+    public SimulatedGameModel(@NotNull List<SimulatedPlayer> players, @NotNull Random random) {
+        super(
+            new Stack<>(),
+            players,
+            Direction.FORWARD,
+            GameState.AWAITING_START,
+            UnoChallengeState.NOT_APPLICABLE,
+            null,
+            0,
+            0);
+        this.random = random;
+        drawPile = new UnoDeckFactory().getNewDrawPile(DECK_AMOUNT, random);
+        discardPile.push(drawPile.pop());
+        setCurrentPlayerIndex(random.nextInt(players.size()));
+        for (SimulatedPlayer player : players)
+            for (int i = 0; i < STARTING_HAND_SIZE; i++) player.getCards().add(drawPile.pop());
+    }
+
+    /**
+     * Moves the cards that the player with the current turn must pick up from the draw pile into their hand. If both
+     * the draw pile and the discard pile run out, fewer cards are drawn.
+     *
+     * @return The amount of cards that were drawn. The drawn cards are at the end of the player's hand.
+     */
+    public int drawCards() {
+        List<ICard> cards = getCurrentPlayer().getCards();
+        int amount = getDrawAmount();
+        for (int i = 0; i < amount; i++) {
+            if (drawPile.empty()) refillDrawPile();
+            if (drawPile.empty()) return i;
+            cards.add(drawPile.pop());
+        }
+        return amount;
+    }
+
+    /**
+     * Shuffles every card in the discard pile, except for the last played card, back into the draw pile.
+     */
+    private void refillDrawPile() {
+        List<ICard> cards = clearDiscardPile();
+        Collections.shuffle(cards, random);
+        drawPile.addAll(cards);
+    }
+
+    /**
+     * @return The player who has the current turn.
+     */
+    @NotNull
+    public SimulatedPlayer getCurrentPlayer() {
+        return players.get(getCurrentPlayerIndex());
+    }
+}
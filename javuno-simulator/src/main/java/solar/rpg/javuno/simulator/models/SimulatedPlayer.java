@@ -0,0 +1,54 @@
+package solar.rpg.javuno.simulator.models;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.game.AbstractGamePlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a player seated in a simulated game. Unlike a server player, the hand is only ever accessed by the thread
+ * running the simulation, so it is not synchronized.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class SimulatedPlayer extends AbstractGamePlayer {
+
+    /**
+     * The seat that this player occupies, which decides the strategy that plays for them.
+     */
+    private final int seat;
+    @NotNull
+    private final List<ICard> cards;
+
+    /**
+     * Constructs a new {@code SimulatedPlayer} instance.
+     *
+     * @param name The name of the player.
+     * @param seat The seat that this player occupies.
+     */
+    public SimulatedPlayer(@NotNull String name, int seat) {
+        super(name, false);
+        this.seat = seat;
+        cards = new ArrayList<>();
+    }
+
+    /**
+     * @return The seat that this player occupies.
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    @Override
+    public int getCardCount() {
+        return cards.size();
+    }
+
+    @NotNull
+    public List<ICard> getCards() {
+        return cards;
+    }
+}
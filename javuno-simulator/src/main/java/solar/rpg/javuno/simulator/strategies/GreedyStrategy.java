@@ -0,0 +1,64 @@
+package solar.rpg.javuno.simulator.strategies;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.cards.ColoredCard;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.models.cards.standard.NumberedCard;
+import solar.rpg.javuno.models.cards.standard.WildCard;
+import solar.rpg.javuno.models.cards.standard.WildDrawFourCard;
+import solar.rpg.javuno.simulator.models.SimulatedGameModel;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Sheds the most awkward cards first: action cards, then the highest numbered cards. Wild cards are kept for when
+ * nothing else can be played, with the wild draw four kept the longest. The chosen color is the one the player holds
+ * the most of.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class GreedyStrategy implements IPlayerStrategy {
+
+    private static final CardColor[] COLORS = CardColor.values();
+
+    @Override
+    public int chooseCard(@NotNull SimulatedGameModel gameModel, @NotNull List<ICard> cards, @NotNull BitSet playableCards) {
+        int result = -1;
+        int bestScore = Integer.MIN_VALUE;
+        for (int i = playableCards.nextSetBit(0); i >= 0; i = playableCards.nextSetBit(i + 1)) {
+            int score = getScore(cards.get(i));
+            if (score > bestScore) {
+                result = i;
+                bestScore = score;
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    @Override
+    public CardColor chooseColor(@NotNull SimulatedGameModel gameModel, @NotNull List<ICard> cards) {
+        int[] counts = new int[COLORS.length];
+        for (ICard card : cards)
+            if (card instanceof ColoredCard coloredCard) counts[coloredCard.getCardColor().ordinal()]++;
+
+        int result = 0;
+        for (int i = 1; i < counts.length; i++)
+            if (counts[i] > counts[result]) result = i;
+        return COLORS[result];
+    }
+
+    /**
+     * @param card The card to score.
+     * @return How eager this strategy is to play the given card, higher is more eager.
+     */
+    private int getScore(@NotNull ICard card) {
+        if (card instanceof WildDrawFourCard) return -2;
+        if (card instanceof WildCard) return -1;
+        if (card instanceof NumberedCard numberedCard) return numberedCard.getNumber();
+        return 20;
+    }
+}
@@ -0,0 +1,40 @@
+package solar.rpg.javuno.simulator.strategies;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.simulator.models.SimulatedGameModel;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Decides the moves of a player in a simulated game. Implementations are only ever called by the thread running the
+ * simulation, and they must not modify the game model or the hand that they are given.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public interface IPlayerStrategy {
+
+    /**
+     * Called when the player has the current turn and holds at least one playable card.
+     *
+     * @param gameModel     The game model.
+     * @param cards         The player's hand.
+     * @param playableCards A mask where each set bit is the index of a card in the hand that can be played.
+     * @return The index of the card to play, which must be set in the playable cards, or -1 to draw instead (or pass,
+     * if the player has already drawn this turn).
+     */
+    int chooseCard(@NotNull SimulatedGameModel gameModel, @NotNull List<ICard> cards, @NotNull BitSet playableCards);
+
+    /**
+     * Called when the player plays a wild card, or must choose the color of the starting wild card.
+     *
+     * @param gameModel The game model.
+     * @param cards     The player's hand, which no longer includes any wild card being played.
+     * @return The chosen color.
+     */
+    @NotNull
+    CardColor chooseColor(@NotNull SimulatedGameModel gameModel, @NotNull List<ICard> cards);
+}
@@ -0,0 +1,48 @@
+package solar.rpg.javuno.simulator.strategies;
+
+import org.jetbrains.annotations.NotNull;
+import solar.rpg.javuno.models.cards.ColoredCard.CardColor;
+import solar.rpg.javuno.models.cards.ICard;
+import solar.rpg.javuno.simulator.models.SimulatedGameModel;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Plays a random playable card and chooses a random color. This is the baseline that other strategies are measured
+ * against.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public final class RandomStrategy implements IPlayerStrategy {
+
+    private static final CardColor[] COLORS = CardColor.values();
+
+    @NotNull
+    private final Random random;
+
+    /**
+     * Constructs a new {@code RandomStrategy} instance.
+     *
+     * @param random Source of randomness for the moves.
+     */
+    public RandomStrategy(@NotNull Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public int chooseCard(@NotNull SimulatedGameModel gameModel, @NotNull List<ICard> cards, @NotNull BitSet playableCards) {
+        int result = playableCards.nextSetBit(0);
+        for (int skip = random.nextInt(playableCards.cardinality()); skip > 0; skip--)
+            result = playableCards.nextSetBit(result + 1);
+        return result;
+    }
+
+    @NotNull
+    @Override
+    public CardColor chooseColor(@NotNull SimulatedGameModel gameModel, @NotNull List<ICard> cards) {
+        return COLORS[random.nextInt(COLORS.length)];
+    }
+}
@@ -0,0 +1,34 @@
+package solar.rpg.javuno.simulator.strategies;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+/**
+ * The player strategies that can be chosen for a simulation by name.
+ *
+ * @author jskinner
+ * @since 1.0.0
+ */
+public enum StrategyType {
+    /**
+     * @see RandomStrategy
+     */
+    RANDOM,
+    /**
+     * @see GreedyStrategy
+     */
+    GREEDY;
+
+    /**
+     * @param random Source of randomness for the strategy, if it needs one.
+     * @return A new strategy of this type.
+     */
+    @NotNull
+    public IPlayerStrategy newStrategy(@NotNull Random random) {
+        return switch (this) {
+            case RANDOM -> new RandomStrategy(random);
+            case GREEDY -> new GreedyStrategy();
+        };
+    }
+}